@@ -0,0 +1,53 @@
+/*
+ * Folia Phantom - Audit Benchmark
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import com.patch.foliaphantom.core.audit.AuditResult;
+import com.patch.foliaphantom.core.transformer.AuditClassVisitor;
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of auditing one class with {@link AuditClassVisitor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditBenchmark {
+
+  @Param({"hit", "miss"})
+  public String kind;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    bytes = "hit".equals(kind) ? BenchmarkClasses.hitClass("bench/Hit") : BenchmarkClasses.missClass("bench/Miss");
+  }
+
+  @Benchmark
+  public AuditResult audit() {
+    AuditResult result = new AuditResult(BenchmarkClasses.PLUGIN_NAME);
+    new ClassReader(bytes).accept(new AuditClassVisitor(result), ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    return result;
+  }
+}
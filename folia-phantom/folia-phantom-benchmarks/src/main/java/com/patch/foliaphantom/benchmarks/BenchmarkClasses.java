@@ -0,0 +1,153 @@
+/*
+ * Folia Phantom - Benchmark Classes
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Builds the single classes the per-class benchmarks patch; whole plugin
+ * JARs come from the {@code SyntheticPluginGenerator}.
+ *
+ * <p>
+ * Classes are generated with ASM so that every run measures the same input
+ * without checking binaries into the repository. The Bukkit types they refer
+ * to only appear in descriptors and are never loaded.
+ * </p>
+ */
+public final class BenchmarkClasses {
+
+  /** The plugin name reported in audits */
+  public static final String PLUGIN_NAME = "BenchPlugin";
+  /** Internal name of the generated JavaPlugin subclass */
+  public static final String MAIN_CLASS = "bench/BenchPlugin";
+  /** Internal name of the generated listener */
+  public static final String LISTENER_CLASS = "bench/BenchListener";
+
+  private static final int FILLER_METHODS = 8;
+
+  private BenchmarkClasses() {
+  }
+
+  /**
+   * @return A class with only JDK calls, which the patcher must leave alone
+   */
+  public static byte[] missClass(String name) {
+    ClassWriter cw = begin(name, "java/lang/Object");
+    addFillerMethods(cw);
+    return end(cw);
+  }
+
+  /**
+   * @return A class with a plugin field and redirected Bukkit calls in one method
+   */
+  public static byte[] hitClass(String name) {
+    ClassWriter cw = begin(name, "java/lang/Object");
+    cw.visitField(Opcodes.ACC_PRIVATE, "plugin", "Lorg/bukkit/plugin/Plugin;", null, null).visitEnd();
+    addFillerMethods(cw);
+
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "greet", "(Lorg/bukkit/entity/Player;)V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 1);
+    mv.visitLdcInsn("Hello");
+    mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/entity/Player", "sendMessage", "(Ljava/lang/String;)V", true);
+    mv.visitMethodInsn(Opcodes.INVOKESTATIC, "org/bukkit/Bukkit", "getOnlinePlayers", "()Ljava/util/Collection;", false);
+    mv.visitInsn(Opcodes.POP);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return end(cw);
+  }
+
+  /**
+   * @return A listener with a plugin field and one {@code @EventHandler} method
+   */
+  public static byte[] listenerClass(String name) {
+    ClassWriter cw = begin(name, "java/lang/Object");
+    cw.visitField(Opcodes.ACC_PRIVATE, "plugin", "Lorg/bukkit/plugin/Plugin;", null, null).visitEnd();
+    addFillerMethods(cw);
+
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "onJoin", "(Lorg/bukkit/event/player/PlayerJoinEvent;)V",
+        null, null);
+    AnnotationVisitor av = mv.visitAnnotation("Lorg/bukkit/event/EventHandler;", true);
+    av.visitEnd();
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 1);
+    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "org/bukkit/event/player/PlayerJoinEvent", "getPlayer",
+        "()Lorg/bukkit/entity/Player;", false);
+    mv.visitLdcInsn("Welcome");
+    mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/entity/Player", "sendMessage", "(Ljava/lang/String;)V", true);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return end(cw);
+  }
+
+  /**
+   * @return A JavaPlugin subclass with an {@code onEnable} method
+   */
+  public static byte[] pluginClass(String name) {
+    ClassWriter cw = begin(name, "org/bukkit/plugin/java/JavaPlugin");
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "onEnable", "()V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, name, "getServer", "()Lorg/bukkit/Server;", false);
+    mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/Server", "getOnlinePlayers", "()Ljava/util/Collection;", true);
+    mv.visitInsn(Opcodes.POP);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return end(cw);
+  }
+
+  private static ClassWriter begin(String name, String superName) {
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+    cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, null);
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return cw;
+  }
+
+  private static byte[] end(ClassWriter cw) {
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  /**
+   * Adds straight-line methods with typical JDK calls, so classes have bodies to scan.
+   */
+  private static void addFillerMethods(ClassWriter cw) {
+    for (int i = 0; i < FILLER_METHODS; i++) {
+      MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "m" + i, "(I)Ljava/lang/String;",
+          null, null);
+      mv.visitCode();
+      mv.visitTypeInsn(Opcodes.NEW, "java/lang/StringBuilder");
+      mv.visitInsn(Opcodes.DUP);
+      mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false);
+      mv.visitLdcInsn("value-" + i + "=");
+      mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+          "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+      mv.visitVarInsn(Opcodes.ILOAD, 0);
+      mv.visitLdcInsn(i + 7);
+      mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Integer", "rotateLeft", "(II)I", false);
+      mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+          "(I)Ljava/lang/StringBuilder;", false);
+      mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;",
+          false);
+      mv.visitInsn(Opcodes.ARETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+  }
+}
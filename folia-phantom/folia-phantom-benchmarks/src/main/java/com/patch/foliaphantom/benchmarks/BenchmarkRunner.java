@@ -0,0 +1,42 @@
+/*
+ * Folia Phantom - Benchmark Runner
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks JAR.
+ *
+ * <p>
+ * Accepts the usual JMH command line (benchmark filters, {@code -p}, {@code -rf json}, ...)
+ * and always adds the GC profiler, so every result carries its allocation
+ * rate ({@code gc.alloc.rate.norm}, bytes per operation) next to its time.
+ * </p>
+ *
+ * <pre>
+ * java -jar folia-phantom-benchmarks/target/benchmarks.jar            # everything
+ * java -jar folia-phantom-benchmarks/target/benchmarks.jar Scanner    # one group
+ * java -jar folia-phantom-benchmarks/target/benchmarks.jar PatchPlugin -p classes=1000
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+  private BenchmarkRunner() {
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options options = new OptionsBuilder()
+        .parent(new CommandLineOptions(args))
+        .addProfiler(GCProfiler.class)
+        .build();
+    new Runner(options).run();
+  }
+}
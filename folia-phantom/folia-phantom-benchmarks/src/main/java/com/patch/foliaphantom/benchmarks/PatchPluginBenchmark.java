@@ -0,0 +1,85 @@
+/*
+ * Folia Phantom - Patch Plugin Benchmark
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import com.patch.foliaphantom.core.PluginPatcher;
+import com.patch.foliaphantom.generator.GeneratorConfig;
+import com.patch.foliaphantom.generator.SyntheticPluginGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Whole-JAR {@link PluginPatcher#patchPlugin(File, File)} on synthetic plugins.
+ *
+ * <p>
+ * The input comes from the {@link SyntheticPluginGenerator} with its default
+ * shape (half of the classes shaded, API patterns at their default densities)
+ * and the given seed, so every run patches the same bytes. Each operation is
+ * one complete patch, from reading the source JAR to closing the output.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class PatchPluginBenchmark {
+  @Param({"1000", "10000", "50000"})
+  public int classes;
+
+  @Param("1")
+  public long seed;
+
+  private Path directory;
+  private File source;
+  private File output;
+  private PluginPatcher patcher;
+
+  @Setup(Level.Trial)
+  public void setup() throws IOException {
+    directory = Files.createTempDirectory("folia-phantom-bench");
+    source = directory.resolve("plugin-" + classes + ".jar").toFile();
+    output = directory.resolve("patched-" + classes + ".jar").toFile();
+    SyntheticPluginGenerator.generate(GeneratorConfig.builder().classes(classes).seed(seed).build(), source.toPath());
+
+    Logger logger = Logger.getLogger("FoliaPhantomBenchmark");
+    logger.setLevel(java.util.logging.Level.WARNING);
+    patcher = new PluginPatcher(logger);
+  }
+
+  @Benchmark
+  public int[] patchPlugin() throws IOException {
+    patcher.patchPlugin(source, output);
+    return patcher.getStatistics();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(output.toPath());
+    Files.deleteIfExists(source.toPath());
+    Files.deleteIfExists(directory);
+  }
+}
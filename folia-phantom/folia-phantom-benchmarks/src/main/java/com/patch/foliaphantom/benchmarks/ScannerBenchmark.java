@@ -0,0 +1,76 @@
+/*
+ * Folia Phantom - Scanner Benchmark
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import com.patch.foliaphantom.core.transformer.ConstantPoolPrefilter;
+import com.patch.foliaphantom.core.transformer.ScanningClassVisitor;
+import org.objectweb.asm.ClassReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of deciding whether one class needs patching.
+ *
+ * <p>
+ * {@code scan} is the instruction scan on its own, {@code prefilter} the
+ * constant pool check on its own, and {@code prefilterThenScan} what
+ * {@code patchClass} does. Every operation includes parsing the class header.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScannerBenchmark {
+
+  @Param({"hit", "miss"})
+  public String kind;
+
+  private byte[] bytes;
+
+  @Setup
+  public void setup() {
+    bytes = "hit".equals(kind) ? BenchmarkClasses.hitClass("bench/Hit") : BenchmarkClasses.missClass("bench/Miss");
+  }
+
+  @Benchmark
+  public boolean scan() {
+    ClassReader cr = new ClassReader(bytes);
+    ScanningClassVisitor scanner = new ScanningClassVisitor("bench/folia/runtime");
+    cr.accept(scanner, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    return scanner.needsPatching();
+  }
+
+  @Benchmark
+  public boolean prefilter() {
+    return ConstantPoolPrefilter.DEFAULT.mayNeedPatching(new ClassReader(bytes));
+  }
+
+  @Benchmark
+  public boolean prefilterThenScan() {
+    ClassReader cr = new ClassReader(bytes);
+    if (!ConstantPoolPrefilter.DEFAULT.mayNeedPatching(cr)) {
+      return false;
+    }
+    ScanningClassVisitor scanner = new ScanningClassVisitor("bench/folia/runtime");
+    cr.accept(scanner, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    return scanner.needsPatching();
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Folia Phantom - Transformer Benchmark
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.benchmarks;
+
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
+import com.patch.foliaphantom.core.transformer.ClassTransformer;
+import com.patch.foliaphantom.core.transformer.impl.AsyncEventHandlerTransformer;
+import com.patch.foliaphantom.core.transformer.impl.EventHandlerTransformer;
+import com.patch.foliaphantom.core.transformer.impl.PluginEnableTransformer;
+import com.patch.foliaphantom.core.transformer.impl.RedirectTransformer;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cost of each transformer on its own, from class bytes to class bytes, on a
+ * class it actually changes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransformerBenchmark {
+  private static final String RUNTIME_PATH = "bench/folia/runtime";
+
+  @Param({"redirect", "eventHandler", "pluginEnable", "asyncEventHandler"})
+  public String transformer;
+
+  private byte[] bytes;
+  private ClassTransformer visitorTransformer;
+  private AsyncEventHandlerTransformer nodeTransformer;
+
+  @Setup
+  public void setup() {
+    Logger logger = Logger.getLogger("FoliaPhantomBenchmark");
+    logger.setLevel(Level.OFF);
+    switch (transformer) {
+      case "redirect":
+        bytes = BenchmarkClasses.hitClass("bench/Hit");
+        visitorTransformer = new RedirectTransformer(logger, RUNTIME_PATH);
+        break;
+      case "eventHandler":
+        bytes = BenchmarkClasses.listenerClass(BenchmarkClasses.LISTENER_CLASS);
+        visitorTransformer = new EventHandlerTransformer(logger, RUNTIME_PATH);
+        break;
+      case "pluginEnable":
+        bytes = BenchmarkClasses.pluginClass(BenchmarkClasses.MAIN_CLASS);
+        visitorTransformer = new PluginEnableTransformer(logger, RUNTIME_PATH);
+        break;
+      case "asyncEventHandler":
+        bytes = BenchmarkClasses.listenerClass(BenchmarkClasses.LISTENER_CLASS);
+        nodeTransformer = new AsyncEventHandlerTransformer(logger, RUNTIME_PATH,
+            Set.of(BenchmarkClasses.LISTENER_CLASS.replace('/', '.') + "#onJoin"));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown transformer: " + transformer);
+    }
+  }
+
+  @Benchmark
+  public byte[] transform() {
+    if (nodeTransformer != null) {
+      return nodeTransformer.transform(bytes);
+    }
+    ClassReader cr = new ClassReader(bytes);
+    ClassWriter cw = new ClassWriter(cr, 0);
+    cr.accept(visitorTransformer.createVisitor(cw, new ChangeTracker()), ClassReader.EXPAND_FRAMES);
+    return cw.toByteArray();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Folia Phantom - Patch Class Benchmark
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core;
+
+import com.patch.foliaphantom.benchmarks.BenchmarkClasses;
+import com.patch.foliaphantom.core.hierarchy.TypeHierarchy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cost of {@link PluginPatcher#patchClass(byte[], String)} for one class.
+ *
+ * <p>
+ * Lives in the core package because {@code patchClass} is package-private.
+ * {@code miss} classes are rejected by the prefilter, {@code hit} classes go
+ * through the redirect pass, and {@code listener} classes also get the
+ * cancellation check.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatchClassBenchmark {
+
+  @Param({"hit", "miss", "listener"})
+  public String kind;
+
+  private byte[] bytes;
+  private String className;
+  private PluginPatcher patcher;
+
+  @Setup
+  public void setup() {
+    switch (kind) {
+      case "hit":
+        className = "bench/Hit";
+        bytes = BenchmarkClasses.hitClass(className);
+        break;
+      case "miss":
+        className = "bench/Miss";
+        bytes = BenchmarkClasses.missClass(className);
+        break;
+      case "listener":
+        className = BenchmarkClasses.LISTENER_CLASS;
+        bytes = BenchmarkClasses.listenerClass(className);
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown class kind: " + kind);
+    }
+
+    Logger logger = Logger.getLogger("FoliaPhantomBenchmark");
+    logger.setLevel(Level.OFF);
+    patcher = new PluginPatcher(logger);
+    patcher.configureTransformers("bench/folia/runtime", TypeHierarchy.platform());
+  }
+
+  @Benchmark
+  public byte[] patchClass() {
+    return patcher.patchClass(bytes, className).bytes;
+  }
+}
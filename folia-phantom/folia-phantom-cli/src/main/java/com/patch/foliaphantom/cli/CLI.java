@@ -2,13 +2,22 @@ package com.patch.foliaphantom.cli;
 
 import com.patch.foliaphantom.core.PluginPatcher;
 import com.patch.foliaphantom.core.audit.AuditResult;
-import com.patch.foliaphantom.core.progress.PatchProgressListener;
+import com.patch.foliaphantom.core.batch.BatchPatcher;
+import com.patch.foliaphantom.core.cache.ClassPatchCache;
+import com.patch.foliaphantom.core.progress.PatchMetrics;
+import com.patch.foliaphantom.core.shaded.ShadedLibraryDetector;
+import com.patch.foliaphantom.generator.GeneratorConfig;
+import com.patch.foliaphantom.generator.SyntheticPluginGenerator;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Set;
 import java.util.logging.ConsoleHandler;
@@ -29,8 +38,22 @@ public class CLI {
     boolean fireAndForget = false;
     boolean auditMode = false;
     long apiTimeoutMs = 100L;
+    int threads = 0;
+    long maxInFlightMb = 0L;
+    int classCompression = 1;
+    int resourceCompression = 6;
+    boolean useCache = true;
+    String cacheDir = null;
+    long cacheSizeMb = 512L;
     String inputPath = null;
     Set<String> asyncEventHandlers = Collections.emptySet();
+    String generatePath = null;
+    String generatorOptions = null;
+    String metricsReport = null;
+    boolean skipShaded = true;
+    Set<String> scanShaded = Collections.emptySet();
+    boolean sharedRuntime = false;
+    PluginPatcher.TaskPlacement taskPlacement = PluginPatcher.TaskPlacement.SPAWN;
 
     for (int i = 0; i < args.length; i++) {
       String arg = args[i];
@@ -54,6 +77,68 @@ public class CLI {
           LOGGER.severe("Error: --timeout flag requires a value in milliseconds.");
           return;
         }
+      } else if ("--threads".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          try {
+            threads = Integer.parseInt(args[++i]);
+          } catch (NumberFormatException e) {
+            LOGGER.severe("Error: Invalid thread count provided. Please use a number.");
+            return;
+          }
+        } else {
+          LOGGER.severe("Error: --threads flag requires a number of worker threads.");
+          return;
+        }
+      } else if ("--max-in-flight-mb".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          try {
+            maxInFlightMb = Long.parseLong(args[++i]);
+          } catch (NumberFormatException e) {
+            LOGGER.severe("Error: Invalid in-flight memory limit provided. Please use a number.");
+            return;
+          }
+        } else {
+          LOGGER.severe("Error: --max-in-flight-mb flag requires a value in megabytes.");
+          return;
+        }
+      } else if ("--class-compression".equalsIgnoreCase(arg) || "--resource-compression".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          try {
+            int level = Integer.parseInt(args[++i]);
+            if ("--class-compression".equalsIgnoreCase(arg)) {
+              classCompression = level;
+            } else {
+              resourceCompression = level;
+            }
+          } catch (NumberFormatException e) {
+            LOGGER.severe("Error: Invalid compression level provided. Please use a number from 0 to 9.");
+            return;
+          }
+        } else {
+          LOGGER.severe("Error: " + arg + " flag requires a compression level from 0 to 9.");
+          return;
+        }
+      } else if ("--no-cache".equalsIgnoreCase(arg)) {
+        useCache = false;
+      } else if ("--cache-dir".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          cacheDir = args[++i];
+        } else {
+          LOGGER.severe("Error: --cache-dir flag requires a directory path.");
+          return;
+        }
+      } else if ("--cache-size-mb".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          try {
+            cacheSizeMb = Long.parseLong(args[++i]);
+          } catch (NumberFormatException e) {
+            LOGGER.severe("Error: Invalid cache size provided. Please use a number.");
+            return;
+          }
+        } else {
+          LOGGER.severe("Error: --cache-size-mb flag requires a value in megabytes.");
+          return;
+        }
       } else if ("--async-events".equalsIgnoreCase(arg)) {
         if (i + 1 < args.length) {
           asyncEventHandlers = new HashSet<>(Arrays.asList(args[++i].split(",")));
@@ -61,6 +146,44 @@ public class CLI {
           LOGGER.severe("Error: --async-events flag requires a comma-separated list of method names.");
           return;
         }
+      } else if ("--no-shaded-skip".equalsIgnoreCase(arg)) {
+        skipShaded = false;
+      } else if ("--scan-shaded".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          scanShaded = new HashSet<>(Arrays.asList(args[++i].split(",")));
+        } else {
+          LOGGER.severe("Error: --scan-shaded flag requires a comma-separated list of library names or packages.");
+          return;
+        }
+      } else if ("--shared-runtime".equalsIgnoreCase(arg)) {
+        sharedRuntime = true;
+      } else if ("--task-placement".equalsIgnoreCase(arg)) {
+        taskPlacement = i + 1 < args.length ? PluginPatcher.TaskPlacement.of(args[++i]) : null;
+        if (taskPlacement == null) {
+          LOGGER.severe("Error: --task-placement flag requires one of global, spawn, round-robin or affinity.");
+          return;
+        }
+      } else if ("--generate".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          generatePath = args[++i];
+        } else {
+          LOGGER.severe("Error: --generate flag requires an output JAR path.");
+          return;
+        }
+      } else if ("--generator-options".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          generatorOptions = args[++i];
+        } else {
+          LOGGER.severe("Error: --generator-options flag requires a comma-separated list of key=value options.");
+          return;
+        }
+      } else if ("--metrics-report".equalsIgnoreCase(arg)) {
+        if (i + 1 < args.length) {
+          metricsReport = args[++i];
+        } else {
+          LOGGER.severe("Error: --metrics-report flag requires an output JSON path.");
+          return;
+        }
       } else if (inputPath == null) {
         inputPath = arg;
       } else {
@@ -68,15 +191,63 @@ public class CLI {
       }
     }
 
+    if (generatePath != null) {
+      // Scale testing: patch (or audit) the generated plugin unless another input was given
+      if (!generatePlugin(generatePath, generatorOptions)) {
+        return;
+      }
+      if (inputPath == null) {
+        inputPath = generatePath;
+      }
+    }
+
     File inputFile = getInputFile(inputPath);
     if (inputFile == null) {
       return;
     }
 
-    PatchProgressListener listener = new ConsolePatchProgressListener();
-    PluginPatcher patcher = new PluginPatcher(LOGGER, listener, failFast, aggressiveEventOptimization, fireAndForget, apiTimeoutMs, null, asyncEventHandlers);
+    ClassPatchCache classCache = null;
+    if (useCache && !auditMode) {
+      File cacheFolder = cacheDir != null
+          ? new File(cacheDir)
+          : new File(System.getProperty("user.home"), ".folia-phantom/cache");
+      try {
+        classCache = ClassPatchCache.open(cacheFolder.toPath(), cacheSizeMb * 1024 * 1024, LOGGER);
+        LOGGER.info("Class cache: " + cacheFolder.getAbsolutePath());
+      } catch (IOException e) {
+        LOGGER.warning("Class cache disabled: " + e.getMessage());
+      }
+    }
+
+    // Every JAR of a batch gets its own patcher with the same options
+    final boolean optFailFast = failFast;
+    final boolean optAggressive = aggressiveEventOptimization;
+    final boolean optFireAndForget = fireAndForget;
+    final long optTimeout = apiTimeoutMs;
+    final Set<String> optAsyncHandlers = asyncEventHandlers;
+    final long optMaxInFlightMb = maxInFlightMb;
+    final int optClassCompression = classCompression;
+    final int optResourceCompression = resourceCompression;
+    final ClassPatchCache optClassCache = classCache;
+    final ShadedLibraryDetector optShadedDetector = skipShaded ? ShadedLibraryDetector.bundled(scanShaded) : null;
+    final boolean optSharedRuntime = sharedRuntime;
+    final PluginPatcher.TaskPlacement optTaskPlacement = taskPlacement;
+    BatchPatcher.PatcherFactory factory = listener -> {
+      PluginPatcher patcher = new PluginPatcher(LOGGER, listener, optFailFast, optAggressive, optFireAndForget,
+          optTimeout, null, optAsyncHandlers);
+      if (optMaxInFlightMb > 0) {
+        patcher.setMaxInFlightBytes(optMaxInFlightMb * 1024 * 1024);
+      }
+      patcher.setCompressionLevels(optClassCompression, optResourceCompression);
+      patcher.setClassCache(optClassCache);
+      patcher.setShadedLibraryDetector(optShadedDetector);
+      patcher.setSharedRuntime(optSharedRuntime);
+      patcher.setTaskPlacement(optTaskPlacement);
+      return patcher;
+    };
 
     if (auditMode) {
+      PluginPatcher patcher = factory.create(null);
       if (inputFile.isDirectory()) {
         auditDirectory(patcher, inputFile);
       } else {
@@ -101,12 +272,23 @@ public class CLI {
       }
       LOGGER.info("API call timeout is set to: " + apiTimeoutMs + "ms.");
 
+      File[] jarsToPatch;
       if (inputFile.isDirectory()) {
-        patchDirectory(patcher, inputFile, outputDir);
+        jarsToPatch = listJars(inputFile);
       } else if (inputFile.getName().toLowerCase().endsWith(".jar")) {
-        patchJar(patcher, inputFile, outputDir);
+        jarsToPatch = new File[] {inputFile};
       } else {
         LOGGER.severe("Error: The provided file is not a JAR file.");
+        jarsToPatch = null;
+      }
+      if (jarsToPatch != null) {
+        List<String> reports = metricsReport != null ? new ArrayList<>() : null;
+        try (BatchPatcher batch = new BatchPatcher(LOGGER, factory, threads)) {
+          patchJars(batch, jarsToPatch, outputDir, reports);
+        }
+        if (reports != null) {
+          writeMetricsReport(new File(metricsReport), reports);
+        }
       }
     }
 
@@ -132,6 +314,21 @@ public class CLI {
     System.out.println("======================================================================");
   }
 
+  private static boolean generatePlugin(String outputPath, String options) {
+    try {
+      GeneratorConfig config = GeneratorConfig.parse(options);
+      SyntheticPluginGenerator.Summary summary = SyntheticPluginGenerator.generate(config, new File(outputPath).toPath());
+      LOGGER.info("Generated synthetic plugin " + outputPath + " (" + config + "): " + summary);
+      return true;
+    } catch (IllegalArgumentException e) {
+      LOGGER.severe("Error: " + e.getMessage());
+      return false;
+    } catch (IOException e) {
+      LOGGER.log(Level.SEVERE, "An error occurred while generating " + outputPath + ":", e);
+      return false;
+    }
+  }
+
   private static File getInputFile(String pathArg) {
     File inputFile;
     if (pathArg == null) {
@@ -189,46 +386,74 @@ public class CLI {
     }
   }
 
-  private static void patchDirectory(PluginPatcher patcher, File inputDir, File outputDir) {
+  private static File[] listJars(File inputDir) {
     File[] jarsToPatch = inputDir.listFiles((dir, name) -> name.toLowerCase().endsWith(".jar"));
 
     if (jarsToPatch == null) {
       LOGGER.severe("Error: Could not list files in the directory. Please check permissions.");
-      return;
+      return null;
     }
 
     if (jarsToPatch.length == 0) {
       LOGGER.warning("No JAR files were found in the specified directory.");
-      return;
+      return null;
     }
 
     LOGGER.info("Found " + jarsToPatch.length + " JAR file(s) to patch in the directory.");
-    int successCount = 0;
+    return jarsToPatch;
+  }
+
+  private static void patchJars(BatchPatcher batch, File[] jarsToPatch, File outputDir, List<String> reports) {
+    List<BatchPatcher.Job> jobs = new ArrayList<>();
+    List<String> pluginNames = new ArrayList<>();
     for (File inputJar : jarsToPatch) {
-      if (patchJar(patcher, inputJar, outputDir)) {
-        successCount++;
+      try {
+        String pluginName = PluginPatcher.getPluginNameFromJar(inputJar);
+        if (PluginPatcher.isFoliaSupported(inputJar)) {
+          LOGGER.warning(inputJar.getName() + " already appears to be Folia-supported. Patching anyway.");
+        }
+        pluginNames.add(pluginName != null ? pluginName : inputJar.getName());
+      } catch (IOException e) {
+        // The patcher reports unreadable JARs itself
+        pluginNames.add(inputJar.getName());
       }
+      jobs.add(new BatchPatcher.Job(inputJar, new File(outputDir, "patched-" + inputJar.getName())));
     }
-    LOGGER.info("Successfully patched " + successCount + " out of " + jarsToPatch.length + " JAR file(s).");
-  }
 
-  private static boolean patchJar(PluginPatcher patcher, File inputJar, File outputDir) {
+    List<BatchPatcher.Result> results;
     try {
-      String pluginName = PluginPatcher.getPluginNameFromJar(inputJar);
-      if (pluginName == null) {
-        pluginName = inputJar.getName();
-      }
+      results = batch.patch(jobs, new ConsoleBatchProgressListener());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.severe("Patching was interrupted.");
+      return;
+    }
 
-      if (PluginPatcher.isFoliaSupported(inputJar)) {
-        LOGGER.warning("This plugin already appears to be Folia-supported. Patching anyway.");
+    int successCount = 0;
+    for (int i = 0; i < results.size(); i++) {
+      BatchPatcher.Result result = results.get(i);
+      if (!result.isSuccess()) {
+        continue;
+      }
+      successCount++;
+      if (reports != null) {
+        BatchPatcher.Job job = result.getJob();
+        reports.add("{\"plugin\":" + PatchMetrics.quote(pluginNames.get(i))
+            + ",\"input\":" + PatchMetrics.quote(job.getInput().getPath())
+            + ",\"output\":" + PatchMetrics.quote(job.getOutput().getPath())
+            + ",\"metrics\":" + result.getMetrics().toJson(result.getStatistics()) + "}");
       }
+    }
+    LOGGER.info("Successfully patched " + successCount + " out of " + jarsToPatch.length + " JAR file(s).");
+  }
 
-      File outputJar = new File(outputDir, "patched-" + inputJar.getName());
-      patcher.patchPlugin(inputJar, outputJar);
-      return true;
+  private static void writeMetricsReport(File reportFile, List<String> reports) {
+    String json = "{\"reports\":[\n  " + String.join(",\n  ", reports) + "\n]}\n";
+    try {
+      Files.writeString(reportFile.toPath(), json, StandardCharsets.UTF_8);
+      LOGGER.info("Metrics report written to: " + reportFile.getAbsolutePath());
     } catch (IOException e) {
-      LOGGER.log(Level.SEVERE, "An error occurred while patching " + inputJar.getName() + ":", e);
-      return false;
+      LOGGER.log(Level.SEVERE, "An error occurred while writing the metrics report " + reportFile.getName() + ":", e);
     }
   }
 }
@@ -0,0 +1,74 @@
+/*
+ * Folia Phantom - Console Progress Listener
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.cli;
+
+import com.patch.foliaphantom.core.progress.BatchProgressListener;
+
+import java.io.File;
+
+/**
+ * Prints the progress of a batch to the console.
+ * <p>
+ * JARs of a batch are patched concurrently, so finished JARs are printed as
+ * complete lines and only the aggregate progress is drawn as a bar.
+ * </p>
+ */
+public class ConsoleBatchProgressListener implements BatchProgressListener {
+
+    @Override
+    public synchronized void onBatchStart(int totalJars, long totalBytes) {
+        System.out.println("─────────────────────────────────────────");
+        System.out.println(" Patching " + totalJars + " JAR(s), " + (totalBytes / 1024) + " KB");
+        System.out.println("─────────────────────────────────────────");
+    }
+
+    @Override
+    public void onJarStart(File originalJar, File outputJar) {
+    }
+
+    @Override
+    public synchronized void onJarComplete(File originalJar, long durationMillis, int[] statistics, Throwable error) {
+        System.out.print("\r");
+        if (error != null) {
+            System.err.println(" Failed:  " + originalJar.getName() + " after " + durationMillis + "ms: " + error.getMessage());
+        } else {
+            System.out.println(" Patched: " + originalJar.getName() + " in " + durationMillis + "ms"
+                    + " (scanned " + statistics[0] + ", transformed " + statistics[1] + ", skipped " + statistics[2] + ")");
+        }
+    }
+
+    @Override
+    public synchronized void onProgressUpdate(int percentage, int completedJars, int totalJars) {
+        printProgressBar(percentage, completedJars + "/" + totalJars + " JAR(s) done");
+    }
+
+    @Override
+    public synchronized void onBatchComplete(long durationMillis, int succeeded, int failed) {
+        System.out.println("\n─────────────────────────────────────────");
+        System.out.println(" Completed in " + durationMillis + "ms");
+        System.out.println("   JARs patched: " + succeeded);
+        System.out.println("   JARs failed:  " + failed);
+        System.out.println("─────────────────────────────────────────");
+    }
+
+    private void printProgressBar(int percentage, String message) {
+        int barLength = 50;
+        int progress = (int) (barLength * (percentage / 100.0));
+        StringBuilder bar = new StringBuilder("[");
+        for (int i = 0; i < barLength; i++) {
+            if (i < progress) {
+                bar.append("=");
+            } else if (i == progress) {
+                bar.append(">");
+            } else {
+                bar.append(" ");
+            }
+        }
+        bar.append("] ").append(percentage).append("%");
+        System.out.print("\r" + bar + " - " + message);
+    }
+}
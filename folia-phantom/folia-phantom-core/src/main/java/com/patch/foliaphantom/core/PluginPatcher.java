@@ -10,32 +10,37 @@
 package com.patch.foliaphantom.core;
 
 import com.patch.foliaphantom.core.audit.AuditResult;
+import com.patch.foliaphantom.core.cache.ClassPatchCache;
+import com.patch.foliaphantom.core.hierarchy.HierarchyClassWriter;
+import com.patch.foliaphantom.core.hierarchy.JarTypeHierarchy;
+import com.patch.foliaphantom.core.hierarchy.TypeHierarchy;
+import com.patch.foliaphantom.core.jar.BundleStage;
+import com.patch.foliaphantom.core.jar.JarManifest;
+import com.patch.foliaphantom.core.jar.JarStage;
+import com.patch.foliaphantom.core.jar.MappedJarReader;
+import com.patch.foliaphantom.core.jar.PluginYmlStage;
+import com.patch.foliaphantom.core.jar.SignatureStripStage;
+import com.patch.foliaphantom.core.jar.StreamingJarRewriter;
+import com.patch.foliaphantom.core.progress.PatchMetrics;
 import com.patch.foliaphantom.core.progress.PatchProgressListener;
+import com.patch.foliaphantom.core.runtime.PhantomRuntime;
+import com.patch.foliaphantom.core.shaded.ShadedLibraries;
+import com.patch.foliaphantom.core.shaded.ShadedLibraryDetector;
 import com.patch.foliaphantom.core.transformer.AuditClassVisitor;
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
 import com.patch.foliaphantom.core.transformer.ClassTransformer;
+import com.patch.foliaphantom.core.transformer.ConstantPoolPrefilter;
+import com.patch.foliaphantom.core.transformer.MethodFilterClassVisitor;
+import com.patch.foliaphantom.core.transformer.NodeTransformer;
 import com.patch.foliaphantom.core.transformer.ScanningClassVisitor;
-import com.patch.foliaphantom.core.transformer.impl.EntitySchedulerTransformer;
-import com.patch.foliaphantom.core.transformer.impl.EventFireAndForgetTransformer;
-import com.patch.foliaphantom.core.transformer.impl.SchedulerClassTransformer;
-import com.patch.foliaphantom.core.transformer.impl.PlayerHealthTransformer;
-import com.patch.foliaphantom.core.transformer.impl.ThreadSafetyTransformer;
-import com.patch.foliaphantom.core.transformer.impl.PlayerTransformer;
-import com.patch.foliaphantom.core.transformer.impl.InventoryTransformer;
-import com.patch.foliaphantom.core.transformer.impl.TeleportTransformer;
-import com.patch.foliaphantom.core.transformer.impl.WorldGenClassTransformer;
+import com.patch.foliaphantom.core.transformer.TimingClassVisitor;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRule;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRules;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectTable;
 import com.patch.foliaphantom.core.transformer.impl.EventHandlerTransformer;
-import com.patch.foliaphantom.core.transformer.impl.ScoreboardTransformer;
-import com.patch.foliaphantom.core.transformer.impl.EventCallTransformer;
-import com.patch.foliaphantom.core.transformer.impl.ServerBroadcastMessageTransformer;
-import com.patch.foliaphantom.core.transformer.impl.MirroringTransformer;
+import com.patch.foliaphantom.core.transformer.impl.RedirectTransformer;
 import com.patch.foliaphantom.core.transformer.impl.AsyncEventHandlerTransformer;
-import com.patch.foliaphantom.core.transformer.impl.WorldGetHighestBlockAtTransformer;
-import com.patch.foliaphantom.core.transformer.impl.WorldGetPlayersTransformer;
-import com.patch.foliaphantom.core.transformer.impl.WorldSpawnEntityTransformer;
-import com.patch.foliaphantom.core.transformer.impl.ServerVersionTransformer;
 import com.patch.foliaphantom.core.transformer.impl.PluginEnableTransformer;
-import com.patch.foliaphantom.core.transformer.impl.CommandDispatchTransformer;
-import com.patch.foliaphantom.core.transformer.impl.OfflinePlayerTransformer;
 
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
@@ -45,27 +50,34 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.ClassRemapper;
 import org.objectweb.asm.commons.SimpleRemapper;
+import org.objectweb.asm.tree.ClassNode;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ForkJoinPool;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -82,11 +94,15 @@ import java.util.stream.Stream;
  *
  * <h2>Features</h2>
  * <ul>
- * <li>Parallel class transformation using ForkJoinPool</li>
+ * <li>Single-pass streaming rewrite with parallel class transformation</li>
+ * <li>Bounded in-flight memory with deterministic output order</li>
  * <li>Automatic plugin.yml modification to add folia-supported flag</li>
  * <li>Signature file removal for compatibility with signed JARs</li>
  * <li>Bundle FoliaPatcher runtime classes into output JAR</li>
  * <li>Fast-fail scanning to skip classes that don't need patching</li>
+ * <li>Optional persistent cache of patched classes shared across plugins</li>
+ * <li>Shaded third-party libraries recognised by fingerprint and passed through unscanned</li>
+ * <li>Optional binding of the bundled runtime to one server-wide {@link PhantomRuntime}</li>
  * </ul>
  *
  * <h2>Usage Example</h2>
@@ -105,9 +121,78 @@ public class PluginPatcher {
   /** Buffer size for stream copying (64KB for optimal I/O performance) */
   private static final int BUFFER_SIZE = 65536;
 
-  /** Compression level for output JAR (1 = fastest) */
+  /** Default compression level for rewritten classes (1 = fastest) */
   private static final int COMPRESSION_LEVEL = 1;
 
+  /** Default compression level for rewritten and bundled resources */
+  private static final int RESOURCE_COMPRESSION_LEVEL = 6;
+
+  /** Default in-flight byte budget for the rewrite pipeline (64MB) */
+  private static final long DEFAULT_MAX_IN_FLIGHT_BYTES = 64L * 1024 * 1024;
+
+  /** One in this many transformed classes gets its visitor transformers timed individually */
+  private static final int TIMING_SAMPLE_RATE = 32;
+
+  /** Annotation marking the candidates of the node-based transformers */
+  private static final String EVENT_HANDLER_DESC = "Lorg/bukkit/event/EventHandler;";
+
+  /** FoliaPatcher runtime classes bundled into every patched JAR */
+  private static final List<String> RUNTIME_CLASSES = List.of(
+      "FoliaPatcher.class",
+      "FoliaPatcher$AffinityFields.class",
+      "FoliaPatcher$BlockBuffer.class",
+      "FoliaPatcher$CopyListener.class",
+      "FoliaPatcher$EntityOps.class",
+      "FoliaPatcher$EntityOps$Op.class",
+      "FoliaPatcher$FoliaBukkitTask.class",
+      "FoliaPatcher$FoliaChunkGenerator.class",
+      "FoliaPatcher$Mirror.class",
+      "FoliaPatcher$MirrorListener.class",
+      "FoliaPatcher$NameIndex.class",
+      "FoliaPatcher$TaskStripe.class"
+  );
+
+  /**
+   * Where the bundled runtime runs legacy sync tasks ({@code runTask},
+   * {@code runTaskLater}, {@code runTaskTimer} and their int-returning forms).
+   */
+  public enum TaskPlacement {
+    /** The global region, which may not touch blocks or entities */
+    GLOBAL("global"),
+    /** The region of the main world's spawn, as before placements existed */
+    SPAWN("spawn"),
+    /** The regions online players are in, in turn */
+    ROUND_ROBIN("round-robin"),
+    /** Where an entity, location or block held by the runnable is; else the spawn region */
+    AFFINITY("affinity");
+
+    private final String key;
+
+    TaskPlacement(String key) {
+      this.key = key;
+    }
+
+    /**
+     * @return The name of the placement in options and configuration
+     */
+    public String getKey() {
+      return key;
+    }
+
+    /**
+     * @param key A placement name, e.g. {@code round-robin}
+     * @return The placement, or null if there is none of that name
+     */
+    public static TaskPlacement of(String key) {
+      for (TaskPlacement placement : values()) {
+        if (placement.key.equalsIgnoreCase(key)) {
+          return placement;
+        }
+      }
+      return null;
+    }
+  }
+
   /** Logger instance for this patcher */
   private final Logger logger;
 
@@ -129,6 +214,36 @@ public class PluginPatcher {
   /** Set of fully-qualified method names for async event handlers */
   private final Set<String> asyncEventHandlers;
 
+  /** Number of worker threads used to transform classes */
+  private int workerThreads = Runtime.getRuntime().availableProcessors();
+
+  /** Maximum uncompressed entry bytes held in memory while rewriting a JAR */
+  private long maxInFlightBytes = DEFAULT_MAX_IN_FLIGHT_BYTES;
+
+  /** Deflate level for classes written to the output JAR */
+  private int classCompressionLevel = COMPRESSION_LEVEL;
+
+  /** Deflate level for resources written to the output JAR */
+  private int resourceCompressionLevel = RESOURCE_COMPRESSION_LEVEL;
+
+  /** Shared pool for class work, or null to use a private pool of {@link #workerThreads} per patch */
+  private Executor executor;
+
+  /** Detector of shaded libraries to pass through unscanned, or null to scan every class */
+  private ShadedLibraryDetector shadedLibraryDetector = ShadedLibraryDetector.bundled(null);
+
+  /** Whether the bundled runtime binds to the FoliaPhantom plugin's shared runtime when present */
+  private boolean sharedRuntime;
+
+  /** Where the bundled runtime runs legacy sync tasks */
+  private TaskPlacement taskPlacement = TaskPlacement.SPAWN;
+
+  /** Persistent cache of patched classes, or null if caching is disabled */
+  private ClassPatchCache classCache;
+
+  /** Fingerprint of the transformer set and options, mixed into every cache key */
+  private byte[] cacheFingerprint;
+
   /** Progress listener for real-time feedback */
   private final PatchProgressListener progressListener;
 
@@ -139,7 +254,13 @@ public class PluginPatcher {
   private List<ClassTransformer> visitorTransformers;
 
   /** Ordered list of ClassNode-based transformers to apply */
-  private List<AsyncEventHandlerTransformer> nodeTransformers;
+  private List<NodeTransformer> nodeTransformers;
+
+  /** Class hierarchy of the plugin JAR being patched */
+  private JarTypeHierarchy jarTypes;
+
+  /** The plugin JAR hierarchy backed by the Paper API index, for frame computation */
+  private TypeHierarchy typeHierarchy;
 
   /** Statistics: number of classes scanned */
   private final AtomicInteger classesScanned = new AtomicInteger(0);
@@ -150,6 +271,12 @@ public class PluginPatcher {
   /** Statistics: number of classes skipped (no changes needed) */
   private final AtomicInteger classesSkipped = new AtomicInteger(0);
 
+  /** Statistics: number of classes answered from the class cache */
+  private final AtomicInteger cacheHits = new AtomicInteger(0);
+
+  /** Timings and per-transformer counters of the current or last patch */
+  private volatile PatchMetrics metrics = new PatchMetrics();
+
   /** A progress listener that does nothing */
   private static final PatchProgressListener NULL_LISTENER = new PatchProgressListener() {
     @Override public void onPatchStart(File originalJar, File outputJar) {}
@@ -214,6 +341,126 @@ public class PluginPatcher {
     this(logger, null, false, false, false, 100L, null);
   }
 
+  /**
+   * Sets the number of worker threads used to transform classes.
+   *
+   * @param workerThreads Thread count, at least 1
+   */
+  public void setWorkerThreads(int workerThreads) {
+    this.workerThreads = Math.max(1, workerThreads);
+  }
+
+  /**
+   * Runs class transformation and compression on a shared executor.
+   *
+   * <p>
+   * Used by {@link com.patch.foliaphantom.core.batch.BatchPatcher} so that all
+   * JARs of a batch share one pool; the worker thread count is then ignored.
+   * </p>
+   *
+   * @param executor The executor, or null for a private pool per patch
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Sets how many uncompressed bytes of JAR entries may be held in memory at once.
+   *
+   * <p>
+   * Lower values reduce peak heap usage when patching very large JARs, at the
+   * cost of less overlap between reading, transforming and writing.
+   * </p>
+   *
+   * @param maxInFlightBytes Byte budget, at least 1
+   */
+  public void setMaxInFlightBytes(long maxInFlightBytes) {
+    this.maxInFlightBytes = Math.max(1, maxInFlightBytes);
+  }
+
+  /**
+   * Sets the deflate levels used for entries that have to be recompressed.
+   *
+   * <p>
+   * Unmodified entries are always copied with their original compression, so
+   * these only apply to patched classes, the rewritten plugin.yml and the
+   * bundled runtime.
+   * </p>
+   *
+   * @param classLevel    Level for class files (0-9)
+   * @param resourceLevel Level for all other entries (0-9)
+   */
+  public void setCompressionLevels(int classLevel, int resourceLevel) {
+    this.classCompressionLevel = Math.max(0, Math.min(9, classLevel));
+    this.resourceCompressionLevel = Math.max(0, Math.min(9, resourceLevel));
+  }
+
+  /**
+   * Enables the persistent class patch cache.
+   *
+   * <p>
+   * Classes already patched with the same transformers and options, in any
+   * plugin, are then taken from the cache instead of being transformed again.
+   * Classes whose frames were recomputed are not cached: those frames come
+   * from the superclasses of other classes in the JAR, which the cache key
+   * does not cover.
+   * </p>
+   *
+   * @param classCache The cache to use, or null to disable caching
+   */
+  public void setClassCache(ClassPatchCache classCache) {
+    this.classCache = classCache;
+  }
+
+  /**
+   * Sets how shaded third-party libraries are recognised.
+   *
+   * <p>
+   * Classes of a verified library copy are copied to the output without being
+   * read, and are left out of audits. By default the bundled fingerprints are
+   * used with no overrides.
+   * </p>
+   *
+   * @param shadedLibraryDetector The detector, or null to scan every class
+   */
+  public void setShadedLibraryDetector(ShadedLibraryDetector shadedLibraryDetector) {
+    this.shadedLibraryDetector = shadedLibraryDetector;
+  }
+
+  /**
+   * Enables shared-runtime mode.
+   *
+   * <p>
+   * The FoliaPatcher copy is still bundled, but on enable it binds to the
+   * {@link PhantomRuntime} registered by the FoliaPhantom plugin, so all
+   * patched plugins share one mirror task, task registry and world generation
+   * thread. The plugin.yml gets a soft dependency on FoliaPhantom so that it is
+   * enabled first. Without FoliaPhantom the bundled copy runs on its own.
+   * </p>
+   *
+   * @param sharedRuntime Whether to bind to the shared runtime
+   */
+  public void setSharedRuntime(boolean sharedRuntime) {
+    this.sharedRuntime = sharedRuntime;
+  }
+
+  /**
+   * Sets where the bundled runtime runs legacy sync tasks.
+   *
+   * <p>
+   * Folia has no main thread, so each task needs a region. The default,
+   * {@link TaskPlacement#SPAWN}, sends every task of every patched plugin to
+   * the one region that owns the main world's spawn. The other placements
+   * spread that work; {@code /foliapatch regions} shows the resulting queue
+   * depth and run time per region.
+   * </p>
+   *
+   * @param taskPlacement The placement, or null for the default
+   */
+  public void setTaskPlacement(TaskPlacement taskPlacement) {
+    this.taskPlacement = taskPlacement != null ? taskPlacement : TaskPlacement.SPAWN;
+  }
+
   /**
    * Patches a plugin JAR file for Folia compatibility.
    *
@@ -234,12 +481,36 @@ public class PluginPatcher {
    * @throws IOException If an I/O error occurs during patching
    */
   public void patchPlugin(File originalJar, File outputJar) throws IOException {
+    patchPlugin(originalJar, outputJar, null);
+  }
+
+  /**
+   * Patches a plugin JAR file incrementally against a previous patch.
+   *
+   * <p>
+   * If {@code manifestFile} describes an earlier patch of the same plugin made
+   * with the same transformers and options, and that output is still in place,
+   * every entry whose CRC32 and size are unchanged is copied straight from the
+   * earlier output. Only new and modified entries are processed, and classes
+   * whose result depends on the rest of the JAR, which are never reused. A fresh
+   * manifest is written afterwards for the next run.
+   * </p>
+   *
+   * @param originalJar  Source JAR file to patch
+   * @param outputJar    Destination for the patched JAR
+   * @param manifestFile Manifest of the previous patch, or null for a full patch
+   * @throws IOException If an I/O error occurs during patching
+   */
+  public void patchPlugin(File originalJar, File outputJar, File manifestFile) throws IOException {
     classesScanned.set(0);
     classesTransformed.set(0);
     classesSkipped.set(0);
+    cacheHits.set(0);
+    metrics = new PatchMetrics();
 
     progressListener.onPatchStart(originalJar, outputJar);
     long startTime = System.currentTimeMillis();
+    long startNanos = System.nanoTime();
 
     try {
       // Determine the relocation path
@@ -250,261 +521,309 @@ public class PluginPatcher {
 
       // Sanitize plugin name for package relocation
       String safePluginName = pluginName.toLowerCase().replaceAll("[^a-z0-9]", "");
-      this.relocatedPatcherPath = safePluginName + "/folia/runtime";
-
-      // Initialize transformers with the relocated path
-      this.visitorTransformers = new ArrayList<>();
-      visitorTransformers.add(new ServerBroadcastMessageTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new MirroringTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new WorldGetPlayersTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new WorldGetHighestBlockAtTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new WorldSpawnEntityTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new com.patch.foliaphantom.core.transformer.impl.BlockTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new EventHandlerTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new TeleportTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new PlayerHealthTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new ThreadSafetyTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new PlayerTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new InventoryTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new WorldGenClassTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new EntitySchedulerTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new ScoreboardTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new SchedulerClassTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new EventCallTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new EventFireAndForgetTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new ServerVersionTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new PluginEnableTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new CommandDispatchTransformer(logger, relocatedPatcherPath));
-      visitorTransformers.add(new OfflinePlayerTransformer(logger, relocatedPatcherPath));
-
-      this.nodeTransformers = new ArrayList<>();
-      nodeTransformers.add(new AsyncEventHandlerTransformer(logger, relocatedPatcherPath, asyncEventHandlers));
+
+      // Frames are computed from the plugin's own classes and the bundled Paper API index
+      this.jarTypes = new JarTypeHierarchy(originalJar.toPath());
+      configureTransformers(safePluginName + "/folia/runtime", jarTypes.then(TypeHierarchy.platform()));
 
       logger.info("Relocating FoliaPhantom runtime to: " + relocatedPatcherPath);
 
-      createPatchedJar(originalJar.toPath(), outputJar.toPath());
+      if (classCache != null || manifestFile != null) {
+        this.cacheFingerprint = computeCacheFingerprint();
+      }
+
+      JarManifest base = null;
+      String fingerprintHex = null;
+      if (manifestFile != null) {
+        fingerprintHex = HexFormat.of().formatHex(cacheFingerprint);
+        base = JarManifest.read(manifestFile.toPath());
+        if (base != null && !base.isUsableFor(fingerprintHex)) {
+          base = null;
+        }
+      }
+
+      Set<String> notReusable = ConcurrentHashMap.newKeySet();
+      List<MappedJarReader.Entry> inputEntries = createPatchedJar(originalJar.toPath(), outputJar.toPath(), base,
+          notReusable);
+      if (manifestFile != null) {
+        JarManifest.of(inputEntries, fingerprintHex, outputJar.toPath(), notReusable).write(manifestFile.toPath());
+      }
+      if (classCache != null) {
+        classCache.flush();
+        logger.info("Class cache: " + cacheHits.get() + " of " + classesScanned.get() + " classes reused");
+      }
+      metrics.setWallNanos(System.nanoTime() - startNanos);
+      metrics.setJarBytes(Files.size(originalJar.toPath()), Files.size(outputJar.toPath()));
       long duration = System.currentTimeMillis() - startTime;
+      progressListener.onMetrics(metrics);
       progressListener.onComplete(duration, getStatistics(), null);
     } catch (IOException e) {
       long duration = System.currentTimeMillis() - startTime;
       progressListener.onComplete(duration, getStatistics(), e);
       throw e;
+    } finally {
+      if (jarTypes != null) {
+        jarTypes.close();
+        jarTypes = null;
+        typeHierarchy = null;
+      }
+    }
+  }
+
+  /**
+   * Creates the transformers for one plugin.
+   *
+   * <p>
+   * Package-private so the benchmarks can patch single classes without a JAR.
+   * </p>
+   *
+   * @param relocatedPatcherPath The package the FoliaPatcher runtime is relocated to
+   * @param typeHierarchy        The types used to compute frames of rewritten classes
+   */
+  void configureTransformers(String relocatedPatcherPath, TypeHierarchy typeHierarchy) {
+    this.relocatedPatcherPath = relocatedPatcherPath;
+    this.typeHierarchy = typeHierarchy;
+
+    this.visitorTransformers = new ArrayList<>();
+    // Every call site redirect is applied by one visitor driven by RedirectRules.TABLE
+    visitorTransformers.add(new RedirectTransformer(logger, relocatedPatcherPath));
+    visitorTransformers.add(new EventHandlerTransformer(logger, relocatedPatcherPath));
+    visitorTransformers.add(new PluginEnableTransformer(logger, relocatedPatcherPath));
+
+    // Node-based transformers share one tree per class; only enabled ones are kept
+    this.nodeTransformers = new ArrayList<>();
+    for (NodeTransformer transformer : List.of(
+        new AsyncEventHandlerTransformer(logger, relocatedPatcherPath, asyncEventHandlers, typeHierarchy))) {
+      if (transformer.isEnabled()) {
+        nodeTransformers.add(transformer);
+      }
     }
   }
 
   /**
-   * Creates the patched JAR using an in-memory ZIP filesystem for high performance.
+   * Creates the patched JAR in a single streaming pass.
+   *
+   * <p>
+   * The source is read once and the destination written once. Signature
+   * stripping, the plugin.yml rewrite and runtime bundling run as stages of
+   * the stream, and only a bounded window of entries is held in memory.
+   * </p>
    *
    * @param source    Path to the source JAR.
    * @param destination Path for the output JAR.
+   * @param base      Manifest of a previous patch to reuse entries from, or null.
+   * @param notReusable Receives the classes whose result must not be reused, see {@link ClassPatchResult#cacheable}.
+   * @return The entries of the source JAR.
    * @throws IOException If an I/O error occurs during file operations.
    */
-  private void createPatchedJar(Path source, Path destination) throws IOException {
-    // First, copy the original JAR to the destination. We will modify it in-place.
-    Files.copy(source, destination, StandardCopyOption.REPLACE_EXISTING);
-
-    // Define ZIP filesystem properties. 'create: false' means we open an existing file.
-    Map<String, String> env = new HashMap<>();
-    env.put("create", "false");
-
-    URI uri = URI.create("jar:" + destination.toUri());
-
-    try (FileSystem zipfs = FileSystems.newFileSystem(uri, env)) {
-      ForkJoinPool executor = ForkJoinPool.commonPool();
-      List<Path> classFiles;
-      try (Stream<Path> stream = Files.walk(zipfs.getPath("/"))) {
-        classFiles = stream.filter(p -> p.toString().endsWith(".class")).toList();
-      }
-
-      progressListener.onProgressUpdate(0, "Transforming " + classFiles.size() + " classes...");
-
-      // Submit all class patching tasks for parallel execution.
-      Map<Path, Future<ClassPatchResult>> futures = new HashMap<>();
-      for (Path path : classFiles) {
-        byte[] originalBytes = Files.readAllBytes(path);
-        classesScanned.incrementAndGet();
-        futures.put(path, executor.submit(() -> patchClass(originalBytes, path.toString())));
-      }
-
-      // Process results and write back to the in-memory filesystem.
-      int processedCount = 0;
-      for (Map.Entry<Path, Future<ClassPatchResult>> entry : futures.entrySet()) {
-        try {
-          ClassPatchResult result = entry.getValue().get();
+  private List<MappedJarReader.Entry> createPatchedJar(Path source, Path destination, JarManifest base,
+      Set<String> notReusable) throws IOException {
+    List<JarStage> stages = new ArrayList<>();
+    stages.add(new SignatureStripStage());
+    stages.add(new PluginYmlStage(this::rewritePluginYml));
+    stages.add(new BundleStage(relocatedPatcherPath, RUNTIME_CLASSES, this::relocateRuntimeClass));
+
+    ShadedLibraries shaded = detectShadedLibraries(source);
+    classesSkipped.addAndGet(shaded.getClassCount());
+
+    StreamingJarRewriter rewriter = new StreamingJarRewriter(
+        stages,
+        (name, bytes) -> {
+          classesScanned.incrementAndGet();
+          ClassPatchResult result = patchClassCached(bytes, name);
+          if (!result.cacheable) {
+            notReusable.add(name);
+          }
           if (result.wasTransformed) {
-            Files.write(entry.getKey(), result.bytes);
             classesTransformed.incrementAndGet();
           } else {
             classesSkipped.incrementAndGet();
           }
-          progressListener.onProgressUpdate(
-            (int) (50.0 * (++processedCount) / classFiles.size()),
-            "Processed: " + entry.getKey()
-          );
-        } catch (InterruptedException | ExecutionException e) {
-          throw new IOException("Failed to patch class: " + entry.getKey(), e);
-        }
-      }
-
-      progressListener.onProgressUpdate(50, "Updating JAR metadata...");
-      updatePluginYml(zipfs);
-      removeSignatureFiles(zipfs);
-
-      progressListener.onProgressUpdate(90, "Bundling runtime classes...");
-      bundleFoliaPatcherClasses(zipfs);
-
-      progressListener.onProgressUpdate(100, "Finalizing JAR...");
+          metrics.addClassBytes(bytes.length, result.bytes.length);
+          return result.bytes;
+        },
+        workerThreads,
+        maxInFlightBytes,
+        classCompressionLevel,
+        resourceCompressionLevel);
+    rewriter.setMetrics(metrics);
+    rewriter.setExecutor(executor);
+    rewriter.setPassThrough(shaded::contains);
+
+    progressListener.onProgressUpdate(0, "Transforming classes...");
+    List<MappedJarReader.Entry> entries = rewriter.rewrite(source, destination, (name, written, total) ->
+        progressListener.onProgressUpdate(
+          (int) (90.0 * written / Math.max(1, total)),
+          "Processed: " + name
+        ), base);
+    if (base != null) {
+      logger.info("Incremental patch: reused " + rewriter.getReusedEntries() + " of " + entries.size()
+          + " entries from " + base.getOutput().getFileName());
     }
+
+    progressListener.onProgressUpdate(100, "Finalizing JAR...");
+    return entries;
   }
 
-  private void updatePluginYml(FileSystem zipfs) throws IOException {
-    Path pluginYmlPath = zipfs.getPath("plugin.yml");
-    if (Files.exists(pluginYmlPath)) {
-      String originalYml = Files.readString(pluginYmlPath, StandardCharsets.UTF_8);
-      String modifiedYml = addFoliaSupportedFlag(originalYml);
-      Files.writeString(pluginYmlPath, modifiedYml, StandardCharsets.UTF_8);
+  /**
+   * Finds the shaded libraries of a JAR and records them in the metrics.
+   *
+   * @param source Path to the JAR.
+   * @return The verified library copies, or none if detection is disabled.
+   * @throws IOException If the JAR cannot be read.
+   */
+  private ShadedLibraries detectShadedLibraries(Path source) throws IOException {
+    if (shadedLibraryDetector == null) {
+      return ShadedLibraries.NONE;
+    }
+    long start = System.nanoTime();
+    ShadedLibraries shaded = shadedLibraryDetector.detect(source);
+    metrics.addPhase(PatchMetrics.Phase.SHADED, System.nanoTime() - start);
+    for (ShadedLibraries.Subtree subtree : shaded.getSubtrees()) {
+      metrics.addShadedSubtree(subtree.getLibrary(), subtree.getRoot(), subtree.getEntries().size());
+      logger.info("Skipping shaded " + subtree.getLibrary() + " in " + subtree.getRoot()
+          + " (" + subtree.getEntries().size() + " classes)");
     }
+    return shaded;
   }
 
-  private void removeSignatureFiles(FileSystem zipfs) throws IOException {
-    Path metaInfDir = zipfs.getPath("META-INF");
-    if (Files.isDirectory(metaInfDir)) {
-      try (Stream<Path> stream = Files.list(metaInfDir)) {
-        stream.filter(p -> {
-          String fn = p.getFileName().toString();
-          return fn.endsWith(".SF") || fn.endsWith(".DSA") || fn.endsWith(".RSA");
-        }).forEach(p -> {
-          try {
-            Files.delete(p);
-          } catch (IOException e) {
-            logger.log(Level.WARNING, "Failed to delete signature file: " + p, e);
-          }
-        });
-      }
+  /**
+   * Loads a FoliaPatcher runtime class and relocates it into the plugin's namespace.
+   *
+   * @param className The runtime class file name, e.g. {@code FoliaPatcher.class}
+   * @return The relocated class bytes, or null if the class is not on the classpath
+   * @throws IOException If the class cannot be read
+   */
+  private byte[] relocateRuntimeClass(String className) throws IOException {
+    long start = System.nanoTime();
+    try {
+      return relocateRuntimeClass0(className);
+    } finally {
+      metrics.addPhase(PatchMetrics.Phase.BUNDLE, System.nanoTime() - start);
     }
   }
 
-  private void bundleFoliaPatcherClasses(FileSystem zipfs) throws IOException {
+  private byte[] relocateRuntimeClass0(String className) throws IOException {
     String originalPatcherPath = "com/patch/foliaphantom/core/patcher";
     SimpleRemapper remapper = new SimpleRemapper(originalPatcherPath, this.relocatedPatcherPath);
 
-    String[] classesToBundle = {
-      "FoliaPatcher.class",
-      "FoliaPatcher$FoliaBukkitTask.class",
-      "FoliaPatcher$FoliaChunkGenerator.class"
-    };
+    String originalClassPath = originalPatcherPath + "/" + className;
 
-    Path targetDir = zipfs.getPath(this.relocatedPatcherPath);
-    Files.createDirectories(targetDir);
+    try (InputStream is = getClass().getClassLoader().getResourceAsStream(originalClassPath)) {
+      if (is == null) {
+        logger.warning("[FoliaPhantom] Runtime class not found: " + originalClassPath);
+        return null;
+      }
 
-    for (String className : classesToBundle) {
-      String originalClassPath = originalPatcherPath + "/" + className;
-      Path targetPath = targetDir.resolve(className);
+      ClassReader cr = new ClassReader(is);
+      ClassWriter cw = new ClassWriter(0);
+      ClassVisitor cv = new ClassRemapper(cw, remapper);
+
+      // Inject the FAIL_FAST field only into the main FoliaPatcher class
+      if (originalClassPath.equals("com/patch/foliaphantom/core/patcher/FoliaPatcher.class")) {
+        final ClassVisitor nextVisitor = cv;
+        cv = new ClassVisitor(Opcodes.ASM9, nextVisitor) {
+          @Override
+          public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            // Set the shared-runtime flag; the field has no initializer to override it
+            if (name.equals("sharedRuntime")) {
+              return super.visitField(access, name, descriptor, signature, sharedRuntime ? 1 : 0);
+            }
+            if (name.equals("taskPlacement")) {
+              return super.visitField(access, name, descriptor, signature, taskPlacement.getKey());
+            }
+            return super.visitField(access, name, descriptor, signature, value);
+          }
 
-      try (InputStream is = getClass().getClassLoader().getResourceAsStream(originalClassPath)) {
-        if (is == null) {
-          logger.warning("[FoliaPhantom] Runtime class not found: " + originalClassPath);
-          continue;
-        }
+          @Override
+          public void visitEnd() {
+            // Inject FAIL_FAST field
+            FieldVisitor fv = super.visitField(
+              Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+              "FAIL_FAST",
+              "Z",
+              null,
+              failFastOnTimeout ? 1 : 0
+            );
+            if (fv != null) {
+              fv.visitEnd();
+            }
+
+            // Inject AGGRESSIVE_EVENT_OPTIMIZATION field
+            fv = super.visitField(
+              Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+              "AGGRESSIVE_EVENT_OPTIMIZATION",
+              "Z",
+              null,
+              aggressiveEventOptimization ? 1 : 0
+            );
+            if (fv != null) {
+              fv.visitEnd();
+            }
 
-        ClassReader cr = new ClassReader(is);
-        ClassWriter cw = new ClassWriter(0);
-        ClassVisitor cv = new ClassRemapper(cw, remapper);
-
-        // Inject the FAIL_FAST field only into the main FoliaPatcher class
-        if (originalClassPath.equals("com/patch/foliaphantom/core/patcher/FoliaPatcher.class")) {
-          final ClassVisitor nextVisitor = cv;
-          cv = new ClassVisitor(Opcodes.ASM9, nextVisitor) {
-            @Override
-            public void visitEnd() {
-              // Inject FAIL_FAST field
-              FieldVisitor fv = super.visitField(
-                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
-                "FAIL_FAST",
-                "Z",
-                null,
-                failFastOnTimeout ? 1 : 0
-              );
-              if (fv != null) {
-                fv.visitEnd();
-              }
-
-              // Inject AGGRESSIVE_EVENT_OPTIMIZATION field
-              fv = super.visitField(
-                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
-                "AGGRESSIVE_EVENT_OPTIMIZATION",
-                "Z",
-                null,
-                aggressiveEventOptimization ? 1 : 0
-              );
-              if (fv != null) {
-                fv.visitEnd();
-              }
-
-              // Inject FIRE_AND_FORGET field
-              fv = super.visitField(
-                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
-                "FIRE_AND_FORGET",
-                "Z",
-                null,
-                fireAndForget ? 1 : 0
-              );
-              if (fv != null) {
-                fv.visitEnd();
-              }
-
-              // Inject API_TIMEOUT_MS field
-              fv = super.visitField(
-                Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
-                "API_TIMEOUT_MS",
-                "J",
-                null,
-                apiTimeoutMs
-              );
-              if (fv != null) {
-                fv.visitEnd();
-              }
-
-              super.visitEnd();
+            // Inject FIRE_AND_FORGET field
+            fv = super.visitField(
+              Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+              "FIRE_AND_FORGET",
+              "Z",
+              null,
+              fireAndForget ? 1 : 0
+            );
+            if (fv != null) {
+              fv.visitEnd();
             }
 
-            @Override
-            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
-              MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
-              // Inject the event set initialization in the static initializer
-              if (name.equals("<clinit>")) {
-                return new MethodVisitor(Opcodes.ASM9, mv) {
-                  @Override
-                  public void visitCode() {
-                    super.visitCode();
-                    // Create a new HashSet
-                    super.visitTypeInsn(Opcodes.NEW, "java/util/HashSet");
+            // Inject API_TIMEOUT_MS field
+            fv = super.visitField(
+              Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL,
+              "API_TIMEOUT_MS",
+              "J",
+              null,
+              apiTimeoutMs
+            );
+            if (fv != null) {
+              fv.visitEnd();
+            }
+
+            super.visitEnd();
+          }
+
+          @Override
+          public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+            // Inject the event set initialization in the static initializer
+            if (name.equals("<clinit>")) {
+              return new MethodVisitor(Opcodes.ASM9, mv) {
+                @Override
+                public void visitCode() {
+                  super.visitCode();
+                  // Create a new HashSet
+                  super.visitTypeInsn(Opcodes.NEW, "java/util/HashSet");
+                  super.visitInsn(Opcodes.DUP);
+                  super.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/util/HashSet", "<init>", "()V", false);
+
+                  // Add elements to the set
+                  for (String eventName : fireAndForgetEvents) {
                     super.visitInsn(Opcodes.DUP);
-                    super.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/util/HashSet", "<init>", "()V", false);
-
-                    // Add elements to the set
-                    for (String eventName : fireAndForgetEvents) {
-                      super.visitInsn(Opcodes.DUP);
-                      super.visitLdcInsn(eventName);
-                      super.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Set", "add", "(Ljava/lang/Object;)Z", true);
-                      super.visitInsn(Opcodes.POP); // Pop the boolean result of add
-                    }
-
-                    // Store the set in the static field
-                    super.visitFieldInsn(Opcodes.PUTSTATIC, relocatedPatcherPath + "/FoliaPatcher", "FIRE_AND_FORGET_EVENTS", "Ljava/util/Set;");
+                    super.visitLdcInsn(eventName);
+                    super.visitMethodInsn(Opcodes.INVOKEINTERFACE, "java/util/Set", "add", "(Ljava/lang/Object;)Z", true);
+                    super.visitInsn(Opcodes.POP); // Pop the boolean result of add
                   }
-                };
-              }
-              return mv;
+
+                  // Store the set in the static field
+                  super.visitFieldInsn(Opcodes.PUTSTATIC, relocatedPatcherPath + "/FoliaPatcher", "FIRE_AND_FORGET_EVENTS", "Ljava/util/Set;");
+                }
+              };
             }
-          };
-        }
+            return mv;
+          }
+        };
+      }
 
-        cr.accept(cv, ClassReader.EXPAND_FRAMES);
+      cr.accept(cv, ClassReader.EXPAND_FRAMES);
 
-        Files.write(targetPath, cw.toByteArray());
-        logger.fine("Successfully bundled and relocated " + targetPath);
-      }
+      logger.fine("Successfully bundled and relocated " + className);
+      return cw.toByteArray();
     }
   }
 
@@ -512,64 +831,306 @@ public class PluginPatcher {
    * Patches a single class using the registered transformers.
    *
    * <p>
-   * Uses a fast-fail heuristic: first scans the class to determine
-   * if any patching is needed. If not, returns the original bytes
-   * immediately without full transformation.
+   * Uses a fast-fail heuristic: first checks the constant pool, then scans
+   * the method calls to determine if any patching is needed. If not, returns
+   * the original bytes immediately without full transformation.
+   * </p>
+   *
+   * <p>
+   * Otherwise the class is read once: the visitor-based transformers run on
+   * the selected methods, feeding a shared tree when a node-based transformer
+   * has a candidate {@code @EventHandler}, and the class is written once.
+   * Package-private for the benchmarks.
+   * </p>
+   *
+   * <p>
+   * Phase times and the changes of every transformer are recorded into the
+   * current {@link PatchMetrics}; the visitor transformers are timed one by one
+   * on a random sample of the classes only, as that doubles the cost of a pass.
    * </p>
    *
    * @param originalBytes The original class bytecode
    * @param className   The class name (for logging)
    * @return The patching result containing transformed bytes
    */
-  private ClassPatchResult patchClass(byte[] originalBytes, String className) {
+  ClassPatchResult patchClass(byte[] originalBytes, String className) {
+    PatchMetrics metrics = this.metrics;
     try {
+      long start = System.nanoTime();
       ClassReader cr = new ClassReader(originalBytes);
+      if (jarTypes != null) {
+        jarTypes.record(cr);
+      }
+
+      // Constant pool prefilter: most shaded classes reference no Bukkit API at all
+      boolean treeCandidate = !nodeTransformers.isEmpty()
+          && ConstantPoolPrefilter.containsUtf8(cr, EVENT_HANDLER_DESC);
+      boolean mayNeedPatching = treeCandidate || ConstantPoolPrefilter.DEFAULT.mayNeedPatching(cr);
+      long now = System.nanoTime();
+      metrics.addPhase(PatchMetrics.Phase.PREFILTER, now - start);
+      if (!mayNeedPatching) {
+        return new ClassPatchResult(originalBytes, false);
+      }
 
       // Fast-fail scan: check if this class needs patching
+      start = now;
       ScanningClassVisitor scanner = new ScanningClassVisitor(relocatedPatcherPath);
       cr.accept(scanner, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+      now = System.nanoTime();
+      metrics.addPhase(PatchMetrics.Phase.SCAN, now - start);
 
-      if (!scanner.needsPatching()) {
+      boolean treeStage = treeCandidate && scanner.hasEventHandlers();
+      if (!scanner.needsPatching() && !treeStage) {
         return new ClassPatchResult(originalBytes, false);
       }
+      start = now;
 
-      // Full transformation needed
+      // One pass over the class: the visitor chain writes into the tree when
+      // the node-based transformers need it, and straight into the writer otherwise
       ClassWriter cw = new ClassWriter(cr, 0);
-      ClassVisitor cv = cw;
+      ClassNode tree = treeStage ? new ClassNode() : null;
+      ClassVisitor sink = tree != null ? tree : cw;
+      ChangeTracker changes = new ChangeTracker();
+
+      if (scanner.needsPatching()) {
+        ClassVisitor cv = sink;
+
+        // Apply visitor-based transformers, only to the methods the scan selected;
+        // on sampled classes a timer in front of each link measures it with its successors
+        boolean sampled = ThreadLocalRandom.current().nextInt(TIMING_SAMPLE_RATE) == 0;
+        TimingClassVisitor[] timers = sampled ? new TimingClassVisitor[visitorTransformers.size() + 1] : null;
+        if (sampled) {
+          cv = timers[visitorTransformers.size()] = new TimingClassVisitor(cv);
+        }
+        for (int i = visitorTransformers.size() - 1; i >= 0; i--) {
+          cv = visitorTransformers.get(i).createVisitor(cv, changes);
+          if (sampled) {
+            cv = timers[i] = new TimingClassVisitor(cv);
+          }
+        }
 
-      // Apply visitor-based transformers
-      for (int i = visitorTransformers.size() - 1; i >= 0; i--) {
-        cv = visitorTransformers.get(i).createVisitor(cv);
-      }
+        cr.accept(new MethodFilterClassVisitor(cv, sink, scanner.getTransformedMethods()), ClassReader.EXPAND_FRAMES);
 
-      cr.accept(cv, ClassReader.EXPAND_FRAMES);
+        metrics.addChainClass(sampled);
+        if (sampled) {
+          for (int i = 0; i < visitorTransformers.size(); i++) {
+            metrics.transformer(visitorTransformers.get(i).getName())
+                .addTime(timers[i].getNanosUntil(timers[i + 1]), true);
+          }
+        }
+      } else {
+        cr.accept(tree, ClassReader.EXPAND_FRAMES);
+      }
 
-      byte[] intermediateBytes = cw.toByteArray();
-      boolean transformed = !java.util.Arrays.equals(originalBytes, intermediateBytes);
+      // Apply node-based transformers to the shared tree
+      boolean treeChanged = false;
+      if (tree != null) {
+        for (NodeTransformer transformer : nodeTransformers) {
+          long transformerStart = System.nanoTime();
+          treeChanged |= transformer.transform(tree, changes);
+          metrics.transformer(transformer.getName()).addTime(System.nanoTime() - transformerStart, false);
+        }
+      }
+      now = System.nanoTime();
+      metrics.addPhase(PatchMetrics.Phase.TRANSFORM, now - start);
 
-      // Apply node-based transformers
-      byte[] finalBytes = intermediateBytes;
-      for (AsyncEventHandlerTransformer transformer : nodeTransformers) {
-        finalBytes = transformer.transform(finalBytes);
+      // Unchanged classes are never serialized
+      boolean transformed = changes.hasChanged() || treeChanged;
+      if (!transformed) {
+        return new ClassPatchResult(originalBytes, false);
       }
+      start = now;
+
+      // A changed tree gets its frames recomputed on the single final write
+      if (tree != null) {
+        cw = treeChanged
+            ? new HierarchyClassWriter(cr, ClassWriter.COMPUTE_FRAMES, typeHierarchy)
+            : cw;
+        tree.accept(cw);
+      }
+      byte[] finalBytes = cw.toByteArray();
+      metrics.addPhase(PatchMetrics.Phase.FRAMES, System.nanoTime() - start);
 
-      if (!java.util.Arrays.equals(intermediateBytes, finalBytes)) {
-        transformed = true;
+      // Changes are only reported for classes that were actually written
+      for (Map.Entry<String, Map<String, Integer>> entry : changes.getChanges().entrySet()) {
+        metrics.transformer(entry.getKey()).addChangedClass(originalBytes.length, finalBytes.length, entry.getValue());
       }
 
       if (transformed) {
         logger.fine("[FoliaPhantom] Transformed: " + className);
       }
 
-      return new ClassPatchResult(finalBytes, transformed);
+      // Frames computed from the JAR's hierarchy depend on other classes than this one
+      return new ClassPatchResult(finalBytes, transformed, tree == null || !treeChanged);
 
     } catch (Exception e) {
       logger.log(Level.WARNING,
           "[FoliaPhantom] Failed to transform " + className + ", using original", e);
-      return new ClassPatchResult(originalBytes, false);
+      // The failure may come from another class, e.g. a supertype missing from the hierarchy
+      return new ClassPatchResult(originalBytes, false, false);
     }
   }
 
+  /**
+   * Patches a class through the class cache, if one is configured.
+   *
+   * @param originalBytes The original class bytecode
+   * @param className   The class name (for logging)
+   * @return The patching result, from the cache when possible
+   */
+  private ClassPatchResult patchClassCached(byte[] originalBytes, String className) {
+    if (classCache == null) {
+      return patchClass(originalBytes, className);
+    }
+
+    long start = System.nanoTime();
+    byte[] key = ClassPatchCache.key(cacheFingerprint, originalBytes);
+    ClassPatchCache.Entry cached = classCache.get(key);
+    metrics.addPhase(PatchMetrics.Phase.CACHE, System.nanoTime() - start);
+    if (cached != null) {
+      cacheHits.incrementAndGet();
+      return cached.isTransformed()
+          ? new ClassPatchResult(cached.getBytes(), true)
+          : new ClassPatchResult(originalBytes, false);
+    }
+
+    ClassPatchResult result = patchClass(originalBytes, className);
+    if (result.cacheable) {
+      start = System.nanoTime();
+      classCache.put(key, result.bytes, result.wasTransformed);
+      metrics.addPhase(PatchMetrics.Phase.CACHE, System.nanoTime() - start);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the fingerprint of everything besides the class bytes that
+   * influences the output of {@link #patchClass(byte[], String)}.
+   *
+   * <p>
+   * Covers the options, the relocation path and the bytecode of the patcher and
+   * every transformer, plus the size and timestamp of the JAR they were loaded
+   * from, so cached classes are invalidated whenever Folia Phantom changes.
+   * </p>
+   */
+  private byte[] computeCacheFingerprint() throws IOException {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IOException("SHA-256 is not available", e);
+    }
+
+    StringBuilder options = new StringBuilder("folia-phantom-class-cache-v1");
+    options.append('|').append(failFastOnTimeout)
+        .append('|').append(aggressiveEventOptimization)
+        .append('|').append(fireAndForget)
+        .append('|').append(apiTimeoutMs)
+        .append('|').append(new TreeSet<>(asyncEventHandlers))
+        .append('|').append(new TreeSet<>(fireAndForgetEvents))
+        .append('|').append(relocatedPatcherPath)
+        .append('|').append(sharedRuntime)
+        .append('|').append(taskPlacement.getKey());
+    digest.update(options.toString().getBytes(StandardCharsets.UTF_8));
+
+    List<Class<?>> components = new ArrayList<>();
+    components.add(PluginPatcher.class);
+    components.add(ConstantPoolPrefilter.class);
+    components.add(ScanningClassVisitor.class);
+    components.add(MethodFilterClassVisitor.class);
+    components.add(RedirectRules.class);
+    components.add(RedirectTable.class);
+    components.add(RedirectRule.class);
+    components.add(TypeHierarchy.class);
+    components.add(HierarchyClassWriter.class);
+    for (ClassTransformer transformer : visitorTransformers) {
+      components.add(transformer.getClass());
+    }
+    for (NodeTransformer transformer : nodeTransformers) {
+      components.add(transformer.getClass());
+    }
+    for (Class<?> component : components) {
+      digest.update(component.getName().getBytes(StandardCharsets.UTF_8));
+      String resource = component.getName().replace('.', '/') + ".class";
+      try (InputStream is = component.getClassLoader().getResourceAsStream(resource)) {
+        if (is != null) {
+          digest.update(is.readAllBytes());
+        }
+      }
+    }
+
+    CodeSource codeSource = PluginPatcher.class.getProtectionDomain().getCodeSource();
+    if (codeSource != null && codeSource.getLocation() != null) {
+      try {
+        Path location = Path.of(codeSource.getLocation().toURI());
+        if (Files.isRegularFile(location)) {
+          digest.update((Files.size(location) + "@" + Files.getLastModifiedTime(location).toMillis())
+              .getBytes(StandardCharsets.UTF_8));
+        }
+      } catch (URISyntaxException | IllegalArgumentException e) {
+        // Unusual class loader; the class bytes above still cover the transformers
+      }
+    }
+    return digest.digest();
+  }
+
+  /**
+   * Applies every plugin.yml change of this patch.
+   *
+   * @param pluginYml Original plugin.yml content
+   * @return Modified plugin.yml content
+   */
+  private String rewritePluginYml(String pluginYml) {
+    String result = addFoliaSupportedFlag(pluginYml);
+    return sharedRuntime ? addSoftDepend(result, PhantomRuntime.HOST_PLUGIN) : result;
+  }
+
+  /**
+   * Adds a plugin to the softdepend list of plugin.yml, in whichever list style the file uses.
+   *
+   * @param pluginYml Original plugin.yml content
+   * @param plugin    Name of the plugin to soft-depend on
+   * @return Modified plugin.yml content, unchanged if it already (soft-)depends on the plugin
+   */
+  static String addSoftDepend(String pluginYml, String plugin) {
+    List<String> lines = new ArrayList<>(pluginYml.lines().toList());
+    String quoted = java.util.regex.Pattern.quote(plugin);
+    for (int i = 0; i < lines.size(); i++) {
+      String line = lines.get(i);
+      if (!line.startsWith("depend:") && !line.startsWith("softdepend:")) {
+        continue;
+      }
+      boolean soft = line.startsWith("softdepend:");
+      String value = line.substring(line.indexOf(':') + 1).trim();
+      if (value.matches(".*(^|[\\[,\\s'\"])" + quoted + "($|[],\\s'\"]).*")) {
+        return pluginYml;
+      }
+      // Block style: the items follow on lines starting with '-'
+      int next = i + 1;
+      while (next < lines.size() && lines.get(next).trim().startsWith("-")) {
+        if (lines.get(next).trim().substring(1).trim().replaceAll("['\"]", "").equals(plugin)) {
+          return pluginYml;
+        }
+        next++;
+      }
+      if (!soft) {
+        continue;
+      }
+      if (value.isEmpty() || value.startsWith("#")) {
+        String indent = next > i + 1 ? lines.get(i + 1).substring(0, lines.get(i + 1).indexOf('-')) : "  ";
+        lines.add(i + 1, indent + "- " + plugin);
+      } else if (value.matches("\\[\\s*]")) {
+        lines.set(i, "softdepend: [" + plugin + "]");
+      } else if (value.startsWith("[")) {
+        lines.set(i, "softdepend: [" + plugin + ", " + value.substring(1));
+      } else {
+        lines.set(i, "softdepend: [" + plugin + ", " + value + "]");
+      }
+      return String.join("\n", lines) + "\n";
+    }
+    return pluginYml.trim() + "\nsoftdepend: [" + plugin + "]\n";
+  }
+
   /**
    * Adds or updates the folia-supported flag in plugin.yml.
    *
@@ -643,6 +1204,15 @@ public class PluginPatcher {
     };
   }
 
+  /**
+   * Returns the detailed metrics of the current or last patch.
+   *
+   * @return Phase timings, byte counts and per-transformer changes
+   */
+  public PatchMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Audits a plugin JAR file for potential Folia compatibility issues.
    *
@@ -657,6 +1227,9 @@ public class PluginPatcher {
     }
 
     AuditResult result = new AuditResult(pluginName);
+    ShadedLibraries shaded = shadedLibraryDetector != null
+        ? shadedLibraryDetector.detect(originalJar.toPath())
+        : ShadedLibraries.NONE;
 
     Map<String, String> env = new HashMap<>();
     env.put("create", "false");
@@ -666,12 +1239,17 @@ public class PluginPatcher {
     try (FileSystem zipfs = FileSystems.newFileSystem(uri, env)) {
       List<Path> classFiles;
       try (Stream<Path> stream = Files.walk(zipfs.getPath("/"))) {
-        classFiles = stream.filter(p -> p.toString().endsWith(".class")).toList();
+        classFiles = stream.filter(p -> p.toString().endsWith(".class"))
+            .filter(p -> !shaded.contains(p.toString().substring(1)))
+            .toList();
       }
 
       for (Path path : classFiles) {
         byte[] bytes = Files.readAllBytes(path);
         ClassReader cr = new ClassReader(bytes);
+        if (!ConstantPoolPrefilter.DEFAULT.mayNeedPatching(cr)) {
+          continue;
+        }
         AuditClassVisitor auditor = new AuditClassVisitor(result);
         cr.accept(auditor, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
       }
@@ -700,13 +1278,20 @@ public class PluginPatcher {
   /**
    * Result of a class patching operation.
    */
-  private static class ClassPatchResult {
+  static class ClassPatchResult {
     final byte[] bytes;
     final boolean wasTransformed;
+    /** Whether the result depends only on the class bytes and the options, so it may be cached */
+    final boolean cacheable;
 
     ClassPatchResult(byte[] bytes, boolean wasTransformed) {
+      this(bytes, wasTransformed, true);
+    }
+
+    ClassPatchResult(byte[] bytes, boolean wasTransformed, boolean cacheable) {
       this.bytes = bytes;
       this.wasTransformed = wasTransformed;
+      this.cacheable = cacheable;
     }
   }
 }
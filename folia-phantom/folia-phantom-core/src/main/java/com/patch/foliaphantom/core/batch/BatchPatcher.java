@@ -0,0 +1,337 @@
+/*
+ * Folia Phantom - Batch Patcher
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.batch;
+
+import com.patch.foliaphantom.core.PluginPatcher;
+import com.patch.foliaphantom.core.jar.StreamingJarRewriter;
+import com.patch.foliaphantom.core.progress.BatchProgressListener;
+import com.patch.foliaphantom.core.progress.PatchMetrics;
+import com.patch.foliaphantom.core.progress.PatchProgressListener;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Patches many plugin JARs on one shared pool of worker threads.
+ *
+ * <p>
+ * Every JAR gets its own {@link PluginPatcher}, since a patcher holds the
+ * state of the JAR it is working on, but all of them hand their class work
+ * units and compression blocks to the same work-stealing pool. A few JARs are
+ * patched at once so the pool stays busy while one of them is reading,
+ * bundling or finishing its output, and the largest JARs are started first so
+ * the batch does not end waiting on a single big plugin.
+ * </p>
+ *
+ * <p>
+ * The in-flight byte budget of {@link PluginPatcher#setMaxInFlightBytes(long)}
+ * applies per JAR, so a batch holds at most
+ * {@link #setMaxConcurrentJars(int)} times that much entry data.
+ * </p>
+ *
+ * <h2>Usage Example</h2>
+ *
+ * <pre>{@code
+ * try (BatchPatcher batch = new BatchPatcher(logger, listener -> new PluginPatcher(logger, listener), 8)) {
+ *   List<BatchPatcher.Result> results = batch.patch(jobs, batchListener);
+ * }
+ * }</pre>
+ */
+public class BatchPatcher implements AutoCloseable {
+
+  /** A batch progress listener that does nothing */
+  private static final BatchProgressListener NULL_LISTENER = new BatchProgressListener() {
+    @Override public void onBatchStart(int totalJars, long totalBytes) {}
+    @Override public void onJarStart(File originalJar, File outputJar) {}
+    @Override public void onJarComplete(File originalJar, long durationMillis, int[] statistics, Throwable error) {}
+    @Override public void onProgressUpdate(int percentage, int completedJars, int totalJars) {}
+    @Override public void onBatchComplete(long durationMillis, int succeeded, int failed) {}
+  };
+
+  /**
+   * Creates the patcher for one JAR of a batch.
+   */
+  @FunctionalInterface
+  public interface PatcherFactory {
+
+    /**
+     * @param listener The listener the patcher must report its progress to
+     * @return A new, fully configured patcher
+     */
+    PluginPatcher create(PatchProgressListener listener);
+  }
+
+  /**
+   * One JAR to patch.
+   */
+  public static final class Job {
+    private final File input;
+    private final File output;
+    private final File manifest;
+    private final long size;
+
+    /**
+     * @param input    Source JAR file to patch
+     * @param output   Destination for the patched JAR
+     * @param manifest Manifest of the previous patch for an incremental patch, or null
+     */
+    public Job(File input, File output, File manifest) {
+      this.input = input;
+      this.output = output;
+      this.manifest = manifest;
+      this.size = Math.max(1, input.length());
+    }
+
+    public Job(File input, File output) {
+      this(input, output, null);
+    }
+
+    public File getInput() { return input; }
+
+    public File getOutput() { return output; }
+
+    public File getManifest() { return manifest; }
+  }
+
+  /**
+   * Outcome of one job.
+   */
+  public static final class Result {
+    private final Job job;
+    private final long durationMillis;
+    private final int[] statistics;
+    private final PatchMetrics metrics;
+    private final Throwable error;
+
+    Result(Job job, long durationMillis, int[] statistics, PatchMetrics metrics, Throwable error) {
+      this.job = job;
+      this.durationMillis = durationMillis;
+      this.statistics = statistics;
+      this.metrics = metrics;
+      this.error = error;
+    }
+
+    public Job getJob() { return job; }
+
+    public long getDurationMillis() { return durationMillis; }
+
+    /** @return [classesScanned, classesTransformed, classesSkipped] */
+    public int[] getStatistics() { return statistics; }
+
+    public PatchMetrics getMetrics() { return metrics; }
+
+    /** @return The failure, or null if the JAR was patched */
+    public Throwable getError() { return error; }
+
+    public boolean isSuccess() { return error == null; }
+  }
+
+  private final Logger logger;
+  private final PatcherFactory factory;
+  private final ForkJoinPool pool;
+  private int maxConcurrentJars;
+
+  /**
+   * @param logger  Logger for failures
+   * @param factory Creates the patcher of each JAR
+   * @param threads Number of worker threads shared by all JARs, or 0 for one per core
+   */
+  public BatchPatcher(Logger logger, PatcherFactory factory, int threads) {
+    int workers = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    this.logger = logger;
+    this.factory = factory;
+    this.pool = StreamingJarRewriter.newWorkerPool(workers);
+    this.maxConcurrentJars = Math.max(2, workers / 2);
+  }
+
+  /**
+   * Sets how many JARs may be in progress at the same time.
+   *
+   * @param maxConcurrentJars JAR count, at least 1
+   */
+  public void setMaxConcurrentJars(int maxConcurrentJars) {
+    this.maxConcurrentJars = Math.max(1, maxConcurrentJars);
+  }
+
+  /**
+   * Patches every job, largest JAR first, and waits for all of them.
+   *
+   * <p>
+   * A failing JAR does not stop the others; its error is recorded in its
+   * result and reported to the listener.
+   * </p>
+   *
+   * @param jobs     The JARs to patch
+   * @param listener Listener for per-JAR and aggregate progress, or null
+   * @return One result per job, in the order of {@code jobs}
+   * @throws InterruptedException If the calling thread is interrupted; JARs in progress are abandoned
+   */
+  public List<Result> patch(List<Job> jobs, BatchProgressListener listener) throws InterruptedException {
+    BatchProgressListener batchListener = listener != null ? listener : NULL_LISTENER;
+    long startTime = System.currentTimeMillis();
+
+    List<Integer> order = new ArrayList<>();
+    long totalBytes = 0;
+    for (int i = 0; i < jobs.size(); i++) {
+      order.add(i);
+      totalBytes += jobs.get(i).size;
+    }
+    order.sort(Comparator.comparingLong((Integer i) -> jobs.get(i).size).reversed());
+
+    batchListener.onBatchStart(jobs.size(), totalBytes);
+    Progress progress = new Progress(jobs, totalBytes, batchListener);
+    Result[] results = new Result[jobs.size()];
+    AtomicInteger next = new AtomicInteger();
+
+    List<Thread> drivers = new ArrayList<>();
+    try {
+      for (int d = 0; d < Math.min(maxConcurrentJars, jobs.size()); d++) {
+        Thread driver = new Thread(() -> {
+          int n;
+          while (!Thread.currentThread().isInterrupted() && (n = next.getAndIncrement()) < order.size()) {
+            int index = order.get(n);
+            results[index] = patchJar(jobs.get(index), index, progress, batchListener);
+          }
+        }, "FoliaPhantom-Batch-" + d);
+        driver.setDaemon(true);
+        drivers.add(driver);
+        driver.start();
+      }
+      for (Thread driver : drivers) {
+        driver.join();
+      }
+    } finally {
+      for (Thread driver : drivers) {
+        driver.interrupt();
+      }
+    }
+
+    int succeeded = 0;
+    List<Result> list = new ArrayList<>();
+    for (Result result : results) {
+      list.add(result);
+      if (result.isSuccess()) {
+        succeeded++;
+      }
+    }
+    batchListener.onBatchComplete(System.currentTimeMillis() - startTime, succeeded, list.size() - succeeded);
+    return list;
+  }
+
+  /**
+   * Patches one JAR. Never throws: whatever goes wrong, including an
+   * {@link Error} from the patcher or an exception from the listener, ends up
+   * in the returned result, so the driver thread moves on to the next JAR.
+   */
+  private Result patchJar(Job job, int index, Progress progress, BatchProgressListener listener) {
+    long start = System.currentTimeMillis();
+    PluginPatcher patcher = null;
+    Throwable error = null;
+    try {
+      listener.onJarStart(job.input, job.output);
+      patcher = factory.create(new PatchProgressListener() {
+        @Override public void onPatchStart(File originalJar, File outputJar) {}
+        @Override public void onClassTransform(String className, int classIndex, int totalClasses) {}
+        @Override public void onComplete(long durationMillis, int[] statistics, Throwable error) {}
+
+        @Override
+        public void onProgressUpdate(int percentage, String message) {
+          progress.update(index, percentage);
+        }
+      });
+      patcher.setExecutor(pool);
+      patcher.patchPlugin(job.input, job.output, job.manifest);
+    } catch (Throwable t) {
+      logger.log(Level.SEVERE, "Failed to patch " + job.input.getName(), t);
+      error = t;
+    }
+
+    long duration = System.currentTimeMillis() - start;
+    Result result = new Result(job, duration, patcher != null ? patcher.getStatistics() : new int[3],
+        patcher != null ? patcher.getMetrics() : new PatchMetrics(), error);
+    try {
+      listener.onJarComplete(job.input, duration, result.statistics, error);
+      progress.complete(index);
+    } catch (Throwable t) {
+      logger.log(Level.WARNING, "Progress listener failed for " + job.input.getName(), t);
+    }
+    return result;
+  }
+
+  /**
+   * Stops the worker threads once the running batch, if any, is done with them.
+   */
+  @Override
+  public void close() {
+    pool.shutdown();
+    try {
+      pool.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Aggregate progress of a batch, weighted by JAR size.
+   */
+  private static final class Progress {
+    private final long[] sizes;
+    private final int[] percentages;
+    private final long totalBytes;
+    private final BatchProgressListener listener;
+    private long weightedDone;
+    private int completedJars;
+    private int lastPercentage = -1;
+
+    Progress(List<Job> jobs, long totalBytes, BatchProgressListener listener) {
+      this.sizes = new long[jobs.size()];
+      for (int i = 0; i < sizes.length; i++) {
+        sizes[i] = jobs.get(i).size;
+      }
+      this.percentages = new int[jobs.size()];
+      this.totalBytes = Math.max(1, totalBytes);
+      this.listener = listener;
+    }
+
+    synchronized void update(int index, int percentage) {
+      int clamped = Math.max(0, Math.min(100, percentage));
+      if (clamped <= percentages[index]) {
+        return;
+      }
+      weightedDone += sizes[index] * (clamped - percentages[index]);
+      percentages[index] = clamped;
+      publish(false);
+    }
+
+    synchronized void complete(int index) {
+      weightedDone += sizes[index] * (100 - percentages[index]);
+      percentages[index] = 100;
+      completedJars++;
+      publish(true);
+    }
+
+    /**
+     * Reports the progress when the percentage changed or a JAR finished.
+     * Called with the lock held so updates reach the listener in order.
+     */
+    private void publish(boolean jarFinished) {
+      int percentage = (int) (weightedDone / totalBytes);
+      if (percentage == lastPercentage && !jarFinished) {
+        return;
+      }
+      lastPercentage = percentage;
+      listener.onProgressUpdate(percentage, completedJars, sizes.length);
+    }
+  }
+}
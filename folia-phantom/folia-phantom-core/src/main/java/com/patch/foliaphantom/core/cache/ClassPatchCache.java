@@ -0,0 +1,408 @@
+/*
+ * Folia Phantom - Class Patch Cache
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent, content-addressed cache of patched class bytes.
+ *
+ * <p>
+ * Entries are keyed by a SHA-256 over a caller-supplied fingerprint of the
+ * transformer set and options followed by the original class bytes, so the
+ * same shaded library class is only transformed once no matter which plugin
+ * or plugin version it turns up in.
+ * </p>
+ *
+ * <h2>Storage</h2>
+ * <p>
+ * Records are appended to numbered pack files ({@code pack-00000001.fpc}, ...).
+ * Each record is {@code magic, key[32], flags, length, payload, crc32}; a torn
+ * or corrupt record ends the scan of its pack. When the current pack grows past
+ * an eighth of the size limit a new one is started, and the oldest packs are
+ * deleted while the cache is over its limit. A hit in an older pack is copied
+ * forward into the current one, so eviction by pack age approximates LRU.
+ * </p>
+ *
+ * <h2>Concurrency</h2>
+ * <p>
+ * One instance is shared per directory inside a JVM (see {@link #open}), and
+ * appends, rotation and eviction across processes are serialised with a lock
+ * file, so the CLI, GUI and server plugin can use the same directory at once.
+ * New records are buffered in memory and appended in batches by {@link #flush()}.
+ * Records are immutable once written; a pack deleted underneath a reader simply
+ * turns into a miss.
+ * </p>
+ */
+public final class ClassPatchCache {
+
+  private static final int RECORD_MAGIC = 0x46504331; // "FPC1"
+  private static final int KEY_SIZE = 32;
+  private static final int HEADER_SIZE = 4 + KEY_SIZE + 1 + 4;
+  private static final int FLAG_TRANSFORMED = 1;
+  private static final String PACK_PREFIX = "pack-";
+  private static final String PACK_SUFFIX = ".fpc";
+  private static final long MIN_PACK_SIZE = 4L * 1024 * 1024;
+  private static final int FLUSH_THRESHOLD = 1024 * 1024;
+
+  private static final Map<Path, ClassPatchCache> INSTANCES = new ConcurrentHashMap<>();
+
+  private final Path directory;
+  private final long maxBytes;
+  private final long packLimit;
+  private final Logger logger;
+  private final Map<ByteBuffer, Location> index = new ConcurrentHashMap<>();
+  private final Map<Integer, FileChannel> readers = new ConcurrentHashMap<>();
+  private volatile int currentPack;
+  private FileChannel lockChannel;
+  private FileChannel appender;
+  private final ByteArrayOutputStream pendingBytes = new ByteArrayOutputStream();
+  private final List<byte[]> pendingKeys = new ArrayList<>();
+  private final List<Location> pendingLocations = new ArrayList<>();
+
+  /**
+   * Result of a cache lookup.
+   */
+  public static final class Entry {
+    private final byte[] bytes;
+    private final boolean transformed;
+
+    Entry(byte[] bytes, boolean transformed) {
+      this.bytes = bytes;
+      this.transformed = transformed;
+    }
+
+    /** The patched bytes, or null if the class was left unchanged. */
+    public byte[] getBytes() { return bytes; }
+
+    public boolean isTransformed() { return transformed; }
+  }
+
+  private static final class Location {
+    final int pack;
+    final long offset;
+    final int length;
+    final boolean transformed;
+
+    Location(int pack, long offset, int length, boolean transformed) {
+      this.pack = pack;
+      this.offset = offset;
+      this.length = length;
+      this.transformed = transformed;
+    }
+  }
+
+  private ClassPatchCache(Path directory, long maxBytes, Logger logger) throws IOException {
+    this.directory = directory;
+    this.maxBytes = maxBytes;
+    this.packLimit = Math.max(MIN_PACK_SIZE, maxBytes / 8);
+    this.logger = logger;
+    Files.createDirectories(directory);
+    List<Integer> packs = listPacks();
+    for (int pack : packs) {
+      scanPack(pack);
+    }
+    this.currentPack = packs.isEmpty() ? 1 : packs.get(packs.size() - 1);
+  }
+
+  /**
+   * Returns the cache for {@code directory}, opening it on first use.
+   *
+   * @param directory Cache directory, created if missing
+   * @param maxBytes  Size limit for all pack files together
+   * @param logger    Logger for cache diagnostics
+   * @return The shared cache instance for that directory
+   * @throws IOException If the directory cannot be created or read
+   */
+  public static ClassPatchCache open(Path directory, long maxBytes, Logger logger) throws IOException {
+    Path key = directory.toAbsolutePath().normalize();
+    ClassPatchCache cache = INSTANCES.get(key);
+    if (cache == null) {
+      synchronized (INSTANCES) {
+        cache = INSTANCES.get(key);
+        if (cache == null) {
+          cache = new ClassPatchCache(key, maxBytes, logger);
+          INSTANCES.put(key, cache);
+        }
+      }
+    }
+    return cache;
+  }
+
+  /**
+   * Computes the cache key for a class.
+   *
+   * @param fingerprint Fingerprint of the transformer set and options
+   * @param classBytes  The original class bytes
+   * @return A 32-byte key
+   */
+  public static byte[] key(byte[] fingerprint, byte[] classBytes) {
+    MessageDigest digest = sha256();
+    digest.update(fingerprint);
+    digest.update(classBytes);
+    return digest.digest();
+  }
+
+  /**
+   * Looks up a class.
+   *
+   * @param key Key from {@link #key(byte[], byte[])}
+   * @return The cached result, or null on a miss
+   */
+  public Entry get(byte[] key) {
+    ByteBuffer indexKey = ByteBuffer.wrap(key);
+    Location location = index.get(indexKey);
+    if (location == null) {
+      return null;
+    }
+    if (!location.transformed) {
+      return new Entry(null, false);
+    }
+
+    try {
+      FileChannel channel = reader(location.pack);
+      ByteBuffer buffer = ByteBuffer.allocate(location.length + 4).order(ByteOrder.BIG_ENDIAN);
+      readFully(channel, buffer, location.offset + HEADER_SIZE);
+      buffer.flip();
+      byte[] bytes = new byte[location.length];
+      buffer.get(bytes);
+      CRC32 crc = new CRC32();
+      crc.update(bytes);
+      if ((int) crc.getValue() != buffer.getInt()) {
+        index.remove(indexKey, location);
+        return null;
+      }
+
+      if (location.pack != currentPack) {
+        put(key, bytes, true);
+      }
+      return new Entry(bytes, true);
+    } catch (IOException e) {
+      // Pack was evicted or truncated by another process
+      index.remove(indexKey, location);
+      return null;
+    }
+  }
+
+  /**
+   * Stores the result of patching a class.
+   *
+   * @param key         Key from {@link #key(byte[], byte[])}
+   * @param bytes       The patched bytes; ignored if the class was not transformed
+   * @param transformed Whether the class was changed by the transformers
+   */
+  public void put(byte[] key, byte[] bytes, boolean transformed) {
+    byte[] payload = transformed ? bytes : new byte[0];
+    ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + payload.length + 4).order(ByteOrder.BIG_ENDIAN);
+    record.putInt(RECORD_MAGIC);
+    record.put(key);
+    record.put((byte) (transformed ? FLAG_TRANSFORMED : 0));
+    record.putInt(payload.length);
+    record.put(payload);
+    CRC32 crc = new CRC32();
+    crc.update(payload);
+    record.putInt((int) crc.getValue());
+    record.flip();
+
+    synchronized (this) {
+      pendingKeys.add(key.clone());
+      pendingLocations.add(new Location(0, pendingBytes.size(), payload.length, transformed));
+      pendingBytes.write(record.array(), 0, record.limit());
+      if (pendingBytes.size() >= FLUSH_THRESHOLD) {
+        flush();
+      }
+    }
+  }
+
+  /**
+   * Appends all buffered records to the current pack file.
+   *
+   * <p>
+   * Records are buffered so that the lock file is taken once per batch rather
+   * than once per class. Buffered records are not visible to {@link #get} until
+   * they have been flushed.
+   * </p>
+   */
+  public synchronized void flush() {
+    if (pendingKeys.isEmpty()) {
+      return;
+    }
+    try {
+      if (lockChannel == null) {
+        lockChannel = FileChannel.open(directory.resolve("cache.lock"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+      }
+      FileLock lock = lockChannel.lock();
+      try {
+        if (appender == null) {
+          appender = openAppender(currentPack);
+        }
+        long offset = appender.size();
+        if (offset >= packLimit) {
+          // Rotate: another process may already have moved on, so go past the newest pack on disk
+          appender.close();
+          List<Integer> packs = listPacks();
+          int newest = packs.isEmpty() ? currentPack : Math.max(currentPack, packs.get(packs.size() - 1));
+          currentPack = newest + 1;
+          appender = openAppender(currentPack);
+          offset = appender.size();
+          evict();
+        }
+
+        ByteBuffer batch = ByteBuffer.wrap(pendingBytes.toByteArray());
+        long position = offset;
+        while (batch.hasRemaining()) {
+          position += appender.write(batch, position);
+        }
+        for (int i = 0; i < pendingKeys.size(); i++) {
+          Location pending = pendingLocations.get(i);
+          index.put(ByteBuffer.wrap(pendingKeys.get(i)),
+              new Location(currentPack, offset + pending.offset, pending.length, pending.transformed));
+        }
+      } finally {
+        lock.release();
+      }
+    } catch (IOException e) {
+      logger.log(Level.FINE, "[FoliaPhantom] Failed to write class cache entries", e);
+    } finally {
+      pendingKeys.clear();
+      pendingLocations.clear();
+      pendingBytes.reset();
+    }
+  }
+
+  /**
+   * Returns the number of entries currently indexed.
+   */
+  public int size() {
+    return index.size();
+  }
+
+  private FileChannel openAppender(int pack) throws IOException {
+    return FileChannel.open(packPath(pack), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+  }
+
+  private void evict() throws IOException {
+    List<Integer> packs = listPacks();
+    long total = 0;
+    List<Long> sizes = new ArrayList<>();
+    for (int pack : packs) {
+      long size = Files.size(packPath(pack));
+      sizes.add(size);
+      total += size;
+    }
+
+    for (int i = 0; i < packs.size() - 1 && total > maxBytes; i++) {
+      int pack = packs.get(i);
+      FileChannel channel = readers.remove(pack);
+      if (channel != null) {
+        channel.close();
+      }
+      Files.deleteIfExists(packPath(pack));
+      total -= sizes.get(i);
+      index.values().removeIf(location -> location.pack == pack);
+      logger.fine("[FoliaPhantom] Evicted class cache pack " + pack);
+    }
+  }
+
+  private void scanPack(int pack) {
+    try (FileChannel channel = FileChannel.open(packPath(pack), StandardOpenOption.READ)) {
+      long size = channel.size();
+      long position = 0;
+      ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.BIG_ENDIAN);
+      while (position + HEADER_SIZE <= size) {
+        header.clear();
+        readFully(channel, header, position);
+        header.flip();
+        if (header.getInt() != RECORD_MAGIC) {
+          break;
+        }
+        byte[] key = new byte[KEY_SIZE];
+        header.get(key);
+        boolean transformed = (header.get() & FLAG_TRANSFORMED) != 0;
+        int length = header.getInt();
+        if (length < 0 || position + HEADER_SIZE + length + 4 > size) {
+          break;
+        }
+        index.put(ByteBuffer.wrap(key), new Location(pack, position, length, transformed));
+        position += HEADER_SIZE + length + 4;
+      }
+    } catch (IOException e) {
+      logger.log(Level.FINE, "[FoliaPhantom] Skipping unreadable class cache pack " + pack, e);
+    }
+  }
+
+  private FileChannel reader(int pack) throws IOException {
+    FileChannel channel = readers.get(pack);
+    if (channel == null || !channel.isOpen()) {
+      synchronized (readers) {
+        channel = readers.get(pack);
+        if (channel == null || !channel.isOpen()) {
+          channel = FileChannel.open(packPath(pack), StandardOpenOption.READ);
+          readers.put(pack, channel);
+        }
+      }
+    }
+    return channel;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+    while (buffer.hasRemaining()) {
+      int read = channel.read(buffer, position);
+      if (read < 0) {
+        throw new IOException("Unexpected end of class cache pack");
+      }
+      position += read;
+    }
+  }
+
+  private List<Integer> listPacks() throws IOException {
+    List<Integer> packs = new ArrayList<>();
+    try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PACK_PREFIX + "*" + PACK_SUFFIX)) {
+      for (Path path : stream) {
+        String name = path.getFileName().toString();
+        try {
+          packs.add(Integer.parseInt(name.substring(PACK_PREFIX.length(), name.length() - PACK_SUFFIX.length())));
+        } catch (NumberFormatException ignored) {
+          // Not one of ours
+        }
+      }
+    }
+    packs.sort(null);
+    return packs;
+  }
+
+  private Path packPath(int pack) {
+    return directory.resolve(String.format("%s%08d%s", PACK_PREFIX, pack, PACK_SUFFIX));
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+}
@@ -0,0 +1,40 @@
+/*
+ * Folia Phantom - Hierarchy Class Writer
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * A ClassWriter that computes frames from a {@link TypeHierarchy} instead of
+ * loading classes.
+ *
+ * <p>
+ * ASM's default {@code getCommonSuperClass} loads both types through a class
+ * loader, which is slow and fails for types that only exist inside the plugin
+ * JAR. Resolving from class headers is safe to do from any number of worker
+ * threads.
+ * </p>
+ */
+public class HierarchyClassWriter extends ClassWriter {
+  private final TypeHierarchy hierarchy;
+
+  public HierarchyClassWriter(int flags, TypeHierarchy hierarchy) {
+    super(flags);
+    this.hierarchy = hierarchy;
+  }
+
+  public HierarchyClassWriter(ClassReader classReader, int flags, TypeHierarchy hierarchy) {
+    super(classReader, flags);
+    this.hierarchy = hierarchy;
+  }
+
+  @Override
+  protected String getCommonSuperClass(String type1, String type2) {
+    return hierarchy.commonSuperClass(type1, type2);
+  }
+}
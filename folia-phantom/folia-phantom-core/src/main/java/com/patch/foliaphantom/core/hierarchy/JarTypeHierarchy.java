@@ -0,0 +1,87 @@
+/*
+ * Folia Phantom - Jar Type Hierarchy
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import com.patch.foliaphantom.core.jar.MappedJarReader;
+import org.objectweb.asm.ClassReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class hierarchy of one plugin JAR.
+ *
+ * <p>
+ * Headers are recorded as the patcher scans each class. A type asked for
+ * before its class has been scanned is read straight from the JAR, so
+ * workers never depend on the order classes are processed in.
+ * </p>
+ */
+public class JarTypeHierarchy implements TypeHierarchy, Closeable {
+  /** Marks names known to be absent from the JAR */
+  private static final TypeInfo ABSENT = new TypeInfo("", null, null, false);
+
+  private final MappedJarReader reader;
+  private final Map<String, MappedJarReader.Entry> classEntries = new HashMap<>();
+  private final ConcurrentHashMap<String, TypeInfo> types = new ConcurrentHashMap<>();
+
+  /**
+   * @param jar The plugin JAR
+   * @throws IOException If the JAR cannot be opened
+   */
+  public JarTypeHierarchy(Path jar) throws IOException {
+    this.reader = new MappedJarReader(jar);
+    for (MappedJarReader.Entry entry : reader.entries()) {
+      String name = entry.getName();
+      if (name.endsWith(".class") && !name.startsWith("META-INF/")) {
+        classEntries.put(name.substring(0, name.length() - 6), entry);
+      }
+    }
+  }
+
+  /**
+   * Records the header of a class of the JAR that is being scanned anyway.
+   */
+  public void record(ClassReader cr) {
+    TypeInfo info = TypeInfo.of(cr);
+    types.put(info.getName(), info);
+  }
+
+  @Override
+  public TypeInfo get(String internalName) {
+    TypeInfo info = types.get(internalName);
+    if (info == null) {
+      info = types.computeIfAbsent(internalName, this::readHeader);
+    }
+    return info != ABSENT ? info : null;
+  }
+
+  private TypeInfo readHeader(String internalName) {
+    MappedJarReader.Entry entry = classEntries.get(internalName);
+    if (entry == null) {
+      return ABSENT;
+    }
+    try {
+      return TypeInfo.of(new ClassReader(reader.read(entry)));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      // Not a valid class file; ClassReader throws unchecked exceptions
+      return ABSENT;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Folia Phantom - Resource Type Hierarchy
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reads class headers from the class files visible to a class loader.
+ *
+ * <p>
+ * Covers the JDK and, inside a server, the server's own API. Class files are
+ * read as resources, so nothing is loaded or initialized. Results, including
+ * misses, are cached for the lifetime of the instance.
+ * </p>
+ */
+public class ResourceTypeHierarchy implements TypeHierarchy {
+  private static final TypeInfo ABSENT = new TypeInfo("", null, null, false);
+
+  private static final ResourceTypeHierarchy DEFAULT =
+      new ResourceTypeHierarchy(ResourceTypeHierarchy.class.getClassLoader());
+
+  private final ClassLoader loader;
+  private final ConcurrentHashMap<String, TypeInfo> types = new ConcurrentHashMap<>();
+
+  /**
+   * @param loader The class loader whose resources are read
+   */
+  public ResourceTypeHierarchy(ClassLoader loader) {
+    this.loader = loader;
+  }
+
+  /**
+   * @return A shared instance for the class loader of Folia Phantom
+   */
+  public static ResourceTypeHierarchy getDefault() {
+    return DEFAULT;
+  }
+
+  @Override
+  public TypeInfo get(String internalName) {
+    TypeInfo info = types.computeIfAbsent(internalName, this::readHeader);
+    return info != ABSENT ? info : null;
+  }
+
+  private TypeInfo readHeader(String internalName) {
+    try (InputStream in = loader.getResourceAsStream(internalName + ".class")) {
+      if (in == null) {
+        return ABSENT;
+      }
+      return TypeInfo.of(new ClassReader(in));
+    } catch (IOException | RuntimeException e) {
+      return ABSENT;
+    }
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Folia Phantom - Type Hierarchy
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+/**
+ * A source of class headers that answers subtype questions without loading classes.
+ *
+ * <p>
+ * Implementations must be safe to query from several threads at once.
+ * Hierarchies are combined with {@link #then(TypeHierarchy)}; the patcher
+ * consults the plugin JAR first, then the bundled Paper API index, then the
+ * class files visible to Folia Phantom itself.
+ * </p>
+ */
+public interface TypeHierarchy {
+
+  /** The internal name every class ultimately extends */
+  String OBJECT = "java/lang/Object";
+
+  /**
+   * @param internalName The internal name of a class or interface
+   * @return Its header, or null if this hierarchy does not know the type
+   */
+  TypeInfo get(String internalName);
+
+  /**
+   * @return The bundled Paper API index, backed by the class files visible to Folia Phantom
+   */
+  static TypeHierarchy platform() {
+    return TypeIndex.bundled().then(ResourceTypeHierarchy.getDefault());
+  }
+
+  /**
+   * @return A hierarchy that asks this one first and {@code fallback} for unknown types
+   */
+  default TypeHierarchy then(TypeHierarchy fallback) {
+    TypeHierarchy first = this;
+    return internalName -> {
+      TypeInfo info = first.get(internalName);
+      return info != null ? info : fallback.get(internalName);
+    };
+  }
+
+  /**
+   * Returns the most specific common superclass of two types, following the
+   * contract of {@code ClassWriter.getCommonSuperClass}.
+   *
+   * <p>
+   * Runs in time linear in the depth of both superclass chains, plus the
+   * interface closure of {@code type2} when {@code type1} is an interface.
+   * Types this hierarchy does not know are treated as direct subclasses of
+   * {@code java/lang/Object}.
+   * </p>
+   */
+  default String commonSuperClass(String type1, String type2) {
+    if (type1.equals(type2)) {
+      return type1;
+    }
+    if (isAssignableFrom(type1, type2)) {
+      return type1;
+    }
+    if (isAssignableFrom(type2, type1)) {
+      return type2;
+    }
+    TypeInfo info1 = get(type1);
+    TypeInfo info2 = get(type2);
+    if (info1 == null || info2 == null || info1.isInterface() || info2.isInterface()) {
+      return OBJECT;
+    }
+    // Walk up from type1 until reaching a superclass of type2
+    String current = info1.getSuperName();
+    while (current != null && !OBJECT.equals(current)) {
+      if (isAssignableFrom(current, type2)) {
+        return current;
+      }
+      TypeInfo info = get(current);
+      current = info != null ? info.getSuperName() : null;
+    }
+    return OBJECT;
+  }
+
+  /**
+   * @return Whether a value of type {@code type} can be assigned to {@code target}
+   */
+  default boolean isAssignableFrom(String target, String type) {
+    if (target.equals(type) || OBJECT.equals(target)) {
+      return true;
+    }
+    TypeInfo targetInfo = get(target);
+    boolean targetIsInterface = targetInfo != null && targetInfo.isInterface();
+    for (String current = type; current != null;) {
+      if (current.equals(target)) {
+        return true;
+      }
+      TypeInfo info = get(current);
+      if (info == null) {
+        return false;
+      }
+      if (targetIsInterface && implementsInterface(info, target, 0)) {
+        return true;
+      }
+      current = info.getSuperName();
+    }
+    return false;
+  }
+
+  private boolean implementsInterface(TypeInfo info, String target, int depth) {
+    // Guards against malformed cyclic input; real interface graphs are shallow
+    if (depth > 64) {
+      return false;
+    }
+    for (String itf : info.getInterfaces()) {
+      if (itf.equals(target)) {
+        return true;
+      }
+      TypeInfo itfInfo = get(itf);
+      if (itfInfo != null && implementsInterface(itfInfo, target, depth + 1)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,175 @@
+/*
+ * Folia Phantom - Type Index
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An immutable, compact binary index of class headers.
+ *
+ * <p>
+ * The index of the Paper API and its dependencies is generated at build time
+ * by {@link TypeIndexGenerator} and bundled as {@value #BUNDLED_RESOURCE}.
+ * The format is a magic number and version, a pool of distinct internal
+ * names, and one record per type holding pool indexes for its name,
+ * superclass and interfaces:
+ * </p>
+ *
+ * <pre>
+ * int magic, short version
+ * int nameCount, nameCount x UTF name
+ * int typeCount, typeCount x (int name, int superName or -1, byte flags, short n, n x int interface)
+ * </pre>
+ */
+public final class TypeIndex implements TypeHierarchy {
+
+  /** Class path resource of the bundled Paper API index */
+  public static final String BUNDLED_RESOURCE = "folia-phantom/paper-api.hierarchy";
+
+  private static final int MAGIC = 0x46505448; // "FPTH"
+  private static final int VERSION = 1;
+  private static final int FLAG_INTERFACE = 1;
+
+  private final Map<String, TypeInfo> types;
+
+  private TypeIndex(Map<String, TypeInfo> types) {
+    this.types = types;
+  }
+
+  /**
+   * Returns the index bundled with Folia Phantom, loaded on first use.
+   *
+   * @return The Paper API index, or an empty index if it is missing or corrupt
+   */
+  public static TypeIndex bundled() {
+    return Bundled.INDEX;
+  }
+
+  /**
+   * @return An index of exactly the given types
+   */
+  public static TypeIndex of(Collection<TypeInfo> types) {
+    Map<String, TypeInfo> map = new HashMap<>(types.size() * 2);
+    for (TypeInfo type : types) {
+      map.put(type.getName(), type);
+    }
+    return new TypeIndex(map);
+  }
+
+  @Override
+  public TypeInfo get(String internalName) {
+    return types.get(internalName);
+  }
+
+  /**
+   * @return The number of types in the index
+   */
+  public int size() {
+    return types.size();
+  }
+
+  /**
+   * Reads an index in the binary format.
+   *
+   * @throws IOException If the stream is not a supported index
+   */
+  public static TypeIndex read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != MAGIC || data.readUnsignedShort() != VERSION) {
+      throw new IOException("Not a type index, or an unsupported version");
+    }
+    String[] names = new String[data.readInt()];
+    for (int i = 0; i < names.length; i++) {
+      names[i] = data.readUTF();
+    }
+    int count = data.readInt();
+    Map<String, TypeInfo> types = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      String name = names[data.readInt()];
+      int superIndex = data.readInt();
+      int flags = data.readUnsignedByte();
+      String[] interfaces = new String[data.readUnsignedShort()];
+      for (int j = 0; j < interfaces.length; j++) {
+        interfaces[j] = names[data.readInt()];
+      }
+      types.put(name, new TypeInfo(name, superIndex < 0 ? null : names[superIndex], interfaces,
+          (flags & FLAG_INTERFACE) != 0));
+    }
+    return new TypeIndex(types);
+  }
+
+  /**
+   * Writes this index in the binary format.
+   */
+  public void write(OutputStream out) throws IOException {
+    Map<String, Integer> pool = new LinkedHashMap<>();
+    List<TypeInfo> sorted = new ArrayList<>(types.values());
+    sorted.sort((a, b) -> a.getName().compareTo(b.getName()));
+    for (TypeInfo type : sorted) {
+      pool.putIfAbsent(type.getName(), pool.size());
+      if (type.getSuperName() != null) {
+        pool.putIfAbsent(type.getSuperName(), pool.size());
+      }
+      for (String itf : type.getInterfaces()) {
+        pool.putIfAbsent(itf, pool.size());
+      }
+    }
+
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeShort(VERSION);
+    data.writeInt(pool.size());
+    for (String name : pool.keySet()) {
+      data.writeUTF(name);
+    }
+    data.writeInt(sorted.size());
+    for (TypeInfo type : sorted) {
+      data.writeInt(pool.get(type.getName()));
+      data.writeInt(type.getSuperName() != null ? pool.get(type.getSuperName()) : -1);
+      data.writeByte(type.isInterface() ? FLAG_INTERFACE : 0);
+      data.writeShort(type.getInterfaces().length);
+      for (String itf : type.getInterfaces()) {
+        data.writeInt(pool.get(itf));
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Lazy holder of the bundled index.
+   */
+  private static final class Bundled {
+    static final TypeIndex INDEX = load();
+
+    private static TypeIndex load() {
+      Logger logger = Logger.getLogger(TypeIndex.class.getName());
+      try (InputStream in = TypeIndex.class.getClassLoader().getResourceAsStream(BUNDLED_RESOURCE)) {
+        if (in == null) {
+          logger.fine("No bundled type index; relying on class files for the Paper API hierarchy");
+          return new TypeIndex(Map.of());
+        }
+        return read(in);
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Failed to read the bundled type index", e);
+        return new TypeIndex(Map.of());
+      }
+    }
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Folia Phantom - Type Index Generator
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Build-time tool that writes the bundled {@link TypeIndex}.
+ *
+ * <p>
+ * Run by the core module's build after compilation, with the compile class
+ * path (which includes the provided {@code paper-api} and its dependencies).
+ * Every class of every JAR on that class path is indexed, except ASM's, which
+ * plugins never extend. When two JARs contain the same class, the first one
+ * on the class path wins, as it would at runtime.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code TypeIndexGenerator <output file> [class path]}; the class path
+ * defaults to the one of the running JVM.
+ * </p>
+ */
+public final class TypeIndexGenerator {
+
+  private TypeIndexGenerator() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: TypeIndexGenerator <output file> [class path]");
+      System.exit(1);
+    }
+    Path output = Path.of(args[0]);
+    String classPath = args.length > 1 ? args[1] : System.getProperty("java.class.path");
+
+    Map<String, TypeInfo> types = new LinkedHashMap<>();
+    List<String> indexed = new ArrayList<>();
+    for (String element : classPath.split(File.pathSeparator)) {
+      Path path = Path.of(element);
+      String fileName = path.getFileName() != null ? path.getFileName().toString() : "";
+      if (!Files.isRegularFile(path) || !fileName.endsWith(".jar") || fileName.startsWith("asm-")) {
+        continue;
+      }
+      int before = types.size();
+      indexJar(path, types);
+      indexed.add(fileName + " (" + (types.size() - before) + ")");
+    }
+
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(output)) {
+      TypeIndex.of(types.values()).write(out);
+    }
+    System.out.println("Indexed " + types.size() + " types from " + String.join(", ", indexed) + " into " + output);
+  }
+
+  private static void indexJar(Path jar, Map<String, TypeInfo> types) throws IOException {
+    try (ZipFile zip = new ZipFile(jar.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")
+            || name.endsWith("package-info.class")) {
+          continue;
+        }
+        try (InputStream in = zip.getInputStream(entry)) {
+          TypeInfo info = TypeInfo.of(new ClassReader(in));
+          types.putIfAbsent(info.getName(), info);
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Folia Phantom - Type Info
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * The supertypes of one class or interface, as read from its class file header.
+ */
+public final class TypeInfo {
+  private static final String[] NO_INTERFACES = new String[0];
+
+  private final String name;
+  private final String superName;
+  private final String[] interfaces;
+  private final boolean isInterface;
+
+  /**
+   * @param name        The internal name
+   * @param superName   The internal name of the superclass, or null for {@code java/lang/Object}
+   * @param interfaces  The internal names of the directly implemented interfaces
+   * @param isInterface Whether the type is an interface
+   */
+  public TypeInfo(String name, String superName, String[] interfaces, boolean isInterface) {
+    this.name = name;
+    this.superName = superName;
+    this.interfaces = interfaces != null && interfaces.length > 0 ? interfaces : NO_INTERFACES;
+    this.isInterface = isInterface;
+  }
+
+  /**
+   * Reads the header of a class; only the constant pool and the first few
+   * fields of the class file are parsed.
+   */
+  public static TypeInfo of(ClassReader cr) {
+    return new TypeInfo(cr.getClassName(), cr.getSuperName(), cr.getInterfaces(),
+        (cr.getAccess() & Opcodes.ACC_INTERFACE) != 0);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return The internal name of the superclass, or null for {@code java/lang/Object}
+   */
+  public String getSuperName() {
+    return superName;
+  }
+
+  /**
+   * @return The internal names of the directly implemented interfaces; must not be modified
+   */
+  public String[] getInterfaces() {
+    return interfaces;
+  }
+
+  public boolean isInterface() {
+    return isInterface;
+  }
+}
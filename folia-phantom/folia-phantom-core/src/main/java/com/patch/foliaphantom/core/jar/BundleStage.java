@@ -0,0 +1,72 @@
+/*
+ * Folia Phantom - Bundle Stage
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Appends a fixed set of classes under a target directory once the input is done.
+ *
+ * <p>
+ * Stale copies of the same classes found in the input (for example when a
+ * JAR is patched twice) are dropped so the output never contains duplicates.
+ * </p>
+ */
+public class BundleStage implements JarStage {
+
+  /**
+   * Supplies the bytes of a class to bundle.
+   */
+  @FunctionalInterface
+  public interface ClassSource {
+    /**
+     * @param fileName The class file name, e.g. {@code FoliaPatcher.class}
+     * @return The class bytes, or null if the class is not available
+     */
+    byte[] load(String fileName) throws IOException;
+  }
+
+  private final String targetDir;
+  private final List<String> fileNames;
+  private final ClassSource source;
+
+  /**
+   * @param targetDir Directory inside the JAR, without trailing slash
+   * @param fileNames Class file names to bundle
+   * @param source    Supplier of the class bytes
+   */
+  public BundleStage(String targetDir, List<String> fileNames, ClassSource source) {
+    this.targetDir = targetDir;
+    this.fileNames = fileNames;
+    this.source = source;
+  }
+
+  @Override
+  public boolean accepts(String name) {
+    if (!name.startsWith(targetDir) || name.length() <= targetDir.length() + 1
+        || name.charAt(targetDir.length()) != '/') {
+      return false;
+    }
+    return fileNames.contains(name.substring(targetDir.length() + 1));
+  }
+
+  @Override
+  public byte[] process(String name, byte[] data) {
+    return null;
+  }
+
+  @Override
+  public void finish(EntrySink sink) throws IOException {
+    for (String fileName : fileNames) {
+      byte[] bytes = source.load(fileName);
+      if (bytes != null) {
+        sink.write(targetDir + "/" + fileName, bytes);
+      }
+    }
+  }
+}
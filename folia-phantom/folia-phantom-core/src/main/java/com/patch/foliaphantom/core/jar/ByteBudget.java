@@ -0,0 +1,58 @@
+/*
+ * Folia Phantom - Byte Budget
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+/**
+ * Blocking counter that caps the number of bytes in flight between pipeline stages.
+ *
+ * <p>
+ * A request larger than the whole budget is clamped to the budget, so a single
+ * oversized entry can still pass once everything else has drained.
+ * </p>
+ */
+final class ByteBudget {
+
+  private final long capacity;
+  private long used;
+
+  ByteBudget(long capacity) {
+    this.capacity = Math.max(1, capacity);
+  }
+
+  /**
+   * Blocks until {@code bytes} can be charged against the budget.
+   *
+   * @return The amount actually charged, to be passed back to {@link #release(long)}
+   */
+  synchronized long acquire(long bytes) throws InterruptedException {
+    long charge = Math.min(bytes, capacity);
+    while (used + charge > capacity) {
+      wait();
+    }
+    used += charge;
+    return charge;
+  }
+
+  /**
+   * Charges {@code bytes} against the budget if that is possible without blocking.
+   *
+   * @return The amount charged, or -1 if the budget is exhausted
+   */
+  synchronized long tryAcquire(long bytes) {
+    long charge = Math.min(bytes, capacity);
+    if (used + charge > capacity) {
+      return -1;
+    }
+    used += charge;
+    return charge;
+  }
+
+  synchronized void release(long charge) {
+    used -= charge;
+    notifyAll();
+  }
+}
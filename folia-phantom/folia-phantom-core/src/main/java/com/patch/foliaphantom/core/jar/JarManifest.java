@@ -0,0 +1,189 @@
+/*
+ * Folia Phantom - Jar Manifest
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Record of the input entries behind a patched JAR, used for incremental patching.
+ *
+ * <p>
+ * Stores the CRC32 and size of every entry of the input JAR as listed in its
+ * central directory, together with the patch fingerprint and the location,
+ * size and timestamp of the output that was produced from it. When the next
+ * version of the plugin arrives, entries with an identical CRC and size can be
+ * copied straight from that earlier output instead of being processed again.
+ * </p>
+ *
+ * <p>
+ * Entries whose output depends on other entries, such as classes whose frames
+ * were computed from the JAR's type hierarchy, are left out, so they are
+ * processed again every time.
+ * </p>
+ */
+public final class JarManifest {
+
+  private static final String HEADER = "# Folia Phantom jar manifest v2";
+
+  private final String fingerprint;
+  private final Path output;
+  private final long outputSize;
+  private final long outputModified;
+  private final Map<String, long[]> entries;
+
+  private JarManifest(String fingerprint, Path output, long outputSize, long outputModified,
+      Map<String, long[]> entries) {
+    this.fingerprint = fingerprint;
+    this.output = output;
+    this.outputSize = outputSize;
+    this.outputModified = outputModified;
+    this.entries = entries;
+  }
+
+  /**
+   * Builds the manifest for an input JAR and the output produced from it.
+   *
+   * @param input       Entries of the input JAR
+   * @param fingerprint Fingerprint of the transformers and options used
+   * @param output      The patched JAR that was written
+   * @param notReusable Names of entries whose output must not be reused, however unchanged their input
+   * @return The manifest
+   * @throws IOException If the output cannot be inspected
+   */
+  public static JarManifest of(List<MappedJarReader.Entry> input, String fingerprint, Path output,
+      Set<String> notReusable) throws IOException {
+    Map<String, long[]> entries = new HashMap<>();
+    for (MappedJarReader.Entry entry : input) {
+      if (!notReusable.contains(entry.getName())) {
+        entries.put(entry.getName(), new long[] {entry.getCrc(), entry.getSize()});
+      }
+    }
+    Path absolute = output.toAbsolutePath();
+    return new JarManifest(fingerprint, absolute, Files.size(absolute),
+        Files.getLastModifiedTime(absolute).toMillis(), entries);
+  }
+
+  /**
+   * Reads a manifest written by {@link #write(Path)}.
+   *
+   * @param file The manifest file
+   * @return The manifest, or null if the file does not exist or is not a manifest
+   * @throws IOException If the file cannot be read
+   */
+  public static JarManifest read(Path file) throws IOException {
+    if (!Files.isRegularFile(file)) {
+      return null;
+    }
+    try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      if (!HEADER.equals(reader.readLine())) {
+        return null;
+      }
+      String fingerprint = value(reader.readLine(), "fingerprint=");
+      String output = value(reader.readLine(), "output=");
+      String outputSize = value(reader.readLine(), "output-size=");
+      String outputModified = value(reader.readLine(), "output-modified=");
+      if (fingerprint == null || output == null || outputSize == null || outputModified == null) {
+        return null;
+      }
+
+      Map<String, long[]> entries = new HashMap<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] parts = line.split(" ", 3);
+        if (parts.length == 3) {
+          entries.put(parts[2], new long[] {Long.parseLong(parts[0], 16), Long.parseLong(parts[1])});
+        }
+      }
+      return new JarManifest(fingerprint, Path.of(output), Long.parseLong(outputSize),
+          Long.parseLong(outputModified), entries);
+    } catch (NumberFormatException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Writes this manifest.
+   *
+   * @param file The manifest file, replaced if it exists
+   * @throws IOException If the file cannot be written
+   */
+  public void write(Path file) throws IOException {
+    Path parent = file.toAbsolutePath().getParent();
+    if (parent != null) {
+      Files.createDirectories(parent);
+    }
+    try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+      writer.write(HEADER);
+      writer.newLine();
+      writer.write("fingerprint=" + fingerprint);
+      writer.newLine();
+      writer.write("output=" + output);
+      writer.newLine();
+      writer.write("output-size=" + outputSize);
+      writer.newLine();
+      writer.write("output-modified=" + outputModified);
+      writer.newLine();
+      for (Map.Entry<String, long[]> entry : entries.entrySet()) {
+        if (entry.getKey().indexOf('\n') >= 0) {
+          continue;
+        }
+        writer.write(Long.toHexString(entry.getValue()[0]) + " " + entry.getValue()[1] + " " + entry.getKey());
+        writer.newLine();
+      }
+    }
+  }
+
+  /**
+   * Returns whether the earlier output can be reused for a patch with the given fingerprint.
+   *
+   * <p>
+   * The output must still exist unchanged and must have been produced with the
+   * same transformers and options.
+   * </p>
+   */
+  public boolean isUsableFor(String fingerprint) {
+    if (!this.fingerprint.equals(fingerprint)) {
+      return false;
+    }
+    try {
+      return Files.isRegularFile(output)
+          && Files.size(output) == outputSize
+          && Files.getLastModifiedTime(output).toMillis() == outputModified;
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Returns whether the previous input had an entry with this name, CRC and size
+   * whose output can be reused.
+   */
+  public boolean isUnchanged(MappedJarReader.Entry entry) {
+    long[] previous = entries.get(entry.getName());
+    return previous != null && previous[0] == entry.getCrc() && previous[1] == entry.getSize();
+  }
+
+  /**
+   * Returns the patched JAR this manifest describes.
+   */
+  public Path getOutput() {
+    return output;
+  }
+
+  private static String value(String line, String key) {
+    return line != null && line.startsWith(key) ? line.substring(key.length()) : null;
+  }
+}
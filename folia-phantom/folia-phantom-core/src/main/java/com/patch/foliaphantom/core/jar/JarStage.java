@@ -0,0 +1,56 @@
+/*
+ * Folia Phantom - Jar Stage
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.io.IOException;
+
+/**
+ * A single step of the streaming JAR rewrite.
+ *
+ * <p>
+ * Every entry of the input JAR is offered to each stage in order. A stage may
+ * leave the entry alone, replace its contents or drop it entirely. Once the
+ * input is exhausted, each stage gets a chance to append entries of its own.
+ * </p>
+ */
+public interface JarStage {
+
+  /**
+   * Returns whether this stage wants to see the given entry.
+   *
+   * @param name The entry name, e.g. {@code plugin.yml}
+   * @return true if {@link #process(String, byte[])} should be called
+   */
+  boolean accepts(String name);
+
+  /**
+   * Processes an accepted entry.
+   *
+   * @param name The entry name
+   * @param data The current entry contents
+   * @return The new contents, or null to drop the entry from the output
+   * @throws IOException If the entry cannot be processed
+   */
+  byte[] process(String name, byte[] data) throws IOException;
+
+  /**
+   * Called after every input entry has been written.
+   *
+   * @param sink Sink for additional output entries
+   * @throws IOException If an entry cannot be written
+   */
+  default void finish(EntrySink sink) throws IOException {
+  }
+
+  /**
+   * Receives entries appended by a stage.
+   */
+  @FunctionalInterface
+  interface EntrySink {
+    void write(String name, byte[] data) throws IOException;
+  }
+}
@@ -0,0 +1,294 @@
+/*
+ * Folia Phantom - Jar Writer
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.ZipException;
+
+/**
+ * Minimal ZIP writer that can copy entries as raw compressed bytes.
+ *
+ * <p>
+ * {@link java.util.zip.ZipOutputStream} always compresses what it is given,
+ * so an unchanged entry would have to be inflated and deflated again. This
+ * writer instead accepts the original compressed bytes and CRC of an entry
+ * and writes them back verbatim. Entries with new contents are compressed by a
+ * {@link ParallelDeflater}, either up front by the caller or on {@link #write}.
+ * Duplicate entry names are silently skipped.
+ * </p>
+ */
+public class JarWriter implements Closeable {
+
+  public static final int STORED = 0;
+  public static final int DEFLATED = 8;
+
+  private static final int BUFFER_SIZE = 65536;
+  private static final int FLAG_UTF8 = 0x0800;
+  private static final int FLAG_DATA_DESCRIPTOR = 0x0008;
+  private static final int VERSION = 20;
+  private static final int VERSION_ZIP64 = 45;
+  private static final long MAX_32 = 0xFFFFFFFFL;
+
+  private final FileChannel channel;
+  private final ByteBuffer out = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+  private final ParallelDeflater deflater;
+  private final int compressionLevel;
+  private final List<CentralRecord> central = new ArrayList<>();
+  private final Set<String> names = new HashSet<>();
+  private long position;
+  private boolean closed;
+
+  private static final class CentralRecord {
+    final byte[] name;
+    final int flags;
+    final int method;
+    final int dosTime;
+    final long crc;
+    final long compressedSize;
+    final long size;
+    final int externalAttributes;
+    final long offset;
+
+    CentralRecord(byte[] name, int flags, int method, int dosTime, long crc, long compressedSize,
+        long size, int externalAttributes, long offset) {
+      this.name = name;
+      this.flags = flags;
+      this.method = method;
+      this.dosTime = dosTime;
+      this.crc = crc;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.externalAttributes = externalAttributes;
+      this.offset = offset;
+    }
+  }
+
+  /**
+   * @param file             The file to create or truncate
+   * @param deflater         Compressor for entries written with new contents
+   * @param compressionLevel Default deflate level for {@link #write} (0-9)
+   * @throws IOException If the file cannot be opened
+   */
+  public JarWriter(Path file, ParallelDeflater deflater, int compressionLevel) throws IOException {
+    this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+        StandardOpenOption.TRUNCATE_EXISTING);
+    this.deflater = deflater;
+    this.compressionLevel = compressionLevel;
+  }
+
+  /**
+   * Copies an entry from a {@link MappedJarReader} without recompressing it.
+   *
+   * @param entry The source entry
+   * @param raw   The entry's raw data, as returned by {@link MappedJarReader#rawData}
+   * @return false if an entry with the same name was already written
+   * @throws IOException If writing fails
+   */
+  public boolean copyRaw(MappedJarReader.Entry entry, ByteBuffer raw) throws IOException {
+    byte[] name = entry.getName().getBytes(StandardCharsets.UTF_8);
+    if (!names.add(entry.getName())) {
+      return false;
+    }
+    int flags = (entry.getFlags() & ~FLAG_DATA_DESCRIPTOR) | FLAG_UTF8;
+    writeEntry(name, flags, entry.getMethod(), entry.getDosTime(), entry.getCrc(),
+        entry.getCompressedSize(), entry.getSize(), entry.getExternalAttributes(), raw.duplicate());
+    return true;
+  }
+
+  /**
+   * Writes an entry with new contents.
+   *
+   * @param name               The entry name
+   * @param data               The uncompressed contents
+   * @param method             {@link #STORED} or {@link #DEFLATED}
+   * @param dosTime            Modification time in MS-DOS format, see {@link #dosTime(LocalDateTime)}
+   * @param externalAttributes External file attributes to record
+   * @return false if an entry with the same name was already written
+   * @throws IOException If writing fails
+   */
+  public boolean write(String name, byte[] data, int method, int dosTime, int externalAttributes) throws IOException {
+    if (names.contains(name)) {
+      return false;
+    }
+    return writeCompressed(name, deflater.compress(data, method, compressionLevel), dosTime, externalAttributes);
+  }
+
+  /**
+   * Writes an entry whose contents were already compressed by a {@link ParallelDeflater}.
+   *
+   * @param name               The entry name
+   * @param compressed         The compressed contents
+   * @param dosTime            Modification time in MS-DOS format
+   * @param externalAttributes External file attributes to record
+   * @return false if an entry with the same name was already written
+   * @throws IOException If writing fails
+   */
+  public boolean writeCompressed(String name, ParallelDeflater.Compressed compressed, int dosTime,
+      int externalAttributes) throws IOException {
+    if (!names.add(name)) {
+      return false;
+    }
+    writeEntry(name.getBytes(StandardCharsets.UTF_8), FLAG_UTF8, compressed.method, dosTime, compressed.crc,
+        compressed.data.length, compressed.size, externalAttributes, ByteBuffer.wrap(compressed.data));
+    return true;
+  }
+
+  /**
+   * Writes a deflated entry stamped with the current time.
+   */
+  public boolean write(String name, byte[] data) throws IOException {
+    return write(name, data, DEFLATED, dosTime(LocalDateTime.now()), 0);
+  }
+
+  /**
+   * Converts a timestamp to the MS-DOS date/time format used in ZIP headers.
+   */
+  public static int dosTime(LocalDateTime time) {
+    int year = Math.max(1980, Math.min(2107, time.getYear()));
+    return (year - 1980) << 25
+        | time.getMonthValue() << 21
+        | time.getDayOfMonth() << 16
+        | time.getHour() << 11
+        | time.getMinute() << 5
+        | time.getSecond() >> 1;
+  }
+
+  /**
+   * Writes the central directory and closes the file.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      finish();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void finish() throws IOException {
+    long cdOffset = position;
+    for (CentralRecord record : central) {
+      ensure(46 + record.name.length);
+      out.putInt(0x02014b50);
+      out.putShort((short) VERSION);
+      out.putShort((short) VERSION);
+      out.putShort((short) record.flags);
+      out.putShort((short) record.method);
+      out.putInt(record.dosTime);
+      out.putInt((int) record.crc);
+      out.putInt((int) record.compressedSize);
+      out.putInt((int) record.size);
+      out.putShort((short) record.name.length);
+      out.putShort((short) 0);
+      out.putShort((short) 0);
+      out.putShort((short) 0);
+      out.putShort((short) 0);
+      out.putInt(record.externalAttributes);
+      out.putInt((int) record.offset);
+      out.put(record.name);
+      position += 46 + record.name.length;
+    }
+    long cdSize = position - cdOffset;
+    int count = central.size();
+
+    if (count >= 0xFFFF) {
+      long zip64End = position;
+      ensure(56 + 20);
+      out.putInt(0x06064b50);
+      out.putLong(44);
+      out.putShort((short) VERSION_ZIP64);
+      out.putShort((short) VERSION_ZIP64);
+      out.putInt(0);
+      out.putInt(0);
+      out.putLong(count);
+      out.putLong(count);
+      out.putLong(cdSize);
+      out.putLong(cdOffset);
+      out.putInt(0x07064b50);
+      out.putInt(0);
+      out.putLong(zip64End);
+      out.putInt(1);
+      position += 56 + 20;
+    }
+
+    ensure(22);
+    out.putInt(0x06054b50);
+    out.putShort((short) 0);
+    out.putShort((short) 0);
+    out.putShort((short) Math.min(count, 0xFFFF));
+    out.putShort((short) Math.min(count, 0xFFFF));
+    out.putInt((int) cdSize);
+    out.putInt((int) cdOffset);
+    out.putShort((short) 0);
+    position += 22;
+    flush();
+  }
+
+  private void writeEntry(byte[] name, int flags, int method, int dosTime, long crc, long compressedSize,
+      long size, int externalAttributes, ByteBuffer payload) throws IOException {
+    if (position > MAX_32 || compressedSize > MAX_32 || size > MAX_32) {
+      throw new ZipException("Output exceeds 4 GB, which is not supported");
+    }
+    central.add(new CentralRecord(name, flags, method, dosTime, crc, compressedSize, size,
+        externalAttributes, position));
+
+    ensure(30 + name.length);
+    out.putInt(0x04034b50);
+    out.putShort((short) VERSION);
+    out.putShort((short) flags);
+    out.putShort((short) method);
+    out.putInt(dosTime);
+    out.putInt((int) crc);
+    out.putInt((int) compressedSize);
+    out.putInt((int) size);
+    out.putShort((short) name.length);
+    out.putShort((short) 0);
+    out.put(name);
+    position += 30 + name.length;
+
+    int length = payload.remaining();
+    if (length <= out.remaining()) {
+      out.put(payload);
+    } else {
+      flush();
+      while (payload.hasRemaining()) {
+        channel.write(payload);
+      }
+    }
+    position += length;
+  }
+
+  private void ensure(int bytes) throws IOException {
+    if (out.remaining() < bytes) {
+      flush();
+    }
+  }
+
+  private void flush() throws IOException {
+    out.flip();
+    while (out.hasRemaining()) {
+      channel.write(out);
+    }
+    out.clear();
+  }
+}
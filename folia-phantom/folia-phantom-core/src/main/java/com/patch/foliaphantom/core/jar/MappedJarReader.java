@@ -0,0 +1,311 @@
+/*
+ * Folia Phantom - Mapped Jar Reader
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Reads a JAR by memory-mapping it and parsing the central directory directly.
+ *
+ * <p>
+ * Entry data is exposed as {@link ByteBuffer} slices of the mapping, so
+ * unmodified entries can be copied to the output as raw compressed bytes
+ * without ever being inflated. Entries that do need to be looked at are
+ * inflated straight from the mapping into an exactly sized array.
+ * </p>
+ *
+ * <p>
+ * Slices returned by this reader are only valid until {@link #close()}.
+ * </p>
+ */
+public class MappedJarReader implements Closeable {
+
+  private static final int LOCAL_HEADER_SIG = 0x04034b50;
+  private static final int CENTRAL_HEADER_SIG = 0x02014b50;
+  private static final int END_SIG = 0x06054b50;
+  private static final int ZIP64_END_SIG = 0x06064b50;
+  private static final int ZIP64_LOCATOR_SIG = 0x07064b50;
+  private static final int END_HEADER_SIZE = 22;
+  private static final long MASK_32 = 0xFFFFFFFFL;
+
+  private final FileChannel channel;
+  private final MappedByteBuffer mapped;
+  private final ByteBuffer buffer;
+  private final List<Entry> entries;
+
+  /**
+   * A central directory record.
+   */
+  public static final class Entry {
+    private final String name;
+    private final int flags;
+    private final int method;
+    private final int dosTime;
+    private final long crc;
+    private final long compressedSize;
+    private final long size;
+    private final int externalAttributes;
+    private final long localHeaderOffset;
+    private long dataOffset = -1;
+
+    Entry(String name, int flags, int method, int dosTime, long crc, long compressedSize,
+        long size, int externalAttributes, long localHeaderOffset) {
+      this.name = name;
+      this.flags = flags;
+      this.method = method;
+      this.dosTime = dosTime;
+      this.crc = crc;
+      this.compressedSize = compressedSize;
+      this.size = size;
+      this.externalAttributes = externalAttributes;
+      this.localHeaderOffset = localHeaderOffset;
+    }
+
+    public String getName() { return name; }
+    public int getFlags() { return flags; }
+    public int getMethod() { return method; }
+    public int getDosTime() { return dosTime; }
+    public long getCrc() { return crc; }
+    public long getCompressedSize() { return compressedSize; }
+    public long getSize() { return size; }
+    public int getExternalAttributes() { return externalAttributes; }
+
+    public boolean isDirectory() {
+      return name.endsWith("/");
+    }
+  }
+
+  /**
+   * Maps the given JAR and reads its central directory.
+   *
+   * @param jar The JAR file to open
+   * @throws IOException If the file cannot be mapped or is not a valid ZIP archive
+   */
+  public MappedJarReader(Path jar) throws IOException {
+    this.channel = FileChannel.open(jar, StandardOpenOption.READ);
+    try {
+      long fileSize = channel.size();
+      if (fileSize > Integer.MAX_VALUE) {
+        throw new ZipException("JAR files larger than 2 GB are not supported: " + jar);
+      }
+      this.mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      this.buffer = mapped.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+      this.entries = Collections.unmodifiableList(readCentralDirectory());
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Returns all entries in central directory order.
+   */
+  public List<Entry> entries() {
+    return entries;
+  }
+
+  /**
+   * Returns a read-only slice of the entry's stored (possibly compressed) data.
+   *
+   * @param entry An entry of this reader
+   * @return The raw entry data, exactly {@code compressedSize} bytes long
+   * @throws IOException If the local header is corrupt
+   */
+  public ByteBuffer rawData(Entry entry) throws IOException {
+    long offset = dataOffset(entry);
+    if (offset + entry.compressedSize > buffer.limit()) {
+      throw new ZipException("Truncated entry: " + entry.name);
+    }
+    return buffer.slice((int) offset, (int) entry.compressedSize).asReadOnlyBuffer();
+  }
+
+  /**
+   * Reads the uncompressed contents of an entry.
+   *
+   * @param entry An entry of this reader
+   * @return The entry contents
+   * @throws IOException If the entry is corrupt or uses an unsupported compression method
+   */
+  public byte[] read(Entry entry) throws IOException {
+    if (entry.size > Integer.MAX_VALUE - 8) {
+      throw new ZipException("Entry too large: " + entry.name);
+    }
+    ByteBuffer raw = rawData(entry);
+    if (entry.method == 0) {
+      byte[] data = new byte[raw.remaining()];
+      raw.get(data);
+      return data;
+    }
+    if (entry.method != 8) {
+      throw new ZipException("Unsupported compression method " + entry.method + ": " + entry.name);
+    }
+
+    byte[] data = new byte[(int) entry.size];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(raw);
+      int n = 0;
+      while (n < data.length) {
+        int read = inflater.inflate(data, n, data.length - n);
+        if (read == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        n += read;
+      }
+      if (n != data.length) {
+        throw new ZipException("Invalid entry size for " + entry.name + ": expected " + data.length + ", got " + n);
+      }
+    } catch (DataFormatException e) {
+      throw new ZipException("Corrupt entry " + entry.name + ": " + e.getMessage());
+    } finally {
+      inflater.end();
+    }
+    return data;
+  }
+
+  /**
+   * Releases the mapping. Slices obtained from this reader must not be used afterwards.
+   */
+  @Override
+  public void close() throws IOException {
+    channel.close();
+    unmap(mapped);
+  }
+
+  private long dataOffset(Entry entry) throws IOException {
+    if (entry.dataOffset < 0) {
+      long header = entry.localHeaderOffset;
+      if (header + 30 > buffer.limit() || buffer.getInt((int) header) != LOCAL_HEADER_SIG) {
+        throw new ZipException("Invalid local header for " + entry.name);
+      }
+      int nameLength = Short.toUnsignedInt(buffer.getShort((int) header + 26));
+      int extraLength = Short.toUnsignedInt(buffer.getShort((int) header + 28));
+      entry.dataOffset = header + 30 + nameLength + extraLength;
+    }
+    return entry.dataOffset;
+  }
+
+  private List<Entry> readCentralDirectory() throws IOException {
+    int end = findEndRecord();
+    long count = Short.toUnsignedInt(buffer.getShort(end + 10));
+    long cdSize = Integer.toUnsignedLong(buffer.getInt(end + 12));
+    long cdOffset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+
+    int locator = end - 20;
+    if (locator >= 0 && buffer.getInt(locator) == ZIP64_LOCATOR_SIG) {
+      long zip64End = buffer.getLong(locator + 8);
+      if (zip64End < 0 || zip64End + 56 > buffer.limit() || buffer.getInt((int) zip64End) != ZIP64_END_SIG) {
+        throw new ZipException("Invalid ZIP64 end of central directory record");
+      }
+      count = buffer.getLong((int) zip64End + 32);
+      cdSize = buffer.getLong((int) zip64End + 40);
+      cdOffset = buffer.getLong((int) zip64End + 48);
+    }
+
+    if (cdOffset < 0 || cdOffset + cdSize > buffer.limit()) {
+      throw new ZipException("Invalid central directory offset");
+    }
+
+    List<Entry> result = new ArrayList<>((int) Math.min(count, 1 << 16));
+    int pos = (int) cdOffset;
+    int cdEnd = (int) (cdOffset + cdSize);
+    while (pos < cdEnd) {
+      if (pos + 46 > cdEnd || buffer.getInt(pos) != CENTRAL_HEADER_SIG) {
+        throw new ZipException("Invalid central directory header at offset " + pos);
+      }
+      int flags = Short.toUnsignedInt(buffer.getShort(pos + 8));
+      int method = Short.toUnsignedInt(buffer.getShort(pos + 10));
+      int dosTime = buffer.getInt(pos + 12);
+      long crc = Integer.toUnsignedLong(buffer.getInt(pos + 16));
+      long compressedSize = Integer.toUnsignedLong(buffer.getInt(pos + 20));
+      long size = Integer.toUnsignedLong(buffer.getInt(pos + 24));
+      int nameLength = Short.toUnsignedInt(buffer.getShort(pos + 28));
+      int extraLength = Short.toUnsignedInt(buffer.getShort(pos + 30));
+      int commentLength = Short.toUnsignedInt(buffer.getShort(pos + 32));
+      int externalAttributes = buffer.getInt(pos + 38);
+      long localHeaderOffset = Integer.toUnsignedLong(buffer.getInt(pos + 42));
+
+      byte[] nameBytes = new byte[nameLength];
+      buffer.get(pos + 46, nameBytes);
+      String name = new String(nameBytes, StandardCharsets.UTF_8);
+
+      if (size == MASK_32 || compressedSize == MASK_32 || localHeaderOffset == MASK_32) {
+        int extra = pos + 46 + nameLength;
+        int extraEnd = extra + extraLength;
+        while (extra + 4 <= extraEnd) {
+          int id = Short.toUnsignedInt(buffer.getShort(extra));
+          int length = Short.toUnsignedInt(buffer.getShort(extra + 2));
+          if (id == 0x0001) {
+            int field = extra + 4;
+            if (size == MASK_32) {
+              size = buffer.getLong(field);
+              field += 8;
+            }
+            if (compressedSize == MASK_32) {
+              compressedSize = buffer.getLong(field);
+              field += 8;
+            }
+            if (localHeaderOffset == MASK_32) {
+              localHeaderOffset = buffer.getLong(field);
+            }
+            break;
+          }
+          extra += 4 + length;
+        }
+      }
+
+      result.add(new Entry(name, flags, method, dosTime, crc, compressedSize, size,
+          externalAttributes, localHeaderOffset));
+      pos += 46 + nameLength + extraLength + commentLength;
+    }
+    return result;
+  }
+
+  private int findEndRecord() throws IOException {
+    int limit = buffer.limit();
+    int min = Math.max(0, limit - END_HEADER_SIZE - 0xFFFF);
+    for (int pos = limit - END_HEADER_SIZE; pos >= min; pos--) {
+      if (buffer.getInt(pos) == END_SIG) {
+        return pos;
+      }
+    }
+    throw new ZipException("End of central directory record not found");
+  }
+
+  /**
+   * Unmaps the buffer eagerly so the file can be deleted or replaced right away
+   * on platforms that lock mapped files. Falls back to leaving it to the GC.
+   */
+  private static void unmap(MappedByteBuffer buffer) {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field field = unsafeClass.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      Object unsafe = field.get(null);
+      Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      invokeCleaner.invoke(unsafe, buffer);
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      // The mapping is released once the buffer is garbage collected
+    }
+  }
+}
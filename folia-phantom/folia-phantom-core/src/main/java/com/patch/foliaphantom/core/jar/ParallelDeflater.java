@@ -0,0 +1,154 @@
+/*
+ * Folia Phantom - Parallel Deflater
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Raw deflate that splits large inputs into blocks compressed in parallel.
+ *
+ * <p>
+ * Inputs above {@link #BLOCK_SIZE} are cut into blocks that are deflated
+ * independently, pigz-style: every block except the last ends with a sync
+ * flush so the compressed blocks can simply be concatenated, and each block is
+ * primed with the preceding 32KB of input as a preset dictionary so the ratio
+ * stays close to a single-threaded stream. Smaller inputs are deflated on the
+ * calling thread, which lets many small entries compress concurrently on the
+ * pipeline's own workers.
+ * </p>
+ */
+public final class ParallelDeflater {
+
+  /** Size of an independently compressed block (128KB) */
+  public static final int BLOCK_SIZE = 128 * 1024;
+
+  /** Deflate window size; each block is primed with this much preceding input */
+  private static final int DICTIONARY_SIZE = 32 * 1024;
+
+  /** Per-thread deflaters, one per level so a level change never has to be applied mid-stream */
+  private static final ThreadLocal<Deflater[]> DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[10]);
+
+  private final Executor executor;
+
+  /**
+   * Compressed entry contents ready to be written.
+   */
+  public static final class Compressed {
+    final byte[] data;
+    final long crc;
+    final long size;
+    final int method;
+
+    Compressed(byte[] data, long crc, long size, int method) {
+      this.data = data;
+      this.crc = crc;
+      this.size = size;
+      this.method = method;
+    }
+  }
+
+  /**
+   * @param executor Executor used for the blocks of large inputs
+   */
+  public ParallelDeflater(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Compresses {@code input} with the given method.
+   *
+   * @param input  The uncompressed data
+   * @param method {@link JarWriter#STORED} or {@link JarWriter#DEFLATED}
+   * @param level  Deflate level (0-9), ignored for stored entries
+   * @return The compressed data with its CRC
+   */
+  public Compressed compress(byte[] input, int method, int level) {
+    CRC32 crc = new CRC32();
+    crc.update(input);
+    if (method == JarWriter.STORED) {
+      return new Compressed(input, crc.getValue(), input.length, JarWriter.STORED);
+    }
+
+    if (input.length <= BLOCK_SIZE) {
+      byte[] out = deflateBlock(input, 0, input.length, level, true);
+      return new Compressed(out, crc.getValue(), input.length, JarWriter.DEFLATED);
+    }
+
+    int blocks = (input.length + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    List<CompletableFuture<byte[]>> futures = new ArrayList<>(blocks - 1);
+    for (int i = 1; i < blocks; i++) {
+      final int start = i * BLOCK_SIZE;
+      final int end = Math.min(input.length, start + BLOCK_SIZE);
+      final boolean last = i == blocks - 1;
+      futures.add(CompletableFuture.supplyAsync(
+          () -> deflateBlock(input, start, end - start, level, last), executor));
+    }
+
+    byte[] first = deflateBlock(input, 0, BLOCK_SIZE, level, false);
+    int total = first.length;
+    byte[][] parts = new byte[blocks][];
+    parts[0] = first;
+    for (int i = 1; i < blocks; i++) {
+      parts[i] = futures.get(i - 1).join();
+      total += parts[i].length;
+    }
+
+    byte[] out = new byte[total];
+    int pos = 0;
+    for (byte[] part : parts) {
+      System.arraycopy(part, 0, out, pos, part.length);
+      pos += part.length;
+    }
+    return new Compressed(out, crc.getValue(), input.length, JarWriter.DEFLATED);
+  }
+
+  private static byte[] deflateBlock(byte[] input, int offset, int length, int level, boolean last) {
+    Deflater[] deflaters = DEFLATERS.get();
+    int index = Math.max(0, Math.min(9, level));
+    Deflater deflater = deflaters[index];
+    if (deflater == null) {
+      deflater = new Deflater(index, true);
+      deflaters[index] = deflater;
+    }
+    deflater.reset();
+    if (offset > 0) {
+      int dictionary = Math.min(DICTIONARY_SIZE, offset);
+      deflater.setDictionary(input, offset - dictionary, dictionary);
+    }
+    deflater.setInput(input, offset, length);
+
+    byte[] out = new byte[Math.max(64, length / 2)];
+    int pos = 0;
+    if (last) {
+      deflater.finish();
+      while (!deflater.finished()) {
+        if (pos == out.length) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        pos += deflater.deflate(out, pos, out.length - pos);
+      }
+    } else {
+      // A sync flush byte-aligns the output so the next block can be appended directly
+      while (true) {
+        if (pos == out.length) {
+          out = Arrays.copyOf(out, out.length * 2);
+        }
+        pos += deflater.deflate(out, pos, out.length - pos, Deflater.SYNC_FLUSH);
+        if (pos < out.length && deflater.needsInput()) {
+          break;
+        }
+      }
+    }
+    return Arrays.copyOf(out, pos);
+  }
+}
@@ -0,0 +1,36 @@
+/*
+ * Folia Phantom - Plugin Yml Stage
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.UnaryOperator;
+
+/**
+ * Rewrites the root {@code plugin.yml} as it passes through the stream.
+ */
+public class PluginYmlStage implements JarStage {
+
+  private final UnaryOperator<String> rewriter;
+
+  /**
+   * @param rewriter Function mapping the original plugin.yml text to the patched text
+   */
+  public PluginYmlStage(UnaryOperator<String> rewriter) {
+    this.rewriter = rewriter;
+  }
+
+  @Override
+  public boolean accepts(String name) {
+    return name.equals("plugin.yml");
+  }
+
+  @Override
+  public byte[] process(String name, byte[] data) {
+    String yml = new String(data, StandardCharsets.UTF_8);
+    return rewriter.apply(yml).getBytes(StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,26 @@
+/*
+ * Folia Phantom - Signature Strip Stage
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+/**
+ * Drops JAR signature files, which would no longer match the patched classes.
+ */
+public class SignatureStripStage implements JarStage {
+
+  @Override
+  public boolean accepts(String name) {
+    if (!name.startsWith("META-INF/") || name.indexOf('/', 9) >= 0) {
+      return false;
+    }
+    return name.endsWith(".SF") || name.endsWith(".DSA") || name.endsWith(".RSA");
+  }
+
+  @Override
+  public byte[] process(String name, byte[] data) {
+    return null;
+  }
+}
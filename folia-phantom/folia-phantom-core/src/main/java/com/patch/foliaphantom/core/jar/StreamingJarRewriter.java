@@ -0,0 +1,566 @@
+/*
+ * Folia Phantom - Streaming Jar Rewriter
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.jar;
+
+import com.patch.foliaphantom.core.progress.PatchMetrics;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Predicate;
+
+/**
+ * Rewrites a JAR in a single read-transform-write pass.
+ *
+ * <p>
+ * The input is read once, entry by entry, and the output is written once to a
+ * temporary file that replaces the destination when complete. Class entries are
+ * transformed by a pool of worker threads while later entries are still being
+ * read, the amount of entry data in flight is capped by a byte budget, and the
+ * output keeps the entry order of the input.
+ * </p>
+ *
+ * <p>
+ * Classes are handed to the pool in work units of consecutive entries, so a
+ * JAR of thousands of tiny classes costs a few hundred task hand-offs rather
+ * than one per class. The pool is private to the rewrite unless a shared one is
+ * set with {@link #setExecutor(Executor)}, which lets several rewrites of a
+ * batch draw on the same threads.
+ * </p>
+ *
+ * <p>
+ * The input is memory-mapped through {@link MappedJarReader}. Resources that no
+ * stage is interested in are never inflated, and any entry whose contents come
+ * back unchanged is copied as its original compressed bytes and CRC.
+ * </p>
+ */
+public class StreamingJarRewriter {
+
+  /** Marks the end of the entry stream for the writer */
+  private static final Pending END = new Pending(null, null, null, 0);
+
+  /** A work unit is handed to the pool once its classes add up to this many bytes */
+  private static final int UNIT_BYTES = 64 * 1024;
+
+  /** ...or once it holds this many classes, whichever comes first */
+  private static final int UNIT_CLASSES = 32;
+
+  /**
+   * Transforms the bytes of a single class entry.
+   */
+  @FunctionalInterface
+  public interface ClassProcessor {
+    /**
+     * @param name  The entry name, e.g. {@code com/example/Foo.class}
+     * @param bytes The original class bytes
+     * @return The bytes to write, which may be the original array
+     */
+    byte[] process(String name, byte[] bytes) throws Exception;
+  }
+
+  /**
+   * Receives a callback for each class entry written to the output.
+   */
+  @FunctionalInterface
+  public interface ProgressCallback {
+    void onClassWritten(String name, int written, int total);
+  }
+
+  private final List<JarStage> stages;
+  private final ClassProcessor classProcessor;
+  private final int workers;
+  private final long maxInFlightBytes;
+  private final int classCompressionLevel;
+  private final int resourceCompressionLevel;
+  private ParallelDeflater deflater;
+  private volatile int reusedEntries;
+  private PatchMetrics metrics;
+  private Executor executor;
+  private Predicate<String> passThrough = name -> false;
+
+  /**
+   * @param stages                   Stages applied to every entry, in order
+   * @param classProcessor           Transformer for {@code .class} entries
+   * @param workers                  Number of transformer worker threads, unless a shared executor is set
+   * @param maxInFlightBytes         Upper bound on uncompressed entry bytes held between reader and writer
+   * @param classCompressionLevel    Deflate level for rewritten class entries (0-9)
+   * @param resourceCompressionLevel Deflate level for rewritten and appended resources (0-9)
+   */
+  public StreamingJarRewriter(List<JarStage> stages, ClassProcessor classProcessor,
+      int workers, long maxInFlightBytes, int classCompressionLevel, int resourceCompressionLevel) {
+    this.stages = stages;
+    this.classProcessor = classProcessor;
+    this.workers = Math.max(1, workers);
+    this.maxInFlightBytes = Math.max(1, maxInFlightBytes);
+    this.classCompressionLevel = classCompressionLevel;
+    this.resourceCompressionLevel = resourceCompressionLevel;
+  }
+
+  /**
+   * Runs the class work units and block compression on a shared executor
+   * instead of a pool private to each rewrite.
+   *
+   * @param executor The executor, or null for a private pool of {@code workers} threads
+   */
+  public void setExecutor(Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Copies the class entries matching {@code passThrough} like untouched
+   * resources: as their original compressed bytes, without inflating them or
+   * running the class processor.
+   *
+   * @param passThrough Tests JAR entry names, e.g. {@code com/google/common/base/Joiner.class}
+   */
+  public void setPassThrough(Predicate<String> passThrough) {
+    this.passThrough = passThrough != null ? passThrough : name -> false;
+  }
+
+  /**
+   * Creates a work-stealing pool of daemon threads suitable for
+   * {@link #setExecutor(Executor)}.
+   *
+   * @param threads Number of worker threads
+   */
+  public static ForkJoinPool newWorkerPool(int threads) {
+    return new ForkJoinPool(Math.max(1, threads), pool -> {
+      ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+      thread.setName("FoliaPhantom-Worker-" + thread.getPoolIndex());
+      return thread;
+    }, null, false);
+  }
+
+  /**
+   * Records read, compression and write times into {@code metrics}.
+   *
+   * @param metrics The metrics of the current patch, or null to record nothing
+   */
+  public void setMetrics(PatchMetrics metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Rewrites {@code source} into {@code destination}.
+   *
+   * <p>
+   * The work is split into three stages: a reader thread inflates entries and
+   * runs the {@link JarStage}s, worker threads run the class processor and
+   * compress whatever changed, and the calling thread writes results strictly
+   * in input order. The reader blocks once {@code maxInFlightBytes} of entry data
+   * are waiting to be written, so memory use does not grow with the JAR size.
+   * </p>
+   *
+   * @param source      The input JAR
+   * @param destination The output JAR; replaced only once the rewrite succeeds
+   * @param callback    Progress callback, may be null
+   * @throws IOException If reading, transforming or writing fails
+   */
+  public void rewrite(Path source, Path destination, ProgressCallback callback) throws IOException {
+    rewrite(source, destination, callback, null);
+  }
+
+  /**
+   * Rewrites {@code source} into {@code destination}, reusing an earlier output where possible.
+   *
+   * <p>
+   * Every input entry whose central directory CRC and size match {@code base}
+   * is copied as raw bytes from the output {@code base} describes, without
+   * being inflated or processed. Only the remaining entries go through the
+   * stages and the class processor.
+   * </p>
+   *
+   * @param source      The input JAR
+   * @param destination The output JAR; replaced only once the rewrite succeeds
+   * @param callback    Progress callback, may be null
+   * @param base        Manifest of a previous rewrite to reuse, or null
+   * @return The entries of {@code source}, for recording a new manifest
+   * @throws IOException If reading, transforming or writing fails
+   */
+  public List<MappedJarReader.Entry> rewrite(Path source, Path destination, ProgressCallback callback,
+      JarManifest base) throws IOException {
+    Path temp = destination.resolveSibling(destination.getFileName() + ".tmp");
+    boolean success = false;
+    List<MappedJarReader.Entry> inputEntries;
+    reusedEntries = 0;
+
+    ByteBudget budget = new ByteBudget(maxInFlightBytes);
+    BlockingQueue<Pending> writeQueue = new LinkedBlockingQueue<>();
+    ForkJoinPool ownPool = executor == null ? newWorkerPool(workers) : null;
+    Executor pool = executor != null ? executor : ownPool;
+    WorkUnits units = new WorkUnits();
+    deflater = new ParallelDeflater(pool);
+    Thread readerThread = null;
+
+    try (MappedJarReader reader = new MappedJarReader(source);
+         MappedJarReader baseReader = base != null ? new MappedJarReader(base.getOutput()) : null;
+         JarWriter writer = new JarWriter(temp, deflater, resourceCompressionLevel)) {
+      inputEntries = reader.entries();
+      int totalClasses = 0;
+      for (MappedJarReader.Entry entry : inputEntries) {
+        if (isClass(entry)) {
+          totalClasses++;
+        }
+      }
+
+      Map<String, MappedJarReader.Entry> baseEntries = new HashMap<>();
+      if (baseReader != null) {
+        for (MappedJarReader.Entry entry : baseReader.entries()) {
+          baseEntries.put(entry.getName(), entry);
+        }
+      }
+
+      // The reader and every work unit must be finished before the mappings are closed
+      try {
+        readerThread = startThread("FoliaPhantom-Reader",
+            () -> read(reader, base, baseEntries, budget, pool, units, writeQueue));
+
+        int classesWritten = 0;
+        while (true) {
+          Pending item = writeQueue.take();
+          if (item == END) {
+            break;
+          }
+          if (item.error != null) {
+            throw item.error;
+          }
+          classesWritten = write(item.reused != null ? baseReader : reader, writer, item, callback,
+              classesWritten, totalClasses);
+          budget.release(item.charge);
+        }
+      } finally {
+        try {
+          if (readerThread != null) {
+            readerThread.interrupt();
+            readerThread.join();
+          }
+        } finally {
+          units.cancelAndAwait();
+        }
+      }
+
+      for (JarStage stage : stages) {
+        stage.finish((name, bytes) -> {
+          long start = System.nanoTime();
+          ParallelDeflater.Compressed compressed = deflater.compress(bytes, JarWriter.DEFLATED,
+              name.endsWith(".class") ? classCompressionLevel : resourceCompressionLevel);
+          long compressedAt = System.nanoTime();
+          writer.writeCompressed(name, compressed, JarWriter.dosTime(LocalDateTime.now()), 0);
+          record(PatchMetrics.Phase.COMPRESS, compressedAt - start);
+          record(PatchMetrics.Phase.WRITE, System.nanoTime() - compressedAt);
+        });
+      }
+      success = true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while rewriting " + source, e);
+    } finally {
+      if (ownPool != null) {
+        ownPool.shutdown();
+      }
+      if (!success) {
+        Files.deleteIfExists(temp);
+      }
+    }
+
+    try {
+      Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(temp, destination, StandardCopyOption.REPLACE_EXISTING);
+    }
+    return inputEntries;
+  }
+
+  /**
+   * Returns how many entries the last rewrite copied from its base output.
+   */
+  public int getReusedEntries() {
+    return reusedEntries;
+  }
+
+  /**
+   * Reader stage: inflates entries that need looking at, runs the stages and
+   * hands class entries to the workers in units. Every surviving entry is also
+   * queued for the writer, in input order.
+   */
+  private void read(MappedJarReader reader, JarManifest base, Map<String, MappedJarReader.Entry> baseEntries,
+      ByteBudget budget, Executor pool, WorkUnits units, BlockingQueue<Pending> writeQueue) {
+    List<Pending> unit = new ArrayList<>();
+    long unitBytes = 0;
+    try {
+      for (MappedJarReader.Entry entry : reader.entries()) {
+        String name = entry.getName();
+        if (base != null && base.isUnchanged(entry)) {
+          MappedJarReader.Entry previous = baseEntries.get(name);
+          if (previous != null) {
+            // Same input as last time: take the previously patched entry as-is
+            Pending item = new Pending(entry, null, null, 0);
+            item.reused = previous;
+            writeQueue.put(item);
+            reusedEntries++;
+            continue;
+          }
+        }
+        if ((!isClass(entry) || passThrough.test(name)) && !anyStageAccepts(name)) {
+          // Untouched resource or passed-through class: copied as raw compressed bytes, never inflated
+          writeQueue.put(new Pending(entry, null, null, 0));
+          continue;
+        }
+
+        long charge = budget.tryAcquire(entry.getSize());
+        if (charge < 0) {
+          // The writer may be waiting for a class of the open unit; hand it over before blocking
+          unit = submit(unit, pool, units);
+          unitBytes = 0;
+          charge = budget.acquire(entry.getSize());
+        }
+        long start = System.nanoTime();
+        byte[] original = reader.read(entry);
+        byte[] data = applyStages(name, original);
+        record(PatchMetrics.Phase.READ, System.nanoTime() - start);
+        if (data == null) {
+          budget.release(charge);
+          continue;
+        }
+
+        Pending item = new Pending(entry, original, data, charge);
+        if (isClass(entry)) {
+          item.future = new CompletableFuture<>();
+          writeQueue.put(item);
+          unit.add(item);
+          unitBytes += data.length;
+          if (unitBytes >= UNIT_BYTES || unit.size() >= UNIT_CLASSES) {
+            unit = submit(unit, pool, units);
+            unitBytes = 0;
+          }
+        } else {
+          item.future = CompletableFuture.completedFuture(
+              compressIfChanged(entry, original, data, resourceCompressionLevel));
+          writeQueue.put(item);
+        }
+      }
+      submit(unit, pool, units);
+      writeQueue.put(END);
+    } catch (InterruptedException e) {
+      // Writer gave up; nothing left to do
+    } catch (IOException | RuntimeException e) {
+      // Classes queued before the failure are still written, in order, before it is reported
+      submit(unit, pool, units);
+      Pending failure = new Pending(null, null, null, 0);
+      failure.error = e instanceof IOException ? (IOException) e : new IOException(e);
+      writeQueue.add(failure);
+    }
+  }
+
+  /**
+   * Hands a unit of class entries to the pool.
+   *
+   * @return An empty list for the next unit
+   */
+  private List<Pending> submit(List<Pending> unit, Executor pool, WorkUnits units) {
+    if (unit.isEmpty()) {
+      return unit;
+    }
+    units.begin();
+    try {
+      pool.execute(() -> {
+        try {
+          for (Pending item : unit) {
+            work(item, units);
+          }
+        } finally {
+          units.end();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      units.end();
+      for (Pending item : unit) {
+        item.future.completeExceptionally(e);
+      }
+    }
+    return new ArrayList<>();
+  }
+
+  /**
+   * Worker stage: runs the class processor on one entry.
+   */
+  private void work(Pending item, WorkUnits units) {
+    if (units.isCancelled()) {
+      item.future.cancel(false);
+      return;
+    }
+    try {
+      byte[] patched = classProcessor.process(item.source.getName(), item.data);
+      item.future.complete(compressIfChanged(item.source, item.original, patched, classCompressionLevel));
+    } catch (Throwable t) {
+      item.future.completeExceptionally(t);
+    }
+  }
+
+  private void record(PatchMetrics.Phase phase, long nanos) {
+    PatchMetrics metrics = this.metrics;
+    if (metrics != null) {
+      metrics.addPhase(phase, nanos);
+    }
+  }
+
+  private static Thread startThread(String name, Runnable task) {
+    Thread thread = new Thread(task, name);
+    thread.setDaemon(true);
+    thread.start();
+    return thread;
+  }
+
+  /**
+   * Compresses {@code data} unless it is identical to what the entry already holds.
+   *
+   * @return The compressed contents, or null if the original raw bytes can be reused
+   */
+  private ParallelDeflater.Compressed compressIfChanged(MappedJarReader.Entry entry, byte[] original,
+      byte[] data, int level) {
+    if (data == null || data == original || Arrays.equals(data, original)) {
+      return null;
+    }
+    int method = entry.getMethod() == JarWriter.STORED ? JarWriter.STORED : JarWriter.DEFLATED;
+    long start = System.nanoTime();
+    ParallelDeflater.Compressed compressed = deflater.compress(data, method, level);
+    record(PatchMetrics.Phase.COMPRESS, System.nanoTime() - start);
+    return compressed;
+  }
+
+  private int write(MappedJarReader reader, JarWriter writer, Pending item, ProgressCallback callback,
+      int classesWritten, int totalClasses) throws IOException, InterruptedException {
+    MappedJarReader.Entry entry = item.source;
+    ParallelDeflater.Compressed compressed = null;
+    if (item.future != null) {
+      try {
+        compressed = item.future.get();
+      } catch (ExecutionException e) {
+        throw new IOException("Failed to patch class: " + entry.getName(), e.getCause());
+      }
+    }
+
+    long start = System.nanoTime();
+    if (item.reused != null) {
+      writer.copyRaw(item.reused, reader.rawData(item.reused));
+    } else if (compressed == null) {
+      writer.copyRaw(entry, reader.rawData(entry));
+    } else {
+      writer.writeCompressed(entry.getName(), compressed, entry.getDosTime(), entry.getExternalAttributes());
+    }
+    record(PatchMetrics.Phase.WRITE, System.nanoTime() - start);
+
+    if (!isClass(entry)) {
+      return classesWritten;
+    }
+    if (callback != null) {
+      callback.onClassWritten(entry.getName(), classesWritten + 1, totalClasses);
+    }
+    return classesWritten + 1;
+  }
+
+  private boolean anyStageAccepts(String name) {
+    for (JarStage stage : stages) {
+      if (stage.accepts(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private byte[] applyStages(String name, byte[] data) throws IOException {
+    for (JarStage stage : stages) {
+      if (data == null) {
+        return null;
+      }
+      if (stage.accepts(name)) {
+        data = stage.process(name, data);
+      }
+    }
+    return data;
+  }
+
+  private static boolean isClass(MappedJarReader.Entry entry) {
+    return !entry.isDirectory() && entry.getName().endsWith(".class");
+  }
+
+  /**
+   * Counts the work units of one rewrite that have not finished yet.
+   */
+  private static final class WorkUnits {
+    private int running;
+    private volatile boolean cancelled;
+
+    synchronized void begin() {
+      running++;
+    }
+
+    synchronized void end() {
+      if (--running == 0) {
+        notifyAll();
+      }
+    }
+
+    boolean isCancelled() {
+      return cancelled;
+    }
+
+    /**
+     * Skips the classes of units not yet started and waits for the running ones.
+     */
+    synchronized void cancelAndAwait() {
+      cancelled = true;
+      boolean interrupted = false;
+      while (running > 0) {
+        try {
+          wait();
+        } catch (InterruptedException e) {
+          interrupted = true;
+        }
+      }
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  /**
+   * An input entry travelling from the reader to the writer.
+   */
+  private static final class Pending {
+    final MappedJarReader.Entry source;
+    final byte[] original;
+    final byte[] data;
+    final long charge;
+    CompletableFuture<ParallelDeflater.Compressed> future;
+    MappedJarReader.Entry reused;
+    IOException error;
+
+    Pending(MappedJarReader.Entry source, byte[] original, byte[] data, long charge) {
+      this.source = source;
+      this.original = original;
+      this.data = data;
+      this.charge = charge;
+    }
+  }
+}
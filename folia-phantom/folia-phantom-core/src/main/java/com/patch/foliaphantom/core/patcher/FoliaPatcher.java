@@ -11,6 +11,7 @@
 package com.patch.foliaphantom.core.patcher;
 
 import com.patch.foliaphantom.core.exception.FoliaPatcherTimeoutException;
+import com.patch.foliaphantom.core.runtime.PhantomRuntime;
 import io.papermc.paper.threadedregions.scheduler.ScheduledTask;
 import org.bukkit.Bukkit;
 import org.bukkit.Effect;
@@ -28,9 +29,17 @@ import org.bukkit.entity.Entity;
 import org.bukkit.entity.LivingEntity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
 import org.bukkit.event.block.BlockEvent;
 import org.bukkit.event.entity.EntityEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.PluginManager;
@@ -50,7 +59,6 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
-import java.util.function.IntConsumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -97,95 +105,569 @@ public final class FoliaPatcher {
    */
   private static final Set<String> FIRE_AND_FORGET_EVENTS = Collections.emptySet();
 
+  /**
+   * If true, {@link #_i} binds this copy to the server-wide {@link PhantomRuntime}
+   * when the FoliaPhantom plugin has registered one.
+   * This field is set at patch time via ASM; it has no initializer so the
+   * compiler cannot fold it away.
+   */
+  private static boolean sharedRuntime;
+
+  /**
+   * Where legacy sync tasks run: {@code global}, {@code spawn}, {@code round-robin}
+   * or {@code affinity}; anything else means {@code spawn}.
+   * This field is set at patch time via ASM; it has no initializer so the
+   * compiler cannot fold it away.
+   */
+  private static String taskPlacement;
+
   private static final Logger LOGGER = Logger.getLogger("FoliaPhantom-Patcher");
-  private static final ExecutorService worldGenExecutor = Executors.newSingleThreadExecutor(r -> {
+
+  // Replaced by the shared runtime's state in _i; package-private for SharedRuntime
+  static volatile ExecutorService worldGenExecutor = Executors.newSingleThreadExecutor(r -> {
     Thread t = new Thread(r, "FoliaPhantom-WorldGen-Worker");
     t.setDaemon(true);
     return t;
   });
-  private static final AtomicInteger taskIdCounter = new AtomicInteger(1000000);
-  private static final Map<Integer, ScheduledTask> runningTasks = new ConcurrentHashMap<>();
-
-  public static volatile java.util.Collection<? extends Player> _cp = java.util.Collections.emptyList();
-  public static volatile java.util.List<World> _cw = java.util.Collections.emptyList();
-  public static volatile java.util.Map<String, Player> _cps = java.util.Collections.emptyMap();
-  public static volatile java.util.Map<java.util.UUID, Player> _cpu = java.util.Collections.emptyMap();
-  public static volatile java.util.Map<String, World> _cwn = java.util.Collections.emptyMap();
-  public static volatile java.util.Map<java.util.UUID, World> _cwu = java.util.Collections.emptyMap();
+  static volatile AtomicInteger taskIdCounter = new AtomicInteger(1000000);
+  /** Legacy tasks by owning plugin name, then by task id; see {@link TaskStripe} */
+  static volatile java.util.concurrent.ConcurrentMap<String, java.util.concurrent.ConcurrentMap<Integer, BukkitTask>> runningTasks = new ConcurrentHashMap<>();
+  static volatile java.util.concurrent.atomic.LongAdder deferredWaits = new java.util.concurrent.atomic.LongAdder();
+  /** Load of legacy sync tasks by region section; see {@link PhantomRuntime#getRegionLoad()} */
+  static volatile java.util.concurrent.ConcurrentMap<String, java.util.concurrent.atomic.AtomicLongArray> regionLoad = new ConcurrentHashMap<>();
+
+  /** The shared runtime this copy is bound to, or null if it uses its own mirror */
+  private static volatile PhantomRuntime runtime;
+
+  /** Name of the plugin this copy is bundled in, whose task stripe is searched first */
+  private static volatile String home;
+
+  /** The current player and world mirror; replaced as a whole on every change */
+  public static volatile Mirror _m = Mirror.EMPTY;
   public static volatile boolean _ii = false;
 
+  private static final Object MIRROR_LOCK = new Object();
+
   public static void _i(Plugin p) {
     if (_ii) return;
     _ii = true;
-    Bukkit.getGlobalRegionScheduler().runAtFixedRate(p, t -> {
-      java.util.Collection<? extends Player> online = Bukkit.getOnlinePlayers();
-      java.util.List<World> worlds = Bukkit.getWorlds();
-      java.util.Map<String, Player> nps = new java.util.HashMap<>(online.size());
-      java.util.Map<java.util.UUID, Player> ups = new java.util.HashMap<>(online.size());
-      for (Player pl : online) {
-        nps.put(pl.getName(), pl);
-        ups.put(pl.getUniqueId(), pl);
-      }
-      java.util.Map<String, World> nws = new java.util.HashMap<>(worlds.size());
-      java.util.Map<java.util.UUID, World> uws = new java.util.HashMap<>(worlds.size());
-      for (World w : worlds) {
-        nws.put(w.getName(), w);
-        uws.put(w.getUID(), w);
-      }
-      _cp = java.util.Collections.unmodifiableCollection(new java.util.ArrayList<>(online));
-      _cw = java.util.Collections.unmodifiableList(new java.util.ArrayList<>(worlds));
-      _cps = java.util.Collections.unmodifiableMap(nps);
-      _cpu = java.util.Collections.unmodifiableMap(ups);
-      _cwn = java.util.Collections.unmodifiableMap(nws);
-      _cwu = java.util.Collections.unmodifiableMap(uws);
-    }, 1L, 1L);
+    home = p.getName();
+    // Cleans up state of this copy, so it is registered whether or not the copy binds to the shared runtime
+    Bukkit.getPluginManager().registerEvents(new CopyListener(), p);
+    if (sharedRuntime && bindSharedRuntime(p)) return;
+    // Listen first, then take the players already online (e.g. after a reload); later events apply on top
+    Bukkit.getPluginManager().registerEvents(new MirrorListener(), p);
+    updateMirror(m -> Mirror.of(m.getVersion() + 1, Bukkit.getOnlinePlayers(), Bukkit.getWorlds()));
+  }
+
+  /**
+   * Publishes a change of the mirror. Changes are rare and serialized; readers never lock.
+   */
+  static void updateMirror(java.util.function.UnaryOperator<Mirror> change) {
+    synchronized (MIRROR_LOCK) {
+      _m = change.apply(_m);
+    }
+  }
+
+  /**
+   * Binds this copy to the server-wide runtime, moving over any task scheduled
+   * before the plugin was enabled.
+   *
+   * @return Whether a runtime was found; if not, the bundled state is used
+   */
+  private static boolean bindSharedRuntime(Plugin p) {
+    PhantomRuntime shared;
+    try {
+      shared = Bukkit.getServicesManager().load(PhantomRuntime.class);
+    } catch (LinkageError e) {
+      // FoliaPhantom is not installed, so the runtime interface cannot be loaded
+      shared = null;
+    }
+    if (shared == null) {
+      LOGGER.info("[FoliaPhantom] No shared runtime registered; " + p.getName() + " uses its bundled runtime");
+      return false;
+    }
+    try {
+      // VERSION is inlined at patch time, so this compares this copy's interface with the host's
+      int version = shared.getVersion();
+      if (version != PhantomRuntime.VERSION) {
+        LOGGER.warning("[FoliaPhantom] Shared runtime version " + version + " does not match version "
+            + PhantomRuntime.VERSION + " of " + p.getName() + "; it uses its bundled runtime."
+            + " Re-patch it with the installed FoliaPhantom to share the runtime.");
+        return false;
+      }
+      AtomicInteger ids = shared.getTaskIds();
+      java.util.concurrent.ConcurrentMap<String, java.util.concurrent.ConcurrentMap<Integer, BukkitTask>> tasks = shared.getTasks();
+      ExecutorService generator = shared.getWorldGenExecutor();
+      java.util.concurrent.atomic.LongAdder waits = shared.getDeferredWaits();
+      java.util.concurrent.ConcurrentMap<String, java.util.concurrent.atomic.AtomicLongArray> loads = shared.getRegionLoad();
+
+      shared.attach(p);
+      ids.accumulateAndGet(taskIdCounter.get(), Math::max);
+      runningTasks.forEach((name, own) -> {
+        Map<Integer, BukkitTask> stripe = tasks.putIfAbsent(name, own);
+        if (stripe != null) {
+          stripe.putAll(own);
+        }
+      });
+      waits.add(deferredWaits.sum());
+      regionLoad.forEach((key, load) -> {
+        java.util.concurrent.atomic.AtomicLongArray into = loads.putIfAbsent(key, load);
+        if (into != null) {
+          for (int i = 0; i < load.length(); i++) {
+            into.addAndGet(i, load.get(i));
+          }
+        }
+      });
+      taskIdCounter = ids;
+      runningTasks = tasks;
+      worldGenExecutor = generator;
+      deferredWaits = waits;
+      regionLoad = loads;
+    } catch (LinkageError e) {
+      // A FoliaPhantom build from before the version check, or one whose interface differs anyway
+      LOGGER.warning("[FoliaPhantom] Shared runtime is incompatible with " + p.getName()
+          + " (" + e + "); it uses its bundled runtime");
+      return false;
+    }
+    runtime = shared;
+    return true;
   }
 
   public static java.util.Collection<? extends Player> _o() {
-    return _cp;
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getOnlinePlayers() : _m.getPlayers();
   }
 
   public static java.util.List<World> _w() {
-    return _cw;
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getWorlds() : _m.getWorlds();
   }
 
   public static Player _ps(String n) {
-    return _cps.get(n);
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getPlayer(n) : _m.getPlayer(n);
+  }
+
+  public static Player _pe(String n) {
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getPlayerExact(n) : _m.getPlayerExact(n);
   }
 
   public static Player _pu(java.util.UUID u) {
-    return _cpu.get(u);
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getPlayer(u) : _m.getPlayer(u);
   }
 
   public static World _ws(String n) {
-    return _cwn.get(n);
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getWorld(n) : _m.getWorld(n);
   }
 
   public static World _wu(java.util.UUID u) {
-    return _cwu.get(u);
+    PhantomRuntime rt = runtime;
+    return rt != null ? rt.getWorld(u) : _m.getWorld(u);
+  }
+
+  /**
+   * An immutable snapshot of the online players and loaded worlds.
+   *
+   * <p>
+   * Every change builds a new snapshot with a higher version and publishes it
+   * through the single field {@link #_m}, so a reader always sees players,
+   * worlds and the players of each world as of the same moment. Snapshots are
+   * only built on join, quit, world change and world load or unload, so a
+   * server without such events allocates nothing.
+   * </p>
+   */
+  public static final class Mirror {
+    static final Mirror EMPTY = new Mirror(0, Collections.emptyList(), Collections.emptyList(),
+        Collections.emptyMap());
+
+    private final long version;
+    private final java.util.List<Player> players;
+    private final java.util.List<World> worlds;
+    private final Map<java.util.UUID, World> playerWorlds;
+    private final NameIndex<Player> playersByName;
+    private final Map<java.util.UUID, Player> playersById;
+    private final Map<String, World> worldsByName;
+    private final Map<java.util.UUID, World> worldsById;
+    private final Map<java.util.UUID, java.util.List<Player>> playersByWorld;
+
+    private Mirror(long version, java.util.List<Player> players, java.util.List<World> worlds,
+        Map<java.util.UUID, World> playerWorlds) {
+      this.version = version;
+      this.players = Collections.unmodifiableList(players);
+      this.worlds = Collections.unmodifiableList(worlds);
+      this.playerWorlds = playerWorlds;
+      this.playersByName = new NameIndex<>(players, Player::getName);
+      this.playersById = new java.util.HashMap<>(players.size() * 2);
+      this.worldsByName = new java.util.HashMap<>(worlds.size() * 2);
+      this.worldsById = new java.util.HashMap<>(worlds.size() * 2);
+      this.playersByWorld = new java.util.HashMap<>(worlds.size() * 2);
+      for (World world : worlds) {
+        worldsByName.put(world.getName(), world);
+        worldsById.put(world.getUID(), world);
+      }
+      for (Player player : players) {
+        playersById.put(player.getUniqueId(), player);
+        World world = playerWorlds.get(player.getUniqueId());
+        if (world != null) {
+          playersByWorld.computeIfAbsent(world.getUID(), k -> new java.util.ArrayList<>()).add(player);
+        }
+      }
+      playersByWorld.replaceAll((k, v) -> Collections.unmodifiableList(v));
+    }
+
+    /**
+     * Builds a snapshot from the live server state.
+     */
+    static Mirror of(long version, java.util.Collection<? extends Player> online, java.util.List<World> worlds) {
+      Map<java.util.UUID, World> playerWorlds = new java.util.HashMap<>(online.size() * 2);
+      for (Player player : online) {
+        playerWorlds.put(player.getUniqueId(), player.getWorld());
+      }
+      return new Mirror(version, new java.util.ArrayList<>(online), new java.util.ArrayList<>(worlds), playerWorlds);
+    }
+
+    /**
+     * @return A snapshot in which the player is online in the given world, added or moved as needed
+     */
+    Mirror withPlayer(Player player, World world) {
+      java.util.List<Player> newPlayers = new java.util.ArrayList<>(players.size() + 1);
+      for (Player p : players) {
+        if (!p.getUniqueId().equals(player.getUniqueId())) {
+          newPlayers.add(p);
+        }
+      }
+      newPlayers.add(player);
+      Map<java.util.UUID, World> newPlayerWorlds = new java.util.HashMap<>(playerWorlds);
+      newPlayerWorlds.put(player.getUniqueId(), world);
+      return new Mirror(version + 1, newPlayers, new java.util.ArrayList<>(worlds), newPlayerWorlds);
+    }
+
+    /**
+     * @return A snapshot without the player
+     */
+    Mirror withoutPlayer(Player player) {
+      if (!playersById.containsKey(player.getUniqueId())) {
+        return this;
+      }
+      java.util.List<Player> newPlayers = new java.util.ArrayList<>(players);
+      newPlayers.removeIf(p -> p.getUniqueId().equals(player.getUniqueId()));
+      Map<java.util.UUID, World> newPlayerWorlds = new java.util.HashMap<>(playerWorlds);
+      newPlayerWorlds.remove(player.getUniqueId());
+      return new Mirror(version + 1, newPlayers, new java.util.ArrayList<>(worlds), newPlayerWorlds);
+    }
+
+    /**
+     * @return A snapshot that includes the world
+     */
+    Mirror withWorld(World world) {
+      if (worldsById.containsKey(world.getUID())) {
+        return this;
+      }
+      java.util.List<World> newWorlds = new java.util.ArrayList<>(worlds);
+      newWorlds.add(world);
+      return new Mirror(version + 1, new java.util.ArrayList<>(players), newWorlds, playerWorlds);
+    }
+
+    /**
+     * @return A snapshot without the world
+     */
+    Mirror withoutWorld(World world) {
+      if (!worldsById.containsKey(world.getUID())) {
+        return this;
+      }
+      java.util.List<World> newWorlds = new java.util.ArrayList<>(worlds);
+      newWorlds.removeIf(w -> w.getUID().equals(world.getUID()));
+      return new Mirror(version + 1, new java.util.ArrayList<>(players), newWorlds, playerWorlds);
+    }
+
+    /**
+     * @return The number of changes since the mirror was started
+     */
+    public long getVersion() {
+      return version;
+    }
+
+    public java.util.List<Player> getPlayers() {
+      return players;
+    }
+
+    public java.util.List<World> getWorlds() {
+      return worlds;
+    }
+
+    /**
+     * Looks a player up like {@code Server.getPlayer(String)}: the player of that
+     * name ignoring case, else the one with the shortest name starting with it.
+     */
+    public Player getPlayer(String name) {
+      return playersByName.findShortest(name);
+    }
+
+    /**
+     * Looks a player up like {@code Server.getPlayerExact(String)}, ignoring case.
+     */
+    public Player getPlayerExact(String name) {
+      return playersByName.findExact(name);
+    }
+
+    public Player getPlayer(java.util.UUID id) {
+      return playersById.get(id);
+    }
+
+    public World getWorld(String name) {
+      return worldsByName.get(name);
+    }
+
+    public World getWorld(java.util.UUID id) {
+      return worldsById.get(id);
+    }
+
+    /**
+     * @return The players in the world, possibly none
+     */
+    public java.util.List<Player> getPlayers(World world) {
+      java.util.List<Player> result = playersByWorld.get(world.getUID());
+      return result != null ? result : Collections.emptyList();
+    }
+  }
+
+  /**
+   * An immutable trie over lower-cased names, for Bukkit's player name lookups.
+   *
+   * <p>
+   * Nodes are stored in parallel arrays and siblings are kept in character
+   * order. Each node records the item whose name ends there and the item with
+   * the shortest name below it, so both an exact and a shortest-prefix lookup
+   * walk the name once and allocate nothing. Among names of equal length the
+   * alphabetically first wins, where Bukkit takes whichever comes first in its
+   * player list.
+   * </p>
+   */
+  public static final class NameIndex<T> {
+    private final Object[] items;
+    private final char[] chars;
+    private final int[] firstChild;
+    private final int[] nextSibling;
+    private final int[] exact;
+    private final int[] shortest;
+
+    NameIndex(java.util.List<? extends T> values, java.util.function.Function<? super T, String> nameOf) {
+      String[] names = new String[values.size()];
+      Integer[] order = new Integer[values.size()];
+      int capacity = 1;
+      for (int i = 0; i < names.length; i++) {
+        names[i] = nameOf.apply(values.get(i)).toLowerCase(java.util.Locale.ENGLISH);
+        order[i] = i;
+        capacity += names[i].length();
+      }
+      java.util.Arrays.sort(order, java.util.Comparator.comparing((Integer i) -> names[i]));
+
+      this.items = new Object[names.length];
+      this.chars = new char[capacity];
+      this.firstChild = new int[capacity];
+      this.nextSibling = new int[capacity];
+      this.exact = new int[capacity];
+      this.shortest = new int[capacity];
+      java.util.Arrays.fill(firstChild, -1);
+      java.util.Arrays.fill(nextSibling, -1);
+      java.util.Arrays.fill(exact, -1);
+      java.util.Arrays.fill(shortest, -1);
+
+      // Insert in sorted order: a new child always goes after the last one, and the first
+      // name reaching a node is the alphabetically first of its length
+      int[] lastChild = new int[capacity];
+      java.util.Arrays.fill(lastChild, -1);
+      int nodes = 1;
+      for (int k = 0; k < order.length; k++) {
+        int index = order[k];
+        String name = names[index];
+        items[k] = values.get(index);
+        int node = 0;
+        if (shortest[node] < 0 || name.length() < names[order[shortest[node]]].length()) {
+          shortest[node] = k;
+        }
+        for (int c = 0; c < name.length(); c++) {
+          char ch = name.charAt(c);
+          int child = lastChild[node];
+          if (child < 0 || chars[child] != ch) {
+            child = nodes++;
+            chars[child] = ch;
+            if (lastChild[node] < 0) {
+              firstChild[node] = child;
+            } else {
+              nextSibling[lastChild[node]] = child;
+            }
+            lastChild[node] = child;
+          }
+          node = child;
+          if (shortest[node] < 0 || name.length() < names[order[shortest[node]]].length()) {
+            shortest[node] = k;
+          }
+        }
+        if (exact[node] < 0) {
+          exact[node] = k;
+        }
+      }
+    }
+
+    /**
+     * @return The node reached by the name, ignoring case, or -1
+     */
+    private int walk(String name) {
+      int node = 0;
+      for (int c = 0; c < name.length() && node >= 0; c++) {
+        char ch = Character.toLowerCase(name.charAt(c));
+        int child = firstChild[node];
+        while (child >= 0 && chars[child] < ch) {
+          child = nextSibling[child];
+        }
+        node = child >= 0 && chars[child] == ch ? child : -1;
+      }
+      return node;
+    }
+
+    /**
+     * @return The item named exactly so, ignoring case, or null
+     */
+    @SuppressWarnings("unchecked")
+    public T findExact(String name) {
+      int node = walk(name);
+      return node >= 0 && exact[node] >= 0 ? (T) items[exact[node]] : null;
+    }
+
+    /**
+     * @return The item with the shortest name starting with the given one, ignoring case, or null
+     */
+    @SuppressWarnings("unchecked")
+    public T findShortest(String name) {
+      int node = walk(name);
+      return node >= 0 && shortest[node] >= 0 ? (T) items[shortest[node]] : null;
+    }
+  }
+
+  /**
+   * Keeps {@link #_m} up to date. Runs at MONITOR priority on whichever thread fires the event.
+   */
+  public static final class MirrorListener implements Listener {
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+      Player player = event.getPlayer();
+      updateMirror(m -> m.withPlayer(player, player.getWorld()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+      updateMirror(m -> m.withoutPlayer(event.getPlayer()));
+      playerPositions.remove(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+      Player player = event.getPlayer();
+      updateMirror(m -> m.withPlayer(player, player.getWorld()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldLoad(WorldLoadEvent event) {
+      updateMirror(m -> m.withWorld(event.getWorld()));
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+      updateMirror(m -> m.withoutWorld(event.getWorld()));
+    }
+  }
+
+  /**
+   * Drops state that every copy keeps for itself, even one bound to the shared runtime.
+   */
+  public static final class CopyListener implements Listener {
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onWorldUnload(WorldUnloadEvent event) {
+      // Flush tasks of an unloaded world never run
+      blockBuffers.remove(event.getWorld().getUID());
+    }
+  }
+
+  // --- Region Routing ---
+  //
+  // A call runs inline when the current thread owns the region of its target.
+  // Server-wide state that no region owns, such as scoreboards, the world list
+  // and events without a player, entity or block, is used inline on any tick
+  // thread, as on the primary thread before regions. Otherwise the call is
+  // scheduled on the owner. On Paper, every check is the same as
+  // Bukkit.isPrimaryThread().
+
+  /**
+   * Decides whether a caller that has just scheduled a call on another region
+   * must not wait for its result.
+   *
+   * <p>
+   * A tick thread never waits: blocking one region on another stalls its tick
+   * and can deadlock both. The caller then gets the same default as in
+   * fire-and-forget mode, and the case is counted in {@link #getDeferredWaits()}.
+   * Only async threads wait.
+   * </p>
+   */
+  static boolean mustNotWait() {
+    // On Folia, isPrimaryThread() is true on every region thread and the global region thread
+    if (!Bukkit.isPrimaryThread()) {
+      return false;
+    }
+    deferredWaits.increment();
+    return true;
+  }
+
+  /**
+   * @return Whether the current thread is a tick thread, i.e. ticks a region or
+   *         the global region, where server-wide state runs inline
+   */
+  private static boolean onTickThread() {
+    return Bukkit.isPrimaryThread();
+  }
+
+  /**
+   * @return Whether the current thread owns the region of the location, or is a
+   *         tick thread if there is none
+   */
+  private static boolean ownsRegionOf(Location loc) {
+    return loc != null ? Bukkit.isOwnedByCurrentRegion(loc) : onTickThread();
+  }
+
+  /**
+   * @return How many calls from tick threads returned without waiting for a
+   *         call scheduled on another region; server-wide when bound to the shared runtime
+   */
+  public static long getDeferredWaits() {
+    return deferredWaits.sum();
   }
 
   public static <T> T _b(Plugin p, java.util.concurrent.Callable<T> c) {
-    if (Bukkit.isPrimaryThread()) try { return c.call(); } catch (Exception e) { throw new RuntimeException(e); }
+    if (onTickThread()) try { return c.call(); } catch (Exception e) { throw new RuntimeException(e); }
     CompletableFuture<T> f = new CompletableFuture<>();
     Bukkit.getGlobalRegionScheduler().run(p, t -> {
       try { f.complete(c.call()); } catch (Exception e) { f.completeExceptionally(e); }
     });
+    if (mustNotWait()) return null;
     try { return f.get(API_TIMEOUT_MS, TimeUnit.MILLISECONDS); } catch (Exception e) { return null; }
   }
 
   public static void _g(Plugin p, Runnable r) {
-    if (Bukkit.isPrimaryThread()) r.run();
+    if (onTickThread()) r.run();
     else Bukkit.getGlobalRegionScheduler().run(p, t -> r.run());
   }
 
   public static void _r(Plugin p, Location l, Runnable r) {
-    if (Bukkit.isPrimaryThread()) r.run();
+    if (Bukkit.isOwnedByCurrentRegion(l)) r.run();
     else Bukkit.getRegionScheduler().run(p, l, t -> r.run());
   }
 
   public static void _e(Plugin p, Entity e, Runnable r) {
-    if (Bukkit.isPrimaryThread()) r.run();
+    if (Bukkit.isOwnedByCurrentRegion(e)) r.run();
     else e.getScheduler().run(p, t -> r.run(), null);
   }
 
@@ -255,10 +737,10 @@ public final class FoliaPatcher {
    * Safely gets the highest block at a given location.
    */
   public static Block safeGetHighestBlockAt(Plugin plugin, World world, int x, int z) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(world, x >> 4, z >> 4)) {
       return world.getHighestBlockAt(x, z);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       CompletableFuture<Block> future = new CompletableFuture<>();
@@ -335,28 +817,368 @@ public final class FoliaPatcher {
     }
   }
 
-  // --- Helper Methods ---
+  // --- Task Placement ---
+
+  private static final int PLACE_GLOBAL = 0;
+  private static final int PLACE_SPAWN = 1;
+  private static final int PLACE_ROUND_ROBIN = 2;
+  private static final int PLACE_AFFINITY = 3;
+
+  /** The placement of legacy sync tasks, parsed once from {@link #taskPlacement} */
+  private static final int PLACEMENT = parsePlacement(taskPlacement);
+
+  /** Chunk shift of Folia's region sections, the smallest unit a region is made of */
+  private static final int REGION_SECTION_SHIFT = 4;
+
+  /** Key of the global region in {@link #regionLoad} */
+  private static final String GLOBAL_REGION = "global";
+
+  /** How long the round-robin rotation of player regions is reused before it is collected again */
+  private static final long ROTATION_TTL_NANOS = 1_000_000_000L;
+
+  /** Where each online player was when its own scheduler last reported it, for the rotation */
+  private static final Map<java.util.UUID, Location> playerPositions = new ConcurrentHashMap<>();
+
+  private static volatile java.util.List<Location> rotation = java.util.Collections.emptyList();
+  /** When the rotation is next collected; claimed by the one caller that collects it */
+  private static final java.util.concurrent.atomic.AtomicLong rotationDue = new java.util.concurrent.atomic.AtomicLong(System.nanoTime());
+  private static final AtomicInteger rotationNext = new AtomicInteger();
+
+  private static final AffinityFields AFFINITY_FIELDS = new AffinityFields();
 
-  private static Location getFallbackLocation() {
-    World mainWorld = Bukkit.getWorlds().get(0);
-    return mainWorld != null ? mainWorld.getSpawnLocation() : null;
+  private static int parsePlacement(String name) {
+    if ("global".equals(name)) {
+      return PLACE_GLOBAL;
+    }
+    if ("round-robin".equals(name)) {
+      return PLACE_ROUND_ROBIN;
+    }
+    if ("affinity".equals(name)) {
+      return PLACE_AFFINITY;
+    }
+    return PLACE_SPAWN;
+  }
+
+  /**
+   * Picks where a legacy sync task runs.
+   *
+   * @return An entity whose scheduler runs the task, a location whose region
+   *         runs it, or null for the global region
+   */
+  private static Object placementOf(Plugin plugin, Runnable runnable) {
+    switch (PLACEMENT) {
+      case PLACE_GLOBAL:
+        return null;
+      case PLACE_ROUND_ROBIN:
+        return nextRegion(plugin);
+      case PLACE_AFFINITY:
+        Object target = affinityOf(runnable);
+        return target != null ? target : spawnLocation();
+      default:
+        return spawnLocation();
+    }
+  }
+
+  /**
+   * The spawn of the main world, whose region ran every legacy sync task before placements existed.
+   */
+  private static Location spawnLocation() {
+    java.util.List<World> worlds = _w();
+    if (worlds.isEmpty()) {
+      // Not enabled yet, so the mirror is still empty
+      worlds = Bukkit.getWorlds();
+    }
+    return worlds.isEmpty() ? null : worlds.get(0).getSpawnLocation();
+  }
+
+  /**
+   * The regions online players are in, in turn, so legacy sync work is spread
+   * over the tick threads that are running anyway; the spawn region if no one
+   * is online. A copy bound to the shared runtime takes the server-wide rotation.
+   */
+  private static Location nextRegion(Plugin plugin) {
+    PhantomRuntime rt = runtime;
+    java.util.List<Location> regions = rt != null ? rt.getPlayerRegions() : playerRegions(plugin);
+    if (regions.isEmpty()) {
+      return spawnLocation();
+    }
+    return regions.get(Math.floorMod(rotationNext.getAndIncrement(), regions.size()));
+  }
+
+  /**
+   * One location per region section online players are in, collected from the
+   * mirror at most once a second. A player's position is only read on the thread
+   * that owns the player, so the regions are those of the positions reported
+   * after the previous collection. Package-private for {@link SharedRuntime}.
+   *
+   * @param plugin The plugin whose scheduler the players report their positions on
+   */
+  static java.util.List<Location> playerRegions(Plugin plugin) {
+    long due = rotationDue.get();
+    long now = System.nanoTime();
+    if (now - due < 0 || !rotationDue.compareAndSet(due, now + ROTATION_TTL_NANOS)) {
+      return rotation;
+    }
+    Map<String, Location> byKey = new java.util.LinkedHashMap<>();
+    for (Player player : _o()) {
+      Location loc = playerPositions.get(player.getUniqueId());
+      if (loc != null) {
+        byKey.putIfAbsent(regionKey(loc), loc);
+      }
+      player.getScheduler().run(plugin, t -> playerPositions.put(player.getUniqueId(), player.getLocation()), null);
+    }
+    java.util.List<Location> regions = java.util.List.copyOf(byKey.values());
+    rotation = regions;
+    return regions;
+  }
+
+  /**
+   * The first live entity, location or block held in a field of the runnable,
+   * e.g. the player a lambda captured or an inner class was created for.
+   *
+   * @return An entity or a location, or null if the runnable holds neither
+   */
+  private static Object affinityOf(Runnable runnable) {
+    for (java.lang.reflect.Field field : AFFINITY_FIELDS.get(runnable.getClass())) {
+      Object value;
+      try {
+        value = field.get(runnable);
+      } catch (IllegalAccessException e) {
+        continue;
+      }
+      if (value instanceof Entity) {
+        if (((Entity) value).isValid()) {
+          return value;
+        }
+      } else if (value instanceof Location) {
+        if (((Location) value).isWorldLoaded()) {
+          return value;
+        }
+      } else if (value instanceof Block) {
+        return ((Block) value).getLocation();
+      }
+    }
+    return null;
+  }
+
+  /** The key of the region section a location is in, e.g. {@code world 3,-2} */
+  private static String regionKey(Location loc) {
+    int shift = 4 + REGION_SECTION_SHIFT;
+    return loc.getWorld().getName() + ' ' + (loc.getBlockX() >> shift) + ',' + (loc.getBlockZ() >> shift);
+  }
+
+  private static java.util.concurrent.atomic.AtomicLongArray loadOf(String key) {
+    java.util.concurrent.atomic.AtomicLongArray load = regionLoad.get(key);
+    if (load == null) {
+      load = regionLoad.computeIfAbsent(key, k -> new java.util.concurrent.atomic.AtomicLongArray(PhantomRuntime.LOAD_SLOTS));
+    }
+    return load;
+  }
+
+  /**
+   * Counts a task into the queue of a region section.
+   */
+  private static java.util.concurrent.atomic.AtomicLongArray enqueue(String key) {
+    java.util.concurrent.atomic.AtomicLongArray load = loadOf(key);
+    load.incrementAndGet(PhantomRuntime.LOAD_QUEUED);
+    return load;
+  }
+
+  /**
+   * Wraps a task body to keep its region's load: the task leaves the queue when
+   * it starts, and a repeating task rejoins it after each run unless cancelled.
+   */
+  private static java.util.function.Consumer<ScheduledTask> measured(Runnable body,
+      java.util.concurrent.atomic.AtomicLongArray load, boolean repeating) {
+    return t -> {
+      load.decrementAndGet(PhantomRuntime.LOAD_QUEUED);
+      long start = System.nanoTime();
+      try {
+        body.run();
+      } finally {
+        load.addAndGet(PhantomRuntime.LOAD_NANOS, System.nanoTime() - start);
+        load.incrementAndGet(PhantomRuntime.LOAD_RUNS);
+        if (repeating && !t.isCancelled()) {
+          load.incrementAndGet(PhantomRuntime.LOAD_QUEUED);
+        }
+      }
+    };
+  }
+
+  /**
+   * Wraps the body of a task that follows an entity. The entity's position is
+   * only read on the thread that owns it, so the region is known once the task
+   * runs: its runs and time count there, but it is never counted as queued.
+   */
+  private static java.util.function.Consumer<ScheduledTask> measuredOn(Entity entity, Runnable body) {
+    return t -> {
+      java.util.concurrent.atomic.AtomicLongArray load = loadOf(regionKey(entity.getLocation()));
+      long start = System.nanoTime();
+      try {
+        body.run();
+      } finally {
+        load.addAndGet(PhantomRuntime.LOAD_NANOS, System.nanoTime() - start);
+        load.incrementAndGet(PhantomRuntime.LOAD_RUNS);
+      }
+    };
+  }
+
+  /**
+   * Schedules a legacy sync task where {@link #taskPlacement} puts it.
+   *
+   * @param delay  Ticks before the first run, or 0 for the next tick
+   * @param period Ticks between runs, or 0 to run once
+   */
+  private static BukkitTask scheduleSync(Plugin plugin, Runnable runnable, long delay, long period) {
+    int taskId = taskIdCounter.getAndIncrement();
+    boolean repeating = period > 0;
+    Runnable body = wrapRunnable(runnable, plugin, taskId, repeating);
+    Object target = placementOf(plugin, runnable);
+
+    if (target instanceof Entity) {
+      Entity entity = (Entity) target;
+      java.util.function.Consumer<ScheduledTask> task = measuredOn(entity, body);
+      io.papermc.paper.threadedregions.scheduler.EntityScheduler scheduler = entity.getScheduler();
+      ScheduledTask foliaTask = repeating ? scheduler.runAtFixedRate(plugin, task, null, delay, period)
+          : delay > 0 ? scheduler.runDelayed(plugin, task, null, delay)
+          : scheduler.run(plugin, task, null);
+      if (foliaTask != null) {
+        return registerTask(taskId, plugin, true, foliaTask, null);
+      }
+      // The entity was removed in the meantime
+      target = spawnLocation();
+    }
+
+    Location loc = (Location) target;
+    java.util.concurrent.atomic.AtomicLongArray load = enqueue(loc != null ? regionKey(loc) : GLOBAL_REGION);
+    java.util.function.Consumer<ScheduledTask> task = measured(body, load, repeating);
+    ScheduledTask foliaTask;
+    if (loc != null) {
+      io.papermc.paper.threadedregions.scheduler.RegionScheduler scheduler = Bukkit.getRegionScheduler();
+      foliaTask = repeating ? scheduler.runAtFixedRate(plugin, loc, task, delay, period)
+          : delay > 0 ? scheduler.runDelayed(plugin, loc, task, delay)
+          : scheduler.run(plugin, loc, task);
+    } else {
+      io.papermc.paper.threadedregions.scheduler.GlobalRegionScheduler scheduler = Bukkit.getGlobalRegionScheduler();
+      foliaTask = repeating ? scheduler.runAtFixedRate(plugin, task, delay, period)
+          : delay > 0 ? scheduler.runDelayed(plugin, task, delay)
+          : scheduler.run(plugin, task);
+    }
+    return registerTask(taskId, plugin, true, foliaTask, load);
+  }
+
+  /**
+   * The fields of a runnable class that may tell where it should run: those of
+   * an entity, location or block type, declared by the class or its superclasses
+   * below {@link org.bukkit.scheduler.BukkitRunnable}. Computed once per class.
+   */
+  static final class AffinityFields extends ClassValue<java.lang.reflect.Field[]> {
+    @Override
+    protected java.lang.reflect.Field[] computeValue(Class<?> type) {
+      java.util.List<java.lang.reflect.Field> fields = new java.util.ArrayList<>();
+      try {
+        for (Class<?> c = type; c != null && c != Object.class
+            && c != org.bukkit.scheduler.BukkitRunnable.class; c = c.getSuperclass()) {
+          for (java.lang.reflect.Field field : c.getDeclaredFields()) {
+            Class<?> t = field.getType();
+            if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())
+                && (Entity.class.isAssignableFrom(t) || Location.class.isAssignableFrom(t)
+                    || Block.class.isAssignableFrom(t))
+                && field.trySetAccessible()) {
+              fields.add(field);
+            }
+          }
+        }
+      } catch (LinkageError | SecurityException e) {
+        // A field type cannot be loaded; such a class gets the fallback placement
+      }
+      return fields.toArray(new java.lang.reflect.Field[0]);
+    }
+  }
+
+  // --- Task Registry ---
+
+  /**
+   * The stripe of a plugin's tasks, created with its first task.
+   */
+  private static java.util.concurrent.ConcurrentMap<Integer, BukkitTask> stripeOf(Plugin plugin) {
+    java.util.concurrent.ConcurrentMap<Integer, BukkitTask> stripe = runningTasks.get(plugin.getName());
+    return stripe != null ? stripe : runningTasks.computeIfAbsent(plugin.getName(), k -> new TaskStripe());
+  }
+
+  /**
+   * Finds the stripe holding a task id, starting with the stripe of this copy's
+   * own plugin, so ids a plugin got from its own calls are found in one lookup.
+   *
+   * @return The stripe, or null if no bound plugin has a task of the id
+   */
+  private static Map<Integer, BukkitTask> stripeWith(int taskId) {
+    Integer key = taskId;
+    String own = home;
+    Map<Integer, BukkitTask> stripe = own != null ? runningTasks.get(own) : null;
+    if (stripe != null && stripe.containsKey(key)) {
+      return stripe;
+    }
+    for (Map<Integer, BukkitTask> other : runningTasks.values()) {
+      if (other.containsKey(key)) {
+        return other;
+      }
+    }
+    return null;
+  }
+
+  private static BukkitTask registerTask(int taskId, Plugin plugin, boolean sync, ScheduledTask foliaTask,
+      java.util.concurrent.atomic.AtomicLongArray load) {
+    FoliaBukkitTask task = new FoliaBukkitTask(taskId, plugin, sync, foliaTask, load);
+    java.util.concurrent.ConcurrentMap<Integer, BukkitTask> stripe = stripeOf(plugin);
+    stripe.put(taskId, task);
+    if (stripe instanceof TaskStripe) {
+      ((TaskStripe) stripe).added();
+    }
+    // A task that already ran before it was registered has no one left to remove it
+    if (isRetired(task)) {
+      stripe.remove(taskId, task);
+    }
+    return task;
+  }
+
+  /**
+   * The Folia task behind a registered task. Every registered task is a
+   * {@link FoliaBukkitTask}, possibly of another plugin's copy, so it is reached
+   * through the JDK interface all copies share.
+   */
+  @SuppressWarnings("unchecked")
+  private static ScheduledTask scheduledOf(BukkitTask task) {
+    return ((java.util.function.Supplier<ScheduledTask>) task).get();
+  }
+
+  private static boolean isRetired(BukkitTask task) {
+    ScheduledTask.ExecutionState state = scheduledOf(task).getExecutionState();
+    return state == ScheduledTask.ExecutionState.FINISHED || state == ScheduledTask.ExecutionState.CANCELLED
+        || state == ScheduledTask.ExecutionState.CANCELLED_RUNNING;
   }
 
   private static void cancelTaskById(int taskId) {
-    ScheduledTask task = runningTasks.remove(taskId);
-    if (task != null && !task.isCancelled()) {
+    Map<Integer, BukkitTask> stripe = stripeWith(taskId);
+    BukkitTask task = stripe != null ? stripe.get(taskId) : null;
+    if (task != null) {
+      // Removes itself from the stripe
       task.cancel();
     }
   }
 
-  private static Runnable wrapRunnable(Runnable original, int taskId, boolean isRepeating) {
+  private static Runnable wrapRunnable(Runnable original, Plugin plugin, int taskId, boolean isRepeating) {
     if (isRepeating)
       return original;
+    String owner = plugin.getName();
     return () -> {
       try {
         original.run();
       } finally {
-        runningTasks.remove(taskId);
+        Map<Integer, BukkitTask> stripe = runningTasks.get(owner);
+        if (stripe != null) {
+          stripe.remove(taskId);
+        }
       }
     };
   }
@@ -364,63 +1186,32 @@ public final class FoliaPatcher {
   // --- Scheduler Redirections ---
 
   public static BukkitTask runTask(BukkitScheduler ignored, Plugin plugin, Runnable runnable) {
-    int taskId = taskIdCounter.getAndIncrement();
-    Runnable wrapped = wrapRunnable(runnable, taskId, false);
-    Location loc = getFallbackLocation();
-
-    ScheduledTask foliaTask = (loc != null)
-        ? Bukkit.getRegionScheduler().run(plugin, loc, t -> wrapped.run())
-        : Bukkit.getGlobalRegionScheduler().run(plugin, t -> wrapped.run());
-
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, true, foliaTask);
+    return scheduleSync(plugin, runnable, 0, 0);
   }
 
   public static BukkitTask runTaskLater(BukkitScheduler ignored, Plugin plugin, Runnable runnable, long delay) {
-    int taskId = taskIdCounter.getAndIncrement();
-    Runnable wrapped = wrapRunnable(runnable, taskId, false);
-    Location loc = getFallbackLocation();
-    long finalDelay = Math.max(1, delay);
-
-    ScheduledTask foliaTask = (loc != null)
-        ? Bukkit.getRegionScheduler().runDelayed(plugin, loc, t -> wrapped.run(), finalDelay)
-        : Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> wrapped.run(), finalDelay);
-
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, true, foliaTask);
+    return scheduleSync(plugin, runnable, Math.max(1, delay), 0);
   }
 
   public static BukkitTask runTaskTimer(BukkitScheduler ignored, Plugin plugin, Runnable runnable, long delay,
       long period) {
-    int taskId = taskIdCounter.getAndIncrement();
-    Location loc = getFallbackLocation();
-    long d = Math.max(1, delay);
-    long p = Math.max(1, period);
-
-    ScheduledTask foliaTask = (loc != null)
-        ? Bukkit.getRegionScheduler().runAtFixedRate(plugin, loc, t -> runnable.run(), d, p)
-        : Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> runnable.run(), d, p);
-
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, true, foliaTask);
+    return scheduleSync(plugin, runnable, Math.max(1, delay), Math.max(1, period));
   }
 
   public static BukkitTask runTaskAsynchronously(BukkitScheduler ignored, Plugin plugin, Runnable runnable) {
     int taskId = taskIdCounter.getAndIncrement();
-    Runnable wrapped = wrapRunnable(runnable, taskId, false);
+    Runnable wrapped = wrapRunnable(runnable, plugin, taskId, false);
     ScheduledTask foliaTask = Bukkit.getAsyncScheduler().runNow(plugin, t -> wrapped.run());
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, false, foliaTask);
+    return registerTask(taskId, plugin, false, foliaTask, null);
   }
 
   public static BukkitTask runTaskLaterAsynchronously(BukkitScheduler ignored, Plugin plugin, Runnable runnable,
       long delay) {
     int taskId = taskIdCounter.getAndIncrement();
-    Runnable wrapped = wrapRunnable(runnable, taskId, false);
+    Runnable wrapped = wrapRunnable(runnable, plugin, taskId, false);
     ScheduledTask foliaTask = Bukkit.getAsyncScheduler().runDelayed(plugin, t -> wrapped.run(), delay * 50,
         TimeUnit.MILLISECONDS);
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, false, foliaTask);
+    return registerTask(taskId, plugin, false, foliaTask, null);
   }
 
   public static BukkitTask runTaskTimerAsynchronously(BukkitScheduler ignored, Plugin plugin, Runnable runnable,
@@ -428,8 +1219,7 @@ public final class FoliaPatcher {
     int taskId = taskIdCounter.getAndIncrement();
     ScheduledTask foliaTask = Bukkit.getAsyncScheduler().runAtFixedRate(plugin, t -> runnable.run(), delay * 50,
         period * 50, TimeUnit.MILLISECONDS);
-    runningTasks.put(taskId, foliaTask);
-    return new FoliaBukkitTask(taskId, plugin, FoliaPatcher::cancelTaskById, false, foliaTask);
+    return registerTask(taskId, plugin, false, foliaTask, null);
   }
 
   // --- NEW Scheduler Redirections (without scheduler instance) ---
@@ -464,10 +1254,15 @@ public final class FoliaPatcher {
    * Safely gets all players in a world.
    */
   public static java.util.List<org.bukkit.entity.Player> safeGetPlayers(Plugin plugin, World world) {
-    if (Bukkit.isPrimaryThread()) {
+    if (_ii) {
+      // The mirror is kept current by events, so there is nothing to wait for; the copy stays mutable like Bukkit's
+      PhantomRuntime rt = runtime;
+      return new java.util.ArrayList<>(rt != null ? rt.getPlayers(world) : _m.getPlayers(world));
+    }
+    if (onTickThread()) {
       return world.getPlayers();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.List<org.bukkit.entity.Player>> future = new CompletableFuture<>();
@@ -493,10 +1288,10 @@ public final class FoliaPatcher {
   }
 
   public static int safeGetOnlinePlayersSize(final Plugin plugin) {
-    if (!isFolia()) {
+    if (!isFolia() || onTickThread()) {
       return Bukkit.getOnlinePlayers().size();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return 0;
     }
     CompletableFuture<Integer> future = new CompletableFuture<>();
@@ -520,10 +1315,10 @@ public final class FoliaPatcher {
    * This is a global operation, so it uses the global region scheduler.
    */
   public static java.util.Collection<? extends org.bukkit.entity.Player> safeGetOnlinePlayers(Plugin plugin) {
-    if (!isFolia()) {
+    if (!isFolia() || onTickThread()) {
       return Bukkit.getServer().getOnlinePlayers();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.Collection<? extends org.bukkit.entity.Player>> future = new CompletableFuture<>();
@@ -547,10 +1342,10 @@ public final class FoliaPatcher {
    * This is a global operation, so it uses the global region scheduler.
    */
   public static java.util.List<World> safeGetWorlds(Plugin plugin) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return Bukkit.getWorlds();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.List<World>> future = new CompletableFuture<>();
@@ -574,7 +1369,7 @@ public final class FoliaPatcher {
    * This is a global operation, so it uses the global region scheduler.
    */
   public static void safeBroadcastMessage(Plugin plugin, String message) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       Bukkit.getServer().broadcastMessage(message);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> Bukkit.getServer().broadcastMessage(message));
@@ -589,7 +1384,7 @@ public final class FoliaPatcher {
    * @param action The action to perform for each player.
    */
   public static void forEachPlayer(Plugin plugin, Consumer<org.bukkit.entity.Player> action) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       for (org.bukkit.entity.Player player : Bukkit.getOnlinePlayers()) {
         action.accept(player);
       }
@@ -650,19 +1445,20 @@ public final class FoliaPatcher {
   /**
    * Implementation of BukkitTask for Folia.
    */
-  public static final class FoliaBukkitTask implements BukkitTask {
+  public static final class FoliaBukkitTask implements BukkitTask, java.util.function.Supplier<ScheduledTask> {
     private final int taskId;
     private final Plugin owner;
-    private final IntConsumer cancellationCallback;
     private final boolean isSync;
     private final ScheduledTask underlyingTask;
+    private final java.util.concurrent.atomic.AtomicLongArray load;
 
-    public FoliaBukkitTask(int taskId, Plugin owner, IntConsumer cc, boolean isSync, ScheduledTask underlyingTask) {
+    public FoliaBukkitTask(int taskId, Plugin owner, boolean isSync, ScheduledTask underlyingTask,
+        java.util.concurrent.atomic.AtomicLongArray load) {
       this.taskId = taskId;
       this.owner = owner;
-      this.cancellationCallback = cc;
       this.isSync = isSync;
       this.underlyingTask = underlyingTask;
+      this.load = load;
     }
 
     @Override
@@ -687,10 +1483,23 @@ public final class FoliaPatcher {
 
     @Override
     public void cancel() {
-      if (!isCancelled()) {
-        cancellationCallback.accept(this.taskId);
+      // Only a task cancelled while waiting leaves its region's queue; a running one leaves it on return
+      if (underlyingTask.cancel() == ScheduledTask.CancelledState.CANCELLED_BY_CALLER && load != null) {
+        load.decrementAndGet(PhantomRuntime.LOAD_QUEUED);
+      }
+      Map<Integer, BukkitTask> stripe = runningTasks.get(owner.getName());
+      if (stripe != null) {
+        stripe.remove(taskId, this);
       }
     }
+
+    /**
+     * @return The Folia task, for copies in other plugins that only see this through the shared registry
+     */
+    @Override
+    public ScheduledTask get() {
+      return underlyingTask;
+    }
   }
 
   // --- Thread-Safe World Operations ---
@@ -699,10 +1508,10 @@ public final class FoliaPatcher {
    * Safely gets all entities in a world.
    */
   public static java.util.List<Entity> safeGetEntities(Plugin plugin, World world) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return world.getEntities();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.List<Entity>> future = new CompletableFuture<>();
@@ -731,10 +1540,10 @@ public final class FoliaPatcher {
    * Safely gets all living entities in a world.
    */
   public static java.util.List<org.bukkit.entity.LivingEntity> safeGetLivingEntities(Plugin plugin, World world) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return world.getLivingEntities();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.List<org.bukkit.entity.LivingEntity>> future = new CompletableFuture<>();
@@ -763,10 +1572,10 @@ public final class FoliaPatcher {
    * Safely gets nearby entities to a location.
    */
   public static java.util.Collection<Entity> safeGetNearbyEntities(Plugin plugin, World world, Location location, double x, double y, double z) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.getNearbyEntities(location, x, y, z);
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptyList();
     }
     CompletableFuture<java.util.Collection<Entity>> future = new CompletableFuture<>();
@@ -791,78 +1600,385 @@ public final class FoliaPatcher {
     }
   }
 
-  public static void safeSetBlockType(Plugin plugin, Block block, org.bukkit.Material material) {
-    if (Bukkit.isPrimaryThread()) {
-      block.setType(material);
-    } else {
-      Bukkit.getRegionScheduler().run(plugin, block.getLocation(), task -> block.setType(material));
+  public static void safeSetBlockType(Plugin plugin, Block block, org.bukkit.Material material) {
+    if (Bukkit.isOwnedByCurrentRegion(block)) {
+      discardBufferedWrite(block);
+      block.setType(material);
+    } else {
+      bufferBlockWrite(plugin, block, material, true);
+    }
+  }
+
+  public static void safeSetBlockTypeWithPhysics(Plugin plugin, Block block, org.bukkit.Material material, boolean applyPhysics) {
+    if (Bukkit.isOwnedByCurrentRegion(block)) {
+      discardBufferedWrite(block);
+      block.setType(material, applyPhysics);
+    } else {
+      bufferBlockWrite(plugin, block, material, applyPhysics);
+    }
+  }
+
+  /**
+   * Safely sets the block data for a block.
+   */
+  public static void safeSetBlockData(Plugin plugin, Block block, BlockData data) {
+    if (Bukkit.isOwnedByCurrentRegion(block)) {
+      discardBufferedWrite(block);
+      block.setBlockData(data);
+    } else {
+      bufferBlockWrite(plugin, block, data, true);
+    }
+  }
+
+  /**
+   * Safely spawns an entity in the world at the given location.
+   * If not on the main thread, this will schedule the spawn and block until it completes.
+   */
+  public static <T extends Entity> T safeSpawnEntity(Plugin plugin, World world, Location location, Class<T> clazz) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
+      return world.spawn(location, clazz);
+    } else {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      Bukkit.getRegionScheduler().run(plugin, location, task -> {
+        try {
+          future.complete(world.spawn(location, clazz));
+        } catch (Exception e) {
+          future.completeExceptionally(e);
+        }
+      });
+
+      if (FIRE_AND_FORGET || mustNotWait()) {
+        return null;
+      }
+
+      try {
+        // Block for a short time to prevent server hangs
+        return future.get(API_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+      } catch (InterruptedException | ExecutionException e) {
+        LOGGER.log(Level.WARNING, "[FoliaPhantom] Failed to spawn entity of type " + clazz.getSimpleName(), e);
+        return null;
+      } catch (TimeoutException e) {
+        if (FAIL_FAST) {
+          throw new FoliaPatcherTimeoutException("Failed to spawn entity of type " + clazz.getSimpleName(), e);
+        }
+        LOGGER.log(Level.WARNING, "[FoliaPhantom] Failed to spawn entity of type " + clazz.getSimpleName(), e);
+        return null;
+      }
+    }
+  }
+
+  /**
+   * Safely spawns an entity of the given type; the target of {@code World#spawnEntity(Location, EntityType)}.
+   */
+  public static Entity safeSpawnEntity(Plugin plugin, World world, Location location, org.bukkit.entity.EntityType type) {
+    return safeSpawnEntity(plugin, world, location, type.getEntityClass());
+  }
+
+  /**
+   * Safely sets the block data for a block.
+   */
+  public static void safeSetBlockDataWithPhysics(Plugin plugin, Block block, BlockData data, boolean applyPhysics) {
+    if (Bukkit.isOwnedByCurrentRegion(block)) {
+      discardBufferedWrite(block);
+      block.setBlockData(data, applyPhysics);
+    } else {
+      bufferBlockWrite(plugin, block, data, applyPhysics);
+    }
+  }
+
+  // --- Block Change Buffer ---
+  //
+  // Block writes from threads that do not own the block are collected per chunk
+  // instead of scheduling one region task per block. A later write to the same
+  // position replaces the earlier one, physics flag included. A chunk schedules
+  // one flush task when it gets its first pending write; the first such task to
+  // run on a region thread applies the writes of every pending chunk its region
+  // owns, in chunk order and bottom-up within a chunk, until the thread has
+  // used its time budget for the tick. What is left is carried over to the next tick.
+  // Buffers are grouped by region section, so a flush checks ownership once per
+  // section with pending writes, and a buffer leaves the map once it is drained.
+
+  /** Time a region thread may spend applying buffered block writes per tick */
+  private static final long BLOCK_FLUSH_BUDGET_NANOS = 5_000_000L;
+
+  /** Pending buffers by world id, then region section, then chunk */
+  private static final Map<java.util.UUID, Map<Long, Map<Long, BlockBuffer>>> blockBuffers = new ConcurrentHashMap<>();
+
+  /** Per thread: the tick of the last flush and the nanoseconds spent flushing in it */
+  private static final ThreadLocal<long[]> blockFlushTime = ThreadLocal.withInitial(() -> new long[2]);
+
+  private static long chunkKey(int chunkX, int chunkZ) {
+    return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+  }
+
+  private static long sectionKey(int chunkX, int chunkZ) {
+    return chunkKey(chunkX >> REGION_SECTION_SHIFT, chunkZ >> REGION_SECTION_SHIFT);
+  }
+
+  /**
+   * The buffer of a chunk, created if it has none. Sections are only added and
+   * removed atomically with their buffers, so a section is never left empty.
+   */
+  private static BlockBuffer blockBuffer(Plugin plugin, World world, int chunkX, int chunkZ) {
+    Map<Long, Map<Long, BlockBuffer>> sections = blockBuffers.computeIfAbsent(world.getUID(), u -> new ConcurrentHashMap<>());
+    long chunkKey = chunkKey(chunkX, chunkZ);
+    Map<Long, BlockBuffer> chunks = sections.get(sectionKey(chunkX, chunkZ));
+    BlockBuffer buffer = chunks != null ? chunks.get(chunkKey) : null;
+    if (buffer != null) {
+      return buffer;
+    }
+    BlockBuffer[] created = new BlockBuffer[1];
+    sections.compute(sectionKey(chunkX, chunkZ), (k, section) -> {
+      if (section == null) {
+        section = new ConcurrentHashMap<>();
+      }
+      created[0] = section.computeIfAbsent(chunkKey, c -> new BlockBuffer(plugin, world, chunkX, chunkZ));
+      return section;
+    });
+    return created[0];
+  }
+
+  /**
+   * Removes a retired buffer, and its section if that was its last buffer.
+   */
+  private static void removeBlockBuffer(BlockBuffer buffer) {
+    Map<Long, Map<Long, BlockBuffer>> sections = blockBuffers.get(buffer.world.getUID());
+    if (sections != null) {
+      sections.computeIfPresent(sectionKey(buffer.chunkX, buffer.chunkZ), (k, section) -> {
+        section.remove(chunkKey(buffer.chunkX, buffer.chunkZ), buffer);
+        return section.isEmpty() ? null : section;
+      });
+    }
+  }
+
+  /**
+   * Queues a block write for the region that owns the block.
+   *
+   * @param value   The {@link org.bukkit.Material} or {@link BlockData} to set
+   * @param physics Whether the write applies physics, as the Bukkit setter it stands for
+   */
+  private static void bufferBlockWrite(Plugin plugin, Block block, Object value, boolean physics) {
+    World world = block.getWorld();
+    int x = block.getX();
+    int y = block.getY();
+    int z = block.getZ();
+    while (true) {
+      BlockBuffer buffer = blockBuffer(plugin, world, x >> 4, z >> 4);
+      boolean schedule;
+      synchronized (buffer) {
+        if (buffer.retired) {
+          // Removed by its flush task in the meantime; a new buffer takes its place
+          continue;
+        }
+        buffer.put(BlockBuffer.key(x, y, z), value, physics);
+        schedule = !buffer.scheduled;
+        buffer.scheduled = true;
+      }
+      if (schedule) {
+        buffer.schedule(0);
+      }
+      return;
     }
   }
 
-  public static void safeSetBlockTypeWithPhysics(Plugin plugin, Block block, org.bukkit.Material material, boolean applyPhysics) {
-    if (Bukkit.isPrimaryThread()) {
-      block.setType(material, applyPhysics);
-    } else {
-      Bukkit.getRegionScheduler().run(plugin, block.getLocation(), task -> block.setType(material, applyPhysics));
+  /**
+   * Drops a pending write to a block that is about to be written directly, so
+   * the older buffered value cannot land after it.
+   */
+  private static void discardBufferedWrite(Block block) {
+    if (blockBuffers.isEmpty()) {
+      return;
+    }
+    int chunkX = block.getX() >> 4;
+    int chunkZ = block.getZ() >> 4;
+    Map<Long, Map<Long, BlockBuffer>> sections = blockBuffers.get(block.getWorld().getUID());
+    Map<Long, BlockBuffer> chunks = sections != null ? sections.get(sectionKey(chunkX, chunkZ)) : null;
+    BlockBuffer buffer = chunks != null ? chunks.get(chunkKey(chunkX, chunkZ)) : null;
+    if (buffer != null) {
+      synchronized (buffer) {
+        buffer.remove(BlockBuffer.key(block.getX(), block.getY(), block.getZ()));
+      }
     }
   }
 
   /**
-   * Safely sets the block data for a block.
+   * Runs on the region thread owning {@code origin}: applies the pending writes
+   * of all chunks this region owns, within the thread's budget for the tick.
    */
-  public static void safeSetBlockData(Plugin plugin, Block block, BlockData data) {
-    if (Bukkit.isPrimaryThread()) {
-      block.setBlockData(data);
-    } else {
-      Bukkit.getRegionScheduler().run(plugin, block.getLocation(), task -> block.setBlockData(data));
+  private static void flushBlockBuffers(BlockBuffer origin) {
+    synchronized (origin) {
+      origin.scheduled = false;
+    }
+    if (origin.retireIfIdle()) {
+      // Already flushed along with another chunk of this region
+      return;
+    }
+
+    long[] spent = blockFlushTime.get();
+    int tick = Bukkit.getCurrentTick();
+    if (spent[0] != tick) {
+      spent[0] = tick;
+      spent[1] = 0;
+    }
+    long start = System.nanoTime();
+    long deadline = start + BLOCK_FLUSH_BUDGET_NANOS - spent[1];
+
+    java.util.List<BlockBuffer> owned = new java.util.ArrayList<>();
+    owned.add(origin);
+    Map<Long, Map<Long, BlockBuffer>> sections = blockBuffers.get(origin.world.getUID());
+    if (sections != null) {
+      for (Map<Long, BlockBuffer> section : sections.values()) {
+        java.util.Iterator<BlockBuffer> it = section.values().iterator();
+        // Regions are made of whole sections, so one chunk tells whether to look at the
+        // others. Should that not hold, skipped chunks still have their own flush task.
+        if (!it.hasNext() || !ownsChunkOf(it.next())) {
+          continue;
+        }
+        for (BlockBuffer buffer : section.values()) {
+          if (buffer != origin && ownsChunkOf(buffer)) {
+            owned.add(buffer);
+          }
+        }
+      }
     }
+    owned.sort(java.util.Comparator.<BlockBuffer>comparingInt(b -> b.chunkX).thenComparingInt(b -> b.chunkZ));
+    for (BlockBuffer buffer : owned) {
+      buffer.apply(deadline);
+    }
+    spent[1] += System.nanoTime() - start;
+  }
+
+  private static boolean ownsChunkOf(BlockBuffer buffer) {
+    return Bukkit.isOwnedByCurrentRegion(buffer.world, buffer.chunkX, buffer.chunkZ);
   }
 
   /**
-   * Safely spawns an entity in the world at the given location.
-   * If not on the main thread, this will schedule the spawn and block until it completes.
+   * The pending block writes of one chunk. Guarded by its own monitor.
    */
-  public static <T extends Entity> T safeSpawnEntity(Plugin plugin, World world, Location location, Class<T> clazz) {
-    if (Bukkit.isPrimaryThread()) {
-      return world.spawn(location, clazz);
-    } else {
-      CompletableFuture<T> future = new CompletableFuture<>();
-      Bukkit.getRegionScheduler().run(plugin, location, task -> {
-        try {
-          future.complete(world.spawn(location, clazz));
-        } catch (Exception e) {
-          future.completeExceptionally(e);
+  static final class BlockBuffer {
+    final Plugin plugin;
+    final World world;
+    final int chunkX;
+    final int chunkZ;
+    /** Whether a flush task for this chunk is queued */
+    boolean scheduled;
+    /** Whether the buffer was removed from the map; writers must use a new one */
+    boolean retired;
+    private Map<Integer, Object> values = new java.util.HashMap<>();
+    private Set<Integer> withoutPhysics = new java.util.HashSet<>();
+
+    BlockBuffer(Plugin plugin, World world, int chunkX, int chunkZ) {
+      this.plugin = plugin;
+      this.world = world;
+      this.chunkX = chunkX;
+      this.chunkZ = chunkZ;
+    }
+
+    /**
+     * @return A key of the position within its chunk that sorts bottom-up, then by z and x
+     */
+    static int key(int x, int y, int z) {
+      return ((y + 2048) << 8) | ((z & 15) << 4) | (x & 15);
+    }
+
+    void put(int key, Object value, boolean physics) {
+      values.put(key, value);
+      if (physics) {
+        withoutPhysics.remove(key);
+      } else {
+        withoutPhysics.add(key);
+      }
+    }
+
+    void remove(int key) {
+      values.remove(key);
+      withoutPhysics.remove(key);
+    }
+
+    /**
+     * Retires and removes the buffer if it has no pending writes and no queued
+     * flush task; a writer that finds it retired starts a new one.
+     *
+     * @return Whether the buffer was retired
+     */
+    boolean retireIfIdle() {
+      synchronized (this) {
+        if (retired) {
+          return true;
         }
-      });
+        if (!values.isEmpty() || scheduled) {
+          return false;
+        }
+        retired = true;
+      }
+      removeBlockBuffer(this);
+      return true;
+    }
 
-      if (FIRE_AND_FORGET) {
-        return null;
+    void schedule(long delayTicks) {
+      if (delayTicks > 0) {
+        Bukkit.getRegionScheduler().runDelayed(plugin, world, chunkX, chunkZ, task -> flushBlockBuffers(this), delayTicks);
+      } else {
+        Bukkit.getRegionScheduler().run(plugin, world, chunkX, chunkZ, task -> flushBlockBuffers(this));
       }
+    }
 
-      try {
-        // Block for a short time to prevent server hangs
-        return future.get(API_TIMEOUT_MS, TimeUnit.MILLISECONDS);
-      } catch (InterruptedException | ExecutionException e) {
-        LOGGER.log(Level.WARNING, "[FoliaPhantom] Failed to spawn entity of type " + clazz.getSimpleName(), e);
-        return null;
-      } catch (TimeoutException e) {
-        if (FAIL_FAST) {
-          throw new FoliaPatcherTimeoutException("Failed to spawn entity of type " + clazz.getSimpleName(), e);
+    /**
+     * Applies the pending writes in key order until the deadline passes, then
+     * puts the rest back, unless newer writes replaced them, for the next tick.
+     */
+    void apply(long deadline) {
+      Map<Integer, Object> batch;
+      Set<Integer> batchWithoutPhysics;
+      synchronized (this) {
+        if (values.isEmpty()) {
+          retireIfIdle();
+          return;
+        }
+        batch = values;
+        batchWithoutPhysics = withoutPhysics;
+        values = new java.util.HashMap<>();
+        withoutPhysics = new java.util.HashSet<>();
+      }
+      int[] keys = new int[batch.size()];
+      int n = 0;
+      for (Integer key : batch.keySet()) {
+        keys[n++] = key;
+      }
+      java.util.Arrays.sort(keys);
+
+      for (int i = 0; i < keys.length; i++) {
+        if ((i & 63) == 0 && System.nanoTime() - deadline > 0) {
+          carryOver(keys, i, batch, batchWithoutPhysics);
+          return;
+        }
+        int key = keys[i];
+        Block block = world.getBlockAt((chunkX << 4) | (key & 15), (key >>> 8) - 2048, (chunkZ << 4) | ((key >> 4) & 15));
+        Object value = batch.get(key);
+        boolean physics = !batchWithoutPhysics.contains(key);
+        if (value instanceof BlockData) {
+          block.setBlockData((BlockData) value, physics);
+        } else {
+          block.setType((org.bukkit.Material) value, physics);
         }
-        LOGGER.log(Level.WARNING, "[FoliaPhantom] Failed to spawn entity of type " + clazz.getSimpleName(), e);
-        return null;
       }
+      retireIfIdle();
     }
-  }
 
-  /**
-   * Safely sets the block data for a block.
-   */
-  public static void safeSetBlockDataWithPhysics(Plugin plugin, Block block, BlockData data, boolean applyPhysics) {
-    if (Bukkit.isPrimaryThread()) {
-      block.setBlockData(data, applyPhysics);
-    } else {
-      Bukkit.getRegionScheduler().run(plugin, block.getLocation(), task -> block.setBlockData(data, applyPhysics));
+    private void carryOver(int[] keys, int from, Map<Integer, Object> batch, Set<Integer> batchWithoutPhysics) {
+      boolean schedule;
+      synchronized (this) {
+        for (int i = from; i < keys.length; i++) {
+          if (!values.containsKey(keys[i])) {
+            put(keys[i], batch.get(keys[i]), !batchWithoutPhysics.contains(keys[i]));
+          }
+        }
+        schedule = !scheduled;
+        scheduled = true;
+      }
+      if (schedule) {
+        schedule(1);
+      }
     }
   }
 
@@ -870,7 +1986,7 @@ public final class FoliaPatcher {
    * Safely loads a chunk, generating it if specified.
    */
   public static void safeLoadChunk(Plugin plugin, World world, int x, int z, boolean generate) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(world, x, z)) {
       world.loadChunk(x, z, generate);
     } else {
       // execute() is better for this as it doesn't imply a delay
@@ -883,10 +1999,10 @@ public final class FoliaPatcher {
    * If not on the main thread, this will use async teleport and block for the result.
    */
   public static boolean safeTeleport(Plugin plugin, org.bukkit.entity.Player player, Location location) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       return player.teleport(location);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         player.teleportAsync(location);
         return true;
       }
@@ -910,7 +2026,7 @@ public final class FoliaPatcher {
    * Safely drops an item at the specified location.
    */
   public static org.bukkit.entity.Item safeDropItem(Plugin plugin, World world, Location location, ItemStack item) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.dropItem(location, item);
     } else {
       CompletableFuture<org.bukkit.entity.Item> future = new CompletableFuture<>();
@@ -921,7 +2037,7 @@ public final class FoliaPatcher {
           future.completeExceptionally(e);
         }
       });
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       try {
@@ -943,7 +2059,7 @@ public final class FoliaPatcher {
    * Safely drops an item naturally at the specified location.
    */
   public static org.bukkit.entity.Item safeDropItemNaturally(Plugin plugin, World world, Location location, ItemStack item) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.dropItemNaturally(location, item);
     } else {
       CompletableFuture<org.bukkit.entity.Item> future = new CompletableFuture<>();
@@ -954,7 +2070,7 @@ public final class FoliaPatcher {
           future.completeExceptionally(e);
         }
       });
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       try {
@@ -976,10 +2092,10 @@ public final class FoliaPatcher {
    * Safely creates an explosion. Using the modern method signature.
    */
   public static boolean safeCreateExplosion(Plugin plugin, World world, Location location, float power, boolean setFire, boolean breakBlocks) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.createExplosion(location, power, setFire, breakBlocks);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         Bukkit.getRegionScheduler().run(plugin, location, task -> world.createExplosion(location, power, setFire, breakBlocks));
         return true;
       }
@@ -1004,7 +2120,7 @@ public final class FoliaPatcher {
    * Safely plays a particle effect.
    */
   public static <T> void safePlayEffect(Plugin plugin, World world, Location location, Effect effect, T data) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       world.playEffect(location, effect, data);
     } else {
       Bukkit.getRegionScheduler().run(plugin, location, task -> world.playEffect(location, effect, data));
@@ -1015,7 +2131,7 @@ public final class FoliaPatcher {
    * Safely plays a sound.
    */
   public static void safePlaySound(Plugin plugin, World world, Location location, Sound sound, float volume, float pitch) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       world.playSound(location, sound, volume, pitch);
     } else {
       Bukkit.getRegionScheduler().run(plugin, location, task -> world.playSound(location, sound, volume, pitch));
@@ -1026,7 +2142,7 @@ public final class FoliaPatcher {
    * Safely strikes lightning.
    */
   public static org.bukkit.entity.LightningStrike safeStrikeLightning(Plugin plugin, World world, Location location) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.strikeLightning(location);
     } else {
       CompletableFuture<org.bukkit.entity.LightningStrike> future = new CompletableFuture<>();
@@ -1037,7 +2153,7 @@ public final class FoliaPatcher {
           future.completeExceptionally(e);
         }
       });
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       try {
@@ -1059,10 +2175,10 @@ public final class FoliaPatcher {
    * Safely generates a tree.
    */
   public static boolean safeGenerateTree(Plugin plugin, World world, Location location, TreeType type) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(location)) {
       return world.generateTree(location, type);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         Bukkit.getRegionScheduler().run(plugin, location, task -> world.generateTree(location, type));
         return true;
       }
@@ -1087,10 +2203,10 @@ public final class FoliaPatcher {
    * Safely sets a game rule. This is a global operation.
    */
   public static <T> boolean safeSetGameRule(Plugin plugin, World world, GameRule<T> rule, T value) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return world.setGameRule(rule, value);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         Bukkit.getGlobalRegionScheduler().run(plugin, task -> world.setGameRule(rule, value));
         return true;
       }
@@ -1115,7 +2231,7 @@ public final class FoliaPatcher {
   // --- Thread-Safe Scoreboard Operations ---
 
   public static org.bukkit.scoreboard.Objective safeRegisterNewObjective(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String name, String criteria) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.registerNewObjective(name, criteria);
     } else {
       CompletableFuture<org.bukkit.scoreboard.Objective> future = new CompletableFuture<>();
@@ -1126,7 +2242,7 @@ public final class FoliaPatcher {
           future.completeExceptionally(e);
         }
       });
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       try {
@@ -1145,7 +2261,7 @@ public final class FoliaPatcher {
   }
 
   public static org.bukkit.scoreboard.Team safeRegisterNewTeam(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String name) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.registerNewTeam(name);
     } else {
       CompletableFuture<org.bukkit.scoreboard.Team> future = new CompletableFuture<>();
@@ -1156,7 +2272,7 @@ public final class FoliaPatcher {
           future.completeExceptionally(e);
         }
       });
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return null;
       }
       try {
@@ -1175,7 +2291,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeResetScores(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String entry) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       scoreboard.resetScores(entry);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> scoreboard.resetScores(entry));
@@ -1183,7 +2299,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeClearSlot(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, org.bukkit.scoreboard.DisplaySlot slot) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       scoreboard.clearSlot(slot);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> scoreboard.clearSlot(slot));
@@ -1193,7 +2309,7 @@ public final class FoliaPatcher {
   // --- Thread-Safe Team Operations ---
 
   public static void safeAddEntry(Plugin plugin, org.bukkit.scoreboard.Team team, String entry) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       team.addEntry(entry);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> team.addEntry(entry));
@@ -1201,10 +2317,10 @@ public final class FoliaPatcher {
   }
 
   public static boolean safeRemoveEntry(Plugin plugin, org.bukkit.scoreboard.Team team, String entry) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return team.removeEntry(entry);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         Bukkit.getGlobalRegionScheduler().run(plugin, task -> team.removeEntry(entry));
         return false;
       }
@@ -1226,7 +2342,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetPrefix(Plugin plugin, org.bukkit.scoreboard.Team team, String prefix) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       team.setPrefix(prefix);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> team.setPrefix(prefix));
@@ -1234,7 +2350,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetSuffix(Plugin plugin, org.bukkit.scoreboard.Team team, String suffix) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       team.setSuffix(suffix);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> team.setSuffix(suffix));
@@ -1242,7 +2358,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeUnregisterTeam(Plugin plugin, org.bukkit.scoreboard.Team team) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       team.unregister();
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> team.unregister());
@@ -1252,7 +2368,7 @@ public final class FoliaPatcher {
   // --- Thread-Safe Objective Operations ---
 
   public static void safeSetDisplayName(Plugin plugin, org.bukkit.scoreboard.Objective objective, String displayName) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       objective.setDisplayName(displayName);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> objective.setDisplayName(displayName));
@@ -1260,7 +2376,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeUnregisterObjective(Plugin plugin, org.bukkit.scoreboard.Objective objective) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       objective.unregister();
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> objective.unregister());
@@ -1270,7 +2386,7 @@ public final class FoliaPatcher {
   // --- Thread-Safe Score Operations ---
 
   public static void safeSetScore(Plugin plugin, org.bukkit.scoreboard.Score score, int scoreValue) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       score.setScore(scoreValue);
     } else {
       Bukkit.getGlobalRegionScheduler().run(plugin, task -> score.setScore(scoreValue));
@@ -1280,10 +2396,10 @@ public final class FoliaPatcher {
   // --- Thread-Safe Scoreboard READ Operations ---
 
   public static org.bukkit.scoreboard.Objective safeGetObjective(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String name) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getObjective(name);
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return null;
     }
     CompletableFuture<org.bukkit.scoreboard.Objective> future = new CompletableFuture<>();
@@ -1309,10 +2425,10 @@ public final class FoliaPatcher {
   }
 
   public static java.util.Set<org.bukkit.scoreboard.Objective> safeGetObjectivesByCriteria(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String criteria) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getObjectivesByCriteria(criteria);
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<org.bukkit.scoreboard.Objective>> future = new CompletableFuture<>();
@@ -1338,10 +2454,10 @@ public final class FoliaPatcher {
   }
 
   public static java.util.Set<org.bukkit.scoreboard.Objective> safeGetObjectives(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getObjectives();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<org.bukkit.scoreboard.Objective>> future = new CompletableFuture<>();
@@ -1367,10 +2483,10 @@ public final class FoliaPatcher {
   }
 
   public static java.util.Set<String> safeGetEntries(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getEntries();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<String>> future = new CompletableFuture<>();
@@ -1396,10 +2512,10 @@ public final class FoliaPatcher {
   }
 
   public static org.bukkit.scoreboard.Team safeGetTeam(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String teamName) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getTeam(teamName);
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return null;
     }
     CompletableFuture<org.bukkit.scoreboard.Team> future = new CompletableFuture<>();
@@ -1425,10 +2541,10 @@ public final class FoliaPatcher {
   }
 
   public static java.util.Set<org.bukkit.scoreboard.Team> safeGetTeams(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return scoreboard.getTeams();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<org.bukkit.scoreboard.Team>> future = new CompletableFuture<>();
@@ -1456,10 +2572,10 @@ public final class FoliaPatcher {
   // --- Thread-Safe Objective READ Operations ---
 
   public static org.bukkit.scoreboard.Score safeGetScore(Plugin plugin, org.bukkit.scoreboard.Objective objective, String entry) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return objective.getScore(entry);
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return null;
     }
     CompletableFuture<org.bukkit.scoreboard.Score> future = new CompletableFuture<>();
@@ -1487,10 +2603,10 @@ public final class FoliaPatcher {
   // --- Thread-Safe Team READ Operations ---
 
   public static java.util.Set<String> safeGetTeamEntries(Plugin plugin, org.bukkit.scoreboard.Team team) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return team.getEntries();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<String>> future = new CompletableFuture<>();
@@ -1516,10 +2632,10 @@ public final class FoliaPatcher {
   }
 
   public static java.util.Set<org.bukkit.OfflinePlayer> safeGetPlayers(Plugin plugin, org.bukkit.scoreboard.Team team) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return team.getPlayers();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return java.util.Collections.emptySet();
     }
     CompletableFuture<java.util.Set<org.bukkit.OfflinePlayer>> future = new CompletableFuture<>();
@@ -1545,10 +2661,10 @@ public final class FoliaPatcher {
   }
 
   public static int safeGetSize(Plugin plugin, org.bukkit.scoreboard.Team team) {
-    if (Bukkit.isPrimaryThread()) {
+    if (onTickThread()) {
       return team.getSize();
     }
-    if (FIRE_AND_FORGET) {
+    if (FIRE_AND_FORGET || mustNotWait()) {
       return 0;
     }
     CompletableFuture<Integer> future = new CompletableFuture<>();
@@ -1580,11 +2696,10 @@ public final class FoliaPatcher {
    * Schedules the operation on the appropriate region scheduler if not on the main thread.
    */
   public static void safeSetItem(Plugin plugin, org.bukkit.inventory.Inventory inventory, int slot, org.bukkit.inventory.ItemStack item) {
-    if (Bukkit.isPrimaryThread()) {
+    Location loc = locationOf(inventory);
+    if (ownsRegionOf(loc)) {
       inventory.setItem(slot, item);
     } else {
-      org.bukkit.inventory.InventoryHolder holder = inventory.getHolder();
-      Location loc = (holder instanceof Entity) ? ((Entity) holder).getLocation() : inventory.getLocation();
       if (loc != null) {
         Bukkit.getRegionScheduler().run(plugin, loc, ignored -> inventory.setItem(slot, item));
       } else {
@@ -1598,17 +2713,15 @@ public final class FoliaPatcher {
    * Schedules the operation and blocks for the result if not on the main thread.
    */
   public static java.util.HashMap<Integer, org.bukkit.inventory.ItemStack> safeAddItem(Plugin plugin, org.bukkit.inventory.Inventory inventory, org.bukkit.inventory.ItemStack... items) {
-    if (Bukkit.isPrimaryThread()) {
+    Location loc = locationOf(inventory);
+    if (ownsRegionOf(loc)) {
       return inventory.addItem(items);
     } else {
       java.util.function.Consumer<ScheduledTask> task = ignored -> {
         inventory.addItem(items);
       };
 
-      org.bukkit.inventory.InventoryHolder holder = inventory.getHolder();
-      Location loc = (holder instanceof Entity) ? ((Entity) holder).getLocation() : inventory.getLocation();
-
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         if (loc != null) {
           Bukkit.getRegionScheduler().run(plugin, loc, task);
         } else {
@@ -1661,11 +2774,10 @@ public final class FoliaPatcher {
    * Schedules the operation on the appropriate region scheduler if not on the main thread.
    */
   public static void safeClear(Plugin plugin, org.bukkit.inventory.Inventory inventory) {
-    if (Bukkit.isPrimaryThread()) {
+    Location loc = locationOf(inventory);
+    if (ownsRegionOf(loc)) {
       inventory.clear();
     } else {
-      org.bukkit.inventory.InventoryHolder holder = inventory.getHolder();
-      Location loc = (holder instanceof Entity) ? ((Entity) holder).getLocation() : inventory.getLocation();
       if (loc != null) {
         Bukkit.getRegionScheduler().run(plugin, loc, ignored -> inventory.clear());
       } else {
@@ -1674,10 +2786,18 @@ public final class FoliaPatcher {
     }
   }
 
+  /**
+   * @return The location of the entity holding the inventory, else of the inventory itself, or null
+   */
+  private static Location locationOf(org.bukkit.inventory.Inventory inventory) {
+    org.bukkit.inventory.InventoryHolder holder = inventory.getHolder();
+    return (holder instanceof Entity) ? ((Entity) holder).getLocation() : inventory.getLocation();
+  }
+
   // --- Thread-Safe Player Operations ---
 
   public static void safeSendMessage(Plugin plugin, org.bukkit.entity.Player player, String message) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.sendMessage(message);
     } else {
       player.getScheduler().run(plugin, task -> player.sendMessage(message), null);
@@ -1685,7 +2805,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSendMessages(Plugin plugin, org.bukkit.entity.Player player, String[] messages) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.sendMessage(messages);
     } else {
       player.getScheduler().run(plugin, task -> player.sendMessage(messages), null);
@@ -1693,7 +2813,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeKickPlayer(Plugin plugin, org.bukkit.entity.Player player, String message) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.kickPlayer(message);
     } else {
       player.getScheduler().run(plugin, task -> player.kickPlayer(message), null);
@@ -1701,7 +2821,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetHealth(Plugin plugin, org.bukkit.entity.Player player, double health) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.setHealth(health);
     } else {
       player.getScheduler().run(plugin, task -> player.setHealth(health), null);
@@ -1709,7 +2829,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetFoodLevel(Plugin plugin, org.bukkit.entity.Player player, int level) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.setFoodLevel(level);
     } else {
       player.getScheduler().run(plugin, task -> player.setFoodLevel(level), null);
@@ -1717,7 +2837,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeGiveExp(Plugin plugin, org.bukkit.entity.Player player, int amount) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.giveExp(amount);
     } else {
       player.getScheduler().run(plugin, task -> player.giveExp(amount), null);
@@ -1725,7 +2845,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetLevel(Plugin plugin, org.bukkit.entity.Player player, int level) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.setLevel(level);
     } else {
       player.getScheduler().run(plugin, task -> player.setLevel(level), null);
@@ -1733,26 +2853,18 @@ public final class FoliaPatcher {
   }
 
   public static void safePlaySound(Plugin plugin, org.bukkit.entity.Player player, Location location, Sound sound, float volume, float pitch) {
-    if (Bukkit.isPrimaryThread()) {
-      player.playSound(location, sound, volume, pitch);
-    } else {
-      player.getScheduler().run(plugin, task -> player.playSound(location, sound, volume, pitch), null);
-    }
+    entityOp(plugin, player, EntityOps.NONE, () -> player.playSound(location, sound, volume, pitch));
   }
 
   public static void safeSendTitle(Plugin plugin, org.bukkit.entity.Player player, String title, String subtitle, int fadeIn, int stay, int fadeOut) {
-    if (Bukkit.isPrimaryThread()) {
-      player.sendTitle(title, subtitle, fadeIn, stay, fadeOut);
-    } else {
-      player.getScheduler().run(plugin, task -> player.sendTitle(title, subtitle, fadeIn, stay, fadeOut), null);
-    }
+    entityOp(plugin, player, EntityOps.NONE, () -> player.sendTitle(title, subtitle, fadeIn, stay, fadeOut));
   }
 
   public static org.bukkit.inventory.InventoryView safeOpenInventory(Plugin plugin, org.bukkit.entity.Player player, org.bukkit.inventory.Inventory inventory) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       return player.openInventory(inventory);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         player.getScheduler().run(plugin, task -> player.openInventory(inventory), null);
         return null;
       }
@@ -1780,7 +2892,7 @@ public final class FoliaPatcher {
   }
 
   public static void safeCloseInventory(Plugin plugin, org.bukkit.entity.Player player) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       player.closeInventory();
     } else {
       player.getScheduler().run(plugin, task -> player.closeInventory(), null);
@@ -1796,10 +2908,10 @@ public final class FoliaPatcher {
    * @return The player's health, or 0.0 if the operation times out or fails.
    */
   public static double safeGetHealth(Plugin plugin, org.bukkit.entity.Player player) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
       return player.getHealth();
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         return 0.0;
       }
       CompletableFuture<Double> future = new CompletableFuture<>();
@@ -1828,26 +2940,18 @@ public final class FoliaPatcher {
   // --- Thread-Safe Entity Operations ---
 
   public static void safeRemove(Plugin plugin, Entity entity) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.remove();
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.remove(), null);
-    }
+    entityOp(plugin, entity, EntityOps.NONE, entity::remove);
   }
 
   public static void safeSetVelocity(Plugin plugin, Entity entity, org.bukkit.util.Vector velocity) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.setVelocity(velocity);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.setVelocity(velocity), null);
-    }
+    entityOp(plugin, entity, EntityOps.VELOCITY, () -> entity.setVelocity(velocity));
   }
 
   public static boolean safeTeleportEntity(Plugin plugin, Entity entity, Location location) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(entity)) {
       return entity.teleport(location);
     } else {
-      if (FIRE_AND_FORGET) {
+      if (FIRE_AND_FORGET || mustNotWait()) {
         entity.getScheduler().run(plugin, task -> entity.teleport(location), null);
         return true;
       }
@@ -1875,58 +2979,248 @@ public final class FoliaPatcher {
   }
 
   public static void safeSetFireTicks(Plugin plugin, Entity entity, int ticks) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.setFireTicks(ticks);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.setFireTicks(ticks), null);
-    }
+    entityOp(plugin, entity, EntityOps.FIRE_TICKS, () -> entity.setFireTicks(ticks));
   }
 
   public static void safeSetCustomName(Plugin plugin, Entity entity, String name) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.setCustomName(name);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.setCustomName(name), null);
-    }
+    entityOp(plugin, entity, EntityOps.CUSTOM_NAME, () -> entity.setCustomName(name));
   }
 
   public static void safeSetGravity(Plugin plugin, Entity entity, boolean gravity) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.setGravity(gravity);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.setGravity(gravity), null);
-    }
+    entityOp(plugin, entity, EntityOps.GRAVITY, () -> entity.setGravity(gravity));
   }
 
   public static void safeDamage(Plugin plugin, Damageable entity, double amount) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.damage(amount);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.damage(amount), null);
-    }
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.damage(amount));
   }
 
   public static void safeDamage(Plugin plugin, Damageable entity, double amount, Entity source) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.damage(amount, source);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.damage(amount, source), null);
-    }
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.damage(amount, source));
   }
 
   public static void safeSetAI(Plugin plugin, LivingEntity entity, boolean ai) {
-    if (Bukkit.isPrimaryThread()) {
-      entity.setAI(ai);
-    } else {
-      entity.getScheduler().run(plugin, task -> entity.setAI(ai), null);
-    }
+    entityOp(plugin, entity, EntityOps.AI, () -> entity.setAI(ai));
   }
 
   public static void safeSetGameMode(Plugin plugin, Player player, GameMode gameMode) {
-    if (Bukkit.isPrimaryThread()) {
-      player.setGameMode(gameMode);
+    entityOp(plugin, player, EntityOps.GAME_MODE, () -> player.setGameMode(gameMode));
+  }
+
+  public static boolean safeAddPotionEffect(Plugin plugin, LivingEntity entity, org.bukkit.potion.PotionEffect effect) {
+    return entityCall(plugin, entity, () -> entity.addPotionEffect(effect), "add potion effect");
+  }
+
+  public static void safeAddPotionEffect_ff(Plugin plugin, LivingEntity entity, org.bukkit.potion.PotionEffect effect) {
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.addPotionEffect(effect));
+  }
+
+  public static void safeRemovePotionEffect(Plugin plugin, LivingEntity entity, org.bukkit.potion.PotionEffectType type) {
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.removePotionEffect(type));
+  }
+
+  public static boolean safeAddPassenger(Plugin plugin, Entity entity, Entity passenger) {
+    return entityCall(plugin, entity, () -> entity.addPassenger(passenger), "add passenger");
+  }
+
+  public static void safeAddPassenger_ff(Plugin plugin, Entity entity, Entity passenger) {
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.addPassenger(passenger));
+  }
+
+  public static boolean safeRemovePassenger(Plugin plugin, Entity entity, Entity passenger) {
+    return entityCall(plugin, entity, () -> entity.removePassenger(passenger), "remove passenger");
+  }
+
+  public static void safeRemovePassenger_ff(Plugin plugin, Entity entity, Entity passenger) {
+    entityOp(plugin, entity, EntityOps.NONE, () -> entity.removePassenger(passenger));
+  }
+
+  public static boolean safeEject(Plugin plugin, Entity entity) {
+    return entityCall(plugin, entity, entity::eject, "eject passengers");
+  }
+
+  public static void safeEject_ff(Plugin plugin, Entity entity) {
+    entityOp(plugin, entity, EntityOps.NONE, entity::eject);
+  }
+
+  // --- Entity Operation Queue ---
+  //
+  // Entity mutations from threads that do not own the entity are queued per
+  // entity instead of scheduling one entity task each. The first queued
+  // operation schedules a single task on the entity's scheduler, which applies
+  // everything queued by the time it runs. Within a run of setter calls,
+  // only the last write of each property is applied; any other operation,
+  // such as damage, ends the run, so setters are never moved across it.
+
+  private static final Map<java.util.UUID, EntityOps> entityOps = new ConcurrentHashMap<>();
+
+  /**
+   * Runs an entity operation now if this thread owns the entity, after anything
+   * still queued for it, else queues it for the entity's next tick.
+   *
+   * @param property The {@code EntityOps} property the operation sets, or {@link EntityOps#NONE}
+   */
+  private static void entityOp(Plugin plugin, Entity entity, int property, Runnable action) {
+    if (Bukkit.isOwnedByCurrentRegion(entity)) {
+      drainEntityOps(entity);
+      action.run();
     } else {
-      player.getScheduler().run(plugin, task -> player.setGameMode(gameMode), null);
+      while (true) {
+        EntityOps ops = entityOps.computeIfAbsent(entity.getUniqueId(), id -> new EntityOps(plugin, entity));
+        if (ops.add(property, action)) {
+          return;
+        }
+        // Retired by its last drain in the meantime; make way for a new queue
+        entityOps.remove(entity.getUniqueId(), ops);
+      }
+    }
+  }
+
+  /**
+   * Applies what is still queued for an entity, on the thread that owns it.
+   */
+  private static void drainEntityOps(Entity entity) {
+    EntityOps pending = entityOps.isEmpty() ? null : entityOps.get(entity.getUniqueId());
+    if (pending != null) {
+      pending.drain();
+    }
+  }
+
+  /**
+   * Like {@link #entityOp}, for an operation whose result the caller waits for,
+   * unless it must not wait.
+   */
+  private static boolean entityCall(Plugin plugin, Entity entity, java.util.function.BooleanSupplier call, String what) {
+    if (Bukkit.isOwnedByCurrentRegion(entity)) {
+      drainEntityOps(entity);
+      return call.getAsBoolean();
+    }
+    CompletableFuture<Boolean> future = new CompletableFuture<>();
+    entityOp(plugin, entity, EntityOps.NONE, () -> future.complete(call.getAsBoolean()));
+    if (FIRE_AND_FORGET || mustNotWait()) {
+      return true;
+    }
+    try {
+      return future.get(API_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    } catch (Exception e) {
+      handleException("Failed to " + what + " for entity " + entity.getUniqueId(), e);
+      return false;
+    }
+  }
+
+  /**
+   * The queued operations of one entity: many producers, and the entity's
+   * owning thread as the only consumer. Neither side locks; whether a drain is
+   * scheduled and whether the queue is retired is one compare-and-set state.
+   */
+  static final class EntityOps {
+    static final int NONE = -1;
+    static final int VELOCITY = 0;
+    static final int FIRE_TICKS = 1;
+    static final int CUSTOM_NAME = 2;
+    static final int GRAVITY = 3;
+    static final int AI = 4;
+    static final int GAME_MODE = 5;
+
+    /** No drain task is queued */
+    private static final int IDLE = 0;
+    /** A drain task is queued */
+    private static final int SCHEDULED = 1;
+    /** Removed from the map; producers must use a new queue */
+    private static final int RETIRED = 2;
+
+    private final Plugin plugin;
+    private final Entity entity;
+    private final java.util.concurrent.ConcurrentLinkedQueue<Op> queue = new java.util.concurrent.ConcurrentLinkedQueue<>();
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+
+    EntityOps(Plugin plugin, Entity entity) {
+      this.plugin = plugin;
+      this.entity = entity;
+    }
+
+    /**
+     * @return Whether the operation was queued; false if this queue is retired
+     */
+    boolean add(int property, Runnable action) {
+      Op op = new Op(property, action);
+      queue.add(op);
+      while (true) {
+        int current = state.get();
+        if (current == SCHEDULED) {
+          return true;
+        }
+        if (current == RETIRED) {
+          // Retired after its last drain; the operation is lost only if that drain did not take it
+          return !queue.remove(op);
+        }
+        if (state.compareAndSet(IDLE, SCHEDULED)) {
+          break;
+        }
+      }
+      if (entity.getScheduler().run(plugin, task -> drain(), this::retire) == null) {
+        // The entity was removed; nothing queued for it can run any more
+        retire();
+      }
+      return true;
+    }
+
+    /**
+     * Applies everything queued so far. Only called on the thread owning the entity.
+     */
+    void drain() {
+      // Cleared first: an operation added from here on schedules the next drain
+      if (!state.compareAndSet(SCHEDULED, IDLE) && state.get() == RETIRED) {
+        return;
+      }
+      java.util.List<Op> ops = new java.util.ArrayList<>();
+      for (Op op = queue.poll(); op != null; op = queue.poll()) {
+        ops.add(op);
+      }
+
+      // Walk backwards: a setter is dropped if a later one in the same run sets the same property
+      boolean[] folded = new boolean[ops.size()];
+      int seen = 0;
+      for (int i = ops.size() - 1; i >= 0; i--) {
+        int property = ops.get(i).property;
+        if (property == NONE) {
+          seen = 0;
+        } else if ((seen & (1 << property)) != 0) {
+          folded[i] = true;
+        } else {
+          seen |= 1 << property;
+        }
+      }
+      for (int i = 0; i < ops.size(); i++) {
+        if (folded[i]) {
+          continue;
+        }
+        try {
+          ops.get(i).action.run();
+        } catch (RuntimeException e) {
+          LOGGER.log(Level.WARNING, "[FoliaPhantom] Queued operation failed for entity " + entity.getUniqueId(), e);
+        }
+      }
+
+      // An operation added after the check finds the queue retired and goes to a new one
+      if (queue.isEmpty() && state.compareAndSet(IDLE, RETIRED)) {
+        entityOps.remove(entity.getUniqueId(), this);
+      }
+    }
+
+    private void retire() {
+      state.set(RETIRED);
+      queue.clear();
+      entityOps.remove(entity.getUniqueId(), this);
+    }
+
+    private static final class Op {
+      final int property;
+      final Runnable action;
+
+      Op(int property, Runnable action) {
+        this.property = property;
+        this.action = action;
+      }
     }
   }
 
@@ -1939,11 +3233,14 @@ public final class FoliaPatcher {
   }
 
   public static boolean safeUpdateBlockState(Plugin plugin, BlockState state, boolean force, boolean applyPhysics) {
-    if (Bukkit.isPrimaryThread()) {
+    if (Bukkit.isOwnedByCurrentRegion(state.getLocation())) {
       return state.update(force, applyPhysics);
     } else {
       CompletableFuture<Boolean> future = new CompletableFuture<>();
       Bukkit.getRegionScheduler().run(plugin, state.getLocation(), task -> future.complete(state.update(force, applyPhysics)));
+      if (mustNotWait()) {
+        return false;
+      }
       try {
         return future.get(API_TIMEOUT_MS, TimeUnit.MILLISECONDS);
       } catch (Exception e) {
@@ -1953,6 +3250,101 @@ public final class FoliaPatcher {
     }
   }
 
+  // --- Discarded Results ---
+  //
+  // Non-blocking variants of the methods above, called instead of them where the
+  // patched code pops the result right away. They route like the methods they
+  // replace, through _r, _e and _g: inline when the current thread owns the
+  // target, scheduled on its owner otherwise, so a caller that never looks at
+  // the result does not wait for it.
+
+  public static void _dc(Plugin p, org.bukkit.command.CommandSender s, String c) {
+    _g(p, () -> Bukkit.dispatchCommand(s, c));
+  }
+
+  public static <T extends Entity> void safeSpawnEntity_ff(Plugin plugin, World world, Location location, Class<T> clazz) {
+    _r(plugin, location, () -> world.spawn(location, clazz));
+  }
+
+  public static void safeSpawnEntity_ff(Plugin plugin, World world, Location location, org.bukkit.entity.EntityType type) {
+    safeSpawnEntity_ff(plugin, world, location, type.getEntityClass());
+  }
+
+  public static void safeDropItem_ff(Plugin plugin, World world, Location location, ItemStack item) {
+    _r(plugin, location, () -> world.dropItem(location, item));
+  }
+
+  public static void safeDropItemNaturally_ff(Plugin plugin, World world, Location location, ItemStack item) {
+    _r(plugin, location, () -> world.dropItemNaturally(location, item));
+  }
+
+  public static void safeCreateExplosion_ff(Plugin plugin, World world, Location location, float power, boolean setFire, boolean breakBlocks) {
+    _r(plugin, location, () -> world.createExplosion(location, power, setFire, breakBlocks));
+  }
+
+  public static void safeStrikeLightning_ff(Plugin plugin, World world, Location location) {
+    _r(plugin, location, () -> world.strikeLightning(location));
+  }
+
+  public static void safeGenerateTree_ff(Plugin plugin, World world, Location location, TreeType type) {
+    _r(plugin, location, () -> world.generateTree(location, type));
+  }
+
+  public static <T> void safeSetGameRule_ff(Plugin plugin, World world, GameRule<T> rule, T value) {
+    _g(plugin, () -> world.setGameRule(rule, value));
+  }
+
+  public static void safeTeleport_ff(Plugin plugin, org.bukkit.entity.Player player, Location location) {
+    if (Bukkit.isOwnedByCurrentRegion(player)) {
+      player.teleport(location);
+    } else {
+      player.teleportAsync(location);
+    }
+  }
+
+  public static void safeTeleportEntity_ff(Plugin plugin, Entity entity, Location location) {
+    _e(plugin, entity, () -> entity.teleport(location));
+  }
+
+  public static void safeUpdateBlockState_ff(Plugin plugin, BlockState state) {
+    safeUpdateBlockState_ff(plugin, state, false, true);
+  }
+
+  public static void safeUpdateBlockState_ff(Plugin plugin, BlockState state, boolean force) {
+    safeUpdateBlockState_ff(plugin, state, force, true);
+  }
+
+  public static void safeUpdateBlockState_ff(Plugin plugin, BlockState state, boolean force, boolean applyPhysics) {
+    _r(plugin, state.getLocation(), () -> state.update(force, applyPhysics));
+  }
+
+  public static void safeOpenInventory_ff(Plugin plugin, org.bukkit.entity.Player player, org.bukkit.inventory.Inventory inventory) {
+    _e(plugin, player, () -> player.openInventory(inventory));
+  }
+
+  public static void safeAddItem_ff(Plugin plugin, org.bukkit.inventory.Inventory inventory, org.bukkit.inventory.ItemStack... items) {
+    Location loc = locationOf(inventory);
+    if (ownsRegionOf(loc)) {
+      inventory.addItem(items);
+    } else if (loc != null) {
+      Bukkit.getRegionScheduler().run(plugin, loc, task -> inventory.addItem(items));
+    } else {
+      Bukkit.getGlobalRegionScheduler().run(plugin, task -> inventory.addItem(items));
+    }
+  }
+
+  public static void safeRegisterNewObjective_ff(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String name, String criteria) {
+    _g(plugin, () -> scoreboard.registerNewObjective(name, criteria));
+  }
+
+  public static void safeRegisterNewTeam_ff(Plugin plugin, org.bukkit.scoreboard.Scoreboard scoreboard, String name) {
+    _g(plugin, () -> scoreboard.registerNewTeam(name));
+  }
+
+  public static void safeRemoveEntry_ff(Plugin plugin, org.bukkit.scoreboard.Team team, String entry) {
+    _g(plugin, () -> team.removeEntry(entry));
+  }
+
   // --- General Purpose Execution ---
 
   /**
@@ -1990,23 +3382,73 @@ public final class FoliaPatcher {
   }
 
   public static void cancelTasks(BukkitScheduler ignored, Plugin plugin) {
-    runningTasks.entrySet().removeIf(entry -> {
-      ScheduledTask task = entry.getValue();
-      if (task.getOwningPlugin().equals(plugin)) {
-        if (!task.isCancelled())
-          task.cancel();
-        return true;
-      }
-      return false;
-    });
+    Map<Integer, BukkitTask> stripe = runningTasks.remove(plugin.getName());
+    if (stripe != null) {
+      stripe.values().forEach(BukkitTask::cancel);
+    }
   }
 
   public static void cancelAllTasks() {
-    runningTasks.values().forEach(task -> {
-      if (!task.isCancelled())
-        task.cancel();
+    runningTasks.values().forEach(stripe -> {
+      stripe.values().forEach(BukkitTask::cancel);
+      stripe.clear();
     });
-    runningTasks.clear();
+  }
+
+  public static boolean isQueued(BukkitScheduler ignored, int taskId) {
+    Map<Integer, BukkitTask> stripe = stripeWith(taskId);
+    BukkitTask task = stripe != null ? stripe.get(taskId) : null;
+    return task != null && scheduledOf(task).getExecutionState() == ScheduledTask.ExecutionState.IDLE;
+  }
+
+  public static boolean isCurrentlyRunning(BukkitScheduler ignored, int taskId) {
+    Map<Integer, BukkitTask> stripe = stripeWith(taskId);
+    BukkitTask task = stripe != null ? stripe.get(taskId) : null;
+    if (task == null) {
+      return false;
+    }
+    ScheduledTask.ExecutionState state = scheduledOf(task).getExecutionState();
+    return state == ScheduledTask.ExecutionState.RUNNING || state == ScheduledTask.ExecutionState.CANCELLED_RUNNING;
+  }
+
+  public static java.util.List<BukkitTask> getPendingTasks(BukkitScheduler ignored) {
+    java.util.List<BukkitTask> pending = new java.util.ArrayList<>();
+    for (Map<Integer, BukkitTask> stripe : runningTasks.values()) {
+      for (BukkitTask task : stripe.values()) {
+        if (!isRetired(task)) {
+          pending.add(task);
+        }
+      }
+    }
+    return pending;
+  }
+
+  /**
+   * The tasks of one plugin, by id.
+   *
+   * <p>
+   * One-shot tasks remove themselves once they have run and cancelled ones are
+   * removed on cancel, but repeating tasks never finish and Folia cancels tasks
+   * on its own, e.g. those of a disabled plugin. Such retired tasks are swept
+   * out whenever the stripe has doubled since the last sweep, so a sweep costs
+   * no more than the registrations since the one before it.
+   * </p>
+   */
+  static final class TaskStripe extends ConcurrentHashMap<Integer, BukkitTask> {
+    private static final long serialVersionUID = 1L;
+
+    /** No sweep below this many tasks */
+    private static final int MIN_SWEEP = 64;
+
+    private final AtomicInteger sweepAt = new AtomicInteger(MIN_SWEEP);
+
+    void added() {
+      int at = sweepAt.get();
+      if (size() >= at && sweepAt.compareAndSet(at, Integer.MAX_VALUE)) {
+        values().removeIf(FoliaPatcher::isRetired);
+        sweepAt.set(Math.max(MIN_SWEEP, size() * 2));
+      }
+    }
   }
 
   // --- Thread-Safe Event Calling ---
@@ -2020,7 +3462,17 @@ public final class FoliaPatcher {
    * @param event The event to be called.
    */
   public static void safeCallEvent(Plugin plugin, Event event) {
-    if (Bukkit.isPrimaryThread()) {
+    boolean owned;
+    if (event instanceof PlayerEvent) {
+      owned = Bukkit.isOwnedByCurrentRegion(((PlayerEvent) event).getPlayer());
+    } else if (event instanceof EntityEvent) {
+      owned = Bukkit.isOwnedByCurrentRegion(((EntityEvent) event).getEntity());
+    } else if (event instanceof BlockEvent) {
+      owned = Bukkit.isOwnedByCurrentRegion(((BlockEvent) event).getBlock());
+    } else {
+      owned = onTickThread();
+    }
+    if (owned) {
       Bukkit.getPluginManager().callEvent(event);
       return;
     }
@@ -2051,7 +3503,7 @@ public final class FoliaPatcher {
 
     // If aggressive optimization is disabled, block until the event is processed
     // to maintain the original execution flow. A timeout is used to prevent hangs.
-    if (!AGGRESSIVE_EVENT_OPTIMIZATION) {
+    if (!AGGRESSIVE_EVENT_OPTIMIZATION && !mustNotWait()) {
       try {
         future.get(API_TIMEOUT_MS * 50, TimeUnit.MILLISECONDS);
       } catch (InterruptedException | ExecutionException e) {
@@ -0,0 +1,155 @@
+/*
+ * Folia Phantom - Shared Runtime
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.patcher;
+
+import com.patch.foliaphantom.core.runtime.PhantomRuntime;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The {@link PhantomRuntime} of the FoliaPhantom plugin.
+ *
+ * <p>
+ * It is backed by the plugin's own, unrelocated {@link FoliaPatcher}, so the
+ * server keeps one mirror, one task registry and one world generation
+ * thread however many plugins are bound to it. This class is not among the
+ * runtime classes bundled into patched plugins.
+ * </p>
+ */
+public final class SharedRuntime implements PhantomRuntime {
+
+  private final Set<String> attached = ConcurrentHashMap.newKeySet();
+
+  /** The FoliaPhantom plugin, on whose behalf players report their positions */
+  private final Plugin host;
+
+  private SharedRuntime(Plugin host) {
+    this.host = host;
+  }
+
+  /**
+   * Starts the mirror of the unrelocated FoliaPatcher on behalf of the host plugin.
+   *
+   * @param host The FoliaPhantom plugin, which owns the mirror's event listener
+   * @return The runtime, to be registered as a service by the caller
+   */
+  public static SharedRuntime start(Plugin host) {
+    FoliaPatcher._i(host);
+    return new SharedRuntime(host);
+  }
+
+  @Override
+  public int getVersion() {
+    return VERSION;
+  }
+
+  @Override
+  public void attach(Plugin plugin) {
+    attached.add(plugin.getName());
+  }
+
+  /**
+   * Forgets a disabled plugin and drops its tasks from the registry.
+   *
+   * @param plugin The plugin being disabled
+   */
+  public void detach(Plugin plugin) {
+    if (attached.remove(plugin.getName())) {
+      FoliaPatcher.cancelTasks(null, plugin);
+    }
+  }
+
+  @Override
+  public Set<String> getAttachedPlugins() {
+    return Collections.unmodifiableSet(attached);
+  }
+
+  @Override
+  public Collection<? extends Player> getOnlinePlayers() {
+    return FoliaPatcher._m.getPlayers();
+  }
+
+  @Override
+  public List<World> getWorlds() {
+    return FoliaPatcher._m.getWorlds();
+  }
+
+  @Override
+  public Player getPlayer(String name) {
+    return FoliaPatcher._m.getPlayer(name);
+  }
+
+  @Override
+  public Player getPlayerExact(String name) {
+    return FoliaPatcher._m.getPlayerExact(name);
+  }
+
+  @Override
+  public Player getPlayer(UUID id) {
+    return FoliaPatcher._m.getPlayer(id);
+  }
+
+  @Override
+  public World getWorld(String name) {
+    return FoliaPatcher._m.getWorld(name);
+  }
+
+  @Override
+  public World getWorld(UUID id) {
+    return FoliaPatcher._m.getWorld(id);
+  }
+
+  @Override
+  public List<Player> getPlayers(World world) {
+    return FoliaPatcher._m.getPlayers(world);
+  }
+
+  @Override
+  public ConcurrentMap<String, ConcurrentMap<Integer, BukkitTask>> getTasks() {
+    return FoliaPatcher.runningTasks;
+  }
+
+  @Override
+  public AtomicInteger getTaskIds() {
+    return FoliaPatcher.taskIdCounter;
+  }
+
+  @Override
+  public ExecutorService getWorldGenExecutor() {
+    return FoliaPatcher.worldGenExecutor;
+  }
+
+  @Override
+  public LongAdder getDeferredWaits() {
+    return FoliaPatcher.deferredWaits;
+  }
+
+  @Override
+  public ConcurrentMap<String, AtomicLongArray> getRegionLoad() {
+    return FoliaPatcher.regionLoad;
+  }
+
+  @Override
+  public List<Location> getPlayerRegions() {
+    return FoliaPatcher.playerRegions(host);
+  }
+}
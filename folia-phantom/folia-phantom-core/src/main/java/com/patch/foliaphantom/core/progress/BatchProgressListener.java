@@ -0,0 +1,64 @@
+/*
+ * Folia Phantom - Batch Progress Listener
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.progress;
+
+import java.io.File;
+
+/**
+ * Listener interface for monitoring a batch of plugin patches.
+ * <p>
+ * Several JARs of a batch are patched at once, so the per-JAR callbacks may
+ * arrive from different threads and interleave.
+ * </p>
+ */
+public interface BatchProgressListener {
+
+    /**
+     * Called once before the first JAR is started.
+     *
+     * @param totalJars  The number of JARs in the batch.
+     * @param totalBytes The combined size of their files.
+     */
+    void onBatchStart(int totalJars, long totalBytes);
+
+    /**
+     * Called when a JAR is about to be patched.
+     *
+     * @param originalJar The source JAR file being patched.
+     * @param outputJar   The destination JAR file for the patched output.
+     */
+    void onJarStart(File originalJar, File outputJar);
+
+    /**
+     * Called when a JAR has been patched or has failed.
+     *
+     * @param originalJar    The source JAR file.
+     * @param durationMillis The time taken for this JAR in milliseconds.
+     * @param statistics     An array containing statistics: [classesScanned, classesTransformed, classesSkipped].
+     * @param error          An exception if patching failed, or null on success.
+     */
+    void onJarComplete(File originalJar, long durationMillis, int[] statistics, Throwable error);
+
+    /**
+     * Called when the overall progress changes.
+     *
+     * @param percentage    The completion percentage of the whole batch (0-100), weighted by JAR size.
+     * @param completedJars The number of JARs finished so far.
+     * @param totalJars     The number of JARs in the batch.
+     */
+    void onProgressUpdate(int percentage, int completedJars, int totalJars);
+
+    /**
+     * Called once after the last JAR has finished.
+     *
+     * @param durationMillis The total time taken for the batch in milliseconds.
+     * @param succeeded      The number of JARs patched successfully.
+     * @param failed         The number of JARs that failed.
+     */
+    void onBatchComplete(long durationMillis, int succeeded, int failed);
+
+}
@@ -0,0 +1,423 @@
+/*
+ * Folia Phantom - Patch Metrics
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.progress;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings, byte counts and change counts of a single plugin patch.
+ *
+ * <p>
+ * Phase times are summed over all threads that worked on the JAR, so on a
+ * parallel patch they add up to more than the wall time. Recording is safe from
+ * any thread and costs an uncontended {@link LongAdder} update.
+ * </p>
+ *
+ * <p>
+ * The visitor transformers run fused in one pass, so their individual times are
+ * only measured on a sample of the classes and extrapolated; node transformers
+ * are timed on every class they see.
+ * </p>
+ */
+public final class PatchMetrics {
+
+    /**
+     * The phases of a patch, in pipeline order.
+     */
+    public enum Phase {
+        /** Locating and verifying shaded third-party libraries */
+        SHADED("shaded"),
+        /** Inflating entries from the input JAR and running the JAR stages */
+        READ("read"),
+        /** Constant pool prefilter of every class */
+        PREFILTER("prefilter"),
+        /** Fast-fail method scan of the classes passing the prefilter */
+        SCAN("scan"),
+        /** The visitor and node transformer passes */
+        TRANSFORM("transform"),
+        /** Writing transformed classes, including frame computation */
+        FRAMES("frames"),
+        /** Deflating changed entries */
+        COMPRESS("compress"),
+        /** Writing entries to the output JAR */
+        WRITE("write"),
+        /** Relocating the FoliaPatcher runtime into the plugin */
+        BUNDLE("bundle"),
+        /** Class cache lookups and stores */
+        CACHE("cache");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+
+        /**
+         * @return The name of the phase in the JSON report
+         */
+        public String getKey() {
+            return key;
+        }
+    }
+
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+    private final Map<String, TransformerMetrics> transformers = new ConcurrentHashMap<>();
+    private final LongAdder classBytesIn = new LongAdder();
+    private final LongAdder classBytesOut = new LongAdder();
+    private final LongAdder chainClasses = new LongAdder();
+    private final LongAdder sampledClasses = new LongAdder();
+    private final List<ShadedSubtree> shadedSubtrees = new CopyOnWriteArrayList<>();
+    private volatile long jarBytesIn;
+    private volatile long jarBytesOut;
+    private volatile long wallNanos;
+
+    public PatchMetrics() {
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+    }
+
+    /**
+     * Adds time spent in a phase.
+     *
+     * @param phase The phase
+     * @param nanos Elapsed nanoseconds
+     */
+    public void addPhase(Phase phase, long nanos) {
+        phaseNanos.get(phase).add(nanos);
+    }
+
+    /**
+     * @return The nanoseconds spent in a phase, summed over all threads
+     */
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase).sum();
+    }
+
+    /**
+     * Records the size of a class before and after patching.
+     */
+    public void addClassBytes(long in, long out) {
+        classBytesIn.add(in);
+        classBytesOut.add(out);
+    }
+
+    /**
+     * Records that a class went through the visitor transformer chain.
+     *
+     * @param sampled Whether the transformers were timed individually on it
+     */
+    public void addChainClass(boolean sampled) {
+        chainClasses.increment();
+        if (sampled) {
+            sampledClasses.increment();
+        }
+    }
+
+    /**
+     * @param name The transformer name
+     * @return The counters of that transformer, created on first use
+     */
+    public TransformerMetrics transformer(String name) {
+        return transformers.computeIfAbsent(name, k -> new TransformerMetrics());
+    }
+
+    /**
+     * @return The counters of every transformer that recorded anything, by name
+     */
+    public Map<String, TransformerMetrics> getTransformers() {
+        return new TreeMap<>(transformers);
+    }
+
+    /**
+     * Records a copy of a known library whose classes were passed through without scanning.
+     *
+     * @param library The short name of the library, e.g. {@code guava}
+     * @param root    The package the copy lives in
+     * @param classes The number of classes skipped
+     */
+    public void addShadedSubtree(String library, String root, int classes) {
+        shadedSubtrees.add(new ShadedSubtree(library, root, classes));
+    }
+
+    /**
+     * @return The library copies skipped during the patch
+     */
+    public List<ShadedSubtree> getShadedSubtrees() {
+        return new ArrayList<>(shadedSubtrees);
+    }
+
+    /**
+     * Records the file sizes of the input and output JAR.
+     */
+    public void setJarBytes(long in, long out) {
+        this.jarBytesIn = in;
+        this.jarBytesOut = out;
+    }
+
+    public void setWallNanos(long wallNanos) {
+        this.wallNanos = wallNanos;
+    }
+
+    public long getClassBytesIn() {
+        return classBytesIn.sum();
+    }
+
+    public long getClassBytesOut() {
+        return classBytesOut.sum();
+    }
+
+    public long getJarBytesIn() {
+        return jarBytesIn;
+    }
+
+    public long getJarBytesOut() {
+        return jarBytesOut;
+    }
+
+    public long getWallNanos() {
+        return wallNanos;
+    }
+
+    /**
+     * @return How many classes went through the visitor transformer chain
+     */
+    public long getChainClasses() {
+        return chainClasses.sum();
+    }
+
+    /**
+     * @return How many of those had their transformers timed individually
+     */
+    public long getSampledClasses() {
+        return sampledClasses.sum();
+    }
+
+    /**
+     * Writes the metrics as a JSON object; times are in microseconds.
+     *
+     * @param statistics The patcher statistics: scanned, transformed and skipped classes
+     */
+    public String toJson(int[] statistics) {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"wallMicros\":").append(wallNanos / 1000);
+        if (statistics != null && statistics.length >= 3) {
+            sb.append(",\"classes\":{\"scanned\":").append(statistics[0])
+                .append(",\"transformed\":").append(statistics[1])
+                .append(",\"skipped\":").append(statistics[2]).append('}');
+        }
+        sb.append(",\"bytes\":{\"jarIn\":").append(jarBytesIn)
+            .append(",\"jarOut\":").append(jarBytesOut)
+            .append(",\"classIn\":").append(getClassBytesIn())
+            .append(",\"classOut\":").append(getClassBytesOut()).append('}');
+
+        sb.append(",\"phasesMicros\":{");
+        String separator = "";
+        for (Phase phase : Phase.values()) {
+            sb.append(separator).append('"').append(phase.getKey()).append("\":").append(getPhaseNanos(phase) / 1000);
+            separator = ",";
+        }
+        sb.append('}');
+
+        sb.append(",\"shaded\":[");
+        separator = "";
+        for (ShadedSubtree subtree : shadedSubtrees) {
+            sb.append(separator).append("{\"library\":").append(quote(subtree.getLibrary()))
+                .append(",\"root\":").append(quote(subtree.getRoot()))
+                .append(",\"classes\":").append(subtree.getClasses()).append('}');
+            separator = ",";
+        }
+        sb.append(']');
+
+        long chain = getChainClasses();
+        long sampled = getSampledClasses();
+        sb.append(",\"chainClasses\":").append(chain).append(",\"sampledClasses\":").append(sampled);
+
+        sb.append(",\"transformers\":{");
+        separator = "";
+        for (Map.Entry<String, TransformerMetrics> entry : getTransformers().entrySet()) {
+            TransformerMetrics t = entry.getValue();
+            sb.append(separator).append(quote(entry.getKey())).append(":{");
+            sb.append("\"classesChanged\":").append(t.getClassesChanged())
+                .append(",\"bytesIn\":").append(t.getBytesIn())
+                .append(",\"bytesOut\":").append(t.getBytesOut())
+                .append(",\"timedClasses\":").append(t.getTimedClasses())
+                .append(",\"timedMicros\":").append(t.getTimedNanos() / 1000);
+            if (t.isSampled()) {
+                long estimate = sampled > 0 ? t.getTimedNanos() * chain / sampled : 0;
+                sb.append(",\"estimatedMicros\":").append(estimate / 1000);
+            }
+            sb.append(",\"changes\":{");
+            String inner = "";
+            for (Map.Entry<String, Long> change : t.getChanges().entrySet()) {
+                sb.append(inner).append(quote(change.getKey())).append(':').append(change.getValue());
+                inner = ",";
+            }
+            sb.append("}}");
+            separator = ",";
+        }
+        sb.append("}}");
+        return sb.toString();
+    }
+
+    /**
+     * Quotes a string as a JSON string literal.
+     */
+    public static String quote(String s) {
+        StringBuilder sb = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                case '\r':
+                    sb.append("\\r");
+                    break;
+                case '\t':
+                    sb.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * A library copy that was skipped.
+     */
+    public static final class ShadedSubtree {
+        private final String library;
+        private final String root;
+        private final int classes;
+
+        private ShadedSubtree(String library, String root, int classes) {
+            this.library = library;
+            this.root = root;
+            this.classes = classes;
+        }
+
+        public String getLibrary() {
+            return library;
+        }
+
+        public String getRoot() {
+            return root;
+        }
+
+        public int getClasses() {
+            return classes;
+        }
+    }
+
+    /**
+     * Counters of a single transformer.
+     */
+    public static final class TransformerMetrics {
+        private final LongAdder timedNanos = new LongAdder();
+        private final LongAdder timedClasses = new LongAdder();
+        private final LongAdder classesChanged = new LongAdder();
+        private final LongAdder bytesIn = new LongAdder();
+        private final LongAdder bytesOut = new LongAdder();
+        private final Map<String, LongAdder> changes = new ConcurrentHashMap<>();
+        private volatile boolean sampled;
+
+        private TransformerMetrics() {
+        }
+
+        /**
+         * Adds the time the transformer spent on one class.
+         *
+         * @param nanos   Elapsed nanoseconds
+         * @param sampled Whether only a sample of the classes is timed
+         */
+        public void addTime(long nanos, boolean sampled) {
+            timedNanos.add(nanos);
+            timedClasses.increment();
+            if (sampled) {
+                this.sampled = true;
+            }
+        }
+
+        /**
+         * Records a class this transformer changed, with its size before and after patching.
+         *
+         * @param changes What was changed and how often, e.g. by redirect rule group
+         */
+        public void addChangedClass(long in, long out, Map<String, Integer> changes) {
+            classesChanged.increment();
+            bytesIn.add(in);
+            bytesOut.add(out);
+            for (Map.Entry<String, Integer> change : changes.entrySet()) {
+                this.changes.computeIfAbsent(change.getKey(), k -> new LongAdder()).add(change.getValue());
+            }
+        }
+
+        public long getTimedNanos() {
+            return timedNanos.sum();
+        }
+
+        public long getTimedClasses() {
+            return timedClasses.sum();
+        }
+
+        /**
+         * @return Whether the timings cover only a sample of the classes
+         */
+        public boolean isSampled() {
+            return sampled;
+        }
+
+        public long getClassesChanged() {
+            return classesChanged.sum();
+        }
+
+        /**
+         * @return The original size of the classes this transformer changed
+         */
+        public long getBytesIn() {
+            return bytesIn.sum();
+        }
+
+        /**
+         * @return The patched size of the classes this transformer changed
+         */
+        public long getBytesOut() {
+            return bytesOut.sum();
+        }
+
+        /**
+         * @return How often each kind of change was made, by name
+         */
+        public Map<String, Long> getChanges() {
+            Map<String, Long> result = new LinkedHashMap<>();
+            for (Map.Entry<String, LongAdder> entry : new TreeMap<>(changes).entrySet()) {
+                result.put(entry.getKey(), entry.getValue().sum());
+            }
+            return result;
+        }
+    }
+}
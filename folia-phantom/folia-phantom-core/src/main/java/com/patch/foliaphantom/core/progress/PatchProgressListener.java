@@ -51,4 +51,13 @@ public interface PatchProgressListener {
      */
     void onComplete(long durationMillis, int[] statistics, Throwable error);
 
+    /**
+     * Called with the detailed metrics of a successful patch, right before
+     * {@link #onComplete(long, int[], Throwable)}.
+     *
+     * @param metrics Phase timings, byte counts and per-transformer changes.
+     */
+    default void onMetrics(PatchMetrics metrics) {
+    }
+
 }
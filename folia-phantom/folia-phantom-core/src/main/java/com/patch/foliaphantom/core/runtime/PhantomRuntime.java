@@ -0,0 +1,159 @@
+/*
+ * Folia Phantom - Phantom Runtime
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.runtime;
+
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The server-wide state shared by every FoliaPatcher copy bundled in patched plugins.
+ *
+ * <p>
+ * The FoliaPhantom plugin registers one implementation with Bukkit's
+ * {@link org.bukkit.plugin.ServicesManager}. A copy patched in shared-runtime
+ * mode looks it up when its plugin is enabled and, if present, uses its
+ * event-maintained mirror of players and worlds, its task registry and its
+ * world generation thread instead of starting its own. Without the service,
+ * with a service of another {@link #VERSION}, or on a server where this
+ * interface cannot be loaded at all, the copy keeps its bundled state.
+ * </p>
+ *
+ * <p>
+ * This package is deliberately outside {@code core.patcher}, so bundled
+ * copies refer to this one interface instead of a relocated copy of it, and
+ * the interface only uses JDK and Bukkit types.
+ * </p>
+ */
+public interface PhantomRuntime {
+
+  /** Name of the plugin that provides the runtime; patched plugins soft-depend on it */
+  String HOST_PLUGIN = "FoliaPhantom";
+
+  /**
+   * Version of this interface. A bundled copy binds only to a runtime of the
+   * version it was patched against; raise it whenever this interface changes.
+   */
+  int VERSION = 2;
+
+  /** Slot of a {@link #getRegionLoad()} entry: tasks waiting for the region */
+  int LOAD_QUEUED = 0;
+
+  /** Slot of a {@link #getRegionLoad()} entry: runs completed on the region */
+  int LOAD_RUNS = 1;
+
+  /** Slot of a {@link #getRegionLoad()} entry: nanoseconds those runs took */
+  int LOAD_NANOS = 2;
+
+  /** Length of a {@link #getRegionLoad()} entry */
+  int LOAD_SLOTS = 3;
+
+  /**
+   * @return The {@link #VERSION} of the interface the runtime implements
+   */
+  int getVersion();
+
+  /**
+   * Records that a patched plugin has bound to this runtime.
+   *
+   * @param plugin The patched plugin being enabled
+   */
+  void attach(Plugin plugin);
+
+  /**
+   * @return The names of the plugins bound to this runtime
+   */
+  Set<String> getAttachedPlugins();
+
+  /**
+   * @return The online players as of the latest mirror snapshot
+   */
+  Collection<? extends Player> getOnlinePlayers();
+
+  /**
+   * @return The loaded worlds as of the latest mirror snapshot
+   */
+  List<World> getWorlds();
+
+  /**
+   * @return The online player as {@code Server.getPlayer(String)} finds it: of that name
+   *         ignoring case, else with the shortest name starting with it; or null
+   */
+  Player getPlayer(String name);
+
+  /**
+   * @return The online player of that name ignoring case, or null
+   */
+  Player getPlayerExact(String name);
+
+  /**
+   * @return The online player of the id as of the latest mirror snapshot, or null
+   */
+  Player getPlayer(UUID id);
+
+  /**
+   * @return The world of the name as of the latest mirror snapshot, or null
+   */
+  World getWorld(String name);
+
+  /**
+   * @return The world of the id as of the latest mirror snapshot, or null
+   */
+  World getWorld(UUID id);
+
+  /**
+   * @return The players in the world as of the latest mirror snapshot, possibly none
+   */
+  List<Player> getPlayers(World world);
+
+  /**
+   * @return The running tasks of all bound plugins, by owning plugin name and then by legacy task id
+   */
+  ConcurrentMap<String, ConcurrentMap<Integer, BukkitTask>> getTasks();
+
+  /**
+   * @return The source of legacy task ids, unique across all bound plugins
+   */
+  AtomicInteger getTaskIds();
+
+  /**
+   * @return The single thread that creates worlds for all bound plugins
+   */
+  ExecutorService getWorldGenExecutor();
+
+  /**
+   * @return The count of calls from tick threads, in all bound plugins, that
+   *         returned without waiting for a call scheduled on another region
+   */
+  LongAdder getDeferredWaits();
+
+  /**
+   * @return The load legacy sync tasks of all bound plugins put on each region
+   *         section, keyed like {@code world 3,-2} or {@code global}, as arrays
+   *         indexed by the {@code LOAD_*} slots
+   */
+  ConcurrentMap<String, AtomicLongArray> getRegionLoad();
+
+  /**
+   * @return One location in each region section online players were in when
+   *         they last reported their positions, for the {@code round-robin}
+   *         task placement of all bound plugins; possibly none
+   */
+  List<Location> getPlayerRegions();
+}
@@ -0,0 +1,252 @@
+/*
+ * Folia Phantom - Class Fingerprint
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.shaded;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+/**
+ * A 64-bit hash of a class that does not change when the class is relocated.
+ *
+ * <p>
+ * Shading plugins move a library to another package and rewrite every class
+ * name, descriptor and class-name-like string constant accordingly, but they
+ * leave the structure and the code alone. The hash therefore covers the
+ * access flags, members and instructions of the class with every type reduced
+ * to its simple name, and string constants only by length. Debug information
+ * and frames are ignored, as shading may strip or recompute them.
+ * </p>
+ */
+public final class ClassFingerprint extends ClassVisitor {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private long hash = FNV_OFFSET;
+
+  private ClassFingerprint() {
+    super(Opcodes.ASM9);
+  }
+
+  /**
+   * @param cr The class
+   * @return The relocation-invariant hash of the class
+   */
+  public static long of(ClassReader cr) {
+    ClassFingerprint fingerprint = new ClassFingerprint();
+    cr.accept(fingerprint, ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+    return fingerprint.hash;
+  }
+
+  /**
+   * Reduces an internal name to its simple name, e.g. {@code com/google/common/base/Joiner$MapJoiner}
+   * to {@code Joiner$MapJoiner}.
+   */
+  static String simpleName(String internalName) {
+    return internalName.substring(internalName.lastIndexOf('/') + 1);
+  }
+
+  private void mix(int value) {
+    for (int i = 0; i < 4; i++) {
+      hash ^= (value >>> (i * 8)) & 0xff;
+      hash *= FNV_PRIME;
+    }
+  }
+
+  private void mix(String value) {
+    if (value == null) {
+      mix(-1);
+      return;
+    }
+    mix(value.length());
+    for (int i = 0; i < value.length(); i++) {
+      mix(value.charAt(i));
+    }
+  }
+
+  private void mixType(String internalName) {
+    mix(internalName != null ? simpleName(internalName) : null);
+  }
+
+  private void mixDescriptor(String descriptor) {
+    if (descriptor == null) {
+      mix(-1);
+      return;
+    }
+    // Keep the descriptor grammar, drop the packages of the types in it
+    StringBuilder sb = new StringBuilder(descriptor.length());
+    int i = 0;
+    while (i < descriptor.length()) {
+      char c = descriptor.charAt(i);
+      if (c == 'L') {
+        int end = descriptor.indexOf(';', i);
+        sb.append('L').append(simpleName(descriptor.substring(i + 1, end))).append(';');
+        i = end + 1;
+      } else {
+        sb.append(c);
+        i++;
+      }
+    }
+    mix(sb.toString());
+  }
+
+  private void mixConstant(Object value) {
+    if (value instanceof String) {
+      // Relocation rewrites class names inside strings, so only the shape is kept
+      mix('S');
+      mix(((String) value).length());
+    } else if (value instanceof Type) {
+      Type type = (Type) value;
+      mix('T');
+      mixDescriptor(type.getSort() == Type.OBJECT ? "L" + type.getInternalName() + ";" : type.getDescriptor());
+    } else if (value instanceof Handle) {
+      Handle handle = (Handle) value;
+      mix('H');
+      mix(handle.getTag());
+      mixType(handle.getOwner());
+      mix(handle.getName());
+      mixDescriptor(handle.getDesc());
+    } else if (value != null) {
+      mix(value.getClass().getSimpleName());
+      mix(value.toString());
+    } else {
+      mix(-1);
+    }
+  }
+
+  @Override
+  public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+    mix(access & ~Opcodes.ACC_SYNTHETIC);
+    mixType(name);
+    mixType(superName);
+    if (interfaces != null) {
+      for (String itf : interfaces) {
+        mixType(itf);
+      }
+    }
+  }
+
+  @Override
+  public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+    mix('F');
+    mix(access);
+    mix(name);
+    mixDescriptor(descriptor);
+    mixConstant(value);
+    return null;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+    mix('M');
+    mix(access);
+    mix(name);
+    mixDescriptor(descriptor);
+    return new MethodVisitor(Opcodes.ASM9) {
+      @Override
+      public void visitInsn(int opcode) {
+        mix(opcode);
+      }
+
+      @Override
+      public void visitIntInsn(int opcode, int operand) {
+        mix(opcode);
+        mix(operand);
+      }
+
+      @Override
+      public void visitVarInsn(int opcode, int varIndex) {
+        mix(opcode);
+        mix(varIndex);
+      }
+
+      @Override
+      public void visitTypeInsn(int opcode, String type) {
+        mix(opcode);
+        if (type.startsWith("[")) {
+          mixDescriptor(type);
+        } else {
+          mixType(type);
+        }
+      }
+
+      @Override
+      public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+        mix(opcode);
+        mixType(owner);
+        mix(name);
+        mixDescriptor(descriptor);
+      }
+
+      @Override
+      public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+        mix(opcode);
+        mixType(owner);
+        mix(name);
+        mixDescriptor(descriptor);
+      }
+
+      @Override
+      public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+          Object... bootstrapMethodArguments) {
+        mix(Opcodes.INVOKEDYNAMIC);
+        mix(name);
+        mixDescriptor(descriptor);
+        mixConstant(bootstrapMethodHandle);
+        for (Object argument : bootstrapMethodArguments) {
+          mixConstant(argument);
+        }
+      }
+
+      @Override
+      public void visitJumpInsn(int opcode, Label label) {
+        mix(opcode);
+      }
+
+      @Override
+      public void visitLdcInsn(Object value) {
+        mix(Opcodes.LDC);
+        mixConstant(value);
+      }
+
+      @Override
+      public void visitIincInsn(int varIndex, int increment) {
+        mix(Opcodes.IINC);
+        mix(varIndex);
+        mix(increment);
+      }
+
+      @Override
+      public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+        mix(Opcodes.TABLESWITCH);
+        mix(min);
+        mix(max);
+      }
+
+      @Override
+      public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+        mix(Opcodes.LOOKUPSWITCH);
+        for (int key : keys) {
+          mix(key);
+        }
+      }
+
+      @Override
+      public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+        mix(Opcodes.MULTIANEWARRAY);
+        mixDescriptor(descriptor);
+        mix(numDimensions);
+      }
+    };
+  }
+}
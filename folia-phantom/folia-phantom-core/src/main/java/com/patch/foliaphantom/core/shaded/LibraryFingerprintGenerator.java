@@ -0,0 +1,130 @@
+/*
+ * Folia Phantom - Library Fingerprint Generator
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.shaded;
+
+import com.patch.foliaphantom.core.transformer.ConstantPoolPrefilter;
+import org.objectweb.asm.ClassReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Build-time tool that writes the bundled {@link LibraryFingerprints}.
+ *
+ * <p>
+ * Run by the core module's build after compilation, with the compile class
+ * path. The Paper API brings Guava, Gson, Adventure, SnakeYAML and others;
+ * libraries it does not depend on are declared as provided dependencies of
+ * the core module only for this purpose. Classes that reference anything the
+ * patcher could redirect are left out, so they are always scanned even inside
+ * a recognised library.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code LibraryFingerprintGenerator <output file> [class path]}; the
+ * class path defaults to the one of the running JVM.
+ * </p>
+ */
+public final class LibraryFingerprintGenerator {
+
+  /** Libraries to fingerprint: short name and canonical package */
+  private static final String[][] LIBRARIES = {
+      {"guava", "com/google/common/"},
+      {"gson", "com/google/gson/"},
+      {"adventure", "net/kyori/adventure/"},
+      {"examination", "net/kyori/examination/"},
+      {"kotlin-stdlib", "kotlin/"},
+      {"commons-lang3", "org/apache/commons/lang3/"},
+      {"hikaricp", "com/zaxxer/hikari/"},
+      {"snakeyaml", "org/yaml/snakeyaml/"},
+      {"slf4j", "org/slf4j/"},
+      {"joml", "org/joml/"},
+  };
+
+  private static final String EVENT_HANDLER_DESC = "Lorg/bukkit/event/EventHandler;";
+
+  private LibraryFingerprintGenerator() {
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: LibraryFingerprintGenerator <output file> [class path]");
+      System.exit(1);
+    }
+    Path output = Path.of(args[0]);
+    String classPath = args.length > 1 ? args[1] : System.getProperty("java.class.path");
+
+    Map<String, Map<String, Long>> classes = new LinkedHashMap<>();
+    for (String[] library : LIBRARIES) {
+      classes.put(library[0], new HashMap<>());
+    }
+    for (String element : classPath.split(File.pathSeparator)) {
+      Path path = Path.of(element);
+      String fileName = path.getFileName() != null ? path.getFileName().toString() : "";
+      if (Files.isRegularFile(path) && fileName.endsWith(".jar")) {
+        fingerprintJar(path, classes);
+      }
+    }
+
+    List<LibraryFingerprints.Library> libraries = new ArrayList<>();
+    List<String> summary = new ArrayList<>();
+    for (String[] library : LIBRARIES) {
+      Map<String, Long> libraryClasses = classes.get(library[0]);
+      if (libraryClasses.isEmpty()) {
+        summary.add(library[0] + " (missing)");
+        continue;
+      }
+      libraries.add(new LibraryFingerprints.Library(library[0], library[1], libraryClasses));
+      summary.add(library[0] + " (" + libraryClasses.size() + ")");
+    }
+
+    Files.createDirectories(output.toAbsolutePath().getParent());
+    try (OutputStream out = Files.newOutputStream(output)) {
+      LibraryFingerprints.of(libraries).write(out);
+    }
+    System.out.println("Fingerprinted " + String.join(", ", summary) + " into " + output);
+  }
+
+  private static void fingerprintJar(Path jar, Map<String, Map<String, Long>> classes) throws IOException {
+    try (ZipFile zip = new ZipFile(jar.toFile())) {
+      Enumeration<? extends ZipEntry> entries = zip.entries();
+      while (entries.hasMoreElements()) {
+        ZipEntry entry = entries.nextElement();
+        String name = entry.getName();
+        if (!name.endsWith(".class") || name.startsWith("META-INF/") || name.endsWith("module-info.class")) {
+          continue;
+        }
+        for (String[] library : LIBRARIES) {
+          if (!name.startsWith(library[1])) {
+            continue;
+          }
+          String relativeName = name.substring(library[1].length(), name.length() - ".class".length());
+          try (InputStream in = zip.getInputStream(entry)) {
+            ClassReader cr = new ClassReader(in);
+            if (!ConstantPoolPrefilter.DEFAULT.mayNeedPatching(cr)
+                && !ConstantPoolPrefilter.containsUtf8(cr, EVENT_HANDLER_DESC)) {
+              classes.get(library[0]).putIfAbsent(relativeName, ClassFingerprint.of(cr));
+            }
+          }
+          break;
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * Folia Phantom - Library Fingerprints
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.shaded;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An immutable database of third-party libraries that plugins commonly shade.
+ *
+ * <p>
+ * Each library is described by its canonical package, e.g.
+ * {@code com/google/common/}, and the {@link ClassFingerprint} of every class
+ * below it, keyed by the class name relative to that package. The database is
+ * generated at build time by {@link LibraryFingerprintGenerator} from the
+ * library JARs on the build class path and bundled as
+ * {@value #BUNDLED_RESOURCE}:
+ * </p>
+ *
+ * <pre>
+ * int magic, short version
+ * int libraryCount, libraryCount x (UTF name, UTF package, int n, n x (UTF relative name, long fingerprint))
+ * </pre>
+ */
+public final class LibraryFingerprints {
+
+  /** Class path resource of the bundled database */
+  public static final String BUNDLED_RESOURCE = "folia-phantom/shaded-libraries.fingerprints";
+
+  private static final int MAGIC = 0x4650534C; // "FPSL"
+  private static final int VERSION = 1;
+
+  /**
+   * One library and the fingerprints of its classes.
+   */
+  public static final class Library {
+    private final String name;
+    private final String packagePrefix;
+    private final Map<String, Long> classes;
+
+    /**
+     * @param name          Short name of the library, e.g. {@code guava}
+     * @param packagePrefix Canonical package with a trailing slash, e.g. {@code com/google/common/}
+     * @param classes       Fingerprint of every class, by name relative to the package and without {@code .class}
+     */
+    public Library(String name, String packagePrefix, Map<String, Long> classes) {
+      this.name = name;
+      this.packagePrefix = packagePrefix;
+      this.classes = Collections.unmodifiableMap(new TreeMap<>(classes));
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public String getPackagePrefix() {
+      return packagePrefix;
+    }
+
+    /**
+     * @param relativeName A class name relative to the library package, without {@code .class}
+     * @return The fingerprint of that class, or null if the library has no such class
+     */
+    public Long getFingerprint(String relativeName) {
+      return classes.get(relativeName);
+    }
+
+    public int size() {
+      return classes.size();
+    }
+
+    Map<String, Long> getClasses() {
+      return classes;
+    }
+  }
+
+  private final List<Library> libraries;
+
+  /** Libraries by relative class names that contain a package, for locating relocated copies */
+  private final Map<String, List<Library>> byRelativeName;
+
+  private LibraryFingerprints(List<Library> libraries) {
+    this.libraries = Collections.unmodifiableList(new ArrayList<>(libraries));
+    this.byRelativeName = new HashMap<>();
+    for (Library library : libraries) {
+      for (String relativeName : library.classes.keySet()) {
+        // A bare class name like "Unit" says nothing about where a library was moved to
+        if (relativeName.indexOf('/') > 0) {
+          byRelativeName.computeIfAbsent(relativeName, k -> new ArrayList<>(1)).add(library);
+        }
+      }
+    }
+  }
+
+  /**
+   * Returns the database bundled with Folia Phantom, loaded on first use.
+   *
+   * @return The bundled database, or an empty one if it is missing or corrupt
+   */
+  public static LibraryFingerprints bundled() {
+    return Bundled.FINGERPRINTS;
+  }
+
+  /**
+   * @return A database of exactly the given libraries
+   */
+  public static LibraryFingerprints of(List<Library> libraries) {
+    return new LibraryFingerprints(libraries);
+  }
+
+  public List<Library> getLibraries() {
+    return libraries;
+  }
+
+  /**
+   * @param relativeName A class name relative to some library package, containing at least one {@code /}
+   * @return The libraries that have a class of that relative name, possibly none
+   */
+  List<Library> librariesWith(String relativeName) {
+    List<Library> result = byRelativeName.get(relativeName);
+    return result != null ? result : Collections.emptyList();
+  }
+
+  /**
+   * Reads a database in the binary format.
+   *
+   * @throws IOException If the stream is not a supported database
+   */
+  public static LibraryFingerprints read(InputStream in) throws IOException {
+    DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+    if (data.readInt() != MAGIC || data.readUnsignedShort() != VERSION) {
+      throw new IOException("Not a library fingerprint database, or an unsupported version");
+    }
+    int count = data.readInt();
+    List<Library> libraries = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      String name = data.readUTF();
+      String packagePrefix = data.readUTF();
+      int classCount = data.readInt();
+      Map<String, Long> classes = new HashMap<>(classCount * 2);
+      for (int j = 0; j < classCount; j++) {
+        classes.put(data.readUTF(), data.readLong());
+      }
+      libraries.add(new Library(name, packagePrefix, classes));
+    }
+    return new LibraryFingerprints(libraries);
+  }
+
+  /**
+   * Writes this database in the binary format.
+   */
+  public void write(OutputStream out) throws IOException {
+    DataOutputStream data = new DataOutputStream(out);
+    data.writeInt(MAGIC);
+    data.writeShort(VERSION);
+    data.writeInt(libraries.size());
+    for (Library library : libraries) {
+      data.writeUTF(library.name);
+      data.writeUTF(library.packagePrefix);
+      data.writeInt(library.classes.size());
+      for (Map.Entry<String, Long> entry : library.classes.entrySet()) {
+        data.writeUTF(entry.getKey());
+        data.writeLong(entry.getValue());
+      }
+    }
+    data.flush();
+  }
+
+  /**
+   * Lazy holder of the bundled database.
+   */
+  private static final class Bundled {
+    static final LibraryFingerprints FINGERPRINTS = load();
+
+    private static LibraryFingerprints load() {
+      Logger logger = Logger.getLogger(LibraryFingerprints.class.getName());
+      try (InputStream in = LibraryFingerprints.class.getClassLoader().getResourceAsStream(BUNDLED_RESOURCE)) {
+        if (in == null) {
+          logger.fine("No bundled library fingerprints; shaded libraries will be scanned");
+          return new LibraryFingerprints(List.of());
+        }
+        return read(in);
+      } catch (IOException e) {
+        logger.log(Level.WARNING, "Failed to read the bundled library fingerprints", e);
+        return new LibraryFingerprints(List.of());
+      }
+    }
+  }
+}
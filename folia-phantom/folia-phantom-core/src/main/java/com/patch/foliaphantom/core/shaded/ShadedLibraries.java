@@ -0,0 +1,86 @@
+/*
+ * Folia Phantom - Shaded Libraries
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.shaded;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The verified copies of known libraries found in one plugin JAR.
+ */
+public final class ShadedLibraries {
+
+  /** No shaded libraries */
+  public static final ShadedLibraries NONE = new ShadedLibraries(List.of());
+
+  /**
+   * One copy of a library.
+   */
+  public static final class Subtree {
+    private final String library;
+    private final String root;
+    private final List<String> entries;
+
+    Subtree(String library, String root, List<String> entries) {
+      this.library = library;
+      this.root = root;
+      this.entries = Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @return The short name of the library, e.g. {@code guava}
+     */
+    public String getLibrary() {
+      return library;
+    }
+
+    /**
+     * @return The package the copy lives in, with a trailing slash
+     */
+    public String getRoot() {
+      return root;
+    }
+
+    /**
+     * @return The JAR entry names of the classes skipped in this copy
+     */
+    public List<String> getEntries() {
+      return entries;
+    }
+  }
+
+  private final List<Subtree> subtrees;
+  private final Set<String> entries = new HashSet<>();
+
+  ShadedLibraries(List<Subtree> subtrees) {
+    this.subtrees = Collections.unmodifiableList(subtrees);
+    for (Subtree subtree : subtrees) {
+      entries.addAll(subtree.entries);
+    }
+  }
+
+  public List<Subtree> getSubtrees() {
+    return subtrees;
+  }
+
+  /**
+   * @param entryName A JAR entry name, e.g. {@code me/plugin/libs/guava/base/Joiner.class}
+   * @return Whether the entry is a class of a verified library copy
+   */
+  public boolean contains(String entryName) {
+    return entries.contains(entryName);
+  }
+
+  /**
+   * @return The number of classes in all copies
+   */
+  public int getClassCount() {
+    return entries.size();
+  }
+}
@@ -0,0 +1,189 @@
+/*
+ * Folia Phantom - Shaded Library Detector
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.shaded;
+
+import com.patch.foliaphantom.core.jar.MappedJarReader;
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Finds copies of known third-party libraries inside a plugin JAR.
+ *
+ * <p>
+ * A library is located wherever the JAR has classes whose names end in the
+ * relative names of that library's classes, so a copy relocated to
+ * {@code me/plugin/libs/guava/} is found just like one left in
+ * {@code com/google/common/}. A location is only accepted after a sample of
+ * its classes has been read and matched against the {@link ClassFingerprint}s
+ * of the library: a plugin's own code placed in a library package, or a
+ * modified copy of a library, does not pass.
+ * </p>
+ *
+ * <p>
+ * Only the classes of an accepted copy that the library itself has are
+ * reported; anything else in the same package, such as a platform adapter
+ * that calls the Bukkit API, is still scanned.
+ * </p>
+ */
+public final class ShadedLibraryDetector {
+
+  /** Classes hashed to verify one location */
+  private static final int SAMPLE_SIZE = 16;
+
+  /** A location needs at least this many known classes to be considered */
+  private static final int MIN_CLASSES = 4;
+
+  private final LibraryFingerprints fingerprints;
+  private final Set<String> alwaysScan;
+
+  /**
+   * @param fingerprints The known libraries
+   * @param alwaysScan   Library names, or package prefixes in either {@code a/b/} or {@code a.b.} form,
+   *                     whose classes must always be scanned
+   */
+  public ShadedLibraryDetector(LibraryFingerprints fingerprints, Set<String> alwaysScan) {
+    this.fingerprints = fingerprints;
+    this.alwaysScan = alwaysScan != null ? alwaysScan : Collections.emptySet();
+  }
+
+  /**
+   * @param alwaysScan Overrides as for {@link #ShadedLibraryDetector(LibraryFingerprints, Set)}
+   * @return A detector over the bundled {@link LibraryFingerprints}
+   */
+  public static ShadedLibraryDetector bundled(Set<String> alwaysScan) {
+    return new ShadedLibraryDetector(LibraryFingerprints.bundled(), alwaysScan);
+  }
+
+  /**
+   * @return The overrides of this detector
+   */
+  public Set<String> getAlwaysScan() {
+    return alwaysScan;
+  }
+
+  /**
+   * Finds the shaded libraries in a JAR.
+   *
+   * @param jar The plugin JAR
+   * @return The verified library copies, possibly none
+   * @throws IOException If the JAR cannot be read
+   */
+  public ShadedLibraries detect(Path jar) throws IOException {
+    if (fingerprints.getLibraries().isEmpty()) {
+      return ShadedLibraries.NONE;
+    }
+    try (MappedJarReader reader = new MappedJarReader(jar)) {
+      return detect(reader);
+    }
+  }
+
+  /**
+   * Finds the shaded libraries among the entries of an open JAR.
+   */
+  public ShadedLibraries detect(MappedJarReader reader) throws IOException {
+    // Group classes by (location, library) through every package suffix of their names
+    List<MappedJarReader.Entry> classEntries = new ArrayList<>();
+    Map<Candidate, List<MappedJarReader.Entry>> candidates = new LinkedHashMap<>();
+    Map<String, Candidate> keys = new HashMap<>();
+    for (MappedJarReader.Entry entry : reader.entries()) {
+      String name = entry.getName();
+      if (entry.isDirectory() || !name.endsWith(".class") || name.startsWith("META-INF/")) {
+        continue;
+      }
+      classEntries.add(entry);
+      String className = name.substring(0, name.length() - ".class".length());
+      for (int slash = className.indexOf('/'); slash >= 0; slash = className.indexOf('/', slash + 1)) {
+        String relativeName = className.substring(slash + 1);
+        if (relativeName.indexOf('/') < 0) {
+          break;
+        }
+        for (LibraryFingerprints.Library library : fingerprints.librariesWith(relativeName)) {
+          String root = className.substring(0, slash + 1);
+          Candidate candidate = keys.computeIfAbsent(root + '\0' + library.getName(),
+              k -> new Candidate(library, root));
+          candidates.computeIfAbsent(candidate, k -> new ArrayList<>()).add(entry);
+        }
+      }
+    }
+
+    List<ShadedLibraries.Subtree> subtrees = new ArrayList<>();
+    for (Map.Entry<Candidate, List<MappedJarReader.Entry>> entry : candidates.entrySet()) {
+      Candidate candidate = entry.getKey();
+      if (entry.getValue().size() < MIN_CLASSES || isOverridden(candidate)
+          || !verify(reader, candidate, entry.getValue())) {
+        continue;
+      }
+      // Every class of the copy the library has, including those directly in its package
+      List<String> names = new ArrayList<>();
+      for (MappedJarReader.Entry classEntry : classEntries) {
+        String name = classEntry.getName();
+        if (name.startsWith(candidate.root) && candidate.library.getFingerprint(
+            name.substring(candidate.root.length(), name.length() - ".class".length())) != null) {
+          names.add(name);
+        }
+      }
+      subtrees.add(new ShadedLibraries.Subtree(candidate.library.getName(), candidate.root, names));
+    }
+    return subtrees.isEmpty() ? ShadedLibraries.NONE : new ShadedLibraries(subtrees);
+  }
+
+  /**
+   * Hashes an evenly spread sample of the classes of a location; at least half must match.
+   */
+  private boolean verify(MappedJarReader reader, Candidate candidate, List<MappedJarReader.Entry> classes)
+      throws IOException {
+    int samples = Math.min(SAMPLE_SIZE, classes.size());
+    int matches = 0;
+    for (int i = 0; i < samples; i++) {
+      MappedJarReader.Entry entry = classes.get((int) ((long) i * classes.size() / samples));
+      String name = entry.getName();
+      String relativeName = name.substring(candidate.root.length(), name.length() - ".class".length());
+      Long expected = candidate.library.getFingerprint(relativeName);
+      try {
+        if (expected != null && expected == ClassFingerprint.of(new ClassReader(reader.read(entry)))) {
+          matches++;
+        }
+      } catch (RuntimeException e) {
+        // Not a valid class file; ClassReader throws unchecked exceptions
+      }
+    }
+    return matches >= Math.max(2, (samples + 1) / 2);
+  }
+
+  private boolean isOverridden(Candidate candidate) {
+    for (String override : alwaysScan) {
+      String prefix = override.replace('.', '/');
+      if (override.equalsIgnoreCase(candidate.library.getName())
+          || (!prefix.isEmpty() && (candidate.root.startsWith(prefix) || prefix.startsWith(candidate.root)))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * A possible location of a library.
+   */
+  private static final class Candidate {
+    final LibraryFingerprints.Library library;
+    final String root;
+
+    Candidate(LibraryFingerprints.Library library, String root) {
+      this.library = library;
+      this.root = root;
+    }
+  }
+}
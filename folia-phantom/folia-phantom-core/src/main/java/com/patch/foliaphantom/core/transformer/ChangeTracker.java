@@ -0,0 +1,63 @@
+/*
+ * Folia Phantom - Change Tracker
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects whether any transformer changed the class being patched.
+ *
+ * <p>
+ * One tracker is shared by the whole transformer chain of a class. A class
+ * nobody marked is known to be unchanged without serializing or comparing it.
+ * </p>
+ *
+ * <p>
+ * Transformers also name each change they make, e.g. the rule group of a
+ * redirect, so the patcher can report them once the class was written.
+ * </p>
+ */
+public final class ChangeTracker {
+  private boolean changed;
+  private Map<String, Map<String, Integer>> counts;
+
+  /**
+   * Records that the class being patched was modified.
+   */
+  public void markChanged() {
+    changed = true;
+  }
+
+  /**
+   * Records one modification of the class being patched.
+   *
+   * @param transformer The name of the transformer making it
+   * @param change      What was changed, e.g. a redirect rule group
+   */
+  public void markChanged(String transformer, String change) {
+    changed = true;
+    if (counts == null) {
+      counts = new LinkedHashMap<>();
+    }
+    counts.computeIfAbsent(transformer, k -> new LinkedHashMap<>()).merge(change, 1, Integer::sum);
+  }
+
+  /**
+   * @return Whether any transformer modified the class
+   */
+  public boolean hasChanged() {
+    return changed;
+  }
+
+  /**
+   * @return The named changes by transformer, empty if none were recorded
+   */
+  public Map<String, Map<String, Integer>> getChanges() {
+    return counts != null ? counts : Map.of();
+  }
+}
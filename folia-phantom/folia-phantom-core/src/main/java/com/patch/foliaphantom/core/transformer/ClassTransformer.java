@@ -19,4 +19,27 @@ public interface ClassTransformer {
      * @return A new ClassVisitor instance
      */
     ClassVisitor createVisitor(ClassVisitor next);
+
+    /**
+     * Creates a new ClassVisitor that applies transformation logic and reports
+     * every modification to {@code changes}.
+     *
+     * <p>Transformers that do not override this are assumed to change every
+     * class they visit.</p>
+     *
+     * @param next    The next visitor in the chain
+     * @param changes The tracker shared by the chain for the current class
+     * @return A new ClassVisitor instance
+     */
+    default ClassVisitor createVisitor(ClassVisitor next, ChangeTracker changes) {
+        changes.markChanged();
+        return createVisitor(next);
+    }
+
+    /**
+     * @return The name this transformer is reported under in patch metrics
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
 }
@@ -0,0 +1,223 @@
+/*
+ * Folia Phantom - Constant Pool Prefilter
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer;
+
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRule;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRules;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectTable;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.Opcodes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Decides from the constant pool alone whether a class can contain an
+ * interesting call, before any method body is visited.
+ *
+ * <p>
+ * Every method instruction refers to a {@code CONSTANT_Methodref} or
+ * {@code CONSTANT_InterfaceMethodref}, whose owner is a {@code CONSTANT_Class}
+ * and whose name is a {@code CONSTANT_Utf8}. If none of these entries names an
+ * owner of the {@link RedirectTable}, or a method matched on any owner, no
+ * instruction of the class can match a rule either, and the
+ * {@link ScanningClassVisitor} pass can be skipped. Owner and name bytes are
+ * compared in place against byte keys; strings are only decoded to confirm a
+ * candidate against the table.
+ * </p>
+ *
+ * <p>
+ * A class extending {@code JavaPlugin} is always accepted, since its
+ * {@code onEnable()} is patched whatever it calls.
+ * </p>
+ *
+ * <p>
+ * The filter is conservative: it never rejects a class the scanner would
+ * accept, but it may accept one the scanner then rejects because no
+ * descriptor matches.
+ * </p>
+ */
+public final class ConstantPoolPrefilter {
+
+  /** Prefilter for {@link RedirectRules#TABLE} */
+  public static final ConstantPoolPrefilter DEFAULT = new ConstantPoolPrefilter(RedirectRules.TABLE);
+
+  private static final String JAVA_PLUGIN = "org/bukkit/plugin/java/JavaPlugin";
+
+  private static final int CONSTANT_UTF8 = 1;
+  private static final int CONSTANT_METHODREF = 10;
+  private static final int CONSTANT_INTERFACE_METHODREF = 11;
+
+  private final RedirectTable table;
+  private final ByteKeySet owners;
+  private final ByteKeySet anyOwnerNames;
+
+  /**
+   * @param table The rules whose owners and names make a class interesting
+   */
+  public ConstantPoolPrefilter(RedirectTable table) {
+    this.table = table;
+
+    Set<String> ownerKeys = new LinkedHashSet<>();
+    Set<String> anyOwnerKeys = new LinkedHashSet<>();
+    for (RedirectRule rule : table.getRules()) {
+      if (!RedirectRule.ANY_OWNER.equals(rule.getOwner())) {
+        ownerKeys.add(rule.getOwner());
+      } else if (rule.getName() != null) {
+        anyOwnerKeys.add(rule.getName());
+      }
+    }
+    this.owners = new ByteKeySet(ownerKeys);
+    this.anyOwnerNames = new ByteKeySet(anyOwnerKeys);
+  }
+
+  /**
+   * @param cr A reader over the class; only its constant pool is read
+   * @return false if no method instruction of the class can match a rule and
+   *         the class does not extend {@code JavaPlugin}
+   */
+  public boolean mayNeedPatching(ClassReader cr) {
+    if (JAVA_PLUGIN.equals(cr.getSuperName())) {
+      return true;
+    }
+    int count = cr.getItemCount();
+    char[] buffer = null;
+
+    for (int i = 1; i < count; i++) {
+      int offset = cr.getItem(i);
+      // Unused slots after long and double constants have offset 0
+      if (offset == 0) {
+        continue;
+      }
+      int tag = cr.readByte(offset - 1);
+      if (tag != CONSTANT_METHODREF && tag != CONSTANT_INTERFACE_METHODREF) {
+        continue;
+      }
+
+      int classInfo = cr.getItem(cr.readUnsignedShort(offset));
+      int nameAndType = cr.getItem(cr.readUnsignedShort(offset + 2));
+      int ownerUtf8 = cr.getItem(cr.readUnsignedShort(classInfo));
+      int nameUtf8 = cr.getItem(cr.readUnsignedShort(nameAndType));
+
+      if (owners.contains(cr, ownerUtf8 + 2, cr.readUnsignedShort(ownerUtf8))) {
+        // The owner is known; confirm the name against its rules
+        if (buffer == null) {
+          buffer = new char[cr.getMaxStringLength()];
+        }
+        String owner = cr.readUTF8(classInfo, buffer);
+        String name = cr.readUTF8(nameAndType, buffer);
+        int opcode = tag == CONSTANT_METHODREF ? Opcodes.INVOKEVIRTUAL : Opcodes.INVOKEINTERFACE;
+        if (table.ownerRules(owner) != null || table.lookup(opcode, owner, name) != null) {
+          return true;
+        }
+      } else if (tag == CONSTANT_METHODREF
+          && anyOwnerNames.contains(cr, nameUtf8 + 2, cr.readUnsignedShort(nameUtf8))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Checks whether the constant pool holds a given string, such as an
+   * annotation descriptor; annotations are only reachable through their
+   * {@code CONSTANT_Utf8} type name.
+   *
+   * @param cr    A reader over the class; only its constant pool is read
+   * @param value An ASCII string
+   * @return Whether some {@code CONSTANT_Utf8} entry equals {@code value}
+   */
+  public static boolean containsUtf8(ClassReader cr, String value) {
+    int length = value.length();
+    for (int i = 1, count = cr.getItemCount(); i < count; i++) {
+      int offset = cr.getItem(i);
+      if (offset == 0 || cr.readByte(offset - 1) != CONSTANT_UTF8 || cr.readUnsignedShort(offset) != length) {
+        continue;
+      }
+      int start = offset + 2;
+      int j = 0;
+      while (j < length && cr.readByte(start + j) == value.charAt(j)) {
+        j++;
+      }
+      if (j == length) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * An open-addressing set of modified UTF-8 keys, queried with a slice of a byte array.
+   */
+  private static final class ByteKeySet {
+    private final byte[][] keys;
+    private final int mask;
+    /** Bit {@code length & 63} is set for every key length, to reject most slices before hashing */
+    private final long lengths;
+
+    ByteKeySet(Set<String> values) {
+      int size = Integer.highestOneBit(Math.max(1, values.size() * 2 - 1)) << 1;
+      this.keys = new byte[size][];
+      this.mask = size - 1;
+      long lengthBits = 0;
+      for (String value : values) {
+        // Owner and method names are ASCII, where modified UTF-8 is the plain encoding
+        byte[] key = value.getBytes(StandardCharsets.UTF_8);
+        lengthBits |= 1L << (key.length & 63);
+        int slot = hash(key) & mask;
+        while (keys[slot] != null) {
+          slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+      }
+      this.lengths = lengthBits;
+    }
+
+    /**
+     * @param cr     The reader whose class file holds the slice
+     * @param offset Offset of the slice in the class file
+     * @param length Length of the slice
+     */
+    boolean contains(ClassReader cr, int offset, int length) {
+      if ((lengths & (1L << (length & 63))) == 0) {
+        return false;
+      }
+      int h = length;
+      for (int i = offset, end = offset + length; i < end; i++) {
+        h = 31 * h + (byte) cr.readByte(i);
+      }
+      for (int slot = (h ^ (h >>> 16)) & mask;; slot = (slot + 1) & mask) {
+        byte[] key = keys[slot];
+        if (key == null) {
+          return false;
+        }
+        if (key.length == length && equals(key, cr, offset)) {
+          return true;
+        }
+      }
+    }
+
+    private static boolean equals(byte[] key, ClassReader cr, int offset) {
+      for (int i = 0; i < key.length; i++) {
+        if (key[i] != (byte) cr.readByte(offset + i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Must agree with the hash computed in {@link #contains} */
+    private static int hash(byte[] key) {
+      int h = key.length;
+      for (byte c : key) {
+        h = 31 * h + c;
+      }
+      return h ^ (h >>> 16);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Folia Phantom - Method Filter Class Visitor
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.util.BitSet;
+
+/**
+ * Routes only selected methods through the transformer chain.
+ *
+ * <p>
+ * Class-level events and fields go through the chain as usual. Methods whose
+ * declaration index is not selected are handed straight to the sink at the
+ * end of the chain. When the sink is a {@link ClassWriter} created from the
+ * same {@code ClassReader}, no adapter sits in between and ASM copies their
+ * original bytes verbatim instead of decoding and re-encoding the code.
+ * </p>
+ */
+public class MethodFilterClassVisitor extends ClassVisitor {
+  private final ClassVisitor sink;
+  private final BitSet selected;
+  private int methodIndex;
+
+  /**
+   * @param chain    The head of the transformer chain, which ends in {@code sink}
+   * @param sink     The writer or tree node the chain ends in
+   * @param selected The declaration indexes of the methods to transform
+   */
+  public MethodFilterClassVisitor(ClassVisitor chain, ClassVisitor sink, BitSet selected) {
+    super(Opcodes.ASM9, chain);
+    this.sink = sink;
+    this.selected = selected;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+      String[] exceptions) {
+    if (selected.get(methodIndex++)) {
+      return super.visitMethod(access, name, descriptor, signature, exceptions);
+    }
+    return sink.visitMethod(access, name, descriptor, signature, exceptions);
+  }
+}
@@ -0,0 +1,55 @@
+/*
+ * Folia Phantom - Node Transformer Interface
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer;
+
+import org.objectweb.asm.tree.ClassNode;
+
+/**
+ * Interface for transformers that need the whole class as a tree.
+ *
+ * <p>All node transformers of a class share one {@link ClassNode}, built by
+ * the same pass that runs the visitor-based transformers, and the class is
+ * written once after the last of them.</p>
+ */
+public interface NodeTransformer {
+    /**
+     * @return Whether this transformer can change anything with its current configuration
+     */
+    boolean isEnabled();
+
+    /**
+     * Transforms the class in place.
+     *
+     * @param classNode The class, already processed by the visitor-based transformers
+     * @return true if the class was modified; frames are then recomputed on write
+     */
+    boolean transform(ClassNode classNode);
+
+    /**
+     * Transforms the class in place and reports every modification to {@code changes}.
+     *
+     * <p>Transformers that do not override this report one change per modified class.</p>
+     *
+     * @param classNode The class, already processed by the visitor-based transformers
+     * @param changes   The tracker shared by all transformers for the current class
+     * @return true if the class was modified; frames are then recomputed on write
+     */
+    default boolean transform(ClassNode classNode, ChangeTracker changes) {
+        boolean transformed = transform(classNode);
+        if (transformed) {
+            changes.markChanged(getName(), "class");
+        }
+        return transformed;
+    }
+
+    /**
+     * @return The name this transformer is reported under in patch metrics
+     */
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+}
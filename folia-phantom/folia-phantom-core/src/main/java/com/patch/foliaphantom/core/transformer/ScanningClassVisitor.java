@@ -6,10 +6,14 @@
  */
 package com.patch.foliaphantom.core.transformer;
 
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRules;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectTable;
+import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
-import java.util.Set;
+
+import java.util.BitSet;
 
 /**
  * A lightweight ClassVisitor that performs a fast scan of method calls.
@@ -18,175 +22,101 @@ import java.util.Set;
  * full bytecode transformation. This significantly improves performance for
  * plugins with many classes that don't use Bukkit scheduler or threading APIs.
  * </p>
+ *
+ * <p>A call is interesting when it matches any rule of the {@link RedirectTable},
+ * the same table the transformer applies.</p>
+ *
+ * <p>The scan also records which methods, by declaration order, the
+ * transformers may touch: those with an interesting call, {@code @EventHandler}
+ * methods and the {@code onEnable()} of a JavaPlugin subclass. The
+ * {@link MethodFilterClassVisitor} copies all other methods verbatim.</p>
  */
 public class ScanningClassVisitor extends ClassVisitor {
-  private boolean needsPatching = false;
+  private static final String EVENT_HANDLER_DESC = "Lorg/bukkit/event/EventHandler;";
 
-  // Use a Set for O(1) lookups, which is faster than long boolean chains.
-  private static final Set<String> INTERESTING_OWNERS = Set.of(
-    "com/patch/foliaphantom/core/patcher/FoliaPatcher",
-    "org/bukkit/scheduler/BukkitScheduler",
-    "org/bukkit/scheduler/BukkitRunnable",
-    "org/bukkit/WorldCreator",
-    "org/bukkit/entity/Player",
-    "org/bukkit/scoreboard/Scoreboard",
-    "org/bukkit/scoreboard/Team",
-    "org/bukkit/scoreboard/Objective",
-    "org/bukkit/scoreboard/Score",
-    "org/bukkit/Server",
-    "org/bukkit/plugin/PluginManager",
-    "org/bukkit/block/Block",
-    "org/bukkit/World",
-    "org/bukkit/Bukkit",
-    "org/bukkit/plugin/Plugin",
-    "org/bukkit/plugin/java/JavaPlugin",
-    "org/bukkit/entity/Entity",
-    "org/bukkit/entity/LivingEntity",
-    "org/bukkit/entity/Damageable",
-    "org/bukkit/block/BlockState",
-    "org/bukkit/inventory/Inventory",
-    "org/bukkit/Chunk",
-    "org/bukkit/attribute/Attributable",
-    "org/bukkit/boss/BossBar",
-    "org/bukkit/boss/KeyedBossBar"
-  );
+  private final RedirectTable table;
+  private final BitSet methods = new BitSet();
+  private boolean needsPatching = false;
+  private boolean hasEventHandlers = false;
+  private boolean isJavaPlugin;
+  private int methodIndex;
 
   public ScanningClassVisitor(String relocatedPatcherPath) {
     // relocatedPatcherPath is not used here but kept for constructor consistency.
+    this(RedirectRules.TABLE);
+  }
+
+  /**
+   * @param table The rules deciding which calls need patching
+   */
+  public ScanningClassVisitor(RedirectTable table) {
     super(Opcodes.ASM9);
+    this.table = table;
   }
 
   /**
-   * @return true if the class contains calls that require transformation
+   * @return true if the class contains calls that require transformation, or
+   *         is a JavaPlugin subclass declaring {@code onEnable()}
    */
   public boolean needsPatching() {
     return needsPatching;
   }
 
+  /**
+   * @return true if the class declares {@code @EventHandler} methods, the
+   *         candidates of the node-based transformers
+   */
+  public boolean hasEventHandlers() {
+    return hasEventHandlers;
+  }
+
+  /**
+   * @return The declaration indexes of the methods the transformers may change
+   */
+  public BitSet getTransformedMethods() {
+    return methods;
+  }
+
+  @Override
+  public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+    this.isJavaPlugin = "org/bukkit/plugin/java/JavaPlugin".equals(superName);
+  }
+
   @Override
   public MethodVisitor visitMethod(int access, String name, String desc, String signature, String[] exceptions) {
-    if (needsPatching) {
-      return null; // Stop scanning if already found.
+    int index = methodIndex++;
+    if (isJavaPlugin && "onEnable".equals(name) && "()V".equals(desc)) {
+      // Receives the runtime's _i call even if the class makes no interesting call
+      needsPatching = true;
+      methods.set(index);
     }
-    return new ScanningMethodVisitor();
+    return new ScanningMethodVisitor(index);
   }
 
   private class ScanningMethodVisitor extends MethodVisitor {
-    public ScanningMethodVisitor() {
+    private final int index;
+
+    public ScanningMethodVisitor(int index) {
       super(Opcodes.ASM9);
+      this.index = index;
     }
 
     @Override
-    public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean isInterface) {
-      if (needsPatching) {
-        return;
-      }
-
-      // Fast path: check owner first.
-      if (INTERESTING_OWNERS.contains(owner)) {
-        // At this point, the owner is interesting. Check the method name for specifics.
-        switch (owner) {
-          case "org/bukkit/plugin/PluginManager":
-            if ("callEvent".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/block/Block":
-            if ("setType".equals(name) || "setBlockData".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/World":
-            switch (name) {
-              case "spawn":
-              case "loadChunk":
-              case "getEntities":
-              case "getLivingEntities":
-              case "getPlayers":
-              case "getNearbyEntities":
-              case "getHighestBlockAt":
-              case "rayTraceBlocks":
-              case "rayTraceEntities":
-              case "spawnParticle":
-                needsPatching = true;
-                break;
-            }
-            break;
-          case "org/bukkit/Bukkit":
-          case "org/bukkit/Server":
-            if ("getOnlinePlayers".equals(name) || "getWorlds".equals(name) || "getPlayer".equals(name) || "getWorld".equals(name) || "createWorld".equals(name) || "dispatchCommand".equals(name) || "getOfflinePlayer".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/plugin/Plugin":
-            if ("getDefaultWorldGenerator".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/entity/Entity":
-          case "org/bukkit/entity/LivingEntity":
-          case "org/bukkit/entity/Damageable":
-          case "org/bukkit/entity/Player":
-            switch (name) {
-              case "remove":
-              case "setVelocity":
-              case "teleport":
-              case "setFireTicks":
-              case "setCustomName":
-              case "setGravity":
-              case "damage":
-              case "setAI":
-              case "setGameMode":
-              case "getHealth":
-              case "addPotionEffect":
-              case "removePotionEffect":
-              case "hasPotionEffect":
-              case "getPotionEffect":
-              case "addPassenger":
-              case "removePassenger":
-              case "eject":
-              case "getNearbyEntities":
-              case "addScoreboardTag":
-              case "removeScoreboardTag":
-                needsPatching = true;
-                break;
-            }
-            break;
-          case "org/bukkit/block/BlockState":
-            if ("update".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/inventory/Inventory":
-            if ("setItem".equals(name) || "addItem".equals(name) || "clear".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/Chunk":
-            if ("getEntities".equals(name) || "load".equals(name) || "unload".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/attribute/Attributable":
-            if ("getAttribute".equals(name)) needsPatching = true;
-            break;
-          case "org/bukkit/boss/BossBar":
-          case "org/bukkit/boss/KeyedBossBar":
-            if ("addPlayer".equals(name) || "removePlayer".equals(name) || "removeAll".equals(name)) needsPatching = true;
-            break;
-          // For other owners in the set, their presence alone is enough.
-          default:
-            needsPatching = true;
-            break;
-        }
-      }
-
-      if (needsPatching) return;
-
-      // Secondary check for BukkitRunnable subclasses, which have a variable owner.
-      if (opcode == Opcodes.INVOKEVIRTUAL && isBukkitRunnableInstanceMethod(name, desc)) {
-        needsPatching = true;
+    public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+      if (EVENT_HANDLER_DESC.equals(descriptor)) {
+        hasEventHandlers = true;
+        methods.set(index);
       }
+      return null;
     }
 
-    private boolean isBukkitRunnableInstanceMethod(String name, String desc) {
-      String combined = name + desc;
-      switch (combined) {
-        case "runTask(Lorg/bukkit/plugin/Plugin;)Lorg/bukkit/scheduler/BukkitTask;":
-        case "runTaskLater(Lorg/bukkit/plugin/Plugin;J)Lorg/bukkit/scheduler/BukkitTask;":
-        case "runTaskTimer(Lorg/bukkit/plugin/Plugin;JJ)Lorg/bukkit/scheduler/BukkitTask;":
-        case "runTaskAsynchronously(Lorg/bukkit/plugin/Plugin;)Lorg/bukkit/scheduler/BukkitTask;":
-        case "runTaskLaterAsynchronously(Lorg/bukkit/plugin/Plugin;J)Lorg/bukkit/scheduler/BukkitTask;":
-        case "runTaskTimerAsynchronously(Lorg/bukkit/plugin/Plugin;JJ)Lorg/bukkit/scheduler/BukkitTask;":
-          return true;
-        default:
-          return false;
+    @Override
+    public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean isInterface) {
+      if (!methods.get(index) || !needsPatching) {
+        if (table.isInteresting(opcode, owner, name, desc)) {
+          needsPatching = true;
+          methods.set(index);
+        }
       }
     }
   }
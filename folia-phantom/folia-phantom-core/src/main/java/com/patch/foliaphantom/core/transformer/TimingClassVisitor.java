@@ -0,0 +1,291 @@
+/*
+ * Folia Phantom - Timing Class Visitor
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+/**
+ * Measures the time spent in the visitor it delegates to, including everything
+ * further down the chain.
+ *
+ * <p>
+ * Placed in front of every link of a transformer chain, the difference between
+ * two neighbouring timers is the time of the transformer between them. Every
+ * delegated call reads the clock twice, which is far more expensive than the
+ * call itself, so the patcher only times a sample of the classes.
+ * </p>
+ *
+ * <p>
+ * Only the class header, fields, methods and code are timed; annotations and
+ * other attributes are negligible and count towards the caller.
+ * </p>
+ */
+public class TimingClassVisitor extends ClassVisitor {
+  /** Approximate cost of one {@link System#nanoTime()} read, measured once */
+  private static final long CLOCK_NANOS = calibrate();
+
+  private long nanos;
+  private long calls;
+
+  /**
+   * @param next The visitor to time
+   */
+  public TimingClassVisitor(ClassVisitor next) {
+    super(Opcodes.ASM9, next);
+  }
+
+  /**
+   * @return The nanoseconds spent in the wrapped visitor so far
+   */
+  public long getNanos() {
+    return nanos;
+  }
+
+  /**
+   * Returns the time spent between this timer and the next one down the chain.
+   *
+   * <p>
+   * The clock reads of {@code next} happen inside this timer's measurements,
+   * so their estimated cost is taken off.
+   * </p>
+   *
+   * @param next The timer in front of the following link of the chain
+   * @return The nanoseconds spent in the visitors between the two timers
+   */
+  public long getNanosUntil(TimingClassVisitor next) {
+    return Math.max(0, nanos - next.nanos - next.calls * CLOCK_NANOS);
+  }
+
+  private static long calibrate() {
+    long best = Long.MAX_VALUE;
+    for (int round = 0; round < 5; round++) {
+      long start = System.nanoTime();
+      for (int i = 0; i < 1000; i++) {
+        System.nanoTime();
+      }
+      best = Math.min(best, (System.nanoTime() - start) / 1000);
+    }
+    return best;
+  }
+
+  @Override
+  public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+    long start = System.nanoTime();
+    super.visit(version, access, name, signature, superName, interfaces);
+    nanos += System.nanoTime() - start;
+    calls++;
+  }
+
+  @Override
+  public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+    long start = System.nanoTime();
+    FieldVisitor fv = super.visitField(access, name, descriptor, signature, value);
+    nanos += System.nanoTime() - start;
+    calls++;
+    return fv;
+  }
+
+  @Override
+  public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+      String[] exceptions) {
+    long start = System.nanoTime();
+    MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+    nanos += System.nanoTime() - start;
+    calls++;
+    return mv != null ? new TimingMethodVisitor(mv) : null;
+  }
+
+  @Override
+  public void visitEnd() {
+    long start = System.nanoTime();
+    super.visitEnd();
+    nanos += System.nanoTime() - start;
+    calls++;
+  }
+
+  private class TimingMethodVisitor extends MethodVisitor {
+
+    TimingMethodVisitor(MethodVisitor mv) {
+      super(Opcodes.ASM9, mv);
+    }
+
+    @Override
+    public void visitCode() {
+      long start = System.nanoTime();
+      super.visitCode();
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitFrame(int type, int numLocal, Object[] local, int numStack, Object[] stack) {
+      long start = System.nanoTime();
+      super.visitFrame(type, numLocal, local, numStack, stack);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitInsn(int opcode) {
+      long start = System.nanoTime();
+      super.visitInsn(opcode);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitIntInsn(int opcode, int operand) {
+      long start = System.nanoTime();
+      super.visitIntInsn(opcode, operand);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitVarInsn(int opcode, int varIndex) {
+      long start = System.nanoTime();
+      super.visitVarInsn(opcode, varIndex);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitTypeInsn(int opcode, String type) {
+      long start = System.nanoTime();
+      super.visitTypeInsn(opcode, type);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+      long start = System.nanoTime();
+      super.visitFieldInsn(opcode, owner, name, descriptor);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+      long start = System.nanoTime();
+      super.visitMethodInsn(opcode, owner, name, descriptor, isInterface);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+        Object... bootstrapMethodArguments) {
+      long start = System.nanoTime();
+      super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitJumpInsn(int opcode, Label label) {
+      long start = System.nanoTime();
+      super.visitJumpInsn(opcode, label);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitLabel(Label label) {
+      long start = System.nanoTime();
+      super.visitLabel(label);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitLdcInsn(Object value) {
+      long start = System.nanoTime();
+      super.visitLdcInsn(value);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitIincInsn(int varIndex, int increment) {
+      long start = System.nanoTime();
+      super.visitIincInsn(varIndex, increment);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+      long start = System.nanoTime();
+      super.visitTableSwitchInsn(min, max, dflt, labels);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+      long start = System.nanoTime();
+      super.visitLookupSwitchInsn(dflt, keys, labels);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+      long start = System.nanoTime();
+      super.visitMultiANewArrayInsn(descriptor, numDimensions);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+      long begin = System.nanoTime();
+      super.visitTryCatchBlock(start, end, handler, type);
+      nanos += System.nanoTime() - begin;
+      calls++;
+    }
+
+    @Override
+    public void visitLocalVariable(String name, String descriptor, String signature, Label start, Label end,
+        int index) {
+      long begin = System.nanoTime();
+      super.visitLocalVariable(name, descriptor, signature, start, end, index);
+      nanos += System.nanoTime() - begin;
+      calls++;
+    }
+
+    @Override
+    public void visitLineNumber(int line, Label start) {
+      long begin = System.nanoTime();
+      super.visitLineNumber(line, start);
+      nanos += System.nanoTime() - begin;
+      calls++;
+    }
+
+    @Override
+    public void visitMaxs(int maxStack, int maxLocals) {
+      long start = System.nanoTime();
+      super.visitMaxs(maxStack, maxLocals);
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+
+    @Override
+    public void visitEnd() {
+      long start = System.nanoTime();
+      super.visitEnd();
+      nanos += System.nanoTime() - start;
+      calls++;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Folia Phantom - Redirect Rule
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer.dispatch;
+
+/**
+ * One entry of the {@link RedirectTable}: a Bukkit call site pattern and what to
+ * do with it.
+ *
+ * <p>
+ * A rule matches a method instruction by owner, name and, unless it is null,
+ * descriptor. Depending on its {@link Action} it either rewrites the call into a
+ * static {@code FoliaPatcher} call, replaces it with a {@code FoliaPatcher}
+ * constant, or only marks the call as interesting to the scanner and auditor.
+ * </p>
+ *
+ * <p>
+ * An {@link Action#INVOKE} rule may also name a void variant of its target
+ * that does not wait for the call to complete; it is called instead where the
+ * patched code discards the result.
+ * </p>
+ */
+public final class RedirectRule {
+
+  /** Owner that matches any class; used for calls on user subclasses such as BukkitRunnable */
+  public static final String ANY_OWNER = "*";
+
+  /** The plugin instance may be {@code this} when the class extends JavaPlugin */
+  public static final int PLUGIN_THIS = 1;
+  /** The plugin instance may be read from a Plugin/JavaPlugin field of the class */
+  public static final int PLUGIN_FIELD = 1 << 1;
+  /** The plugin instance may be read from {@code this$0} of an anonymous or local class */
+  public static final int PLUGIN_OUTER = 1 << 2;
+
+  /**
+   * What a matching call is turned into.
+   */
+  public enum Action {
+    /** Call a static {@code FoliaPatcher} method instead */
+    INVOKE,
+    /** Read a static {@code FoliaPatcher} field instead; the call must take no arguments */
+    CONSTANT,
+    /** Leave the call alone; it only makes the class worth patching or auditing */
+    SCAN
+  }
+
+  private final String owner;
+  private final String name;
+  private final String desc;
+  private final Action action;
+  private final String targetName;
+  private final String targetDesc;
+  private final boolean keepReceiver;
+  private final int pluginSources;
+  private final String reason;
+  private final String origin;
+  private final String discardTargetName;
+
+  RedirectRule(String owner, String name, String desc, Action action, String targetName, String targetDesc,
+      boolean keepReceiver, int pluginSources, String reason, String origin, String discardTargetName) {
+    this.owner = owner;
+    this.name = name;
+    this.desc = desc;
+    this.action = action;
+    this.targetName = targetName;
+    this.targetDesc = targetDesc;
+    this.keepReceiver = keepReceiver;
+    this.pluginSources = pluginSources;
+    this.reason = reason;
+    this.origin = origin;
+    this.discardTargetName = discardTargetName;
+  }
+
+  /**
+   * @return A copy of this rule with a void variant of its target
+   */
+  RedirectRule withDiscardTarget(String discardTargetName) {
+    return new RedirectRule(owner, name, desc, action, targetName, targetDesc, keepReceiver, pluginSources, reason,
+        origin, discardTargetName);
+  }
+
+  public String getOwner() {
+    return owner;
+  }
+
+  /**
+   * @return The method name, or null for a rule that matches every call on the owner
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return The method descriptor, or null for a rule that matches every overload
+   */
+  public String getDesc() {
+    return desc;
+  }
+
+  public Action getAction() {
+    return action;
+  }
+
+  /**
+   * @return The {@code FoliaPatcher} member to call or read
+   */
+  public String getTargetName() {
+    return targetName != null ? targetName : name;
+  }
+
+  /**
+   * @return The {@code FoliaPatcher} method to call instead of the target when the result
+   *         is discarded, or null if there is none; it takes the same arguments and returns void
+   */
+  public String getDiscardTargetName() {
+    return discardTargetName;
+  }
+
+  /**
+   * Returns the descriptor of the static target for a call with descriptor {@code callDesc}.
+   *
+   * <p>
+   * Unless the rule names one explicitly, the target takes the plugin (if
+   * injected), then the receiver (if kept), then the original arguments.
+   * </p>
+   */
+  public String getTargetDesc(String callDesc, boolean hasReceiver) {
+    if (targetDesc != null) {
+      return targetDesc;
+    }
+    if (!injectsPlugin() && !(hasReceiver && keepReceiver)) {
+      return callDesc;
+    }
+    StringBuilder sb = new StringBuilder(callDesc.length() + 40).append('(');
+    if (injectsPlugin()) {
+      sb.append("Lorg/bukkit/plugin/Plugin;");
+    }
+    if (hasReceiver && keepReceiver) {
+      sb.append('L').append(owner).append(';');
+    }
+    return sb.append(callDesc, 1, callDesc.length()).toString();
+  }
+
+  /**
+   * @return Whether the receiver is passed on as the first (non-plugin) argument
+   *         of the target, instead of being discarded
+   */
+  public boolean keepsReceiver() {
+    return keepReceiver;
+  }
+
+  /**
+   * @return Whether the target takes the calling plugin as its first argument
+   */
+  public boolean injectsPlugin() {
+    return pluginSources != 0;
+  }
+
+  /**
+   * @return A bit set of {@code PLUGIN_*} sources the plugin may be taken from
+   */
+  public int getPluginSources() {
+    return pluginSources;
+  }
+
+  /**
+   * @return The audit finding for calls matching this rule, or null if they are not reported
+   */
+  public String getReason() {
+    return reason;
+  }
+
+  /**
+   * @return A short label of the rule group, used in log messages
+   */
+  public String getOrigin() {
+    return origin;
+  }
+
+  /**
+   * @return Whether the rule applies to a call with descriptor {@code callDesc}
+   */
+  public boolean matchesDesc(String callDesc) {
+    return desc == null || desc.equals(callDesc);
+  }
+
+  @Override
+  public String toString() {
+    return origin + ": " + owner + "#" + (name != null ? name : "*") + (desc != null ? desc : "") + " -> "
+        + action + (action == Action.SCAN ? "" : " " + getTargetName());
+  }
+}
@@ -0,0 +1,418 @@
+/*
+ * Folia Phantom - Redirect Rules
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer.dispatch;
+
+import static com.patch.foliaphantom.core.transformer.dispatch.RedirectRule.ANY_OWNER;
+import static com.patch.foliaphantom.core.transformer.dispatch.RedirectRule.PLUGIN_FIELD;
+import static com.patch.foliaphantom.core.transformer.dispatch.RedirectRule.PLUGIN_OUTER;
+import static com.patch.foliaphantom.core.transformer.dispatch.RedirectRule.PLUGIN_THIS;
+
+/**
+ * The declarative list of every Bukkit call Folia Phantom cares about.
+ *
+ * <p>
+ * Groups are listed in precedence order: when two rules match the same call,
+ * the earlier one is applied. Redirects come first; the scan-only rules at the
+ * end widen what the scanner and auditor consider unsafe without rewriting it.
+ * </p>
+ */
+public final class RedirectRules {
+
+  private static final String BUKKIT = "org/bukkit/Bukkit";
+  private static final String SERVER = "org/bukkit/Server";
+  private static final String WORLD = "org/bukkit/World";
+  private static final String BLOCK = "org/bukkit/block/Block";
+  private static final String BLOCK_STATE = "org/bukkit/block/BlockState";
+  private static final String PLAYER = "org/bukkit/entity/Player";
+  private static final String PLUGIN = "org/bukkit/plugin/Plugin";
+  private static final String PLUGIN_MANAGER = "org/bukkit/plugin/PluginManager";
+  private static final String SCHEDULER = "org/bukkit/scheduler/BukkitScheduler";
+  private static final String RUNNABLE = "org/bukkit/scheduler/BukkitRunnable";
+  private static final String INVENTORY = "org/bukkit/inventory/Inventory";
+  private static final String SCOREBOARD = "org/bukkit/scoreboard/Scoreboard";
+  private static final String TEAM = "org/bukkit/scoreboard/Team";
+  private static final String OBJECTIVE = "org/bukkit/scoreboard/Objective";
+  private static final String SCORE = "org/bukkit/scoreboard/Score";
+
+  private static final String[] SERVER_OWNERS = { BUKKIT, SERVER };
+  private static final String[] ENTITY_OWNERS = {
+    "org/bukkit/entity/Entity",
+    "org/bukkit/entity/LivingEntity",
+    "org/bukkit/entity/Player",
+    "org/bukkit/entity/Damageable"
+  };
+
+  private static final String MIRRORING = "Thread-unsafe global mirroring";
+  private static final String ENTITY_SPAWN = "Thread-unsafe entity spawn";
+  private static final String WORLD_ENTITIES = "Thread-unsafe world entity access";
+  private static final String WORLD_CHANGE = "Thread-unsafe world modification";
+  private static final String BLOCK_CHANGE = "Thread-unsafe block modification";
+  private static final String ENTITY_CHANGE = "Thread-unsafe entity modification";
+  private static final String ENTITY_STATE = "Thread-unsafe entity state access";
+  private static final String SCOREBOARD_USE = "Thread-unsafe scoreboard interaction";
+  private static final String LEGACY_SCHEDULER = "Legacy Bukkit scheduler usage";
+  private static final String EVENT_CALL = "Async event calling";
+
+  private static final String[] RUNNABLE_METHODS = {
+    "runTask", "(Lorg/bukkit/plugin/Plugin;)Lorg/bukkit/scheduler/BukkitTask;",
+    "runTaskLater", "(Lorg/bukkit/plugin/Plugin;J)Lorg/bukkit/scheduler/BukkitTask;",
+    "runTaskTimer", "(Lorg/bukkit/plugin/Plugin;JJ)Lorg/bukkit/scheduler/BukkitTask;",
+    "runTaskAsynchronously", "(Lorg/bukkit/plugin/Plugin;)Lorg/bukkit/scheduler/BukkitTask;",
+    "runTaskLaterAsynchronously", "(Lorg/bukkit/plugin/Plugin;J)Lorg/bukkit/scheduler/BukkitTask;",
+    "runTaskTimerAsynchronously", "(Lorg/bukkit/plugin/Plugin;JJ)Lorg/bukkit/scheduler/BukkitTask;"
+  };
+
+  private static final String[] SCHEDULER_METHODS = {
+    "runTask", "runTaskAsynchronously", "runTaskLater", "runTaskLaterAsynchronously",
+    "runTaskTimer", "runTaskTimerAsynchronously",
+    "scheduleSyncDelayedTask", "scheduleSyncRepeatingTask",
+    "scheduleAsyncDelayedTask", "scheduleAsyncRepeatingTask",
+    "cancelTask", "cancelTasks", "isQueued", "isCurrentlyRunning", "getPendingTasks"
+  };
+
+  /** The table used by the patcher, the scanner and the auditor */
+  public static final RedirectTable TABLE = create();
+
+  private RedirectRules() {
+  }
+
+  private static RedirectTable create() {
+    RedirectTable.Builder b = RedirectTable.builder();
+
+    b.group("ServerBroadcastMessage").reason("Thread-unsafe broadcast")
+        .replaceReceiver(SERVER, "broadcastMessage", "(Ljava/lang/String;)V",
+            "_bm", "(Lorg/bukkit/plugin/Plugin;Ljava/lang/String;)V");
+
+    b.group("Mirroring").reason(MIRRORING).plugin(0);
+    for (String owner : SERVER_OWNERS) {
+      b.replaceReceiver(owner, "getOnlinePlayers", "()Ljava/util/Collection;", "_o", "()Ljava/util/Collection;")
+          .replaceReceiver(owner, "getWorlds", "()Ljava/util/List;", "_w", "()Ljava/util/List;")
+          .replaceReceiver(owner, "getPlayer", "(Ljava/lang/String;)Lorg/bukkit/entity/Player;",
+              "_ps", "(Ljava/lang/String;)Lorg/bukkit/entity/Player;")
+          .replaceReceiver(owner, "getPlayerExact", "(Ljava/lang/String;)Lorg/bukkit/entity/Player;",
+              "_pe", "(Ljava/lang/String;)Lorg/bukkit/entity/Player;")
+          .replaceReceiver(owner, "getPlayer", "(Ljava/util/UUID;)Lorg/bukkit/entity/Player;",
+              "_pu", "(Ljava/util/UUID;)Lorg/bukkit/entity/Player;")
+          .replaceReceiver(owner, "getWorld", "(Ljava/lang/String;)Lorg/bukkit/World;",
+              "_ws", "(Ljava/lang/String;)Lorg/bukkit/World;")
+          .replaceReceiver(owner, "getWorld", "(Ljava/util/UUID;)Lorg/bukkit/World;",
+              "_wu", "(Ljava/util/UUID;)Lorg/bukkit/World;");
+    }
+
+    b.group("WorldGetPlayers").reason(WORLD_ENTITIES)
+        .redirect(WORLD, "getPlayers", "()Ljava/util/List;",
+            "_gp", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;)Ljava/util/List;");
+
+    b.group("WorldGetHighestBlockAt").reason("Thread-unsafe world block access")
+        .redirect(WORLD, "getHighestBlockAt", "(II)Lorg/bukkit/block/Block;",
+            "safeGetHighestBlockAt", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;II)Lorg/bukkit/block/Block;");
+
+    b.group("WorldSpawnEntity").reason(ENTITY_SPAWN)
+        .redirect(WORLD, "spawn", "(Lorg/bukkit/Location;Ljava/lang/Class;)Lorg/bukkit/entity/Entity;",
+            "safeSpawnEntity", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Ljava/lang/Class;)Lorg/bukkit/entity/Entity;")
+        .discarded("safeSpawnEntity_ff")
+        .redirect(WORLD, "spawnEntity", "(Lorg/bukkit/Location;Lorg/bukkit/entity/EntityType;)Lorg/bukkit/entity/Entity;",
+            "safeSpawnEntity", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/entity/EntityType;)Lorg/bukkit/entity/Entity;")
+        .discarded("safeSpawnEntity_ff")
+        .redirect(WORLD, "dropItem", "(Lorg/bukkit/Location;Lorg/bukkit/inventory/ItemStack;)Lorg/bukkit/entity/Item;",
+            "safeDropItem", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/inventory/ItemStack;)Lorg/bukkit/entity/Item;")
+        .discarded("safeDropItem_ff")
+        .redirect(WORLD, "dropItemNaturally", "(Lorg/bukkit/Location;Lorg/bukkit/inventory/ItemStack;)Lorg/bukkit/entity/Item;",
+            "safeDropItemNaturally", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/inventory/ItemStack;)Lorg/bukkit/entity/Item;")
+        .discarded("safeDropItemNaturally_ff");
+
+    b.group("Block").reason(BLOCK_CHANGE)
+        .redirect(BLOCK, "setType", "(Lorg/bukkit/Material;)V",
+            "safeSetBlockType", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/Block;Lorg/bukkit/Material;)V")
+        .redirect(BLOCK, "setType", "(Lorg/bukkit/Material;Z)V",
+            "safeSetBlockTypeWithPhysics", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/Block;Lorg/bukkit/Material;Z)V")
+        .redirect(BLOCK, "setBlockData", "(Lorg/bukkit/block/data/BlockData;)V",
+            "safeSetBlockData", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/Block;Lorg/bukkit/block/data/BlockData;)V")
+        .redirect(BLOCK, "setBlockData", "(Lorg/bukkit/block/data/BlockData;Z)V",
+            "safeSetBlockDataWithPhysics", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/Block;Lorg/bukkit/block/data/BlockData;Z)V");
+
+    b.group("Teleport").reason(ENTITY_CHANGE)
+        .redirect(PLAYER, "teleport", "(Lorg/bukkit/Location;)Z",
+            "safeTeleport", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Lorg/bukkit/Location;)Z")
+        .discarded("safeTeleport_ff");
+
+    b.group("PlayerHealth").reason(ENTITY_STATE)
+        .redirect(PLAYER, "getHealth", "()D",
+            "safeGetHealth", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;)D");
+
+    // World, entity and block state calls not already claimed by a group above
+    b.group("ThreadSafety")
+        .reason("Thread-unsafe chunk loading")
+        .redirect(WORLD, "loadChunk", "(IIZ)V", "safeLoadChunk", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;IIZ)V")
+        .reason(WORLD_CHANGE)
+        .redirect(WORLD, "createExplosion", "(Lorg/bukkit/Location;FZZ)Z",
+            "safeCreateExplosion", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;FZZ)Z")
+        .discarded("safeCreateExplosion_ff")
+        .redirect(WORLD, "playEffect", "(Lorg/bukkit/Location;Lorg/bukkit/Effect;Ljava/lang/Object;)V",
+            "safePlayEffect", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/Effect;Ljava/lang/Object;)V")
+        .redirect(WORLD, "playSound", "(Lorg/bukkit/Location;Lorg/bukkit/Sound;FF)V",
+            "safePlaySound", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/Sound;FF)V")
+        .redirect(WORLD, "strikeLightning", "(Lorg/bukkit/Location;)Lorg/bukkit/entity/LightningStrike;",
+            "safeStrikeLightning", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;)Lorg/bukkit/entity/LightningStrike;")
+        .discarded("safeStrikeLightning_ff")
+        .redirect(WORLD, "generateTree", "(Lorg/bukkit/Location;Lorg/bukkit/TreeType;)Z",
+            "safeGenerateTree", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;Lorg/bukkit/TreeType;)Z")
+        .discarded("safeGenerateTree_ff")
+        .redirect(WORLD, "setGameRule", "(Lorg/bukkit/GameRule;Ljava/lang/Object;)Z",
+            "safeSetGameRule", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/GameRule;Ljava/lang/Object;)Z")
+        .discarded("safeSetGameRule_ff")
+        .reason(WORLD_ENTITIES)
+        .redirect(WORLD, "getEntities", "()Ljava/util/List;",
+            "safeGetEntities", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;)Ljava/util/List;")
+        .redirect(WORLD, "getLivingEntities", "()Ljava/util/List;",
+            "safeGetLivingEntities", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;)Ljava/util/List;")
+        .redirect(WORLD, "getNearbyEntities", "(Lorg/bukkit/Location;DDD)Ljava/util/Collection;",
+            "safeGetNearbyEntities", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/World;Lorg/bukkit/Location;DDD)Ljava/util/Collection;");
+    for (String owner : ENTITY_OWNERS) {
+      b.reason(ENTITY_CHANGE)
+          .redirect(owner, "remove", "()V", "safeRemove", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;)V")
+          .redirect(owner, "setVelocity", "(Lorg/bukkit/util/Vector;)V",
+              "safeSetVelocity", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Lorg/bukkit/util/Vector;)V")
+          .redirect(owner, "teleport", "(Lorg/bukkit/Location;)Z",
+              "safeTeleportEntity", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Lorg/bukkit/Location;)Z")
+          .discarded("safeTeleportEntity_ff")
+          .redirect(owner, "setFireTicks", "(I)V",
+              "safeSetFireTicks", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;I)V")
+          .redirect(owner, "setCustomName", "(Ljava/lang/String;)V",
+              "safeSetCustomName", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Ljava/lang/String;)V")
+          .redirect(owner, "setGravity", "(Z)V",
+              "safeSetGravity", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Z)V")
+          .redirect(owner, "damage", "(D)V",
+              "safeDamage", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Damageable;D)V")
+          .redirect(owner, "damage", "(DLorg/bukkit/entity/Entity;)V",
+              "safeDamage", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Damageable;DLorg/bukkit/entity/Entity;)V")
+          .redirect(owner, "setAI", "(Z)V",
+              "safeSetAI", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/LivingEntity;Z)V")
+          .redirect(owner, "setGameMode", "(Lorg/bukkit/GameMode;)V",
+              "safeSetGameMode", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Lorg/bukkit/GameMode;)V")
+          .reason(ENTITY_STATE)
+          .redirect(owner, "getHealth", "()D",
+              "safeGetHealth", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;)D")
+          .reason("Thread-unsafe potion effect modification")
+          .redirect(owner, "addPotionEffect", "(Lorg/bukkit/potion/PotionEffect;)Z",
+              "safeAddPotionEffect", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/LivingEntity;Lorg/bukkit/potion/PotionEffect;)Z")
+          .discarded("safeAddPotionEffect_ff")
+          .redirect(owner, "removePotionEffect", "(Lorg/bukkit/potion/PotionEffectType;)V",
+              "safeRemovePotionEffect", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/LivingEntity;Lorg/bukkit/potion/PotionEffectType;)V")
+          .reason("Thread-unsafe passenger modification")
+          .redirect(owner, "addPassenger", "(Lorg/bukkit/entity/Entity;)Z",
+              "safeAddPassenger", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Lorg/bukkit/entity/Entity;)Z")
+          .discarded("safeAddPassenger_ff")
+          .redirect(owner, "removePassenger", "(Lorg/bukkit/entity/Entity;)Z",
+              "safeRemovePassenger", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;Lorg/bukkit/entity/Entity;)Z")
+          .discarded("safeRemovePassenger_ff")
+          .redirect(owner, "eject", "()Z",
+              "safeEject", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Entity;)Z")
+          .discarded("safeEject_ff");
+    }
+    b.reason("Thread-unsafe block state update")
+        .redirect(BLOCK_STATE, "update", "()Z",
+            "safeUpdateBlockState", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/BlockState;)Z")
+        .discarded("safeUpdateBlockState_ff")
+        .redirect(BLOCK_STATE, "update", "(Z)Z",
+            "safeUpdateBlockState", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/BlockState;Z)Z")
+        .discarded("safeUpdateBlockState_ff")
+        .redirect(BLOCK_STATE, "update", "(ZZ)Z",
+            "safeUpdateBlockState", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/block/BlockState;ZZ)Z")
+        .discarded("safeUpdateBlockState_ff");
+
+    b.group("Player").reason("Thread-unsafe player interaction")
+        .redirect(PLAYER, "sendMessage", "(Ljava/lang/String;)V",
+            "safeSendMessage", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Ljava/lang/String;)V")
+        .redirect(PLAYER, "sendMessage", "([Ljava/lang/String;)V",
+            "safeSendMessages", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;[Ljava/lang/String;)V")
+        .redirect(PLAYER, "kickPlayer", "(Ljava/lang/String;)V",
+            "safeKickPlayer", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Ljava/lang/String;)V")
+        .redirect(PLAYER, "setHealth", "(D)V",
+            "safeSetHealth", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;D)V")
+        .redirect(PLAYER, "setFoodLevel", "(I)V",
+            "safeSetFoodLevel", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;I)V")
+        .redirect(PLAYER, "giveExp", "(I)V",
+            "safeGiveExp", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;I)V")
+        .redirect(PLAYER, "setLevel", "(I)V",
+            "safeSetLevel", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;I)V")
+        .redirect(PLAYER, "playSound", "(Lorg/bukkit/Location;Lorg/bukkit/Sound;FF)V",
+            "safePlaySound", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Lorg/bukkit/Location;Lorg/bukkit/Sound;FF)V")
+        .redirect(PLAYER, "sendTitle", "(Ljava/lang/String;Ljava/lang/String;III)V",
+            "safeSendTitle", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Ljava/lang/String;Ljava/lang/String;III)V")
+        .redirect(PLAYER, "openInventory", "(Lorg/bukkit/inventory/Inventory;)Lorg/bukkit/inventory/InventoryView;",
+            "safeOpenInventory", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;Lorg/bukkit/inventory/Inventory;)Lorg/bukkit/inventory/InventoryView;")
+        .discarded("safeOpenInventory_ff")
+        .redirect(PLAYER, "closeInventory", "()V",
+            "safeCloseInventory", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/entity/Player;)V");
+
+    b.group("Inventory").reason("Thread-unsafe inventory modification")
+        .redirect(INVENTORY, "setItem", "(ILorg/bukkit/inventory/ItemStack;)V",
+            "safeSetItem", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/inventory/Inventory;ILorg/bukkit/inventory/ItemStack;)V")
+        .redirect(INVENTORY, "addItem", "([Lorg/bukkit/inventory/ItemStack;)Ljava/util/HashMap;",
+            "safeAddItem", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/inventory/Inventory;[Lorg/bukkit/inventory/ItemStack;)Ljava/util/HashMap;")
+        .discarded("safeAddItem_ff")
+        .redirect(INVENTORY, "clear", "()V",
+            "safeClear", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/inventory/Inventory;)V");
+
+    b.group("WorldGen").plugin(0)
+        .redirect(PLUGIN, "getDefaultWorldGenerator", null, null, null)
+        .reason("Thread-unsafe world creation");
+    for (String owner : SERVER_OWNERS) {
+      b.replaceReceiver(owner, "createWorld", "(Lorg/bukkit/WorldCreator;)Lorg/bukkit/World;", "createWorld", null);
+    }
+
+    b.group("Scoreboard").reason(SCOREBOARD_USE).plugin(PLUGIN_THIS | PLUGIN_FIELD | PLUGIN_OUTER)
+        .redirect(SCOREBOARD, "registerNewObjective", "(Ljava/lang/String;Ljava/lang/String;)Lorg/bukkit/scoreboard/Objective;",
+            "safeRegisterNewObjective", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;Ljava/lang/String;)Lorg/bukkit/scoreboard/Objective;")
+        .discarded("safeRegisterNewObjective_ff")
+        .redirect(SCOREBOARD, "registerNewTeam", "(Ljava/lang/String;)Lorg/bukkit/scoreboard/Team;",
+            "safeRegisterNewTeam", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;)Lorg/bukkit/scoreboard/Team;")
+        .discarded("safeRegisterNewTeam_ff")
+        .redirect(SCOREBOARD, "resetScores", "(Ljava/lang/String;)V",
+            "safeResetScores", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;)V")
+        .redirect(SCOREBOARD, "clearSlot", "(Lorg/bukkit/scoreboard/DisplaySlot;)V",
+            "safeClearSlot", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Lorg/bukkit/scoreboard/DisplaySlot;)V")
+        .redirect(SCOREBOARD, "getObjective", "(Ljava/lang/String;)Lorg/bukkit/scoreboard/Objective;",
+            "safeGetObjective", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;)Lorg/bukkit/scoreboard/Objective;")
+        .redirect(SCOREBOARD, "getObjectivesByCriteria", "(Ljava/lang/String;)Ljava/util/Set;",
+            "safeGetObjectivesByCriteria", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;)Ljava/util/Set;")
+        .redirect(SCOREBOARD, "getObjectives", "()Ljava/util/Set;",
+            "safeGetObjectives", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;)Ljava/util/Set;")
+        .redirect(SCOREBOARD, "getEntries", "()Ljava/util/Set;",
+            "safeGetEntries", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;)Ljava/util/Set;")
+        .redirect(SCOREBOARD, "getTeam", "(Ljava/lang/String;)Lorg/bukkit/scoreboard/Team;",
+            "safeGetTeam", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;Ljava/lang/String;)Lorg/bukkit/scoreboard/Team;")
+        .redirect(SCOREBOARD, "getTeams", "()Ljava/util/Set;",
+            "safeGetTeams", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Scoreboard;)Ljava/util/Set;")
+        .redirect(TEAM, "addEntry", "(Ljava/lang/String;)V",
+            "safeAddEntry", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;Ljava/lang/String;)V")
+        .redirect(TEAM, "removeEntry", "(Ljava/lang/String;)Z",
+            "safeRemoveEntry", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;Ljava/lang/String;)Z")
+        .discarded("safeRemoveEntry_ff")
+        .redirect(TEAM, "setPrefix", "(Ljava/lang/String;)V",
+            "safeSetPrefix", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;Ljava/lang/String;)V")
+        .redirect(TEAM, "setSuffix", "(Ljava/lang/String;)V",
+            "safeSetSuffix", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;Ljava/lang/String;)V")
+        .redirect(TEAM, "unregister", "()V",
+            "safeUnregisterTeam", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;)V")
+        .redirect(TEAM, "getEntries", "()Ljava/util/Set;",
+            "safeGetTeamEntries", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;)Ljava/util/Set;")
+        .redirect(TEAM, "getPlayers", "()Ljava/util/Set;",
+            "safeGetPlayers", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;)Ljava/util/Set;")
+        .redirect(TEAM, "getSize", "()I",
+            "safeGetSize", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Team;)I")
+        .redirect(OBJECTIVE, "setDisplayName", "(Ljava/lang/String;)V",
+            "safeSetDisplayName", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Objective;Ljava/lang/String;)V")
+        .redirect(OBJECTIVE, "unregister", "()V",
+            "safeUnregisterObjective", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Objective;)V")
+        .redirect(OBJECTIVE, "getScore", "(Ljava/lang/String;)Lorg/bukkit/scoreboard/Score;",
+            "safeGetScore", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Objective;Ljava/lang/String;)Lorg/bukkit/scoreboard/Score;")
+        .redirect(SCORE, "setScore", "(I)V",
+            "safeSetScore", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/scoreboard/Score;I)V");
+
+    // scheduler.runTask(plugin, ...) -> FoliaPatcher.runTask(plugin, ...), every overload
+    b.group("SchedulerClass").reason(LEGACY_SCHEDULER).plugin(0);
+    for (String name : SCHEDULER_METHODS) {
+      b.replaceReceiver(SCHEDULER, name, null, null, null);
+    }
+    // runnable.runTask(plugin) -> FoliaPatcher.runTask_onRunnable(runnable, plugin), on any subclass
+    b.reason("Legacy BukkitRunnable task scheduling");
+    for (int i = 0; i < RUNNABLE_METHODS.length; i += 2) {
+      String desc = RUNNABLE_METHODS[i + 1];
+      b.redirect(ANY_OWNER, RUNNABLE_METHODS[i], desc,
+          RUNNABLE_METHODS[i] + "_onRunnable", "(Ljava/lang/Runnable;" + desc.substring(1));
+    }
+
+    b.group("EventCall").reason(EVENT_CALL).plugin(PLUGIN_THIS | PLUGIN_OUTER)
+        .replaceReceiver(PLUGIN_MANAGER, "callEvent", "(Lorg/bukkit/event/Event;)V",
+            "safeCallEvent", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/event/Event;)V");
+
+    b.group("EventFireAndForget").reason(EVENT_CALL)
+        .redirect(PLUGIN_MANAGER, "callEvent", "(Lorg/bukkit/event/Event;)V",
+            "safeCallEvent", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/plugin/PluginManager;Lorg/bukkit/event/Event;)V");
+
+    b.group("ServerVersion")
+        .constant(BUKKIT, "getVersion", "()Ljava/lang/String;", "CACHED_SERVER_VERSION")
+        .constant(BUKKIT, "getBukkitVersion", "()Ljava/lang/String;", "CACHED_BUKKIT_VERSION");
+
+    b.group("CommandDispatch").reason("Thread-unsafe command dispatch");
+    for (String owner : SERVER_OWNERS) {
+      b.replaceReceiver(owner, "dispatchCommand", "(Lorg/bukkit/command/CommandSender;Ljava/lang/String;)Z",
+              "_b_dc", "(Lorg/bukkit/plugin/Plugin;Lorg/bukkit/command/CommandSender;Ljava/lang/String;)Z")
+          .discarded("_dc");
+    }
+
+    b.group("OfflinePlayer").reason("Blocking offline player access");
+    for (String owner : SERVER_OWNERS) {
+      b.replaceReceiver(owner, "getOfflinePlayer", "(Ljava/lang/String;)Lorg/bukkit/OfflinePlayer;",
+              "_b_gop", "(Lorg/bukkit/plugin/Plugin;Ljava/lang/String;)Lorg/bukkit/OfflinePlayer;")
+          .replaceReceiver(owner, "getOfflinePlayer", "(Ljava/util/UUID;)Lorg/bukkit/OfflinePlayer;",
+              "_b_gop", "(Lorg/bukkit/plugin/Plugin;Ljava/util/UUID;)Lorg/bukkit/OfflinePlayer;");
+    }
+
+    addScanRules(b);
+    return b.build();
+  }
+
+  /**
+   * Calls that are reported and make a class worth patching, even in overloads
+   * no redirect covers.
+   */
+  private static void addScanRules(RedirectTable.Builder b) {
+    b.group("Scan")
+        .scanOwner("com/patch/foliaphantom/core/patcher/FoliaPatcher")
+        .scanOwner("org/bukkit/WorldCreator")
+        .scanOwner("org/bukkit/plugin/java/JavaPlugin")
+        .scan(PLUGIN, "getDefaultWorldGenerator")
+        .reason(LEGACY_SCHEDULER).scanOwner(SCHEDULER).scanOwner(RUNNABLE)
+        .reason(SCOREBOARD_USE).scanOwner(SCOREBOARD).scanOwner(TEAM).scanOwner(OBJECTIVE).scanOwner(SCORE)
+        .reason(EVENT_CALL).scan(PLUGIN_MANAGER, "callEvent")
+        .reason(BLOCK_CHANGE).scan(BLOCK, "setType").scan(BLOCK, "setBlockData")
+        .reason(ENTITY_SPAWN).scan(WORLD, "spawn")
+        .reason("Thread-unsafe chunk loading").scan(WORLD, "loadChunk")
+        .reason(WORLD_ENTITIES).scan(WORLD, "getEntities").scan(WORLD, "getLivingEntities")
+        .scan(WORLD, "getPlayers").scan(WORLD, "getNearbyEntities")
+        .reason("Thread-unsafe world block access").scan(WORLD, "getHighestBlockAt")
+        .reason("Thread-unsafe raytracing").scan(WORLD, "rayTraceBlocks").scan(WORLD, "rayTraceEntities")
+        .reason("Thread-unsafe particle spawning").scan(WORLD, "spawnParticle")
+        .reason("Thread-unsafe block state update").scan(BLOCK_STATE, "update")
+        .reason("Thread-unsafe inventory modification")
+        .scan(INVENTORY, "setItem").scan(INVENTORY, "addItem").scan(INVENTORY, "clear")
+        .reason("Thread-unsafe chunk entity access").scan("org/bukkit/Chunk", "getEntities")
+        .reason("Thread-unsafe chunk state change").scan("org/bukkit/Chunk", "load").scan("org/bukkit/Chunk", "unload")
+        .reason("Thread-unsafe attribute access").scan("org/bukkit/attribute/Attributable", "getAttribute");
+
+    for (String owner : SERVER_OWNERS) {
+      b.reason(MIRRORING).scan(owner, "getOnlinePlayers").scan(owner, "getWorlds")
+          .scan(owner, "getPlayer").scan(owner, "getPlayerExact").scan(owner, "getWorld")
+          .reason("Thread-unsafe world creation").scan(owner, "createWorld")
+          .reason("Thread-unsafe command dispatch").scan(owner, "dispatchCommand")
+          .reason("Blocking offline player access").scan(owner, "getOfflinePlayer");
+    }
+    for (String owner : new String[] { "org/bukkit/boss/BossBar", "org/bukkit/boss/KeyedBossBar" }) {
+      b.reason("Thread-unsafe bossbar modification")
+          .scan(owner, "addPlayer").scan(owner, "removePlayer").scan(owner, "removeAll");
+    }
+    for (String owner : ENTITY_OWNERS) {
+      b.reason(ENTITY_CHANGE);
+      for (String name : new String[] { "remove", "setVelocity", "teleport", "setFireTicks", "setCustomName",
+          "setGravity", "damage", "setAI", "setGameMode" }) {
+        b.scan(owner, name);
+      }
+      b.reason(ENTITY_STATE).scan(owner, "getHealth")
+          .reason("Thread-unsafe potion effect modification")
+          .scan(owner, "addPotionEffect").scan(owner, "removePotionEffect")
+          .scan(owner, "hasPotionEffect").scan(owner, "getPotionEffect")
+          .reason("Thread-unsafe passenger modification")
+          .scan(owner, "addPassenger").scan(owner, "removePassenger").scan(owner, "eject")
+          .reason("Thread-unsafe nearby entity access").scan(owner, "getNearbyEntities")
+          .reason("Thread-unsafe scoreboard tag modification")
+          .scan(owner, "addScoreboardTag").scan(owner, "removeScoreboardTag");
+    }
+  }
+}
@@ -0,0 +1,376 @@
+/*
+ * Folia Phantom - Redirect Table
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer.dispatch;
+
+import org.objectweb.asm.Opcodes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable dispatch table of every call site rule, compiled into perfect hashes.
+ *
+ * <p>
+ * Rules are grouped by owner and method name. Each group is stored in a
+ * minimal-probe hash-and-displace table: the bucket of a key picks a
+ * displacement that was chosen at build time so that no two keys share a slot.
+ * A lookup therefore hashes the owner and name once (both strings cache their
+ * hash code), reads one slot, and confirms the hit with a hash compare and two
+ * string compares. Descriptors are then checked against the few candidate
+ * rules of the group, in the order the rules were declared.
+ * </p>
+ *
+ * <p>
+ * The same table drives the transformer, the pre-transformation scan and the
+ * audit, so the three can never disagree about which calls matter.
+ * </p>
+ */
+public final class RedirectTable {
+
+  private final List<RedirectRule> rules;
+  private final Index<RedirectRule[]> methods;
+  private final Index<RedirectRule[]> owners;
+
+  private RedirectTable(List<RedirectRule> rules) {
+    this.rules = Collections.unmodifiableList(new ArrayList<>(rules));
+
+    Map<List<String>, List<RedirectRule>> byMethod = new LinkedHashMap<>();
+    Map<List<String>, List<RedirectRule>> byOwner = new LinkedHashMap<>();
+    for (RedirectRule rule : rules) {
+      if (rule.getName() == null) {
+        byOwner.computeIfAbsent(List.of(rule.getOwner(), ""), k -> new ArrayList<>()).add(rule);
+      } else {
+        byMethod.computeIfAbsent(List.of(rule.getOwner(), rule.getName()), k -> new ArrayList<>()).add(rule);
+      }
+    }
+    this.methods = Index.build(byMethod);
+    this.owners = Index.build(byOwner);
+  }
+
+  /**
+   * @return A builder for a new table
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Returns the candidate rules for a method instruction, in declaration order.
+   *
+   * <p>
+   * Rules for the exact owner win; {@link RedirectRule#ANY_OWNER} rules are only
+   * consulted for {@code INVOKEVIRTUAL} calls without an exact match, since they
+   * target methods inherited by user subclasses.
+   * </p>
+   *
+   * @return The candidates, or null if no rule names this owner and method
+   */
+  public RedirectRule[] lookup(int opcode, String owner, String name) {
+    RedirectRule[] candidates = methods.get(owner, name);
+    if (candidates == null && opcode == Opcodes.INVOKEVIRTUAL) {
+      candidates = methods.get(RedirectRule.ANY_OWNER, name);
+    }
+    return candidates;
+  }
+
+  /**
+   * Returns the first rule matching a method instruction, ignoring whether a
+   * plugin instance would be available to apply it.
+   *
+   * @return The rule, or null if no method rule matches
+   */
+  public RedirectRule match(int opcode, String owner, String name, String desc) {
+    RedirectRule[] candidates = lookup(opcode, owner, name);
+    if (candidates != null) {
+      for (RedirectRule rule : candidates) {
+        if (rule.matchesDesc(desc)) {
+          return rule;
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * Returns the rules that apply to every call on {@code owner}.
+   *
+   * @return The rules, or null if there are none
+   */
+  public RedirectRule[] ownerRules(String owner) {
+    return owners.get(owner, "");
+  }
+
+  /**
+   * @return Whether the instruction is worth transforming: some method or owner rule matches it
+   */
+  public boolean isInteresting(int opcode, String owner, String name, String desc) {
+    return match(opcode, owner, name, desc) != null || ownerRules(owner) != null;
+  }
+
+  /**
+   * Returns the audit finding for a method instruction.
+   *
+   * @return The reason of the first matching method rule that has one, else
+   *         that of the owner rules, else null
+   */
+  public String reason(int opcode, String owner, String name, String desc) {
+    RedirectRule[] candidates = lookup(opcode, owner, name);
+    if (candidates != null) {
+      for (RedirectRule rule : candidates) {
+        if (rule.matchesDesc(desc) && rule.getReason() != null) {
+          return rule.getReason();
+        }
+      }
+    }
+    RedirectRule[] ownerWide = ownerRules(owner);
+    if (ownerWide != null) {
+      for (RedirectRule rule : ownerWide) {
+        if (rule.getReason() != null) {
+          return rule.getReason();
+        }
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return All rules in declaration order
+   */
+  public List<RedirectRule> getRules() {
+    return rules;
+  }
+
+  /**
+   * Collects rules in precedence order.
+   *
+   * <p>
+   * Rules are declared in groups. {@link #group(String)} starts a group and
+   * resets the defaults; {@link #reason(String)} and {@link #plugin(int)} change
+   * the defaults for the rules that follow. When two rules match the same call,
+   * the one declared first wins.
+   * </p>
+   */
+  public static final class Builder {
+    private final List<RedirectRule> rules = new ArrayList<>();
+    private String origin = "Redirect";
+    private String reason;
+    private int pluginSources = RedirectRule.PLUGIN_THIS | RedirectRule.PLUGIN_FIELD;
+
+    private Builder() {
+    }
+
+    /**
+     * Starts a group of rules: the origin is used in log messages, the reason is
+     * cleared and the plugin sources go back to {@code this} or a plugin field.
+     */
+    public Builder group(String origin) {
+      this.origin = origin;
+      this.reason = null;
+      this.pluginSources = RedirectRule.PLUGIN_THIS | RedirectRule.PLUGIN_FIELD;
+      return this;
+    }
+
+    /**
+     * Sets the audit finding for the following rules; null means not reported.
+     */
+    public Builder reason(String reason) {
+      this.reason = reason;
+      return this;
+    }
+
+    /**
+     * Sets where the following rules may take the plugin instance from, as a
+     * bit set of {@code RedirectRule.PLUGIN_*}; 0 means the target takes no plugin.
+     */
+    public Builder plugin(int sources) {
+      this.pluginSources = sources;
+      return this;
+    }
+
+    /**
+     * Redirects a call to a static method that takes the receiver (if any) after the plugin.
+     *
+     * @param targetDesc The target descriptor, or null to derive it from the call
+     */
+    public Builder redirect(String owner, String name, String desc, String targetName, String targetDesc) {
+      return add(owner, name, desc, RedirectRule.Action.INVOKE, targetName, targetDesc, true);
+    }
+
+    /**
+     * Redirects a call to a static method, discarding the receiver.
+     *
+     * @param targetDesc The target descriptor, or null to derive it from the call
+     */
+    public Builder replaceReceiver(String owner, String name, String desc, String targetName, String targetDesc) {
+      return add(owner, name, desc, RedirectRule.Action.INVOKE, targetName, targetDesc, false);
+    }
+
+    /**
+     * Replaces a static no-argument call with a static field read.
+     */
+    public Builder constant(String owner, String name, String desc, String field) {
+      return add(owner, name, desc, RedirectRule.Action.CONSTANT, field, null, false);
+    }
+
+    /**
+     * Marks every overload of {@code owner#name} as interesting without rewriting it.
+     */
+    public Builder scan(String owner, String name) {
+      return add(owner, name, null, RedirectRule.Action.SCAN, null, null, true);
+    }
+
+    /**
+     * Marks every call on {@code owner} as interesting without rewriting it.
+     */
+    public Builder scanOwner(String owner) {
+      return add(owner, null, null, RedirectRule.Action.SCAN, null, null, true);
+    }
+
+    /**
+     * Gives the rule declared last a void variant of its target, called where
+     * the result of the redirected call is discarded.
+     */
+    public Builder discarded(String discardTargetName) {
+      int last = rules.size() - 1;
+      if (last < 0 || rules.get(last).getAction() != RedirectRule.Action.INVOKE) {
+        throw new IllegalStateException("discarded() must follow a redirect");
+      }
+      rules.set(last, rules.get(last).withDiscardTarget(discardTargetName));
+      return this;
+    }
+
+    private Builder add(String owner, String name, String desc, RedirectRule.Action action, String targetName,
+        String targetDesc, boolean keepReceiver) {
+      int sources = action == RedirectRule.Action.INVOKE ? pluginSources : 0;
+      rules.add(new RedirectRule(owner, name, desc, action, targetName, targetDesc, keepReceiver, sources, reason,
+          origin, null));
+      return this;
+    }
+
+    /**
+     * @return The compiled table
+     */
+    public RedirectTable build() {
+      return new RedirectTable(rules);
+    }
+  }
+
+  /**
+   * A perfect hash from (first, second) string pairs to values, built once.
+   */
+  private static final class Index<V> {
+    private static final int MAX_DISPLACEMENT = 1 << 20;
+
+    private final int bucketMask;
+    private final int slotMask;
+    private final int[] displacements;
+    private final int[] hashes;
+    private final String[] firsts;
+    private final String[] seconds;
+    private final Object[] values;
+
+    private Index(int buckets, int slots) {
+      this.bucketMask = buckets - 1;
+      this.slotMask = slots - 1;
+      this.displacements = new int[buckets];
+      this.hashes = new int[slots];
+      this.firsts = new String[slots];
+      this.seconds = new String[slots];
+      this.values = new Object[slots];
+    }
+
+    static Index<RedirectRule[]> build(Map<List<String>, List<RedirectRule>> groups) {
+      int n = groups.size();
+      Index<RedirectRule[]> index = new Index<>(powerOfTwo(Math.max(1, n / 4)), powerOfTwo(Math.max(2, n * 2)));
+
+      List<List<List<String>>> buckets = new ArrayList<>();
+      for (int i = 0; i <= index.bucketMask; i++) {
+        buckets.add(new ArrayList<>());
+      }
+      for (List<String> key : groups.keySet()) {
+        buckets.get(hash(key.get(0), key.get(1)) & index.bucketMask).add(key);
+      }
+
+      // Place the largest buckets first, while the table is still empty
+      List<Integer> order = new ArrayList<>();
+      for (int i = 0; i < buckets.size(); i++) {
+        order.add(i);
+      }
+      order.sort((a, b) -> buckets.get(b).size() - buckets.get(a).size());
+
+      boolean[] used = new boolean[index.slotMask + 1];
+      for (int bucket : order) {
+        List<List<String>> keys = buckets.get(bucket);
+        if (keys.isEmpty()) {
+          continue;
+        }
+        int displacement = 0;
+        while (!fits(keys, displacement, used, index.slotMask)) {
+          if (++displacement == MAX_DISPLACEMENT) {
+            throw new IllegalStateException("Could not build a perfect hash for " + n + " keys");
+          }
+        }
+        index.displacements[bucket] = displacement;
+        for (List<String> key : keys) {
+          int h = hash(key.get(0), key.get(1));
+          int slot = slot(h, displacement, index.slotMask);
+          used[slot] = true;
+          index.hashes[slot] = h;
+          index.firsts[slot] = key.get(0);
+          index.seconds[slot] = key.get(1);
+          index.values[slot] = groups.get(key).toArray(new RedirectRule[0]);
+        }
+      }
+      return index;
+    }
+
+    private static boolean fits(List<List<String>> keys, int displacement, boolean[] used, int slotMask) {
+      int[] taken = new int[keys.size()];
+      for (int i = 0; i < keys.size(); i++) {
+        int slot = slot(hash(keys.get(i).get(0), keys.get(i).get(1)), displacement, slotMask);
+        if (used[slot]) {
+          return false;
+        }
+        for (int j = 0; j < i; j++) {
+          if (taken[j] == slot) {
+            return false;
+          }
+        }
+        taken[i] = slot;
+      }
+      return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(String first, String second) {
+      int h = hash(first, second);
+      int slot = slot(h, displacements[h & bucketMask], slotMask);
+      Object value = values[slot];
+      if (value == null || hashes[slot] != h || !first.equals(firsts[slot]) || !second.equals(seconds[slot])) {
+        return null;
+      }
+      return (V) value;
+    }
+
+    private static int hash(String first, String second) {
+      int h = first.hashCode() * 0x9E3779B1 + second.hashCode();
+      return h ^ (h >>> 15);
+    }
+
+    private static int slot(int hash, int displacement, int slotMask) {
+      int h = (hash + displacement * 0x7FEB352D) * 0x846CA68B;
+      return (h ^ (h >>> 16)) & slotMask;
+    }
+
+    private static int powerOfTwo(int n) {
+      return n <= 1 ? 1 : Integer.highestOneBit(n - 1) << 1;
+    }
+  }
+}
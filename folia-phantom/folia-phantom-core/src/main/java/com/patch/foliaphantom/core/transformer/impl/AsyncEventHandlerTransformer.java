@@ -6,7 +6,10 @@
  */
 package com.patch.foliaphantom.core.transformer.impl;
 
-import com.patch.foliaphantom.core.transformer.ClassTransformer;
+import com.patch.foliaphantom.core.hierarchy.HierarchyClassWriter;
+import com.patch.foliaphantom.core.hierarchy.TypeHierarchy;
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
+import com.patch.foliaphantom.core.transformer.NodeTransformer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
@@ -14,7 +17,6 @@ import java.util.Set;
 import java.util.logging.Logger;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
-import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.Handle;
 import org.objectweb.asm.MethodVisitor;
@@ -25,7 +27,11 @@ import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.FieldNode;
 import org.objectweb.asm.tree.MethodNode;
 
-public class AsyncEventHandlerTransformer implements ClassTransformer {
+/**
+ * Moves the body of designated event handlers into a synthetic method that is
+ * run on the async scheduler.
+ */
+public class AsyncEventHandlerTransformer implements NodeTransformer {
 
     private static final String EVENT_HANDLER_DESC = "Lorg/bukkit/event/EventHandler;";
     private static final String PLUGIN_DESC = "Lorg/bukkit/plugin/Plugin;";
@@ -35,15 +41,35 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
     private final Logger logger;
     private final String relocatedPatcherPath;
     private final Set<String> asyncEventHandlers;
+    private final TypeHierarchy hierarchy;
 
     public AsyncEventHandlerTransformer(Logger logger, String relocatedPatcherPath, Set<String> asyncEventHandlers) {
+        this(logger, relocatedPatcherPath, asyncEventHandlers, TypeHierarchy.platform());
+    }
+
+    /**
+     * @param hierarchy The types used to compute stack map frames of rewritten classes
+     */
+    public AsyncEventHandlerTransformer(Logger logger, String relocatedPatcherPath, Set<String> asyncEventHandlers,
+            TypeHierarchy hierarchy) {
         this.logger = logger;
         this.relocatedPatcherPath = relocatedPatcherPath;
         this.asyncEventHandlers = asyncEventHandlers != null ? asyncEventHandlers : Collections.emptySet();
+        this.hierarchy = hierarchy;
     }
 
+    @Override
+    public boolean isEnabled() {
+        return !asyncEventHandlers.isEmpty();
+    }
+
+    /**
+     * Transforms a class on its own, parsing and writing it.
+     *
+     * @return The transformed class, or {@code classBytes} itself if nothing changed
+     */
     public byte[] transform(byte[] classBytes) {
-        if (asyncEventHandlers.isEmpty()) {
+        if (!isEnabled()) {
             return classBytes;
         }
 
@@ -51,15 +77,31 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
         ClassNode classNode = new ClassNode();
         classReader.accept(classNode, ClassReader.EXPAND_FRAMES);
 
-        if ((classNode.access & Opcodes.ACC_INTERFACE) != 0) {
-            return classBytes;
+        if (transform(classNode)) {
+            ClassWriter classWriter = new HierarchyClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES, hierarchy);
+            classNode.accept(classWriter);
+            return classWriter.toByteArray();
+        }
+
+        return classBytes;
+    }
+
+    @Override
+    public boolean transform(ClassNode classNode) {
+        return transform(classNode, new ChangeTracker());
+    }
+
+    @Override
+    public boolean transform(ClassNode classNode, ChangeTracker changes) {
+        if (!isEnabled() || (classNode.access & Opcodes.ACC_INTERFACE) != 0) {
+            return false;
         }
 
         FieldNode pluginField = findPluginField(classNode);
         boolean isPluginClass = isPluginClass(classNode);
 
         if (pluginField == null && !isPluginClass) {
-            return classBytes; // No plugin instance found, cannot transform.
+            return false; // No plugin instance found, cannot transform.
         }
 
         boolean transformed = false;
@@ -70,17 +112,12 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
             if (asyncEventHandlers.contains(fullMethodName) && isEventHandler(methodNode)) {
                 logger.info("Transforming designated async event handler: " + fullMethodName);
                 transformMethod(classNode, methodNode, pluginField, isPluginClass);
+                changes.markChanged(getName(), "asyncHandler");
                 transformed = true;
             }
         }
 
-        if (transformed) {
-            ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS | ClassWriter.COMPUTE_FRAMES);
-            classNode.accept(classWriter);
-            return classWriter.toByteArray();
-        }
-
-        return classBytes;
+        return transformed;
     }
 
     private void transformMethod(ClassNode classNode, MethodNode originalMethod, FieldNode pluginField, boolean isPluginClass) {
@@ -90,6 +127,9 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
         // 1. Create a new private method and move the original code into it.
         MethodNode asyncMethod = new MethodNode(access, asyncMethodName, originalMethod.desc, originalMethod.signature, originalMethod.exceptions.toArray(new String[0]));
         originalMethod.accept(asyncMethod);
+        // The copy must not be registered as a handler of its own
+        asyncMethod.visibleAnnotations = null;
+        asyncMethod.invisibleAnnotations = null;
         classNode.methods.add(asyncMethod);
 
         // 2. Clear the original method's body.
@@ -141,7 +181,7 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
         );
 
         // Call FoliaPatcher.executeAsync(Plugin, Runnable)
-        mv.visitMethodInsn(Opcodes.INVOKESTATIC, relocatedPatcherPath, "executeAsync", "(Lorg/bukkit/plugin/Plugin;Ljava/lang/Runnable;)V", false);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, relocatedPatcherPath + "/FoliaPatcher", "executeAsync", "(Lorg/bukkit/plugin/Plugin;Ljava/lang/Runnable;)V", false);
 
         mv.visitInsn(Opcodes.RETURN);
         mv.visitMaxs(0, 0); // Will be recomputed by ClassWriter
@@ -209,11 +249,4 @@ public class AsyncEventHandlerTransformer implements ClassTransformer {
         }
         return false;
     }
-
-    @Override
-    public ClassVisitor createVisitor(ClassVisitor parent) {
-        // This transformer uses ClassNode and is incompatible with the visitor chain.
-        // The transform(byte[]) method should be called directly.
-        throw new UnsupportedOperationException("This transformer requires ClassNode processing.");
-    }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@
 
 package com.patch.foliaphantom.core.transformer.impl;
 
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
 import com.patch.foliaphantom.core.transformer.ClassTransformer;
 import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassVisitor;
@@ -31,28 +32,48 @@ public class EventHandlerTransformer implements ClassTransformer {
 
     @Override
     public ClassVisitor createVisitor(ClassVisitor parent) {
-        return new EventHandlerClassVisitor(parent);
+        return createVisitor(parent, new ChangeTracker());
+    }
+
+    @Override
+    public ClassVisitor createVisitor(ClassVisitor parent, ChangeTracker changes) {
+        return new EventHandlerClassVisitor(parent, changes);
     }
 
     private class EventHandlerClassVisitor extends ClassVisitor {
-        public EventHandlerClassVisitor(ClassVisitor classVisitor) {
+        private final ChangeTracker changes;
+        private String className;
+
+        public EventHandlerClassVisitor(ClassVisitor classVisitor, ChangeTracker changes) {
             super(Opcodes.ASM9, classVisitor);
+            this.changes = changes;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            this.className = name;
+            super.visit(version, access, name, signature, superName, interfaces);
         }
 
         @Override
         public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
             MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
-            return new EventHandlerMethodVisitor(mv, access, name, descriptor);
+            return new EventHandlerMethodVisitor(mv, access, name, descriptor, className, changes);
         }
     }
 
     private class EventHandlerMethodVisitor extends AdviceAdapter {
+        private final ChangeTracker changes;
+        private final String owner;
         private boolean isEventHandler = false;
         private boolean isMonitorPriority = false;
         private boolean ignoreCancelled = false; // Defaults to false, as per Bukkit's annotation
 
-        protected EventHandlerMethodVisitor(MethodVisitor methodVisitor, int access, String name, String descriptor) {
+        protected EventHandlerMethodVisitor(MethodVisitor methodVisitor, int access, String name, String descriptor,
+                String owner, ChangeTracker changes) {
             super(Opcodes.ASM9, methodVisitor, access, name, descriptor);
+            this.owner = owner;
+            this.changes = changes;
         }
 
         @Override
@@ -69,7 +90,7 @@ public class EventHandlerTransformer implements ClassTransformer {
             // Inject check only if it's a handler, not MONITOR priority, and doesn't ignore cancelled events
             if (isEventHandler && !isMonitorPriority && !ignoreCancelled) {
                 Type[] args = Type.getArgumentTypes(methodDesc);
-                if (args.length == 1) {
+                if (args.length == 1 && (methodAccess & ACC_STATIC) == 0) {
                     Label skipReturnLabel = new Label();
 
                     // Check if the event is an instance of Cancellable
@@ -86,12 +107,37 @@ public class EventHandlerTransformer implements ClassTransformer {
                     // If so, return
                     mv.visitInsn(RETURN);
 
+                    // Frames are neither computed nor shifted by the writer, so the
+                    // branch target needs its own; the NOP keeps it apart from a
+                    // frame the original code may have at its first instruction.
                     mv.visitLabel(skipReturnLabel);
+                    mv.visitFrame(F_NEW, 2, new Object[] {owner, frameType(args[0])}, 0, null);
+                    mv.visitInsn(NOP);
+                    changes.markChanged(EventHandlerTransformer.this.getName(), "cancellationCheck");
                     logger.fine("Injected cancellation check into: " + getName());
                 }
             }
         }
 
+        private Object frameType(Type type) {
+            switch (type.getSort()) {
+                case Type.BOOLEAN:
+                case Type.BYTE:
+                case Type.CHAR:
+                case Type.SHORT:
+                case Type.INT:
+                    return INTEGER;
+                case Type.FLOAT:
+                    return FLOAT;
+                case Type.LONG:
+                    return LONG;
+                case Type.DOUBLE:
+                    return DOUBLE;
+                default:
+                    return type.getInternalName();
+            }
+        }
+
         private class EventHandlerAnnotationVisitor extends AnnotationVisitor {
             public EventHandlerAnnotationVisitor(AnnotationVisitor annotationVisitor) {
                 super(Opcodes.ASM9, annotationVisitor);
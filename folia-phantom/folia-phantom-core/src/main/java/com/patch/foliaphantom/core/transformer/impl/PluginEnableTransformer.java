@@ -6,6 +6,7 @@
  */
 package com.patch.foliaphantom.core.transformer.impl;
 
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
 import com.patch.foliaphantom.core.transformer.ClassTransformer;
 import org.objectweb.asm.*;
 import org.objectweb.asm.commons.AdviceAdapter;
@@ -27,16 +28,25 @@ public class PluginEnableTransformer implements ClassTransformer {
 
     @Override
     public ClassVisitor createVisitor(ClassVisitor next) {
-        return new PluginEnableVisitor(next, relocatedPatcherPath + "/FoliaPatcher");
+        return createVisitor(next, new ChangeTracker());
+    }
+
+    @Override
+    public ClassVisitor createVisitor(ClassVisitor next, ChangeTracker changes) {
+        return new PluginEnableVisitor(next, relocatedPatcherPath + "/FoliaPatcher", getName(), changes);
     }
 
     private static class PluginEnableVisitor extends ClassVisitor {
         private final String patcherPath;
+        private final String transformerName;
+        private final ChangeTracker changes;
         private boolean isJavaPlugin;
 
-        public PluginEnableVisitor(ClassVisitor cv, String patcherPath) {
+        public PluginEnableVisitor(ClassVisitor cv, String patcherPath, String transformerName, ChangeTracker changes) {
             super(Opcodes.ASM9, cv);
             this.patcherPath = patcherPath;
+            this.transformerName = transformerName;
+            this.changes = changes;
         }
 
         @Override
@@ -51,6 +61,7 @@ public class PluginEnableTransformer implements ClassTransformer {
             MethodVisitor mv = super.visitMethod(access, name, desc, sig, ex);
             // Inject into onEnable()V
             if (isJavaPlugin && "onEnable".equals(name) && "()V".equals(desc)) {
+                changes.markChanged(transformerName, "onEnable");
                 return new PluginEnableMethodVisitor(mv, access, name, desc, patcherPath);
             }
             return mv;
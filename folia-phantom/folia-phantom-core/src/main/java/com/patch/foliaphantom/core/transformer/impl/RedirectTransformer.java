@@ -0,0 +1,441 @@
+/*
+ * Folia Phantom - Redirect Transformer
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.core.transformer.impl;
+
+import com.patch.foliaphantom.core.transformer.ChangeTracker;
+import com.patch.foliaphantom.core.transformer.ClassTransformer;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRule;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectRules;
+import com.patch.foliaphantom.core.transformer.dispatch.RedirectTable;
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Handle;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+import org.objectweb.asm.TypePath;
+import org.objectweb.asm.commons.AdviceAdapter;
+
+import java.util.logging.Logger;
+
+/**
+ * Applies every call site redirect of a {@link RedirectTable} in a single method visitor.
+ *
+ * <p>
+ * Each method instruction costs one table lookup. A matching rule is applied
+ * in place: the receiver and arguments are moved into locals as needed, the
+ * calling plugin is injected from {@code this}, a plugin field or the enclosing
+ * instance, and the call is replaced with a static {@code FoliaPatcher} call or
+ * constant. If a rule needs a plugin instance the method cannot provide (static
+ * methods, constructors before {@code super()}), the next matching rule is
+ * tried, and the call is left alone if none applies.
+ * </p>
+ *
+ * <p>
+ * A target that blocks for its result is replaced with the rule's void variant
+ * where the very next instruction pops that result, which is what javac emits
+ * for a call used as a statement. Such call sites no longer wait for the
+ * scheduled call to complete, whether or not the plugin was patched in
+ * fire-and-forget mode.
+ * </p>
+ */
+public class RedirectTransformer implements ClassTransformer {
+    private static final String PLUGIN_DESC = "Lorg/bukkit/plugin/Plugin;";
+    private static final String JAVA_PLUGIN_DESC = "Lorg/bukkit/plugin/java/JavaPlugin;";
+    private static final String OUTER_FIELD = "this$0";
+
+    private final Logger logger;
+    private final String patcherOwner;
+    private final RedirectTable table;
+
+    public RedirectTransformer(Logger logger, String relocatedPatcherPath) {
+        this(logger, relocatedPatcherPath, RedirectRules.TABLE);
+    }
+
+    public RedirectTransformer(Logger logger, String relocatedPatcherPath, RedirectTable table) {
+        this.logger = logger;
+        this.patcherOwner = relocatedPatcherPath + "/FoliaPatcher";
+        this.table = table;
+    }
+
+    @Override
+    public ClassVisitor createVisitor(ClassVisitor next) {
+        return createVisitor(next, new ChangeTracker());
+    }
+
+    @Override
+    public ClassVisitor createVisitor(ClassVisitor next, ChangeTracker changes) {
+        return new RedirectClassVisitor(next, changes);
+    }
+
+    private class RedirectClassVisitor extends ClassVisitor {
+        private final ChangeTracker changes;
+        private String className;
+        private boolean isJavaPlugin;
+        private boolean hasOuterClass;
+        private String pluginFieldName;
+        private String pluginFieldDesc;
+        private String outerFieldDesc;
+
+        RedirectClassVisitor(ClassVisitor cv, ChangeTracker changes) {
+            super(Opcodes.ASM9, cv);
+            this.changes = changes;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName,
+                String[] interfaces) {
+            this.className = name;
+            this.isJavaPlugin = "org/bukkit/plugin/java/JavaPlugin".equals(superName);
+            super.visit(version, access, name, signature, superName, interfaces);
+        }
+
+        @Override
+        public void visitOuterClass(String owner, String name, String descriptor) {
+            this.hasOuterClass = true;
+            super.visitOuterClass(owner, name, descriptor);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            // Fields are visited before methods, so the plugin sources are known by the first method
+            if (pluginFieldName == null && (PLUGIN_DESC.equals(descriptor) || JAVA_PLUGIN_DESC.equals(descriptor))) {
+                this.pluginFieldName = name;
+                this.pluginFieldDesc = descriptor;
+            } else if (OUTER_FIELD.equals(name)) {
+                this.outerFieldDesc = descriptor;
+            }
+            return super.visitField(access, name, descriptor, signature, value);
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature,
+                String[] exceptions) {
+            MethodVisitor mv = super.visitMethod(access, name, descriptor, signature, exceptions);
+            if (mv == null) {
+                return null;
+            }
+            DiscardedResultVisitor results = new DiscardedResultVisitor(mv);
+            return new RedirectMethodVisitor(results, results, access, name, descriptor);
+        }
+
+        private class RedirectMethodVisitor extends AdviceAdapter {
+            private final DiscardedResultVisitor results;
+            private final boolean isStatic;
+            private boolean thisInitialized;
+            private boolean injectedPlugin;
+
+            RedirectMethodVisitor(MethodVisitor mv, DiscardedResultVisitor results, int access, String name,
+                    String desc) {
+                super(Opcodes.ASM9, mv, access, name, desc);
+                this.results = results;
+                this.isStatic = (access & Opcodes.ACC_STATIC) != 0;
+            }
+
+            @Override
+            protected void onMethodEnter() {
+                // Called at the start of the body, or after super()/this() in a constructor
+                thisInitialized = !isStatic;
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+                RedirectRule[] candidates = table.lookup(opcode, owner, name);
+                if (candidates != null) {
+                    for (RedirectRule rule : candidates) {
+                        if (rule.getAction() == RedirectRule.Action.SCAN || !rule.matchesDesc(desc)) {
+                            continue;
+                        }
+                        int source = rule.injectsPlugin() ? pluginSource(rule.getPluginSources()) : 0;
+                        if (rule.injectsPlugin() && source == 0) {
+                            continue;
+                        }
+                        apply(rule, source, opcode, owner, desc);
+                        changes.markChanged(RedirectTransformer.this.getName(), rule.getOrigin());
+                        logger.fine("[" + rule.getOrigin() + "] Redirected " + owner + "#" + name + " in " + className);
+                        return;
+                    }
+                }
+                super.visitMethodInsn(opcode, owner, name, desc, itf);
+            }
+
+            @Override
+            public void visitMaxs(int maxStack, int maxLocals) {
+                // An injected plugin sits on top of the original operands for one instruction
+                super.visitMaxs(injectedPlugin ? maxStack + 1 : maxStack, maxLocals);
+            }
+
+            /**
+             * @return The first of the allowed plugin sources this method can use, or 0
+             */
+            private int pluginSource(int allowed) {
+                if (!thisInitialized) {
+                    return 0;
+                }
+                if ((allowed & RedirectRule.PLUGIN_THIS) != 0 && isJavaPlugin) {
+                    return RedirectRule.PLUGIN_THIS;
+                }
+                if ((allowed & RedirectRule.PLUGIN_FIELD) != 0 && pluginFieldName != null) {
+                    return RedirectRule.PLUGIN_FIELD;
+                }
+                if ((allowed & RedirectRule.PLUGIN_OUTER) != 0 && hasOuterClass && outerFieldDesc != null) {
+                    return RedirectRule.PLUGIN_OUTER;
+                }
+                return 0;
+            }
+
+            private void apply(RedirectRule rule, int source, int opcode, String owner, String desc) {
+                boolean hasReceiver = opcode != INVOKESTATIC;
+
+                if (rule.getAction() == RedirectRule.Action.CONSTANT) {
+                    if (hasReceiver) {
+                        pop();
+                    }
+                    super.visitFieldInsn(GETSTATIC, patcherOwner, rule.getTargetName(),
+                            Type.getReturnType(desc).getDescriptor());
+                    return;
+                }
+
+                boolean keepReceiver = hasReceiver && rule.keepsReceiver();
+                boolean dropReceiver = hasReceiver && !rule.keepsReceiver();
+                Type[] args = Type.getArgumentTypes(desc);
+
+                if (source == 0 && !dropReceiver) {
+                    // Operands are already in place for the static target
+                } else if (args.length == 0) {
+                    // Stack: [receiver?] -> [plugin?, receiver?]
+                    if (dropReceiver) {
+                        pop();
+                    }
+                    if (source != 0) {
+                        loadPlugin(source);
+                        if (keepReceiver) {
+                            swap();
+                        }
+                    }
+                } else {
+                    // Stack: [receiver?, args...] -> [plugin?, receiver?, args...]
+                    int[] locals = new int[args.length];
+                    for (int i = args.length - 1; i >= 0; i--) {
+                        locals[i] = newLocal(args[i]);
+                        storeLocal(locals[i]);
+                    }
+                    int receiverLocal = -1;
+                    if (keepReceiver && source != 0) {
+                        receiverLocal = newLocal(Type.getObjectType(owner));
+                        storeLocal(receiverLocal);
+                    } else if (dropReceiver) {
+                        pop();
+                    }
+                    if (source != 0) {
+                        loadPlugin(source);
+                    }
+                    if (receiverLocal >= 0) {
+                        loadLocal(receiverLocal);
+                    }
+                    for (int local : locals) {
+                        loadLocal(local);
+                    }
+                }
+
+                if (rule.getDiscardTargetName() != null) {
+                    results.holdBack(rule.getDiscardTargetName());
+                }
+                super.visitMethodInsn(INVOKESTATIC, patcherOwner, rule.getTargetName(),
+                        rule.getTargetDesc(desc, hasReceiver), false);
+            }
+
+            private void loadPlugin(int source) {
+                injectedPlugin = true;
+                loadThis();
+                if (source == RedirectRule.PLUGIN_FIELD) {
+                    getField(Type.getObjectType(className), pluginFieldName, Type.getType(pluginFieldDesc));
+                } else if (source == RedirectRule.PLUGIN_OUTER) {
+                    getField(Type.getObjectType(className), OUTER_FIELD, Type.getType(outerFieldDesc));
+                }
+            }
+        }
+
+        /**
+         * Sits after the redirect visitor and turns a redirected call whose result is
+         * popped right away into a call of the rule's void variant.
+         *
+         * <p>
+         * The call is held back until the next event: a matching {@code POP} or
+         * {@code POP2} is dropped and the variant is written instead; anything else,
+         * including labels and frames, writes the original call first.
+         * </p>
+         */
+        private class DiscardedResultVisitor extends MethodVisitor {
+            private String variant;
+            private String pendingName;
+            private String pendingDesc;
+            private String pendingVariant;
+
+            DiscardedResultVisitor(MethodVisitor mv) {
+                super(Opcodes.ASM9, mv);
+            }
+
+            /**
+             * Holds back the next static call, which may be replaced with {@code variant}.
+             */
+            void holdBack(String variant) {
+                this.variant = variant;
+            }
+
+            private void flush() {
+                if (pendingName != null) {
+                    super.visitMethodInsn(Opcodes.INVOKESTATIC, patcherOwner, pendingName, pendingDesc, false);
+                    pendingName = null;
+                }
+            }
+
+            @Override
+            public void visitMethodInsn(int opcode, String owner, String name, String desc, boolean itf) {
+                flush();
+                if (variant != null && opcode == Opcodes.INVOKESTATIC && patcherOwner.equals(owner)) {
+                    pendingName = name;
+                    pendingDesc = desc;
+                    pendingVariant = variant;
+                    variant = null;
+                    return;
+                }
+                variant = null;
+                super.visitMethodInsn(opcode, owner, name, desc, itf);
+            }
+
+            @Override
+            public void visitInsn(int opcode) {
+                if (pendingName != null) {
+                    int size = Type.getReturnType(pendingDesc).getSize();
+                    if ((opcode == Opcodes.POP && size == 1) || (opcode == Opcodes.POP2 && size == 2)) {
+                        String voidDesc = pendingDesc.substring(0, pendingDesc.indexOf(')') + 1) + "V";
+                        super.visitMethodInsn(Opcodes.INVOKESTATIC, patcherOwner, pendingVariant, voidDesc, false);
+                        pendingName = null;
+                        changes.markChanged(RedirectTransformer.this.getName(), "DiscardedResult");
+                        logger.fine("[DiscardedResult] Called " + pendingVariant + " in " + className);
+                        return;
+                    }
+                }
+                flush();
+                super.visitInsn(opcode);
+            }
+
+            @Override
+            public void visitFrame(int type, int numLocal, Object[] local, int numStack, Object[] stack) {
+                flush();
+                super.visitFrame(type, numLocal, local, numStack, stack);
+            }
+
+            @Override
+            public void visitIntInsn(int opcode, int operand) {
+                flush();
+                super.visitIntInsn(opcode, operand);
+            }
+
+            @Override
+            public void visitVarInsn(int opcode, int varIndex) {
+                flush();
+                super.visitVarInsn(opcode, varIndex);
+            }
+
+            @Override
+            public void visitTypeInsn(int opcode, String type) {
+                flush();
+                super.visitTypeInsn(opcode, type);
+            }
+
+            @Override
+            public void visitFieldInsn(int opcode, String owner, String name, String descriptor) {
+                flush();
+                super.visitFieldInsn(opcode, owner, name, descriptor);
+            }
+
+            @Override
+            public void visitInvokeDynamicInsn(String name, String descriptor, Handle bootstrapMethodHandle,
+                    Object... bootstrapMethodArguments) {
+                flush();
+                super.visitInvokeDynamicInsn(name, descriptor, bootstrapMethodHandle, bootstrapMethodArguments);
+            }
+
+            @Override
+            public void visitJumpInsn(int opcode, Label label) {
+                flush();
+                super.visitJumpInsn(opcode, label);
+            }
+
+            @Override
+            public void visitLabel(Label label) {
+                flush();
+                super.visitLabel(label);
+            }
+
+            @Override
+            public void visitLdcInsn(Object value) {
+                flush();
+                super.visitLdcInsn(value);
+            }
+
+            @Override
+            public void visitIincInsn(int varIndex, int increment) {
+                flush();
+                super.visitIincInsn(varIndex, increment);
+            }
+
+            @Override
+            public void visitTableSwitchInsn(int min, int max, Label dflt, Label... labels) {
+                flush();
+                super.visitTableSwitchInsn(min, max, dflt, labels);
+            }
+
+            @Override
+            public void visitLookupSwitchInsn(Label dflt, int[] keys, Label[] labels) {
+                flush();
+                super.visitLookupSwitchInsn(dflt, keys, labels);
+            }
+
+            @Override
+            public void visitMultiANewArrayInsn(String descriptor, int numDimensions) {
+                flush();
+                super.visitMultiANewArrayInsn(descriptor, numDimensions);
+            }
+
+            @Override
+            public AnnotationVisitor visitInsnAnnotation(int typeRef, TypePath typePath, String descriptor,
+                    boolean visible) {
+                flush();
+                return super.visitInsnAnnotation(typeRef, typePath, descriptor, visible);
+            }
+
+            @Override
+            public void visitTryCatchBlock(Label start, Label end, Label handler, String type) {
+                flush();
+                super.visitTryCatchBlock(start, end, handler, type);
+            }
+
+            @Override
+            public void visitLineNumber(int line, Label start) {
+                flush();
+                super.visitLineNumber(line, start);
+            }
+
+            @Override
+            public void visitMaxs(int maxStack, int maxLocals) {
+                flush();
+                super.visitMaxs(maxStack, maxLocals);
+            }
+
+            @Override
+            public void visitEnd() {
+                flush();
+                super.visitEnd();
+            }
+        }
+    }
+}
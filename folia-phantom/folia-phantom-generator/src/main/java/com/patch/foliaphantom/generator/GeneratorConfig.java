@@ -0,0 +1,341 @@
+/*
+ * Folia Phantom - Generator Config
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.generator;
+
+/**
+ * The shape of a synthetic plugin: its size, how much of it is shaded
+ * library code and how often each API pattern the transformers target occurs.
+ *
+ * <p>
+ * Pattern densities are probabilities per generated statement in plugin
+ * methods, except {@link #getEventHandlerDensity()}, which is the probability
+ * that a plugin method is an {@code @EventHandler}. Shaded library classes
+ * never call the Bukkit API.
+ * </p>
+ *
+ * <p>
+ * Instances are immutable; two generations with equal configs produce
+ * byte-identical JARs.
+ * </p>
+ */
+public final class GeneratorConfig {
+  private final long seed;
+  private final String pluginName;
+  private final int classes;
+  private final double shadedRatio;
+  private final int minMethods;
+  private final int maxMethods;
+  private final int minStatements;
+  private final int maxStatements;
+  private final double schedulerDensity;
+  private final double setTypeDensity;
+  private final double nearbyEntitiesDensity;
+  private final double eventHandlerDensity;
+  private final double callEventDensity;
+
+  private GeneratorConfig(Builder b) {
+    this.seed = b.seed;
+    this.pluginName = b.pluginName;
+    this.classes = b.classes;
+    this.shadedRatio = b.shadedRatio;
+    this.minMethods = b.minMethods;
+    this.maxMethods = b.maxMethods;
+    this.minStatements = b.minStatements;
+    this.maxStatements = b.maxStatements;
+    this.schedulerDensity = b.schedulerDensity;
+    this.setTypeDensity = b.setTypeDensity;
+    this.nearbyEntitiesDensity = b.nearbyEntitiesDensity;
+    this.eventHandlerDensity = b.eventHandlerDensity;
+    this.callEventDensity = b.callEventDensity;
+  }
+
+  /**
+   * @return A builder with the defaults: 1000 classes, half of them shaded,
+   *         4 to 12 methods of 4 to 24 statements each
+   */
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * Parses a comma-separated list of {@code key=value} options on top of the
+   * defaults, as accepted on the command line.
+   *
+   * <p>
+   * Keys: {@code seed}, {@code name}, {@code classes}, {@code shaded},
+   * {@code methods} and {@code statements} (a number or a {@code min-max}
+   * range), and the densities {@code scheduler}, {@code setType},
+   * {@code nearbyEntities}, {@code eventHandlers} and {@code callEvent}.
+   * </p>
+   *
+   * @throws IllegalArgumentException on unknown keys or malformed values
+   */
+  public static GeneratorConfig parse(String options) {
+    Builder b = builder();
+    if (options == null || options.isBlank()) {
+      return b.build();
+    }
+    for (String option : options.split(",")) {
+      int eq = option.indexOf('=');
+      if (eq <= 0) {
+        throw new IllegalArgumentException("Expected key=value but got: " + option);
+      }
+      String key = option.substring(0, eq).trim();
+      String value = option.substring(eq + 1).trim();
+      try {
+        switch (key) {
+          case "seed":
+            b.seed(Long.parseLong(value));
+            break;
+          case "name":
+            b.pluginName(value);
+            break;
+          case "classes":
+            b.classes(Integer.parseInt(value));
+            break;
+          case "shaded":
+            b.shadedRatio(Double.parseDouble(value));
+            break;
+          case "methods": {
+            int[] range = parseRange(value);
+            b.methodsPerClass(range[0], range[1]);
+            break;
+          }
+          case "statements": {
+            int[] range = parseRange(value);
+            b.statementsPerMethod(range[0], range[1]);
+            break;
+          }
+          case "scheduler":
+            b.schedulerDensity(Double.parseDouble(value));
+            break;
+          case "setType":
+            b.setTypeDensity(Double.parseDouble(value));
+            break;
+          case "nearbyEntities":
+            b.nearbyEntitiesDensity(Double.parseDouble(value));
+            break;
+          case "eventHandlers":
+            b.eventHandlerDensity(Double.parseDouble(value));
+            break;
+          case "callEvent":
+            b.callEventDensity(Double.parseDouble(value));
+            break;
+          default:
+            throw new IllegalArgumentException("Unknown generator option: " + key);
+        }
+      } catch (NumberFormatException e) {
+        throw new IllegalArgumentException("Invalid value for " + key + ": " + value, e);
+      }
+    }
+    return b.build();
+  }
+
+  private static int[] parseRange(String value) {
+    int dash = value.indexOf('-');
+    if (dash < 0) {
+      int n = Integer.parseInt(value);
+      return new int[] {n, n};
+    }
+    return new int[] {Integer.parseInt(value.substring(0, dash)), Integer.parseInt(value.substring(dash + 1))};
+  }
+
+  public long getSeed() {
+    return seed;
+  }
+
+  public String getPluginName() {
+    return pluginName;
+  }
+
+  /**
+   * @return The total number of classes in the JAR, including the main class
+   */
+  public int getClasses() {
+    return classes;
+  }
+
+  public double getShadedRatio() {
+    return shadedRatio;
+  }
+
+  public int getMinMethods() {
+    return minMethods;
+  }
+
+  public int getMaxMethods() {
+    return maxMethods;
+  }
+
+  public int getMinStatements() {
+    return minStatements;
+  }
+
+  public int getMaxStatements() {
+    return maxStatements;
+  }
+
+  public double getSchedulerDensity() {
+    return schedulerDensity;
+  }
+
+  public double getSetTypeDensity() {
+    return setTypeDensity;
+  }
+
+  public double getNearbyEntitiesDensity() {
+    return nearbyEntitiesDensity;
+  }
+
+  public double getEventHandlerDensity() {
+    return eventHandlerDensity;
+  }
+
+  public double getCallEventDensity() {
+    return callEventDensity;
+  }
+
+  @Override
+  public String toString() {
+    return "seed=" + seed + ",name=" + pluginName + ",classes=" + classes + ",shaded=" + shadedRatio
+        + ",methods=" + minMethods + "-" + maxMethods + ",statements=" + minStatements + "-" + maxStatements
+        + ",scheduler=" + schedulerDensity + ",setType=" + setTypeDensity + ",nearbyEntities=" + nearbyEntitiesDensity
+        + ",eventHandlers=" + eventHandlerDensity + ",callEvent=" + callEventDensity;
+  }
+
+  /**
+   * Builds a {@link GeneratorConfig}; every setter validates its argument.
+   */
+  public static final class Builder {
+    private long seed = 1L;
+    private String pluginName = "SyntheticPlugin";
+    private int classes = 1000;
+    private double shadedRatio = 0.5;
+    private int minMethods = 4;
+    private int maxMethods = 12;
+    private int minStatements = 4;
+    private int maxStatements = 24;
+    private double schedulerDensity = 0.01;
+    private double setTypeDensity = 0.01;
+    private double nearbyEntitiesDensity = 0.005;
+    private double eventHandlerDensity = 0.05;
+    private double callEventDensity = 0.005;
+
+    private Builder() {
+    }
+
+    public Builder seed(long seed) {
+      this.seed = seed;
+      return this;
+    }
+
+    /**
+     * Sets the plugin.yml name; the classes are generated in the package
+     * {@code synthetic.<lower-case name>}.
+     */
+    public Builder pluginName(String pluginName) {
+      if (pluginName == null || !pluginName.matches("[A-Za-z][A-Za-z0-9_]*")) {
+        throw new IllegalArgumentException("Plugin name must be a Java identifier: " + pluginName);
+      }
+      this.pluginName = pluginName;
+      return this;
+    }
+
+    public Builder classes(int classes) {
+      if (classes < 1) {
+        throw new IllegalArgumentException("Class count must be positive: " + classes);
+      }
+      this.classes = classes;
+      return this;
+    }
+
+    /**
+     * Sets the fraction of classes that are shaded library code, from 0 to 1.
+     */
+    public Builder shadedRatio(double shadedRatio) {
+      this.shadedRatio = probability("Shaded ratio", shadedRatio);
+      return this;
+    }
+
+    public Builder methodsPerClass(int min, int max) {
+      checkRange("Methods per class", min, max);
+      this.minMethods = min;
+      this.maxMethods = max;
+      return this;
+    }
+
+    /**
+     * Sets the method size, in generated statements of roughly 5 to 10 instructions.
+     */
+    public Builder statementsPerMethod(int min, int max) {
+      checkRange("Statements per method", min, max);
+      this.minStatements = min;
+      this.maxStatements = max;
+      return this;
+    }
+
+    /**
+     * Sets the density of {@code BukkitScheduler.runTask*} calls.
+     */
+    public Builder schedulerDensity(double density) {
+      this.schedulerDensity = probability("Scheduler density", density);
+      return this;
+    }
+
+    /**
+     * Sets the density of {@code Block.setType} calls.
+     */
+    public Builder setTypeDensity(double density) {
+      this.setTypeDensity = probability("setType density", density);
+      return this;
+    }
+
+    /**
+     * Sets the density of {@code World.getNearbyEntities} calls.
+     */
+    public Builder nearbyEntitiesDensity(double density) {
+      this.nearbyEntitiesDensity = probability("getNearbyEntities density", density);
+      return this;
+    }
+
+    /**
+     * Sets the probability that a plugin method is an {@code @EventHandler}.
+     */
+    public Builder eventHandlerDensity(double density) {
+      this.eventHandlerDensity = probability("Event handler density", density);
+      return this;
+    }
+
+    /**
+     * Sets the density of {@code PluginManager.callEvent} calls.
+     */
+    public Builder callEventDensity(double density) {
+      this.callEventDensity = probability("callEvent density", density);
+      return this;
+    }
+
+    public GeneratorConfig build() {
+      if (schedulerDensity + setTypeDensity + nearbyEntitiesDensity + callEventDensity > 1.0) {
+        throw new IllegalArgumentException("Statement densities add up to more than 1");
+      }
+      return new GeneratorConfig(this);
+    }
+
+    private static double probability(String what, double value) {
+      if (!(value >= 0.0 && value <= 1.0)) {
+        throw new IllegalArgumentException(what + " must be between 0 and 1: " + value);
+      }
+      return value;
+    }
+
+    private static void checkRange(String what, int min, int max) {
+      if (min < 1 || max < min) {
+        throw new IllegalArgumentException(what + " must be a range of positive numbers: " + min + "-" + max);
+      }
+    }
+  }
+}
@@ -0,0 +1,531 @@
+/*
+ * Folia Phantom - Synthetic Plugin Generator
+ *
+ * Copyright (c) 2025 Marv
+ * Licensed under MARV License
+ */
+package com.patch.foliaphantom.generator;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.SplittableRandom;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+/**
+ * Writes valid, verifiable Bukkit plugin JARs shaped by a {@link GeneratorConfig}.
+ *
+ * <p>
+ * A generated JAR contains a {@code plugin.yml}, a JavaPlugin main class, a
+ * Runnable and a custom event used by the generated calls, plugin classes and
+ * shaded library classes. Plugin classes hold a {@code Plugin} field and have
+ * methods taking a Player; their statements are JDK filler code mixed with the
+ * API patterns the transformers target. Shaded classes only contain filler
+ * code and partly extend each other, like real relocated libraries.
+ * </p>
+ *
+ * <p>
+ * All choices come from one {@link SplittableRandom} seeded from the config,
+ * and every entry carries a fixed timestamp, so the same config always
+ * produces the same bytes. The Bukkit types only appear in descriptors; the
+ * generator never loads them.
+ * </p>
+ *
+ * <p>
+ * Usage: {@code SyntheticPluginGenerator <output.jar> [key=value,...]}; see
+ * {@link GeneratorConfig#parse(String)} for the options.
+ * </p>
+ */
+public final class SyntheticPluginGenerator {
+  private static final String OBJECT = "java/lang/Object";
+  private static final String PLAYER = "org/bukkit/entity/Player";
+  private static final String PLAYER_DESC = "Lorg/bukkit/entity/Player;";
+  private static final String PLUGIN_DESC = "Lorg/bukkit/plugin/Plugin;";
+  private static final String LISTENER = "org/bukkit/event/Listener";
+  private static final String EVENT = "org/bukkit/event/Event";
+  private static final String HANDLER_LIST = "org/bukkit/event/HandlerList";
+  private static final String EVENT_HANDLER_DESC = "Lorg/bukkit/event/EventHandler;";
+  private static final String SCHEDULER = "org/bukkit/scheduler/BukkitScheduler";
+  private static final String[] PLAYER_EVENTS = {
+    "org/bukkit/event/player/PlayerJoinEvent",
+    "org/bukkit/event/player/PlayerQuitEvent",
+    "org/bukkit/event/player/PlayerMoveEvent",
+    "org/bukkit/event/player/PlayerInteractEvent"
+  };
+  // name, extra long arguments
+  private static final Object[] SCHEDULER_CALLS = {
+    "runTask", 0, "runTaskLater", 1, "runTaskTimer", 2,
+    "runTaskAsynchronously", 0, "runTaskLaterAsynchronously", 1, "runTaskTimerAsynchronously", 2
+  };
+
+  /** Classes per generated package */
+  private static final int PACKAGE_SIZE = 50;
+  /** Classes per shaded library */
+  private static final int LIBRARY_SIZE = 500;
+  /** Timestamp of every entry, so that output does not depend on the clock */
+  private static final LocalDateTime ENTRY_TIME = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+  private final GeneratorConfig config;
+  private final SplittableRandom random;
+  private final String basePackage;
+  private final String mainClass;
+  private final String taskClass;
+  private final String eventClass;
+  private final Summary summary = new Summary();
+
+  private SyntheticPluginGenerator(GeneratorConfig config) {
+    this.config = config;
+    this.random = new SplittableRandom(config.getSeed());
+    this.basePackage = "synthetic/" + config.getPluginName().toLowerCase();
+    this.mainClass = basePackage + "/" + config.getPluginName();
+    this.taskClass = basePackage + "/SyntheticTask";
+    this.eventClass = basePackage + "/SyntheticEvent";
+  }
+
+  /**
+   * Generates a plugin JAR.
+   *
+   * @param config The shape of the plugin
+   * @param output The JAR file to write, replaced if it exists
+   * @return What was generated
+   */
+  public static Summary generate(GeneratorConfig config, Path output) throws IOException {
+    return new SyntheticPluginGenerator(config).write(output);
+  }
+
+  public static void main(String[] args) throws IOException {
+    if (args.length < 1) {
+      System.err.println("Usage: SyntheticPluginGenerator <output.jar> [key=value,...]");
+      System.exit(1);
+    }
+    GeneratorConfig config = GeneratorConfig.parse(args.length > 1 ? args[1] : null);
+    Summary summary = generate(config, Path.of(args[0]));
+    System.out.println("Generated " + args[0] + " (" + config + "): " + summary);
+  }
+
+  private Summary write(Path output) throws IOException {
+    int fixedClasses = 3;
+    int shaded = Math.min((int) Math.round(config.getClasses() * config.getShadedRatio()),
+        Math.max(0, config.getClasses() - fixedClasses));
+    int pluginClasses = Math.max(0, config.getClasses() - fixedClasses - shaded);
+
+    try (OutputStream out = Files.newOutputStream(output); JarOutputStream jar = new JarOutputStream(out)) {
+      put(jar, "META-INF/MANIFEST.MF", "Manifest-Version: 1.0\r\n\r\n".getBytes(StandardCharsets.UTF_8));
+      put(jar, "plugin.yml", ("name: " + config.getPluginName() + "\nmain: " + mainClass.replace('/', '.')
+          + "\nversion: 1.0.0\napi-version: '1.20'\n").getBytes(StandardCharsets.UTF_8));
+      putClass(jar, mainClass, mainClass());
+      putClass(jar, taskClass, taskClass());
+      putClass(jar, eventClass, eventClass());
+      for (int i = 0; i < pluginClasses; i++) {
+        String name = basePackage + "/feature" + (i / PACKAGE_SIZE) + "/Feature" + i;
+        putClass(jar, name, pluginClass(name));
+      }
+      String previous = null;
+      for (int i = 0; i < shaded; i++) {
+        String name = basePackage + "/libs/lib" + (i / LIBRARY_SIZE) + "/pkg" + (i % LIBRARY_SIZE / PACKAGE_SIZE)
+            + "/Lib" + i;
+        // Within a package, classes may extend the previous one
+        String superName = i % PACKAGE_SIZE != 0 && random.nextInt(10) < 3 ? previous : OBJECT;
+        putClass(jar, name, shadedClass(name, superName));
+        previous = name;
+      }
+    }
+    summary.shadedClasses = shaded;
+    summary.pluginClasses = pluginClasses;
+    summary.classes = fixedClasses + pluginClasses + shaded;
+    return summary;
+  }
+
+  private static void put(JarOutputStream jar, String name, byte[] data) throws IOException {
+    JarEntry entry = new JarEntry(name);
+    entry.setTimeLocal(ENTRY_TIME);
+    jar.putNextEntry(entry);
+    jar.write(data);
+    jar.closeEntry();
+  }
+
+  private static void putClass(JarOutputStream jar, String internalName, byte[] data) throws IOException {
+    put(jar, internalName + ".class", data);
+  }
+
+  private byte[] mainClass() {
+    ClassWriter cw = newClass(mainClass, "org/bukkit/plugin/java/JavaPlugin", null);
+    defaultConstructor(cw, "org/bukkit/plugin/java/JavaPlugin");
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "onEnable", "()V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, mainClass, "getLogger", "()Ljava/util/logging/Logger;", false);
+    mv.visitLdcInsn(config.getPluginName() + " enabled");
+    mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/util/logging/Logger", "info", "(Ljava/lang/String;)V", false);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return finish(cw);
+  }
+
+  private byte[] taskClass() {
+    ClassWriter cw = newClass(taskClass, OBJECT, new String[] {"java/lang/Runnable"});
+    defaultConstructor(cw, OBJECT);
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "run", "()V", null, null);
+    mv.visitCode();
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return finish(cw);
+  }
+
+  private byte[] eventClass() {
+    String handlerListDesc = "L" + HANDLER_LIST + ";";
+    ClassWriter cw = newClass(eventClass, EVENT, null);
+    cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_STATIC | Opcodes.ACC_FINAL, "HANDLERS", handlerListDesc, null,
+        null).visitEnd();
+    cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "player", PLAYER_DESC, null, null).visitEnd();
+
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(" + PLAYER_DESC + ")V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, EVENT, "<init>", "()V", false);
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitVarInsn(Opcodes.ALOAD, 1);
+    mv.visitFieldInsn(Opcodes.PUTFIELD, eventClass, "player", PLAYER_DESC);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "getPlayer", "()" + PLAYER_DESC, null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitFieldInsn(Opcodes.GETFIELD, eventClass, "player", PLAYER_DESC);
+    mv.visitInsn(Opcodes.ARETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    for (String name : new String[] {"getHandlers", "getHandlerList"}) {
+      int access = "getHandlers".equals(name) ? Opcodes.ACC_PUBLIC : Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC;
+      mv = cw.visitMethod(access, name, "()" + handlerListDesc, null, null);
+      mv.visitCode();
+      mv.visitFieldInsn(Opcodes.GETSTATIC, eventClass, "HANDLERS", handlerListDesc);
+      mv.visitInsn(Opcodes.ARETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+
+    mv = cw.visitMethod(Opcodes.ACC_STATIC, "<clinit>", "()V", null, null);
+    mv.visitCode();
+    mv.visitTypeInsn(Opcodes.NEW, HANDLER_LIST);
+    mv.visitInsn(Opcodes.DUP);
+    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, HANDLER_LIST, "<init>", "()V", false);
+    mv.visitFieldInsn(Opcodes.PUTSTATIC, eventClass, "HANDLERS", handlerListDesc);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+    return finish(cw);
+  }
+
+  private byte[] pluginClass(String name) {
+    int methods = between(config.getMinMethods(), config.getMaxMethods());
+    boolean[] handlers = new boolean[methods];
+    boolean listener = false;
+    for (int i = 0; i < methods; i++) {
+      handlers[i] = random.nextDouble() < config.getEventHandlerDensity();
+      listener |= handlers[i];
+    }
+    if (listener) {
+      summary.listeners++;
+    }
+
+    ClassWriter cw = newClass(name, OBJECT, listener ? new String[] {LISTENER} : null);
+    cw.visitField(Opcodes.ACC_PRIVATE | Opcodes.ACC_FINAL, "plugin", PLUGIN_DESC, null, null).visitEnd();
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "(" + PLUGIN_DESC + ")V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitVarInsn(Opcodes.ALOAD, 1);
+    mv.visitFieldInsn(Opcodes.PUTFIELD, name, "plugin", PLUGIN_DESC);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+
+    for (int i = 0; i < methods; i++) {
+      int playerLocal;
+      int intLocal;
+      if (handlers[i]) {
+        String event = PLAYER_EVENTS[random.nextInt(PLAYER_EVENTS.length)];
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "on" + i, "(L" + event + ";)V", null, null);
+        mv.visitAnnotation(EVENT_HANDLER_DESC, true).visitEnd();
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, event, "getPlayer", "()" + PLAYER_DESC, false);
+        mv.visitVarInsn(Opcodes.ASTORE, 2);
+        mv.visitInsn(Opcodes.ICONST_0);
+        mv.visitVarInsn(Opcodes.ISTORE, 3);
+        playerLocal = 2;
+        intLocal = 3;
+        summary.eventHandlers++;
+      } else {
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "m" + i, "(" + PLAYER_DESC + "I)V", null, null);
+        mv.visitCode();
+        playerLocal = 1;
+        intLocal = 2;
+      }
+      int statements = between(config.getMinStatements(), config.getMaxStatements());
+      for (int s = 0; s < statements; s++) {
+        pluginStatement(mv, name, playerLocal, intLocal);
+      }
+      mv.visitInsn(Opcodes.RETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+    return finish(cw);
+  }
+
+  private byte[] shadedClass(String name, String superName) {
+    ClassWriter cw = newClass(name, superName, null);
+    defaultConstructor(cw, superName);
+    int methods = between(config.getMinMethods(), config.getMaxMethods());
+    for (int i = 0; i < methods; i++) {
+      MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "m" + i, "(I)I", null, null);
+      mv.visitCode();
+      int statements = between(config.getMinStatements(), config.getMaxStatements());
+      for (int s = 0; s < statements; s++) {
+        fillerStatement(mv, 1);
+      }
+      mv.visitVarInsn(Opcodes.ILOAD, 1);
+      mv.visitInsn(Opcodes.IRETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+    return finish(cw);
+  }
+
+  /**
+   * Emits one stack-neutral statement, an API pattern with the configured
+   * probability and filler code otherwise.
+   */
+  private void pluginStatement(MethodVisitor mv, String owner, int playerLocal, int intLocal) {
+    double roll = random.nextDouble();
+    double scheduler = config.getSchedulerDensity();
+    double setType = scheduler + config.getSetTypeDensity();
+    double nearbyEntities = setType + config.getNearbyEntitiesDensity();
+    double callEvent = nearbyEntities + config.getCallEventDensity();
+    if (roll < scheduler) {
+      int call = random.nextInt(SCHEDULER_CALLS.length / 2) * 2;
+      int longs = (Integer) SCHEDULER_CALLS[call + 1];
+      mv.visitMethodInsn(Opcodes.INVOKESTATIC, "org/bukkit/Bukkit", "getScheduler", "()L" + SCHEDULER + ";", false);
+      mv.visitVarInsn(Opcodes.ALOAD, 0);
+      mv.visitFieldInsn(Opcodes.GETFIELD, owner, "plugin", PLUGIN_DESC);
+      mv.visitTypeInsn(Opcodes.NEW, taskClass);
+      mv.visitInsn(Opcodes.DUP);
+      mv.visitMethodInsn(Opcodes.INVOKESPECIAL, taskClass, "<init>", "()V", false);
+      for (int i = 0; i < longs; i++) {
+        mv.visitLdcInsn((long) (20 * (1 + random.nextInt(10))));
+      }
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, SCHEDULER, (String) SCHEDULER_CALLS[call],
+          "(" + PLUGIN_DESC + "Ljava/lang/Runnable;" + "J".repeat(longs) + ")Lorg/bukkit/scheduler/BukkitTask;", true);
+      mv.visitInsn(Opcodes.POP);
+      summary.schedulerCalls++;
+    } else if (roll < setType) {
+      mv.visitVarInsn(Opcodes.ALOAD, playerLocal);
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, PLAYER, "getLocation", "()Lorg/bukkit/Location;", true);
+      mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "org/bukkit/Location", "getBlock", "()Lorg/bukkit/block/Block;",
+          false);
+      mv.visitFieldInsn(Opcodes.GETSTATIC, "org/bukkit/Material", random.nextBoolean() ? "STONE" : "AIR",
+          "Lorg/bukkit/Material;");
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/block/Block", "setType", "(Lorg/bukkit/Material;)V",
+          true);
+      summary.setTypeCalls++;
+    } else if (roll < nearbyEntities) {
+      mv.visitVarInsn(Opcodes.ALOAD, playerLocal);
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, PLAYER, "getWorld", "()Lorg/bukkit/World;", true);
+      mv.visitVarInsn(Opcodes.ALOAD, playerLocal);
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, PLAYER, "getLocation", "()Lorg/bukkit/Location;", true);
+      mv.visitLdcInsn((double) (4 + random.nextInt(29)));
+      mv.visitInsn(Opcodes.DUP2);
+      mv.visitInsn(Opcodes.DUP2);
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/World", "getNearbyEntities",
+          "(Lorg/bukkit/Location;DDD)Ljava/util/Collection;", true);
+      mv.visitInsn(Opcodes.POP);
+      summary.nearbyEntitiesCalls++;
+    } else if (roll < callEvent) {
+      mv.visitMethodInsn(Opcodes.INVOKESTATIC, "org/bukkit/Bukkit", "getPluginManager",
+          "()Lorg/bukkit/plugin/PluginManager;", false);
+      mv.visitTypeInsn(Opcodes.NEW, eventClass);
+      mv.visitInsn(Opcodes.DUP);
+      mv.visitVarInsn(Opcodes.ALOAD, playerLocal);
+      mv.visitMethodInsn(Opcodes.INVOKESPECIAL, eventClass, "<init>", "(" + PLAYER_DESC + ")V", false);
+      mv.visitMethodInsn(Opcodes.INVOKEINTERFACE, "org/bukkit/plugin/PluginManager", "callEvent",
+          "(L" + EVENT + ";)V", true);
+      summary.callEventCalls++;
+    } else {
+      fillerStatement(mv, intLocal);
+    }
+  }
+
+  /**
+   * Emits one stack-neutral statement of JDK-only code working on an int local.
+   */
+  private void fillerStatement(MethodVisitor mv, int intLocal) {
+    switch (random.nextInt(5)) {
+      case 0:
+        mv.visitTypeInsn(Opcodes.NEW, "java/lang/StringBuilder");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/StringBuilder", "<init>", "()V", false);
+        mv.visitLdcInsn("value-" + random.nextInt(1000) + "=");
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+            "(Ljava/lang/String;)Ljava/lang/StringBuilder;", false);
+        mv.visitVarInsn(Opcodes.ILOAD, intLocal);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "append",
+            "(I)Ljava/lang/StringBuilder;", false);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/lang/StringBuilder", "toString", "()Ljava/lang/String;",
+            false);
+        mv.visitInsn(Opcodes.POP);
+        break;
+      case 1:
+        mv.visitVarInsn(Opcodes.ILOAD, intLocal);
+        push(mv, 3 + random.nextInt(100));
+        mv.visitInsn(Opcodes.IMUL);
+        push(mv, random.nextInt(100_000));
+        mv.visitInsn(Opcodes.IADD);
+        mv.visitVarInsn(Opcodes.ISTORE, intLocal);
+        break;
+      case 2:
+        mv.visitVarInsn(Opcodes.ILOAD, intLocal);
+        push(mv, random.nextInt(1000));
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Math", "max", "(II)I", false);
+        mv.visitVarInsn(Opcodes.ISTORE, intLocal);
+        break;
+      case 3:
+        mv.visitTypeInsn(Opcodes.NEW, "java/util/ArrayList");
+        mv.visitInsn(Opcodes.DUP);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/util/ArrayList", "<init>", "()V", false);
+        mv.visitVarInsn(Opcodes.ILOAD, intLocal);
+        mv.visitMethodInsn(Opcodes.INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/util/ArrayList", "add", "(Ljava/lang/Object;)Z", false);
+        mv.visitInsn(Opcodes.POP);
+        break;
+      default:
+        Label skip = new Label();
+        mv.visitVarInsn(Opcodes.ILOAD, intLocal);
+        push(mv, random.nextInt(1000));
+        mv.visitJumpInsn(Opcodes.IF_ICMPGE, skip);
+        mv.visitIincInsn(intLocal, 1);
+        mv.visitLabel(skip);
+        break;
+    }
+  }
+
+  private static void push(MethodVisitor mv, int value) {
+    if (value >= -1 && value <= 5) {
+      mv.visitInsn(Opcodes.ICONST_0 + value);
+    } else if (value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+      mv.visitIntInsn(Opcodes.BIPUSH, value);
+    } else if (value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+      mv.visitIntInsn(Opcodes.SIPUSH, value);
+    } else {
+      mv.visitLdcInsn(value);
+    }
+  }
+
+  private int between(int min, int max) {
+    return min == max ? min : min + random.nextInt(max - min + 1);
+  }
+
+  private static ClassWriter newClass(String name, String superName, String[] interfaces) {
+    ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES) {
+      @Override
+      protected String getCommonSuperClass(String type1, String type2) {
+        // Generated code never merges two different reference types
+        return OBJECT;
+      }
+    };
+    cw.visit(Opcodes.V17, Opcodes.ACC_PUBLIC | Opcodes.ACC_SUPER, name, null, superName, interfaces);
+    return cw;
+  }
+
+  private static void defaultConstructor(ClassWriter cw, String superName) {
+    MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+    mv.visitCode();
+    mv.visitVarInsn(Opcodes.ALOAD, 0);
+    mv.visitMethodInsn(Opcodes.INVOKESPECIAL, superName, "<init>", "()V", false);
+    mv.visitInsn(Opcodes.RETURN);
+    mv.visitMaxs(0, 0);
+    mv.visitEnd();
+  }
+
+  private static byte[] finish(ClassWriter cw) {
+    cw.visitEnd();
+    return cw.toByteArray();
+  }
+
+  /**
+   * Counts of what a generation produced, for checking a run's input.
+   */
+  public static final class Summary {
+    private int classes;
+    private int pluginClasses;
+    private int shadedClasses;
+    private int listeners;
+    private int eventHandlers;
+    private int schedulerCalls;
+    private int setTypeCalls;
+    private int nearbyEntitiesCalls;
+    private int callEventCalls;
+
+    private Summary() {
+    }
+
+    public int getClasses() {
+      return classes;
+    }
+
+    public int getPluginClasses() {
+      return pluginClasses;
+    }
+
+    public int getShadedClasses() {
+      return shadedClasses;
+    }
+
+    public int getListeners() {
+      return listeners;
+    }
+
+    public int getEventHandlers() {
+      return eventHandlers;
+    }
+
+    public int getSchedulerCalls() {
+      return schedulerCalls;
+    }
+
+    public int getSetTypeCalls() {
+      return setTypeCalls;
+    }
+
+    public int getNearbyEntitiesCalls() {
+      return nearbyEntitiesCalls;
+    }
+
+    public int getCallEventCalls() {
+      return callEventCalls;
+    }
+
+    @Override
+    public String toString() {
+      return classes + " classes (" + pluginClasses + " plugin, " + shadedClasses + " shaded), " + listeners
+          + " listeners with " + eventHandlers + " event handlers, " + schedulerCalls + " scheduler calls, "
+          + setTypeCalls + " setType calls, " + nearbyEntitiesCalls + " getNearbyEntities calls, "
+          + callEventCalls + " callEvent calls";
+    }
+  }
+}
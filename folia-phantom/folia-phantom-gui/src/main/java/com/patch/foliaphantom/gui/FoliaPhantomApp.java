@@ -7,6 +7,9 @@
 package com.patch.foliaphantom.gui;
 
 import com.patch.foliaphantom.core.PluginPatcher;
+import com.patch.foliaphantom.core.batch.BatchPatcher;
+import com.patch.foliaphantom.core.cache.ClassPatchCache;
+import com.patch.foliaphantom.core.progress.BatchProgressListener;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.geometry.Insets;
@@ -29,8 +32,6 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Handler;
 import java.util.logging.LogRecord;
@@ -308,45 +309,71 @@ public class FoliaPhantomApp extends Application {
         successCount.set(0);
         failureCount.set(0);
 
-        int total = selectedFiles.size();
-        AtomicInteger completed = new AtomicInteger(0);
-
-        ExecutorService executor = Executors.newFixedThreadPool(4);
+        boolean failFast = failFastCheckbox.isSelected();
+        boolean aggressiveOpt = aggressiveEventOptimizationCheckbox.isSelected();
+        boolean fireAndForget = fireAndForgetCheckbox.isSelected();
+        long timeout = timeoutSpinner.getValue();
         Logger patcherLogger = createLogger();
+        ClassPatchCache classCache = openClassCache(patcherLogger);
+
+        List<BatchPatcher.Job> jobs = new ArrayList<>();
+        for (File file : selectedFiles) {
+            File output = new File(outputDirectory != null ? outputDirectory : file.getParentFile(),
+                    file.getName().replace(".jar", "-patched.jar"));
+            jobs.add(new BatchPatcher.Job(file, output));
+        }
 
         logInfo("Starting process...");
 
-        for (File file : new ArrayList<>(selectedFiles)) {
-            executor.submit(() -> {
-                try {
-                    File output = new File(outputDirectory != null ? outputDirectory : file.getParentFile(),
-                            file.getName().replace(".jar", "-patched.jar"));
-
-                    boolean failFast = failFastCheckbox.isSelected();
-                    boolean aggressiveOpt = aggressiveEventOptimizationCheckbox.isSelected();
-                    boolean fireAndForget = fireAndForgetCheckbox.isSelected();
-                    long timeout = timeoutSpinner.getValue();
-
-                    PluginPatcher patcher = new PluginPatcher(patcherLogger, null, failFast, aggressiveOpt, fireAndForget, timeout);
-                    patcher.patchPlugin(file, output);
-
-                    successCount.incrementAndGet();
-                    Platform.runLater(() -> logSuccess("Done: " + file.getName()));
-                } catch (Exception e) {
-                    failureCount.incrementAndGet();
-                    Platform.runLater(() -> logError("Fail: " + file.getName() + " (" + e.getMessage() + ")"));
-                } finally {
-                    int c = completed.incrementAndGet();
-                    Platform.runLater(() -> {
-                        progressBar.setProgress((double) c / total);
-                        progressLabel.setText("Processing " + c + "/" + total + "...");
-                        if (c == total)
-                            finalizeProcess();
-                    });
-                }
-            });
-        }
-        executor.shutdown();
+        // All files share one pool sized to the machine; the batch runs off the FX thread
+        Thread batchThread = new Thread(() -> {
+            try (BatchPatcher batch = new BatchPatcher(patcherLogger, listener -> {
+                PluginPatcher patcher = new PluginPatcher(patcherLogger, listener, failFast, aggressiveOpt, fireAndForget, timeout);
+                patcher.setClassCache(classCache);
+                return patcher;
+            }, 0)) {
+                batch.patch(jobs, new BatchProgressListener() {
+                    @Override
+                    public void onBatchStart(int totalJars, long totalBytes) {
+                    }
+
+                    @Override
+                    public void onJarStart(File originalJar, File outputJar) {
+                    }
+
+                    @Override
+                    public void onJarComplete(File originalJar, long durationMillis, int[] statistics, Throwable error) {
+                        if (error == null) {
+                            successCount.incrementAndGet();
+                            logSuccess("Done: " + originalJar.getName() + " (" + durationMillis + "ms)");
+                        } else {
+                            failureCount.incrementAndGet();
+                            logError("Fail: " + originalJar.getName() + " (" + error.getMessage() + ")");
+                        }
+                    }
+
+                    @Override
+                    public void onProgressUpdate(int percentage, int completedJars, int totalJars) {
+                        Platform.runLater(() -> {
+                            progressBar.setProgress(percentage / 100.0);
+                            progressLabel.setText("Processing " + completedJars + "/" + totalJars + "...");
+                        });
+                    }
+
+                    @Override
+                    public void onBatchComplete(long durationMillis, int succeeded, int failed) {
+                        Platform.runLater(this::finalizeProcess);
+                    }
+                });
+            } catch (InterruptedException e) {
+                Platform.runLater(() -> {
+                    logError("Patching was interrupted.");
+                    finalizeProcess();
+                });
+            }
+        }, "FoliaPhantom-GUI-Batch");
+        batchThread.setDaemon(true);
+        batchThread.start();
     }
 
     private void finalizeProcess() {
@@ -423,6 +450,16 @@ public class FoliaPhantomApp extends Application {
         s.getStylesheets().add(getClass().getResource("/style.css").toExternalForm());
     }
 
+    private ClassPatchCache openClassCache(Logger patcherLogger) {
+        File cacheFolder = new File(System.getProperty("user.home"), ".folia-phantom/cache");
+        try {
+            return ClassPatchCache.open(cacheFolder.toPath(), 512L * 1024 * 1024, patcherLogger);
+        } catch (Exception e) {
+            Platform.runLater(() -> logError("Class cache unavailable: " + e.getMessage()));
+            return null;
+        }
+    }
+
     private Logger createLogger() {
         Logger l = Logger.getLogger("FP-" + System.currentTimeMillis());
         l.setUseParentHandlers(false);
@@ -1,7 +1,13 @@
 package com.patch.foliaphantom.plugin;
 
-import com.patch.foliaphantom.core.patcher.FoliaPatcher;
+import com.patch.foliaphantom.core.PluginPatcher;
+import com.patch.foliaphantom.core.patcher.SharedRuntime;
+import com.patch.foliaphantom.core.runtime.PhantomRuntime;
 import org.bukkit.Bukkit;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.event.server.PluginDisableEvent;
+import org.bukkit.plugin.ServicePriority;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.File;
@@ -11,6 +17,7 @@ public class FoliaPhantomPlugin extends JavaPlugin {
 
     private PluginWatcher watcher;
     private int watcherTaskId = -1;
+    private SharedRuntime runtime;
 
     @Override
     public void onEnable() {
@@ -20,6 +27,11 @@ public class FoliaPhantomPlugin extends JavaPlugin {
         // Print banner
         printBanner();
 
+        // Offer the runtime to plugins patched in shared-runtime mode before they are enabled
+        if (getConfig().getBoolean("advanced.shared-runtime", true)) {
+            registerSharedRuntime();
+        }
+
         // Initialize plugin watcher
         try {
             watcher = new PluginWatcher(this);
@@ -56,6 +68,7 @@ public class FoliaPhantomPlugin extends JavaPlugin {
 
         // Print statistics
         if (watcher != null) {
+            watcher.close();
             var stats = watcher.getStatistics();
             getLogger().info("=== Patching Statistics ===");
             getLogger().info("Total Processed: " + stats.get("total"));
@@ -67,6 +80,18 @@ public class FoliaPhantomPlugin extends JavaPlugin {
         getLogger().info("FoliaPhantom disabled.");
     }
 
+    private void registerSharedRuntime() {
+        runtime = SharedRuntime.start(this);
+        getServer().getServicesManager().register(PhantomRuntime.class, runtime, this, ServicePriority.Normal);
+        getServer().getPluginManager().registerEvents(new Listener() {
+            @EventHandler
+            public void onPluginDisable(PluginDisableEvent event) {
+                runtime.detach(event.getPlugin());
+            }
+        }, this);
+        getLogger().info("Shared runtime registered.");
+    }
+
     private void printBanner() {
         getLogger().info("========================================");
         getLogger().info("   FoliaPhantom v" + getPluginMeta().getVersion());
@@ -126,6 +151,7 @@ public class FoliaPhantomPlugin extends JavaPlugin {
         getLogger().info("  Output Folder: " + outputFolder.getAbsolutePath());
         getLogger().info("  Auto-Patch: " + (getConfig().getBoolean("auto-patch.enabled") ? "Enabled" : "Disabled"));
         getLogger().info("  Skip Folia-Supported: " + getConfig().getBoolean("filters.skip-folia-supported"));
+        getLogger().info("  Task Placement: " + getTaskPlacement().getKey());
 
         if (!getConfig().getStringList("filters.blacklist").isEmpty()) {
             getLogger().info("  Blacklist: " + getConfig().getStringList("filters.blacklist"));
@@ -138,4 +164,24 @@ public class FoliaPhantomPlugin extends JavaPlugin {
     public PluginWatcher getWatcher() {
         return watcher;
     }
+
+    /**
+     * @return Where patched plugins run legacy sync tasks, per {@code advanced.task-placement}
+     */
+    public PluginPatcher.TaskPlacement getTaskPlacement() {
+        String key = getConfig().getString("advanced.task-placement", "spawn");
+        PluginPatcher.TaskPlacement placement = PluginPatcher.TaskPlacement.of(key);
+        if (placement == null) {
+            getLogger().warning("Unknown advanced.task-placement '" + key + "'; using spawn");
+            return PluginPatcher.TaskPlacement.SPAWN;
+        }
+        return placement;
+    }
+
+    /**
+     * @return The shared runtime, or null if it is disabled in the config
+     */
+    public SharedRuntime getRuntime() {
+        return runtime;
+    }
 }
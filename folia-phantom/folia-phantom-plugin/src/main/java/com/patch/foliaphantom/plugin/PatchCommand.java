@@ -3,6 +3,7 @@ package com.patch.foliaphantom.plugin;
 import com.patch.foliaphantom.core.PluginPatcher;
 import com.patch.foliaphantom.core.audit.AuditResult;
 import com.patch.foliaphantom.core.patcher.FoliaPatcher;
+import com.patch.foliaphantom.core.runtime.PhantomRuntime;
 import org.bukkit.ChatColor;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
@@ -12,6 +13,7 @@ import org.bukkit.command.TabCompleter;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.stream.Collectors;
 
 public class PatchCommand implements CommandExecutor, TabCompleter {
@@ -21,6 +23,8 @@ public class PatchCommand implements CommandExecutor, TabCompleter {
   public PatchCommand(FoliaPhantomPlugin plugin) {
     this.plugin = plugin;
     this.patcher = new PluginPatcher(plugin.getLogger());
+    this.patcher.setSharedRuntime(plugin.getConfig().getBoolean("advanced.shared-runtime", true));
+    this.patcher.setTaskPlacement(plugin.getTaskPlacement());
   }
 
   @Override
@@ -50,6 +54,9 @@ public class PatchCommand implements CommandExecutor, TabCompleter {
       case "mirror":
         showMirrorStatus(sender);
         break;
+      case "regions":
+        showRegionLoad(sender);
+        break;
       case "audit":
         if (args.length < 2) {
           sender.sendMessage(ChatColor.RED + "Usage: /foliapatch audit <plugin-name>");
@@ -74,18 +81,55 @@ public class PatchCommand implements CommandExecutor, TabCompleter {
     sender.sendMessage(ChatColor.YELLOW + "/foliapatch list" + ChatColor.WHITE + " - List all patchable plugins");
     sender.sendMessage(ChatColor.YELLOW + "/foliapatch status" + ChatColor.WHITE + " - Show patching statistics");
     sender.sendMessage(ChatColor.YELLOW + "/foliapatch mirror" + ChatColor.WHITE + " - Show mirroring statistics");
+    sender.sendMessage(ChatColor.YELLOW + "/foliapatch regions" + ChatColor.WHITE + " - Show legacy task load per region");
     sender.sendMessage(ChatColor.YELLOW + "/foliapatch reload" + ChatColor.WHITE + " - Reload configuration");
   }
 
   private void showMirrorStatus(CommandSender sender) {
     sender.sendMessage(ChatColor.GOLD + "=== FoliaPhantom Mirror Status ===");
-    sender.sendMessage(ChatColor.WHITE + "Players mirrored: " + ChatColor.AQUA + FoliaPatcher._cp.size());
-    sender.sendMessage(ChatColor.WHITE + "Worlds mirrored: " + ChatColor.AQUA + FoliaPatcher._cw.size());
-    sender.sendMessage(ChatColor.WHITE + "Player Cache (Name): " + ChatColor.AQUA + FoliaPatcher._cps.size());
-    sender.sendMessage(ChatColor.WHITE + "Player Cache (UUID): " + ChatColor.AQUA + FoliaPatcher._cpu.size());
-    sender.sendMessage(ChatColor.WHITE + "World Cache (Name): " + ChatColor.AQUA + FoliaPatcher._cwn.size());
-    sender.sendMessage(ChatColor.WHITE + "World Cache (UUID): " + ChatColor.AQUA + FoliaPatcher._cwu.size());
-    sender.sendMessage(ChatColor.GRAY + "Mirroring task is active and updates every tick.");
+    FoliaPatcher.Mirror mirror = FoliaPatcher._m;
+    sender.sendMessage(ChatColor.WHITE + "Players mirrored: " + ChatColor.AQUA + mirror.getPlayers().size());
+    sender.sendMessage(ChatColor.WHITE + "Worlds mirrored: " + ChatColor.AQUA + mirror.getWorlds().size());
+    sender.sendMessage(ChatColor.WHITE + "Snapshot version: " + ChatColor.AQUA + mirror.getVersion());
+    if (plugin.getRuntime() != null) {
+      sender.sendMessage(ChatColor.WHITE + "Plugins on shared runtime: " + ChatColor.AQUA
+          + plugin.getRuntime().getAttachedPlugins().size());
+      sender.sendMessage(ChatColor.WHITE + "Cross-region waits skipped: " + ChatColor.AQUA
+          + plugin.getRuntime().getDeferredWaits().sum());
+      sender.sendMessage(ChatColor.GRAY + "The mirror is updated on join, quit and world events.");
+    } else {
+      sender.sendMessage(ChatColor.GRAY + "Shared runtime is disabled; patched plugins run their own mirrors.");
+    }
+  }
+
+  private void showRegionLoad(CommandSender sender) {
+    sender.sendMessage(ChatColor.GOLD + "=== FoliaPhantom Region Load ===");
+    if (plugin.getRuntime() == null) {
+      sender.sendMessage(ChatColor.GRAY + "Shared runtime is disabled; patched plugins keep their own region load.");
+      return;
+    }
+    Map<String, AtomicLongArray> load = plugin.getRuntime().getRegionLoad();
+    if (load.isEmpty()) {
+      sender.sendMessage(ChatColor.GRAY + "No legacy sync task has been scheduled yet.");
+      return;
+    }
+    // Busiest first, by time spent running tasks
+    List<Map.Entry<String, AtomicLongArray>> regions = new ArrayList<>(load.entrySet());
+    regions.sort(Comparator.comparingLong(
+        (Map.Entry<String, AtomicLongArray> e) -> e.getValue().get(PhantomRuntime.LOAD_NANOS)).reversed());
+    for (Map.Entry<String, AtomicLongArray> region : regions.subList(0, Math.min(10, regions.size()))) {
+      AtomicLongArray slots = region.getValue();
+      long runs = slots.get(PhantomRuntime.LOAD_RUNS);
+      double totalMs = slots.get(PhantomRuntime.LOAD_NANOS) / 1_000_000.0;
+      sender.sendMessage(ChatColor.WHITE + region.getKey() + ": " + ChatColor.AQUA
+          + Math.max(0, slots.get(PhantomRuntime.LOAD_QUEUED)) + " queued, " + runs + " runs, "
+          + String.format("%.1f ms total, %.3f ms/run", totalMs, runs > 0 ? totalMs / runs : 0.0));
+    }
+    if (regions.size() > 10) {
+      sender.sendMessage(ChatColor.GRAY + "... and " + (regions.size() - 10) + " more regions");
+    }
+    sender.sendMessage(ChatColor.GRAY + "Placement of newly patched plugins: " + plugin.getTaskPlacement().getKey()
+        + " (advanced.task-placement)");
   }
 
   private void listPlugins(CommandSender sender) {
@@ -267,7 +311,7 @@ public class PatchCommand implements CommandExecutor, TabCompleter {
     }
 
     if (args.length == 1) {
-      List<String> completions = new ArrayList<>(Arrays.asList("list", "status", "mirror", "reload", "audit"));
+      List<String> completions = new ArrayList<>(Arrays.asList("list", "status", "mirror", "regions", "reload", "audit"));
       File serverRoot = plugin.getDataFolder().getParentFile().getParentFile();
       File watchFolder = new File(serverRoot,
           plugin.getConfig().getString("auto-patch.watch-folder", "plugins/folia-patch-queue"));
@@ -1,6 +1,9 @@
 package com.patch.foliaphantom.plugin;
 
 import com.patch.foliaphantom.core.PluginPatcher;
+import com.patch.foliaphantom.core.batch.BatchPatcher;
+import com.patch.foliaphantom.core.cache.ClassPatchCache;
+import com.patch.foliaphantom.core.shaded.ShadedLibraryDetector;
 import org.bukkit.configuration.file.FileConfiguration;
 
 import java.io.File;
@@ -14,10 +17,11 @@ import java.util.logging.Logger;
 
 public class PluginWatcher implements Runnable {
     private final Logger logger;
-    private final PluginPatcher patcher;
+    private final BatchPatcher batch;
     private final File watchFolder;
     private final File outputFolder;
     private final File backupFolder;
+    private final File manifestFolder;
     private final FileConfiguration config;
 
     private final Map<String, Long> processedFiles = new ConcurrentHashMap<>();
@@ -28,7 +32,31 @@ public class PluginWatcher implements Runnable {
     public PluginWatcher(FoliaPhantomPlugin plugin) {
         this.logger = plugin.getLogger();
         this.config = plugin.getConfig();
-        this.patcher = new PluginPatcher(logger);
+        ClassPatchCache classCache = null;
+        if (config.getBoolean("advanced.class-cache.enabled", true)) {
+            File cacheFolder = new File(plugin.getDataFolder(), "cache");
+            long sizeMb = config.getLong("advanced.class-cache.size-mb", 256);
+            try {
+                classCache = ClassPatchCache.open(cacheFolder.toPath(), sizeMb * 1024 * 1024, logger);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "Class cache disabled", e);
+            }
+        }
+        // One pool for every plugin in the queue, kept for the life of the watcher
+        final ClassPatchCache sharedCache = classCache;
+        final ShadedLibraryDetector shadedDetector = config.getBoolean("advanced.shaded-libraries.skip", true)
+                ? ShadedLibraryDetector.bundled(new HashSet<>(config.getStringList("advanced.shaded-libraries.always-scan")))
+                : null;
+        final boolean sharedRuntime = config.getBoolean("advanced.shared-runtime", true);
+        final PluginPatcher.TaskPlacement taskPlacement = plugin.getTaskPlacement();
+        this.batch = new BatchPatcher(logger, listener -> {
+            PluginPatcher patcher = new PluginPatcher(logger, listener);
+            patcher.setClassCache(sharedCache);
+            patcher.setShadedLibraryDetector(shadedDetector);
+            patcher.setSharedRuntime(sharedRuntime);
+            patcher.setTaskPlacement(taskPlacement);
+            return patcher;
+        }, config.getInt("advanced.threads", 0));
 
         // Initialize folders
         File serverRoot = plugin.getDataFolder().getParentFile().getParentFile();
@@ -37,6 +65,7 @@ public class PluginWatcher implements Runnable {
         this.outputFolder = new File(serverRoot, config.getString("auto-patch.output-folder", "plugins/patched"));
         this.backupFolder = new File(serverRoot,
                 config.getString("advanced.backup-folder", "plugins/folia-phantom-backups"));
+        this.manifestFolder = new File(plugin.getDataFolder(), "manifests");
 
         // Create folders if they don't exist
         createFolders();
@@ -81,6 +110,9 @@ public class PluginWatcher implements Runnable {
             logger.info("Scanning " + jarFiles.length + " plugin(s) in watch folder...");
         }
 
+        List<BatchPatcher.Job> jobs = new ArrayList<>();
+        Map<File, String> pluginNames = new HashMap<>();
+        Map<File, Long> modifiedTimes = new HashMap<>();
         for (File jarFile : jarFiles) {
             // Check if we've already processed this version of the file
             String fileName = jarFile.getName();
@@ -92,8 +124,13 @@ public class PluginWatcher implements Runnable {
 
             try {
                 if (shouldPatchPlugin(jarFile)) {
-                    patchPlugin(jarFile);
-                    processedFiles.put(fileName, lastModified);
+                    String pluginName = PluginPatcher.getPluginNameFromJar(jarFile);
+                    if (pluginName == null) {
+                        pluginName = fileName.replace(".jar", "");
+                    }
+                    pluginNames.put(jarFile, pluginName);
+                    modifiedTimes.put(jarFile, lastModified);
+                    jobs.add(preparePatch(jarFile, pluginName));
                 } else {
                     if (config.getBoolean("logging.log-skipped", true)) {
                         logger.info("Skipped: " + fileName + " (already Folia-supported or blacklisted)");
@@ -106,6 +143,28 @@ public class PluginWatcher implements Runnable {
                 failedCount++;
             }
         }
+
+        if (jobs.isEmpty()) {
+            return;
+        }
+
+        List<BatchPatcher.Result> results;
+        try {
+            results = batch.patch(jobs, null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        for (BatchPatcher.Result result : results) {
+            File jarFile = result.getJob().getInput();
+            if (result.isSuccess()) {
+                finishPatch(jarFile, pluginNames.get(jarFile), result.getJob().getOutput());
+                processedFiles.put(jarFile.getName(), modifiedTimes.get(jarFile));
+            } else {
+                failedCount++;
+            }
+        }
     }
 
     private boolean shouldPatchPlugin(File jarFile) throws IOException {
@@ -144,13 +203,11 @@ public class PluginWatcher implements Runnable {
         return true;
     }
 
-    private void patchPlugin(File jarFile) throws IOException {
+    /**
+     * Backs up a plugin and describes how it is to be patched.
+     */
+    private BatchPatcher.Job preparePatch(File jarFile, String pluginName) throws IOException {
         String fileName = jarFile.getName();
-        String pluginName = PluginPatcher.getPluginNameFromJar(jarFile);
-        if (pluginName == null) {
-            pluginName = fileName.replace(".jar", "");
-        }
-
         logger.info("Patching: " + pluginName + "...");
 
         // Create backup if enabled
@@ -162,15 +219,21 @@ public class PluginWatcher implements Runnable {
             }
         }
 
-        // Patch the plugin
         File outputFile = new File(outputFolder, "patched-" + fileName);
-        patcher.patchPlugin(jarFile, outputFile);
+        if (config.getBoolean("advanced.incremental", true)) {
+            // Keyed by plugin name so a new version can reuse the output of the previous one
+            String manifestName = pluginName.replaceAll("[^A-Za-z0-9._-]", "_") + ".manifest";
+            return new BatchPatcher.Job(jarFile, outputFile, new File(manifestFolder, manifestName));
+        }
+        return new BatchPatcher.Job(jarFile, outputFile);
+    }
 
+    private void finishPatch(File jarFile, String pluginName, File outputFile) {
         // Delete original if configured
         if (config.getBoolean("advanced.delete-original", false)) {
             if (jarFile.delete()) {
                 if (config.getBoolean("logging.verbose", false)) {
-                    logger.info("Deleted original: " + fileName);
+                    logger.info("Deleted original: " + jarFile.getName());
                 }
             }
         }
@@ -190,6 +253,13 @@ public class PluginWatcher implements Runnable {
         return stats;
     }
 
+    /**
+     * Stops the worker threads of the watcher.
+     */
+    public void close() {
+        batch.close();
+    }
+
     public void reset() {
         processedFiles.clear();
         patchedCount = 0;